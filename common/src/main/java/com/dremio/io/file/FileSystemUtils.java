@@ -161,6 +161,45 @@ public class FileSystemUtils {
     return new RecursiveDirectoryStream(wrapper, globStream, filter);
   }
 
+  /**
+   * Lists recursively all files present under the given path {@code path}, listing up to
+   * {@code parallelism} directories concurrently.
+   *
+   * @param fs the filesystem
+   * @param path
+   *          the path to use as the root of the search
+   * @param pathFilter
+   *          the filter to apply on entries. If a directory entry is filtered
+   *          out, all the children of the directory will not be present in the
+   *          returned stream.
+   * @param parallelism the maximum number of directories listed concurrently
+   * @param ordered if true, entries are returned in the same order as
+   *          {@link #listRecursive(FileSystem, Path, Predicate)}, otherwise as
+   *          soon as they are listed
+   * @return a stream of file attributes
+   * @throws IOException
+   *           if an error occurs while listing directory content
+   */
+  public static DirectoryStream<FileAttributes> listRecursive(FileSystem fs, Path path,
+      Predicate<Path> pathFilter, int parallelism, boolean ordered) throws IOException {
+    final DirectoryStream<FileAttributes> stream = fs.list(path, pathFilter);
+    return recursive(fs, stream, pathFilter, parallelism, ordered);
+  }
+
+  public static DirectoryStream<FileAttributes> globRecursive(FileSystem wrapper, Path pattern, Predicate<Path> filter,
+      int parallelism, boolean ordered) throws IOException {
+    final DirectoryStream<FileAttributes> globStream = wrapper.glob(pattern, filter);
+    return recursive(wrapper, globStream, filter, parallelism, ordered);
+  }
+
+  private static DirectoryStream<FileAttributes> recursive(FileSystem fs, DirectoryStream<FileAttributes> stream,
+      Predicate<Path> pathFilter, int parallelism, boolean ordered) throws IOException {
+    if (parallelism <= 1) {
+      return new RecursiveDirectoryStream(fs, stream, pathFilter);
+    }
+    return new ParallelRecursiveDirectoryStream(fs, stream, pathFilter, parallelism, ordered);
+  }
+
   /** Copy files between FileSystems. */
   public static boolean copy(FileSystem srcFS, Path src,
                              FileSystem dstFS, Path dst,
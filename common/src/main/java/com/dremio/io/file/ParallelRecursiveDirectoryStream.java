@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.io.file;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+
+import com.dremio.common.concurrent.NamedThreadFactory;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+/**
+ * File iterator listing directories concurrently, with at most {@code parallelism} directories
+ * listed at the same time.
+ *
+ * On object stores, listing a directory is a remote call, so walking a deep directory tree one
+ * directory at a time is dominated by latency. Here every directory found is listed as soon as a
+ * listing slot frees up, while the caller consumes the entries already listed.
+ *
+ * When ordered, entries are returned in the same order as {@link RecursiveDirectoryStream} (a
+ * directory followed by its content). Otherwise they are returned as soon as they are listed.
+ * As with {@link RecursiveDirectoryStream}, if a folder is filtered out, all its content is ignored.
+ */
+class ParallelRecursiveDirectoryStream implements DirectoryStream<FileAttributes> {
+
+  private final FileSystem fileSystem;
+  private final Predicate<Path> pathFilter;
+  private final boolean ordered;
+  private final ThreadPoolExecutor listers;
+  private final Listing root;
+
+  // unordered mode: entries and failures as they are listed, and number of directories still being listed
+  private final BlockingQueue<Object> listed = new LinkedBlockingQueue<>();
+  private final AtomicInteger pendingDirectories = new AtomicInteger();
+
+  private final AtomicBoolean init = new AtomicBoolean(false);
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  ParallelRecursiveDirectoryStream(@Nonnull FileSystem fileSystem, @Nonnull DirectoryStream<FileAttributes> stream,
+      Predicate<Path> pathFilter, int parallelism, boolean ordered) throws IOException {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    this.fileSystem = fileSystem;
+    this.pathFilter = pathFilter;
+    this.ordered = ordered;
+    // threads are only started once there are directories to list
+    this.listers = new ThreadPoolExecutor(parallelism, parallelism, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new NamedThreadFactory("fs-list-"));
+    this.listers.allowCoreThreadTimeOut(true);
+
+    // the root counts as a pending directory until read, so that the end is not signaled while
+    // its sub directories are still being submitted
+    pendingDirectories.incrementAndGet();
+    try {
+      this.root = read(stream);
+    } catch (IOException | RuntimeException e) {
+      listers.shutdownNow();
+      throw e;
+    }
+    directoryDone();
+  }
+
+  /**
+   * The entries of a directory, along with the pending listings of its sub directories.
+   */
+  private static final class Listing {
+    private final List<FileAttributes> entries = new ArrayList<>();
+    private final List<Future<Listing>> children = new ArrayList<>();
+  }
+
+  /**
+   * Read the entries of a directory stream, and start listing its sub directories.
+   */
+  private Listing read(DirectoryStream<FileAttributes> stream) throws IOException {
+    final Listing listing = new Listing();
+    try (DirectoryStream<FileAttributes> toClose = stream) {
+      for (FileAttributes attributes : stream) {
+        if (!pathFilter.test(attributes.getPath())) {
+          continue;
+        }
+
+        listing.entries.add(attributes);
+        if (attributes.isDirectory()) {
+          listing.children.add(submit(attributes.getPath()));
+        } else {
+          listing.children.add(null);
+        }
+        if (!ordered) {
+          listed.add(attributes);
+        }
+      }
+    } catch (DirectoryIteratorException e) {
+      throw e.getCause();
+    }
+    return listing;
+  }
+
+  private Future<Listing> submit(Path directory) {
+    if (!ordered) {
+      pendingDirectories.incrementAndGet();
+    }
+
+    return listers.submit(() -> {
+      try {
+        final Listing listing = read(fileSystem.list(directory, pathFilter));
+        if (!ordered) {
+          // entries are consumed from the queue, so only keep the children for the pending count
+          listing.entries.clear();
+          listing.children.clear();
+        }
+        return listing;
+      } catch (IOException | RuntimeException e) {
+        if (!ordered) {
+          listed.add(e);
+        }
+        throw e;
+      } finally {
+        directoryDone();
+      }
+    });
+  }
+
+  private void directoryDone() {
+    if (!ordered && pendingDirectories.decrementAndGet() == 0) {
+      listed.add(Done.INSTANCE);
+    }
+  }
+
+  private enum Done {
+    INSTANCE
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    listers.shutdownNow();
+  }
+
+  @Override
+  public Iterator<FileAttributes> iterator() {
+    if (!init.compareAndSet(false, true)) {
+      throw new IllegalStateException("Iterator already accessed.");
+    }
+
+    if (closed.get()) {
+      throw new IllegalStateException("Directory stream already closed.");
+    }
+
+    return ordered ? new OrderedIterator() : new UnorderedIterator();
+  }
+
+  /**
+   * Walks the listings depth first, waiting for the listing of a directory when reaching it.
+   */
+  private final class OrderedIterator implements Iterator<FileAttributes> {
+    private final Deque<Listing> listings = new ArrayDeque<>();
+    private final Deque<Integer> positions = new ArrayDeque<>();
+    // listing of the directory last returned, walked next
+    private Future<Listing> nextListing;
+
+    private OrderedIterator() {
+      listings.push(root);
+      positions.push(0);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextListing != null) {
+        listings.push(await(nextListing));
+        positions.push(0);
+        nextListing = null;
+      }
+
+      while (!listings.isEmpty()) {
+        if (positions.peek() < listings.peek().entries.size()) {
+          return true;
+        }
+        listings.pop();
+        positions.pop();
+      }
+      return false;
+    }
+
+    @Override
+    public FileAttributes next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      final Listing listing = listings.peek();
+      final int position = positions.pop();
+      positions.push(position + 1);
+
+      nextListing = listing.children.get(position);
+      return listing.entries.get(position);
+    }
+  }
+
+  /**
+   * Returns the entries in the order they are listed.
+   */
+  private final class UnorderedIterator implements Iterator<FileAttributes> {
+    private Object next;
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        next = take();
+      }
+      return next != Done.INSTANCE;
+    }
+
+    @Override
+    public FileAttributes next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final FileAttributes attributes = (FileAttributes) next;
+      next = null;
+      return attributes;
+    }
+
+    private Object take() {
+      final Object element;
+      try {
+        element = listed.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DirectoryIteratorException(new InterruptedIOException("Interrupted while listing directories"));
+      }
+
+      if (element instanceof Throwable) {
+        throw toDirectoryIteratorException((Throwable) element);
+      }
+      return element;
+    }
+  }
+
+  private static Listing await(Future<Listing> listing) {
+    try {
+      return listing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DirectoryIteratorException(new InterruptedIOException("Interrupted while listing directories"));
+    } catch (ExecutionException e) {
+      throw toDirectoryIteratorException(e.getCause());
+    }
+  }
+
+  private static RuntimeException toDirectoryIteratorException(Throwable t) {
+    if (t instanceof IOException) {
+      return new DirectoryIteratorException((IOException) t);
+    }
+    Throwables.throwIfUnchecked(t);
+    return new RuntimeException(t);
+  }
+}
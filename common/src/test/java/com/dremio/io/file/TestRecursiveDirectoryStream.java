@@ -34,7 +34,9 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.UserPrincipal;
 import java.security.AccessControlException;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -354,4 +356,72 @@ public class TestRecursiveDirectoryStream extends DremioTest {
       assertEquals(0, directoryStream.getStackSize());
     }
   }
+
+  private Path createTree() throws IOException {
+    for (String dir0: Arrays.asList("A", "B", "C")) {
+      temporaryFolder.newFolder(dir0);
+      for (String dir1: Arrays.asList("1", "2", "3", "4")) {
+        temporaryFolder.newFolder(dir0, dir1);
+        for (String file: Arrays.asList("file1", "file2")) {
+          temporaryFolder.newFile(dir0 + "/" + dir1 + "/" + file);
+        }
+      }
+    }
+    temporaryFolder.newFolder("empty");
+    return Path.of(temporaryFolder.getRoot().toURI());
+  }
+
+  private static List<Path> toPaths(DirectoryStream<FileAttributes> stream) {
+    return StreamSupport.stream(stream.spliterator(), false)
+      .map(FileAttributes::getPath)
+      .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testParallelOrdered() throws Exception {
+    final Path rootPath = createTree();
+    final FileSystem fs = new MockLocalFileSystem();
+
+    final List<Path> expected;
+    try (DirectoryStream<FileAttributes> stream = new RecursiveDirectoryStream(fs, fs.list(rootPath), PathFilters.ALL_FILES)) {
+      expected = toPaths(stream);
+    }
+    assertEquals(3 + 3 * 4 + 3 * 4 * 2 + 1, expected.size());
+
+    try (DirectoryStream<FileAttributes> stream =
+           new ParallelRecursiveDirectoryStream(fs, fs.list(rootPath), PathFilters.ALL_FILES, 4, true)) {
+      assertEquals(expected, toPaths(stream));
+    }
+  }
+
+  @Test
+  public void testParallelUnordered() throws Exception {
+    final Path rootPath = createTree();
+    final FileSystem fs = new MockLocalFileSystem();
+
+    final List<Path> expected;
+    try (DirectoryStream<FileAttributes> stream = new RecursiveDirectoryStream(fs, fs.list(rootPath), PathFilters.ALL_FILES)) {
+      expected = toPaths(stream);
+    }
+
+    try (DirectoryStream<FileAttributes> stream =
+           new ParallelRecursiveDirectoryStream(fs, fs.list(rootPath), PathFilters.ALL_FILES, 4, false)) {
+      final List<Path> actual = toPaths(stream);
+      assertEquals(expected.size(), actual.size());
+      assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+  }
+
+  @Test
+  public void testParallelFiltered() throws Exception {
+    final Path rootPath = createTree();
+    final FileSystem fs = new MockLocalFileSystem();
+    final Predicate<Path> noB = path -> !path.getName().equals("B");
+
+    try (DirectoryStream<FileAttributes> stream = new ParallelRecursiveDirectoryStream(fs, fs.list(rootPath, noB), noB, 2, true)) {
+      final List<Path> paths = toPaths(stream);
+      // B and its content are filtered out
+      assertEquals(2 + 2 * 4 + 2 * 4 * 2 + 1, paths.size());
+    }
+  }
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import com.dremio.datastore.KVStoreProvider;
 import com.dremio.datastore.LocalKVStoreProvider;
 import com.dremio.exec.hadoop.HadoopFileSystem;
 import com.dremio.exec.server.ContextService;
+import com.dremio.exec.store.CatalogService;
 import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
 
@@ -72,7 +73,8 @@ public final class LocalAdmin {
       throw new UnsupportedOperationException("This operation is only supported to local admin");
     }
     ProfilesExporter exporter = ExportProfilesResource.getExporter(params);
-    System.out.println(exporter.export(getKVStoreProvider()).retrieveStats());
+    System.out.println(ExportProfilesResource.export(exporter, getKVStoreProvider(),
+      daemon.getBindingProvider().lookup(CatalogService.class)).retrieveStats());
   }
 
   public void backup(String path) throws Exception {
@@ -27,8 +27,11 @@ import javax.ws.rs.Produces;
 
 import com.dremio.dac.annotations.RestResource;
 import com.dremio.dac.annotations.Secured;
+import com.dremio.dac.daemon.DACDaemonModule;
 import com.dremio.dac.server.admin.profile.ProfilesExporter;
 import com.dremio.datastore.KVStoreProvider;
+import com.dremio.exec.store.CatalogService;
+import com.dremio.exec.store.dfs.FileSystemPlugin;
 
 /**
  * Export profiles resource
@@ -42,10 +45,13 @@ import com.dremio.datastore.KVStoreProvider;
 public class ExportProfilesResource {
 
   private final Provider<KVStoreProvider> kvStoreProviderProvider;
+  private final Provider<CatalogService> catalogServiceProvider;
 
   @Inject
-  public ExportProfilesResource(Provider<KVStoreProvider> kvStoreProviderProvider) {
+  public ExportProfilesResource(Provider<KVStoreProvider> kvStoreProviderProvider,
+                                Provider<CatalogService> catalogServiceProvider) {
     this.kvStoreProviderProvider = kvStoreProviderProvider;
+    this.catalogServiceProvider = catalogServiceProvider;
   }
 
   @POST
@@ -54,7 +60,16 @@ public class ExportProfilesResource {
     final KVStoreProvider kvStoreProvider = kvStoreProviderProvider.get();
     ProfilesExporter exporter = getExporter(exportParams);
 
-    return exporter.export(kvStoreProvider);
+    return export(exporter, kvStoreProvider, catalogServiceProvider.get());
+  }
+
+  /**
+   * Export profiles, reading the profiles stored with the job results from the job results source.
+   */
+  public static ExportProfilesStats export(ProfilesExporter exporter, KVStoreProvider kvStoreProvider,
+                                           CatalogService catalogService) throws Exception {
+    final FileSystemPlugin<?> jobResultsPlugin = catalogService.getSource(DACDaemonModule.JOBS_STORAGEPLUGIN_NAME);
+    return exporter.export(kvStoreProvider, jobResultsPlugin.getSystemUserFS(), jobResultsPlugin.getConfig().getPath());
   }
 
   public static ProfilesExporter getExporter(ExportProfilesParams exportParams) {
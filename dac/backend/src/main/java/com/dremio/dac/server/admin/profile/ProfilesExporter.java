@@ -36,13 +36,11 @@ import com.dremio.dac.support.SupportService;
 import com.dremio.dac.util.BackupRestoreUtil;
 import com.dremio.dac.util.ZipUtil;
 import com.dremio.datastore.IndexedStore;
-import com.dremio.datastore.KVStore;
 import com.dremio.datastore.KVStoreProvider;
 import com.dremio.datastore.SearchQueryUtils;
 import com.dremio.datastore.SearchTypes.SearchQuery;
 import com.dremio.exec.hadoop.HadoopFileSystem;
 import com.dremio.exec.proto.UserBitShared;
-import com.dremio.exec.work.AttemptId;
 import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
 import com.dremio.service.job.proto.JobAttempt;
@@ -137,7 +135,13 @@ public final class ProfilesExporter {
     return false;
   }
 
-  public final ExportProfilesStats export(KVStoreProvider provider)
+  /**
+   * Export the profiles of the jobs in the date range.
+   * @param provider kvstore provider
+   * @param jobResultsFs file system of the job results, where large profiles are stored
+   * @param jobResultsLocation location of the job results
+   */
+  public final ExportProfilesStats export(KVStoreProvider provider, FileSystem jobResultsFs, Path jobResultsLocation)
     throws Exception {
 
     Path fakeFileName = getProfileFileNameWithPath("fake_id");
@@ -156,14 +160,13 @@ public final class ProfilesExporter {
     outputFilePath = outputFilePath + clusterIdentity.get().getIdentity() + "/";
 
     if (outputFormatType == ExportFormatType.JSON) {
-      return exportJSON(fs, provider);
+      return exportJSON(fs, provider, jobResultsFs, jobResultsLocation);
     }
-    return exportChunk(fs, provider);
+    return exportChunk(fs, provider, jobResultsFs, jobResultsLocation);
   }
 
-  private ExportProfilesStats exportJSON(FileSystem fs, KVStoreProvider provider)
-    throws IOException {
-    final KVStore<AttemptId, UserBitShared.QueryProfile> profilesStore = provider.getStore(LocalJobsService.JobsProfileCreator.class);
+  private ExportProfilesStats exportJSON(FileSystem fs, KVStoreProvider provider, FileSystem jobResultsFs,
+    Path jobResultsLocation) throws IOException {
     final IndexedStore<JobId, JobResult> jobsStore = provider.getStore(LocalJobsService.JobsStoreCreator.class);
 
     IndexedStore.FindByCondition jobsFilter = getJobsFilter(fromDate, toDate);
@@ -180,7 +183,8 @@ public final class ProfilesExporter {
           logger.debug("failed to get an id for attempt: {}", attempt);
           continue;
         }
-        UserBitShared.QueryProfile profile = profilesStore.get(AttemptIdUtils.fromString(attempt.getAttemptId()));
+        UserBitShared.QueryProfile profile = LocalJobsService.getProfile(provider, jobResultsFs, jobResultsLocation,
+          AttemptIdUtils.fromString(attempt.getAttemptId()));
         if (profile == null) {
           logger.debug("Profile for attempt id: '{}' was not found", attempt.getAttemptId());
           continue;
@@ -212,9 +216,8 @@ public final class ProfilesExporter {
     return new ExportProfilesStats(totalJobsCount, profilesCount, skippedProfilesCount, outputFilePath);
   }
 
-  private ExportProfilesStats exportChunk(FileSystem fs, KVStoreProvider provider)
-    throws IOException {
-    final KVStore<AttemptId, UserBitShared.QueryProfile> profilesStore = provider.getStore(LocalJobsService.JobsProfileCreator.class);
+  private ExportProfilesStats exportChunk(FileSystem fs, KVStoreProvider provider, FileSystem jobResultsFs,
+    Path jobResultsLocation) throws IOException {
     final IndexedStore<JobId, JobResult> jobsStore = provider.getStore(LocalJobsService.JobsStoreCreator.class);
 
     IndexedStore.FindByCondition jobsFilter = getJobsFilter(fromDate, toDate);
@@ -234,7 +237,8 @@ public final class ProfilesExporter {
           logger.debug("failed to get an id for attempt: {}", attempt);
           continue;
         }
-        UserBitShared.QueryProfile profile = profilesStore.get(AttemptIdUtils.fromString(attempt.getAttemptId()));
+        UserBitShared.QueryProfile profile = LocalJobsService.getProfile(provider, jobResultsFs, jobResultsLocation,
+          AttemptIdUtils.fromString(attempt.getAttemptId()));
         if (profile == null) {
           logger.debug("Profile for attempt id: '{}' was not found", attempt.getAttemptId());
           continue;
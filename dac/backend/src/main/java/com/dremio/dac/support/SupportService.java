@@ -604,7 +604,7 @@ public class SupportService implements Service {
     header.setSubmission(submission);
 
     // record the dremio version that was used to run the query in the header
-    header.setDremioVersion(jobsService.get().getProfile(id, 0).getDremioVersion());
+    header.setDremioVersion(jobsService.get().getProfileSummary(id, 0).getDremioVersion());
 
     ProtostuffUtil.toJSON(output, header, SupportHeader.getSchema(), false);
     return true;
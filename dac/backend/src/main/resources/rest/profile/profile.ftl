@@ -374,8 +374,10 @@
       <#if model.profile.planPhasesCount != 0>
         <#list model.profile.planPhasesList as planPhase>
           <p>
-          ${planPhase.getPhaseName()} (${planPhase.getDurationMillis()} ms)<br />
+          ${planPhase.getPhaseName()} (${planPhase.getDurationMillis()} ms)<#if planPhase.budgetExceeded> (time budget exceeded, best plan found so far used)</#if><br />
           <#if planPhase.plan?has_content><p><pre>${planPhase.plan}</pre></p></#if>
+          <#if planPhase.ruleProfilesCount != 0><p><pre><#list planPhase.ruleProfilesList as rule>${rule.ruleName}: ${rule.matchCount} matches, ${rule.transformationCount} transformations, ${(rule.durationNanos / 1000000)?string["0.###"]} ms
+</#list></pre></p></#if>
           <#if planPhase.plannerDump?has_content><p><pre>${planPhase.plannerDump}</pre></p></#if>
           <#if planPhase.hasSizeStats()><p><pre>${planPhase.sizeStats}</pre></p></#if>
           </p>
@@ -15,7 +15,9 @@
  */
 package com.dremio.dac.cmd;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -24,6 +26,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.hadoop.conf.Configuration;
+
 import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
@@ -36,7 +40,11 @@ import com.dremio.dac.resource.ExportProfilesResource;
 import com.dremio.dac.resource.ExportProfilesStats;
 import com.dremio.dac.server.DACConfig;
 import com.dremio.dac.server.admin.profile.ProfilesExporter;
+import com.dremio.config.DremioConfig;
 import com.dremio.datastore.LocalKVStoreProvider;
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
 
 /**
  * Local date time parser.
@@ -200,8 +208,15 @@ public class ExportProfiles {
     try (LocalKVStoreProvider provider = providerOptional.get()) {
       provider.start();
 
+      final URI resultsUri = dacConfig.getConfig().getURI(DremioConfig.RESULTS_PATH_STRING);
+      // pdfs keeps the job results of this node under the same path of the local file system
+      final Path resultsPath = "pdfs".equals(resultsUri.getScheme())
+        ? Path.of(new File(resultsUri.getPath()).toURI())
+        : Path.of(resultsUri);
+      final FileSystem resultsFs = HadoopFileSystem.get(resultsPath, new Configuration());
+
       ProfilesExporter exporter = ExportProfilesResource.getExporter(getAPIExportParams(options));
-      AdminLogger.log(exporter.export(provider).retrieveStats());
+      AdminLogger.log(exporter.export(provider, resultsFs, resultsPath).retrieveStats());
     }
   }
 
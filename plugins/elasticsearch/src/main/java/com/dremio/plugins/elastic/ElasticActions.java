@@ -199,6 +199,10 @@ public class ElasticActions {
       return this;
     }
 
+    public String getQuery(){
+      return query;
+    }
+
     public String getResource(){
       return resource;
     }
@@ -107,6 +107,9 @@ public class ElasticConnectionPool implements AutoCloseable {
   //Version 5.3.x or higher
   private static final Version ELASTICSEARCH_VERSION_5_3_X = new Version(5, 3, 0);
 
+  // Version 6.4.x or higher (composite aggregations with missing_bucket support)
+  private static final Version ELASTICSEARCH_VERSION_6_4_X = new Version(6, 4, 0);
+
   enum TLSValidationMode {
     STRICT,
     VERIFY_CA,
@@ -149,6 +152,12 @@ public class ElasticConnectionPool implements AutoCloseable {
    */
   private boolean enableContains;
 
+  /**
+   * Flag to indicate if grouped aggregates can be pushed down as paginated composite aggregations.
+   * Null group keys need missing_bucket, which is only available from 6.4.
+   */
+  private boolean enableCompositeAggregation;
+
   /**
    * The lowest version found in the cluster.
    */
@@ -340,7 +349,8 @@ public class ElasticConnectionPool implements AutoCloseable {
     return new SourceCapabilities(
         new BooleanCapabilityValue(ElasticsearchStoragePlugin.ENABLE_V5_FEATURES, enable5vFeatures),
         new BooleanCapabilityValue(ElasticsearchStoragePlugin.SUPPORTS_NEW_FEATURES, enableNewFeatures),
-        new BooleanCapabilityValue(SourceCapabilities.SUPPORTS_CONTAINS, enableContains)
+        new BooleanCapabilityValue(SourceCapabilities.SUPPORTS_CONTAINS, enableContains),
+        new BooleanCapabilityValue(ElasticsearchStoragePlugin.SUPPORTS_COMPOSITE_AGGREGATION, enableCompositeAggregation)
         );
   }
 
@@ -440,6 +450,8 @@ public class ElasticConnectionPool implements AutoCloseable {
 
     enableContains = minVersionInCluster.compareTo(ELASTICSEARCH_VERSION_5_3_X) >= 0;
 
+    enableCompositeAggregation = minVersionInCluster.compareTo(ELASTICSEARCH_VERSION_6_4_X) >= 0;
+
     return hosts;
   }
 
@@ -58,7 +58,9 @@ public class ElasticScanCreator implements ProducerOperator.Creator<Elasticsearc
       final boolean useEdgeProject = context.getOptions().getOption(ExecConstants.ELASTIC_RULES_EDGE_PROJECT);
       final ImmutableMap<SchemaPath, FieldAnnotation> annotations = FieldAnnotation.getAnnotationMap(tableAttributes.getAnnotationList());
       final int maxCellSize = Math.toIntExact(context.getOptions().getOption(ExecConstants.LIMIT_FIELD_SIZE_BYTES));
-      final FieldReadDefinition readDefinition = FieldReadDefinition.getTree(subScan.getFullSchema(), annotations, workingBuffer, maxCellSize);
+      // aggregation results are read straight from the buckets and don't need field definitions.
+      final FieldReadDefinition readDefinition = spec.getAggregate() != null ? null
+          : FieldReadDefinition.getTree(subScan.getFullSchema(), annotations, workingBuffer, maxCellSize);
 
       for (SplitAndPartitionInfo split : subScan.getSplits()) {
 
@@ -68,6 +70,18 @@ public class ElasticScanCreator implements ProducerOperator.Creator<Elasticsearc
             return input.getHost();
           }}));
 
+        if (spec.getAggregate() != null) {
+          readers.add(new ElasticsearchAggregateReader(
+              context,
+              spec,
+              subScan.getFullSchema().maskAndReorder(subScan.getColumns()),
+              subScan.getColumns(),
+              Iterables.getOnlyElement(subScan.getReferencedTables()),
+              split,
+              connection));
+          continue;
+        }
+
         readers.add(new ElasticsearchRecordReader(
             plugin,
             Iterables.getOnlyElement(subScan.getReferencedTables()),
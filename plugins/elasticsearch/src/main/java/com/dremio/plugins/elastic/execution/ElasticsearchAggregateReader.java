@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic.execution;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dremio.common.exceptions.ExecutionSetupException;
+import com.dremio.common.exceptions.InvalidMetadataErrorContext;
+import com.dremio.common.exceptions.UserException;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.elastic.proto.ElasticReaderProto.ElasticSplitXattr;
+import com.dremio.exec.proto.UserBitShared.DremioPBError.ErrorType;
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.AbstractRecordReader;
+import com.dremio.exec.store.SplitAndPartitionInfo;
+import com.dremio.plugins.elastic.ElasticActions.Search;
+import com.dremio.plugins.elastic.ElasticActions.SearchBytes;
+import com.dremio.plugins.elastic.ElasticConnectionPool.ElasticConnection;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec.MetricType;
+import com.dremio.plugins.elastic.planning.ElasticsearchScanSpec;
+import com.dremio.sabot.exec.context.OperatorContext;
+import com.dremio.sabot.exec.context.OperatorStats;
+import com.dremio.sabot.op.scan.OutputMutator;
+import com.google.common.base.Charsets;
+import com.google.common.collect.Iterators;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Record reader for aggregations pushed down into Elastic. Returns one record per bucket,
+ * paging through the composite aggregation of grouped queries.
+ */
+public class ElasticsearchAggregateReader extends AbstractRecordReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(ElasticsearchAggregateReader.class);
+
+  // Pages are halved down to this size when Elastic rejects them for having too many buckets.
+  private static final int MIN_PAGE_SIZE = 128;
+  private static final String TOO_MANY_BUCKETS = "too_many_buckets_exception";
+
+  private final ElasticConnection connection;
+  private final ElasticsearchAggregateSpec aggregate;
+  private final BatchSchema schema;
+  private final ElasticSplitXattr splitAttributes;
+  private final String resource;
+  private final List<String> tableSchemaPath;
+  private final OperatorStats stats;
+  private final JsonObject request;
+
+  private int pageSize;
+  private ValueWriter[] writers;
+  private ValueVector[] vectors;
+  private Iterator<JsonElement> buckets = Collections.emptyIterator();
+  private JsonObject afterKey;
+  private boolean lastPage;
+
+  public ElasticsearchAggregateReader(
+      OperatorContext context,
+      ElasticsearchScanSpec spec,
+      BatchSchema schema,
+      List<SchemaPath> columns,
+      List<String> tableSchemaPath,
+      SplitAndPartitionInfo split,
+      ElasticConnection connection) throws InvalidProtocolBufferException {
+    super(context, columns);
+    this.connection = connection;
+    this.aggregate = spec.getAggregate();
+    this.schema = schema;
+    this.tableSchemaPath = tableSchemaPath;
+    this.stats = context == null ? null : context.getStats();
+    this.splitAttributes = split == null ? null : ElasticSplitXattr.parseFrom(split.getDatasetSplitInfo().getExtendedProperty());
+    this.resource = split == null ? spec.getResource() : splitAttributes.getResource();
+    this.request = new JsonParser().parse(spec.getQuery()).getAsJsonObject();
+    this.pageSize = aggregate.getPageSize();
+  }
+
+  @Override
+  public void setup(OutputMutator output) throws ExecutionSetupException {
+    final List<Field> fields = schema.getFields();
+    writers = new ValueWriter[fields.size()];
+    vectors = new ValueVector[fields.size()];
+    for (int i = 0; i < fields.size(); i++) {
+      vectors[i] = output.getVector(fields.get(i).getName());
+      writers[i] = newWriter(vectors[i]);
+    }
+  }
+
+  @Override
+  public int next() {
+    int count = 0;
+    while (count < numRowsPerBatch) {
+      if (!buckets.hasNext()) {
+        if (lastPage) {
+          break;
+        }
+        nextPage();
+        continue;
+      }
+
+      writeBucket(buckets.next().getAsJsonObject(), count);
+      count++;
+    }
+
+    for (ValueVector vector : vectors) {
+      vector.setValueCount(count);
+    }
+    return count;
+  }
+
+  private void writeBucket(JsonObject bucket, int index) {
+    final int groupCount = aggregate.getGroupCount();
+    if (groupCount > 0) {
+      final JsonObject key = bucket.getAsJsonObject("key");
+      for (int i = 0; i < groupCount; i++) {
+        write(writers[i], index, key.get(ElasticsearchAggregateSpec.getKeyName(i)));
+      }
+    }
+
+    final List<MetricType> metrics = aggregate.getMetrics();
+    for (int i = 0; i < metrics.size(); i++) {
+      write(writers[groupCount + i], index, getMetric(bucket, i, metrics.get(i)));
+    }
+  }
+
+  private static JsonElement getMetric(JsonObject bucket, int index, MetricType type) {
+    if (type == MetricType.DOC_COUNT) {
+      return bucket.get("doc_count");
+    }
+
+    final String name = ElasticsearchAggregateSpec.getMetricName(index);
+    if (type.isNullWhenEmpty()
+        && bucket.getAsJsonObject(name + ElasticsearchAggregateSpec.COUNT_SUFFIX).get("value").getAsLong() == 0) {
+      return JsonNull.INSTANCE;
+    }
+    return bucket.getAsJsonObject(name).get("value");
+  }
+
+  private static void write(ValueWriter writer, int index, JsonElement value) {
+    // vectors are freshly allocated for each batch, so missing values are already null.
+    if (value != null && !value.isJsonNull()) {
+      writer.write(index, value.getAsJsonPrimitive());
+    }
+  }
+
+  private void nextPage() {
+    final JsonObject response = search();
+    final JsonObject aggregations = response.getAsJsonObject("aggregations");
+    if (aggregations == null) {
+      lastPage = true;
+      return;
+    }
+
+    if (aggregate.getGroupCount() == 0) {
+      buckets = Iterators.singletonIterator(aggregations.get(ElasticsearchAggregateSpec.ALL));
+      lastPage = true;
+      return;
+    }
+
+    final JsonObject groups = aggregations.getAsJsonObject(ElasticsearchAggregateSpec.GROUPS);
+    final JsonArray page = groups.getAsJsonArray("buckets");
+    buckets = page.iterator();
+    if (page.size() < pageSize) {
+      lastPage = true;
+    } else {
+      // after_key was only added in 6.3, before that the last key of the page is used to resume.
+      afterKey = groups.has("after_key")
+          ? groups.getAsJsonObject("after_key")
+          : page.get(page.size() - 1).getAsJsonObject().getAsJsonObject("key");
+    }
+  }
+
+  private JsonObject search() {
+    final JsonObject composite = aggregate.getGroupCount() == 0 ? null : request
+        .getAsJsonObject("aggregations")
+        .getAsJsonObject(ElasticsearchAggregateSpec.GROUPS)
+        .getAsJsonObject("composite");
+
+    while (true) {
+      if (composite != null) {
+        composite.addProperty("size", pageSize);
+        if (afterKey != null) {
+          composite.add("after", afterKey);
+        }
+      }
+
+      final Search<byte[]> search = new SearchBytes()
+          .setQuery(request.toString())
+          .setResource(resource);
+      if (splitAttributes != null) {
+        search.setParameter("preference", "_shards:" + splitAttributes.getShard());
+      }
+
+      try {
+        return parse(execute(search));
+      } catch (UserException e) {
+        if (e.getErrorType() == ErrorType.INVALID_DATASET_METADATA) {
+          logger.trace("failed with invalid metadata, ", e);
+          throw UserException.invalidMetadataError()
+              .setAdditionalExceptionContext(
+                  new InvalidMetadataErrorContext(Collections.singletonList(tableSchemaPath)))
+              .build(logger);
+        }
+
+        if (composite == null || pageSize <= MIN_PAGE_SIZE || !isTooManyBuckets(e)) {
+          throw e;
+        }
+
+        pageSize = Math.max(MIN_PAGE_SIZE, pageSize / 2);
+        logger.debug("Elastic rejected aggregation page for having too many buckets, retrying with {} buckets per page.", pageSize);
+      }
+    }
+  }
+
+  private byte[] execute(Search<byte[]> search) {
+    try {
+      if (stats != null) {
+        stats.startWait();
+      }
+      return connection.execute(search);
+    } finally {
+      if (stats != null) {
+        stats.stopWait();
+      }
+    }
+  }
+
+  private JsonObject parse(byte[] bytes) {
+    final JsonObject response = new JsonParser()
+        .parse(new InputStreamReader(new ByteArrayInputStream(bytes), Charsets.UTF_8))
+        .getAsJsonObject();
+
+    // partial results would silently produce wrong aggregates.
+    final boolean timedOut = response.has("timed_out") && response.get("timed_out").getAsBoolean();
+    final JsonObject shards = response.getAsJsonObject("_shards");
+    final int failedShards = shards != null && shards.has("failed") ? shards.get("failed").getAsInt() : 0;
+    if (timedOut || failedShards > 0) {
+      throw UserException.dataReadError()
+          .message(timedOut ? "Elastic aggregation timed out." : "Elastic aggregation failed on %d shard(s).", failedShards)
+          .addContext("Resource", resource)
+          .addContext("Shard", splitAttributes == null ? "all" : splitAttributes.getShard())
+          .addContext("Query", request.toString())
+          .addContext("Final Response", response.toString())
+          .build(logger);
+    }
+    return response;
+  }
+
+  private static boolean isTooManyBuckets(UserException e) {
+    if (e.getOriginalMessage() != null && e.getOriginalMessage().contains(TOO_MANY_BUCKETS)) {
+      return true;
+    }
+    for (String context : e.getContextStrings()) {
+      if (context.contains(TOO_MANY_BUCKETS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ValueWriter newWriter(ValueVector vector) {
+    if (vector instanceof BigIntVector) {
+      return (index, value) -> ((BigIntVector) vector).setSafe(index, value.getAsLong());
+    } else if (vector instanceof IntVector) {
+      return (index, value) -> ((IntVector) vector).setSafe(index, value.getAsInt());
+    } else if (vector instanceof Float8Vector) {
+      return (index, value) -> ((Float8Vector) vector).setSafe(index, value.getAsDouble());
+    } else if (vector instanceof Float4Vector) {
+      return (index, value) -> ((Float4Vector) vector).setSafe(index, value.getAsFloat());
+    } else if (vector instanceof BitVector) {
+      // keys of boolean fields are either booleans or 0/1 depending on the version.
+      return (index, value) -> ((BitVector) vector).setSafe(index, asBoolean(value) ? 1 : 0);
+    } else if (vector instanceof TimeStampMilliVector) {
+      // epoch milliseconds, as a number for metrics and as a string for keys.
+      return (index, value) -> ((TimeStampMilliVector) vector).setSafe(index, value.getAsLong());
+    } else if (vector instanceof VarCharVector) {
+      return (index, value) -> ((VarCharVector) vector).setSafe(index, value.getAsString().getBytes(Charsets.UTF_8));
+    }
+
+    throw UserException.unsupportedError()
+        .message("Unable to read Elastic aggregation results into %s.", vector.getField())
+        .build(logger);
+  }
+
+  private static boolean asBoolean(JsonPrimitive value) {
+    if (value.isBoolean()) {
+      return value.getAsBoolean();
+    } else if (value.isNumber()) {
+      return value.getAsLong() != 0;
+    }
+    return Boolean.parseBoolean(value.getAsString());
+  }
+
+  @Override
+  public void close() throws Exception {
+  }
+
+  /**
+   * Writes a non-null Elastic value into a vector.
+   */
+  private interface ValueWriter {
+    void write(int index, JsonPrimitive value);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic.planning;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Describes how to read the result of an aggregation pushed down into Elastic.
+ *
+ * The output starts with one column per group key, read from the key of the
+ * composite aggregation buckets, followed by one column per metric. When there
+ * are no group keys, the metrics are nested under a single match all filter
+ * aggregation so that the document count is always exact.
+ */
+public class ElasticsearchAggregateSpec {
+
+  public static final String GROUPS = "groups";
+  public static final String ALL = "all";
+  public static final String COUNT_SUFFIX = "_count";
+
+  /**
+   * Metrics that can be computed by Elastic.
+   */
+  public enum MetricType {
+    DOC_COUNT(null, false),
+    VALUE_COUNT("value_count", false),
+    SUM("sum", true),
+    SUM0("sum", false),
+    MIN("min", true),
+    MAX("max", true);
+
+    private final String function;
+    private final boolean nullWhenEmpty;
+
+    MetricType(String function, boolean nullWhenEmpty) {
+      this.function = function;
+      this.nullWhenEmpty = nullWhenEmpty;
+    }
+
+    /**
+     * @return the Elastic metric aggregation name, or null if the value is the bucket document count.
+     */
+    public String getFunction() {
+      return function;
+    }
+
+    /**
+     * Elastic reports 0 (sum) or nothing meaningful (min/max) when no value was aggregated while SQL
+     * expects null. Those metrics are paired with a value_count aggregation to tell the cases apart.
+     */
+    public boolean isNullWhenEmpty() {
+      return nullWhenEmpty;
+    }
+  }
+
+  private final int groupCount;
+  private final List<MetricType> metrics;
+  private final int pageSize;
+
+  @JsonCreator
+  public ElasticsearchAggregateSpec(
+      @JsonProperty("groupCount") int groupCount,
+      @JsonProperty("metrics") List<MetricType> metrics,
+      @JsonProperty("pageSize") int pageSize) {
+    this.groupCount = groupCount;
+    this.metrics = ImmutableList.copyOf(metrics);
+    this.pageSize = pageSize;
+  }
+
+  public int getGroupCount() {
+    return groupCount;
+  }
+
+  public List<MetricType> getMetrics() {
+    return metrics;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public static String getKeyName(int index) {
+    return "g" + index;
+  }
+
+  public static String getMetricName(int index) {
+    return "m" + index;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof ElasticsearchAggregateSpec)) {
+      return false;
+    }
+    ElasticsearchAggregateSpec castOther = (ElasticsearchAggregateSpec) other;
+    return groupCount == castOther.groupCount && pageSize == castOther.pageSize
+        && Objects.equal(metrics, castOther.metrics);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(groupCount, metrics, pageSize);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("groupCount", groupCount).add("metrics", metrics)
+        .add("pageSize", pageSize).toString();
+  }
+}
@@ -24,9 +24,11 @@ import com.dremio.exec.physical.base.AbstractGroupScan;
 import com.dremio.exec.physical.base.OpProps;
 import com.dremio.exec.physical.base.SubScan;
 import com.dremio.exec.proto.UserBitShared.CoreOperatorType;
+import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.store.SplitAndPartitionInfo;
 import com.dremio.exec.store.SplitWork;
 import com.dremio.exec.store.TableMetadata;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
@@ -39,16 +41,19 @@ public class ElasticsearchGroupScan extends AbstractGroupScan {
 
   private final ElasticsearchScanSpec spec;
   private final long rowCountEstimate;
+  private final BatchSchema fullSchema;
 
   public ElasticsearchGroupScan(
       OpProps props,
       ElasticsearchScanSpec spec,
       TableMetadata table,
       List<SchemaPath> columns,
+      BatchSchema fullSchema,
       long rowCountEstimate
       ) {
     super(props, table, columns);
     this.spec = spec;
+    this.fullSchema = fullSchema;
     this.rowCountEstimate = rowCountEstimate;
   }
 
@@ -57,6 +62,15 @@ public class ElasticsearchGroupScan extends AbstractGroupScan {
     return spec;
   }
 
+  /**
+   * The table schema, or the output schema of the aggregation if one was pushed down.
+   */
+  @Override
+  @JsonIgnore
+  public BatchSchema getFullSchema() {
+    return fullSchema;
+  }
+
   @Override
   public SubScan getSpecificScan(List<SplitWork> work) throws ExecutionSetupException {
     List<SplitAndPartitionInfo> splitWork = work
@@ -71,7 +85,7 @@ public class ElasticsearchGroupScan extends AbstractGroupScan {
         splitWork,
         getColumns(),
         Iterables.getOnlyElement(getReferencedTables()),
-        getDataset().getSchema(),
+        fullSchema,
         getDataset().getReadDefinition().getExtendedProperty()
         );
   }
@@ -107,10 +107,22 @@ public class ElasticsearchSubScan extends SubScanWithProjection {
     return splits;
   }
 
+  @Override
+  @JsonIgnore
+  public int getSplitCount() {
+    return splits == null ? -1 : splits.size();
+  }
+
   public ByteString getExtendedProperty() {
     return extendedProperty;
   }
 
+  @Override
+  public boolean mayLearnSchema() {
+    // the schema of an aggregation is derived from the plan, not from the documents.
+    return spec.getAggregate() == null;
+  }
+
   @Override
   public int getOperatorType() {
     return CoreOperatorType.ELASTICSEARCH_SUB_SCAN_VALUE;
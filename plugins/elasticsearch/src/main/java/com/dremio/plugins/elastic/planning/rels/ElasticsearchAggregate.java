@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic.planning.rels;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.Pair;
+
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.catalog.StoragePluginId;
+import com.dremio.exec.expr.fn.FunctionLookupContext;
+import com.dremio.exec.physical.base.PhysicalOperator;
+import com.dremio.exec.planner.cost.DremioCost;
+import com.dremio.exec.planner.cost.DremioCost.Factory;
+import com.dremio.exec.planner.physical.PhysicalPlanCreator;
+import com.dremio.exec.planner.physical.Prel;
+import com.dremio.exec.planner.physical.PrelUtil;
+import com.dremio.exec.planner.physical.SinglePrel;
+import com.dremio.exec.planner.physical.visitor.PrelVisitor;
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec.MetricType;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * An aggregation computed by Elastic. Group keys and metric arguments have already been resolved
+ * to Elastic fields, so the input is the filter or the scan (any project has been folded in).
+ *
+ * Each split returns the buckets of a single shard, so the rule that creates this rel keeps a
+ * merging aggregate on top of the pushed down scan.
+ */
+public class ElasticsearchAggregate extends SinglePrel implements ElasticsearchPrel, ElasticTerminalPrel {
+
+  private final List<SchemaPath> groupKeys;
+  private final List<Pair<MetricType, SchemaPath>> metrics;
+  private final double estimatedRowCount;
+  private final StoragePluginId pluginId;
+
+  public ElasticsearchAggregate(
+      RelOptCluster cluster,
+      RelTraitSet traits,
+      RelNode input,
+      RelDataType rowType,
+      List<SchemaPath> groupKeys,
+      List<Pair<MetricType, SchemaPath>> metrics,
+      double estimatedRowCount,
+      StoragePluginId pluginId) {
+    super(cluster, traits, input);
+    this.rowType = rowType;
+    this.groupKeys = ImmutableList.copyOf(groupKeys);
+    this.metrics = ImmutableList.copyOf(metrics);
+    this.estimatedRowCount = estimatedRowCount;
+    this.pluginId = pluginId;
+  }
+
+  public List<SchemaPath> getGroupKeys() {
+    return groupKeys;
+  }
+
+  public List<Pair<MetricType, SchemaPath>> getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @return the output columns, group keys first and then metrics.
+   */
+  public List<SchemaPath> getColumns() {
+    return getRowType().getFieldNames().stream()
+        .map(SchemaPath::getSimplePath)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public RelWriter explainTerms(RelWriter pw) {
+    return super.explainTerms(pw).item("groupKeys", groupKeys).item("metrics", metrics);
+  }
+
+  @Override
+  public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+    if(PrelUtil.getSettings(getCluster()).useDefaultCosting()) {
+      return super.computeSelfCost(planner).multiplyBy(.1);
+    }
+
+    double cpuCost = DremioCost.COMPARE_CPU_COST * estimatedRowCount;
+    Factory costFactory = (Factory)planner.getCostFactory();
+    return costFactory.makeCost(estimatedRowCount, cpuCost, 0, 0);
+  }
+
+  @Override
+  public double estimateRowCount(RelMetadataQuery mq) {
+    return estimatedRowCount;
+  }
+
+  @Override
+  public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+    return new ElasticsearchAggregate(getCluster(), traitSet, sole(inputs), rowType, groupKeys, metrics, estimatedRowCount, pluginId);
+  }
+
+  @Override
+  protected Object clone() throws CloneNotSupportedException {
+    return copy(getTraitSet(), getInputs());
+  }
+
+  @Override
+  public PhysicalOperator getPhysicalOperator(PhysicalPlanCreator creator) throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public <T, X, E extends Throwable> T accept(PrelVisitor<T, X, E> visitor, X value) throws E {
+    return visitor.visitPrel(this, value);
+  }
+
+  @Override
+  public SelectionVectorMode[] getSupportedEncodings() {
+    return SelectionVectorMode.DEFAULT;
+  }
+
+  @Override
+  public SelectionVectorMode getEncoding() {
+    return SelectionVectorMode.NONE;
+  }
+
+  @Override
+  public boolean needsFinalColumnReordering() {
+    return false;
+  }
+
+  @Override
+  public Iterator<Prel> iterator() {
+    return PrelUtil.iter(getInput());
+  }
+
+  @Override
+  public BatchSchema getSchema(FunctionLookupContext context) {
+    return BatchSchema.fromCalciteRowType(getRowType());
+  }
+
+  @Override
+  public StoragePluginId getPluginId() {
+    return pluginId;
+  }
+
+  @Override
+  public ScanBuilder newScanBuilder() {
+    return new ScanBuilder();
+  }
+}
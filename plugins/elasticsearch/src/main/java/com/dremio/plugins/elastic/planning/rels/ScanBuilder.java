@@ -20,9 +20,12 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
-import com.dremio.exec.physical.base.OpProps;
 import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Pair;
 import org.elasticsearch.action.Action;
 import org.elasticsearch.action.ActionFuture;
 import org.elasticsearch.action.ActionListener;
@@ -43,9 +46,13 @@ import com.dremio.elastic.proto.ElasticReaderProto.ElasticTableXattr;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.expr.fn.FunctionLookupContext;
 import com.dremio.exec.physical.base.GroupScan;
+import com.dremio.exec.physical.base.OpProps;
 import com.dremio.exec.planner.physical.PrelUtil;
+import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.store.SplitWork;
 import com.dremio.plugins.elastic.ElasticsearchConf;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec.MetricType;
 import com.dremio.plugins.elastic.planning.ElasticsearchGroupScan;
 import com.dremio.plugins.elastic.planning.ElasticsearchScanSpec;
 import com.dremio.plugins.elastic.planning.rules.ExpressionNotAnalyzableException;
@@ -53,18 +60,28 @@ import com.dremio.plugins.elastic.planning.rules.PredicateAnalyzer;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 
 public class ScanBuilder {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ScanBuilder.class);
 
-  private final static ImmutableSet<Class<?>> CONSUMEABLE_RELS = ImmutableSet.<Class<?>>of(ElasticsearchSample.class, ElasticsearchLimit.class, ElasticsearchFilter.class, ElasticIntermediateScanPrel.class);
+  private final static ImmutableSet<Class<?>> CONSUMEABLE_RELS = ImmutableSet.<Class<?>>of(ElasticsearchAggregate.class, ElasticsearchSample.class, ElasticsearchLimit.class, ElasticsearchFilter.class, ElasticIntermediateScanPrel.class);
+
+  // A composite aggregation page counts against search.max_buckets, whose default is 10000.
+  private static final int MAX_AGGREGATE_PAGE_SIZE = 10_000;
 
   private ElasticsearchScanSpec spec;
   private ElasticIntermediateScanPrel scan;
+  private ElasticsearchAggregate aggregate;
 
   public GroupScan<SplitWork> toGroupScan(OpProps props, long estimatedRowCount){
-    return new ElasticsearchGroupScan(props, spec, scan.getTableMetadata(), scan.getProjectedColumns(), estimatedRowCount);
+    // an aggregation returns buckets rather than documents of the table.
+    final BatchSchema fullSchema = aggregate == null ? scan.getTableMetadata().getSchema() : props.getSchema();
+    return new ElasticsearchGroupScan(props, spec, scan.getTableMetadata(), getColumns(), fullSchema, estimatedRowCount);
   }
 
   public String getResource(){
@@ -76,7 +93,7 @@ public class ScanBuilder {
   }
 
   public List<SchemaPath> getColumns(){
-    return scan.getProjectedColumns();
+    return aggregate == null ? scan.getProjectedColumns() : aggregate.getColumns();
   }
 
   public RelOptTable getTable() {
@@ -105,10 +122,10 @@ public class ScanBuilder {
    *   The stack must have a leaf that is an ElasticsearchScan
    *   The stack must not include a ElasitcsearchProject (this should have been removed in rel finalization prior to invoking ScanBuilder.
    *   The stack can only include the following rels (and only one each):
-   *     ElasticsearchScanPrel, ElasticsearchFilter, ElasticsearchSample, ElasticsearchLimit
+   *     ElasticsearchScanPrel, ElasticsearchFilter, ElasticsearchSample, ElasticsearchLimit, ElasticsearchAggregate
    *
    *   The order must be
-   *   ElasticsearchSample (or ElasticsearchLimit) (optional)
+   *   ElasticsearchSample (or ElasticsearchLimit or ElasticsearchAggregate) (optional)
    *       \
    *     ElasticsearchFilter (optional)
    *         \
@@ -137,11 +154,13 @@ public class ScanBuilder {
       Preconditions.checkArgument(stack.get(0) instanceof ElasticIntermediateScanPrel);
       break;
     case 2:
-      Preconditions.checkArgument(stack.get(0) instanceof ElasticsearchSample || stack.get(0) instanceof ElasticsearchFilter || stack.get(0) instanceof ElasticsearchLimit);
+      Preconditions.checkArgument(stack.get(0) instanceof ElasticsearchSample || stack.get(0) instanceof ElasticsearchFilter || stack.get(0) instanceof ElasticsearchLimit
+          || stack.get(0) instanceof ElasticsearchAggregate);
       Preconditions.checkArgument(stack.get(1) instanceof ElasticIntermediateScanPrel);
       break;
     case 3:
-      Preconditions.checkArgument(stack.get(0) instanceof ElasticsearchSample || stack.get(0) instanceof ElasticsearchLimit);
+      Preconditions.checkArgument(stack.get(0) instanceof ElasticsearchSample || stack.get(0) instanceof ElasticsearchLimit
+          || stack.get(0) instanceof ElasticsearchAggregate);
       Preconditions.checkArgument(stack.get(1) instanceof ElasticsearchFilter);
       Preconditions.checkArgument(stack.get(2) instanceof ElasticIntermediateScanPrel);
       break;
@@ -192,6 +211,82 @@ public class ScanBuilder {
     return fetch;
   }
 
+  /**
+   * Turns the search into an aggregation: no hits are returned and the group keys become the sources
+   * of a composite aggregation that is paged through by the reader. Without group keys, the metrics
+   * are computed under a match all filter aggregation, which also gives an exact document count.
+   */
+  protected String applyAggregate(SearchRequestBuilder searchRequest, ElasticsearchAggregate aggregate, int pageSize) {
+    final JsonObject body = new JsonParser().parse(searchRequest.toString()).getAsJsonObject();
+    body.remove("from");
+    body.remove("_source");
+    body.addProperty("size", 0);
+
+    final JsonObject metrics = new JsonObject();
+    for (int i = 0; i < aggregate.getMetrics().size(); i++) {
+      final Pair<MetricType, SchemaPath> metric = aggregate.getMetrics().get(i);
+      final MetricType type = metric.getKey();
+      if (type.getFunction() == null) {
+        continue;
+      }
+
+      final String field = metric.getValue().getAsUnescapedPath();
+      final String name = ElasticsearchAggregateSpec.getMetricName(i);
+      metrics.add(name, fieldAggregation(type.getFunction(), field));
+      if (type.isNullWhenEmpty()) {
+        metrics.add(name + ElasticsearchAggregateSpec.COUNT_SUFFIX, fieldAggregation(MetricType.VALUE_COUNT.getFunction(), field));
+      }
+    }
+
+    final List<SchemaPath> groupKeys = aggregate.getGroupKeys();
+    final JsonObject aggregation = new JsonObject();
+    if (groupKeys.isEmpty()) {
+      final JsonObject matchAll = new JsonObject();
+      matchAll.add("match_all", new JsonObject());
+      aggregation.add("filter", matchAll);
+    } else {
+      final List<RelDataTypeField> fields = aggregate.getRowType().getFieldList();
+      final JsonArray sources = new JsonArray();
+      for (int i = 0; i < groupKeys.size(); i++) {
+        final JsonObject terms = new JsonObject();
+        terms.addProperty("field", groupKeys.get(i).getAsUnescapedPath());
+        terms.addProperty("missing_bucket", true);
+        if (fields.get(i).getType().getSqlTypeName() == SqlTypeName.TIMESTAMP) {
+          // otherwise the keys come back in the date format of the mapping.
+          terms.addProperty("format", "epoch_millis");
+        }
+        final JsonObject source = new JsonObject();
+        source.add("terms", terms);
+        final JsonObject namedSource = new JsonObject();
+        namedSource.add(ElasticsearchAggregateSpec.getKeyName(i), source);
+        sources.add(namedSource);
+      }
+
+      final JsonObject composite = new JsonObject();
+      composite.addProperty("size", pageSize);
+      composite.add("sources", sources);
+      aggregation.add("composite", composite);
+    }
+
+    if (metrics.size() > 0) {
+      aggregation.add("aggregations", metrics);
+    }
+
+    final JsonObject aggregations = new JsonObject();
+    aggregations.add(groupKeys.isEmpty() ? ElasticsearchAggregateSpec.ALL : ElasticsearchAggregateSpec.GROUPS, aggregation);
+    body.add("aggregations", aggregations);
+
+    return new GsonBuilder().setPrettyPrinting().create().toJson(body);
+  }
+
+  private static JsonObject fieldAggregation(String function, String field) {
+    final JsonObject parameters = new JsonObject();
+    parameters.addProperty("field", field);
+    final JsonObject aggregation = new JsonObject();
+    aggregation.add(function, parameters);
+    return aggregation;
+  }
+
   protected void applyEdgeProjection(SearchRequestBuilder searchRequest, ElasticIntermediateScanPrel scan) {
     boolean edgeProject = PrelUtil.getPlannerSettings(scan.getCluster()).getOptions().getOption(ExecConstants.ELASTIC_RULES_EDGE_PROJECT);
     if(!edgeProject){
@@ -228,21 +323,37 @@ public class ScanBuilder {
       final ElasticsearchFilter filter = (ElasticsearchFilter) map.get(ElasticsearchFilter.class);
       final ElasticsearchSample sample = (ElasticsearchSample) map.get(ElasticsearchSample.class);
       final ElasticsearchLimit limit = (ElasticsearchLimit) map.get(ElasticsearchLimit.class);
-
-      applyEdgeProjection(searchRequest, scan);
-      applyFilter(searchRequest, scan, filter, tableAttributes);
-      final int fetch = applyFetch(searchRequest,
-        ElasticsearchConf.createElasticsearchConf(scan.getPluginId().getConnectionConf()),
-        limit, filter, sample);
-
-      ElasticsearchScanSpec scanSpec = new ElasticsearchScanSpec(
-          tableAttributes.getResource(),
-          searchRequest.toString(),
-          fetch,
-          filter != null || sample != null || limit != null);
+      final ElasticsearchAggregate aggregate = (ElasticsearchAggregate) map.get(ElasticsearchAggregate.class);
+      final ElasticsearchConf config = ElasticsearchConf.createElasticsearchConf(scan.getPluginId().getConnectionConf());
+
+      final ElasticsearchScanSpec scanSpec;
+      if (aggregate != null) {
+        applyFilter(searchRequest, scan, filter, tableAttributes);
+        final int pageSize = Math.min(config.getScrollSize(), MAX_AGGREGATE_PAGE_SIZE);
+        final List<MetricType> metrics = aggregate.getMetrics().stream()
+            .map(Pair::getKey)
+            .collect(Collectors.toList());
+        scanSpec = new ElasticsearchScanSpec(
+            tableAttributes.getResource(),
+            applyAggregate(searchRequest, aggregate, pageSize),
+            0,
+            true,
+            new ElasticsearchAggregateSpec(aggregate.getGroupKeys().size(), metrics, pageSize));
+      } else {
+        applyEdgeProjection(searchRequest, scan);
+        applyFilter(searchRequest, scan, filter, tableAttributes);
+        final int fetch = applyFetch(searchRequest, config, limit, filter, sample);
+
+        scanSpec = new ElasticsearchScanSpec(
+            tableAttributes.getResource(),
+            searchRequest.toString(),
+            fetch,
+            filter != null || sample != null || limit != null);
+      }
 
       this.spec = scanSpec;
       this.scan = scan;
+      this.aggregate = aggregate;
     } catch (ExpressionNotAnalyzableException e) {
       throw UserException.dataReadError(e).message("Elastic pushdown failed to late to recover query.").build(logger);
     } catch (IOException e) {
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic.planning.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Aggregate.Group;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
+
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.planner.logical.RelOptHelper;
+import com.dremio.exec.planner.physical.AggPrelBase;
+import com.dremio.exec.planner.physical.HashAggPrel;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.physical.PrelUtil;
+import com.dremio.plugins.elastic.ElasticsearchConf;
+import com.dremio.plugins.elastic.ElasticsearchConstants;
+import com.dremio.plugins.elastic.ElasticsearchStoragePlugin;
+import com.dremio.plugins.elastic.mapping.FieldAnnotation;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec.MetricType;
+import com.dremio.plugins.elastic.planning.rels.ElasticIntermediateScanPrel;
+import com.dremio.plugins.elastic.planning.rels.ElasticIntermediateScanPrel.IndexMode;
+import com.dremio.plugins.elastic.planning.rels.ElasticsearchAggregate;
+import com.dremio.plugins.elastic.planning.rels.ElasticsearchIntermediatePrel;
+import com.dremio.plugins.elastic.planning.rels.ElasticsearchPrel;
+import com.dremio.plugins.elastic.planning.rels.ElasticsearchProject;
+import com.dremio.plugins.elastic.planning.rels.ElasticsearchSample;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Pushes group by keys and simple metrics into an Elastic aggregation.
+ *
+ * Every split reads the buckets of a single shard, so the aggregate is kept on top of the
+ * pushed down scan and rewritten to merge the partial results (counts are summed).
+ */
+public class ElasticAggregateRule extends RelOptRule {
+
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ElasticAggregateRule.class);
+
+  public static final ElasticAggregateRule INSTANCE = new ElasticAggregateRule();
+
+  private static final Set<SqlTypeName> NUMERIC_TYPES = ImmutableSet.of(
+      SqlTypeName.INTEGER, SqlTypeName.BIGINT, SqlTypeName.FLOAT, SqlTypeName.REAL, SqlTypeName.DOUBLE);
+
+  private static final Set<SqlTypeName> KEY_TYPES = ImmutableSet.<SqlTypeName>builder()
+      .addAll(NUMERIC_TYPES)
+      .add(SqlTypeName.VARCHAR, SqlTypeName.CHAR, SqlTypeName.BOOLEAN, SqlTypeName.TIMESTAMP)
+      .build();
+
+  // Elastic computes sum/min/max as doubles, which are only exact for longs up to 2^53.
+  private static final Set<SqlTypeName> SUM_TYPES = ImmutableSet.of(
+      SqlTypeName.INTEGER, SqlTypeName.FLOAT, SqlTypeName.REAL, SqlTypeName.DOUBLE);
+
+  private static final Set<SqlTypeName> MIN_MAX_TYPES = ImmutableSet.<SqlTypeName>builder()
+      .addAll(SUM_TYPES)
+      .add(SqlTypeName.TIMESTAMP)
+      .build();
+
+  public ElasticAggregateRule() {
+    super(RelOptHelper.some(AggPrelBase.class, RelOptHelper.any(ElasticsearchIntermediatePrel.class)), "ElasticAggregateRule");
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final AggPrelBase aggregate = call.rel(0);
+    final ElasticsearchIntermediatePrel intermediatePrel = call.rel(1);
+
+    if (intermediatePrel.hasTerminalPrel() || intermediatePrel.contains(ElasticsearchSample.class)) {
+      return false;
+    }
+
+    // a grouped streaming aggregate expects sorted input, which Elastic buckets don't guarantee.
+    if (!(aggregate instanceof HashAggPrel) && !aggregate.getGroupSet().isEmpty()) {
+      return false;
+    }
+
+    if (aggregate.indicator || aggregate.getGroupType() != Group.SIMPLE) {
+      return false;
+    }
+
+    if (!aggregate.getGroupSet().isEmpty()
+        && !intermediatePrel.getPluginId().getCapabilities().getCapability(ElasticsearchStoragePlugin.SUPPORTS_COMPOSITE_AGGREGATION)) {
+      return false;
+    }
+
+    final ElasticIntermediateScanPrel scan = intermediatePrel.get(ElasticIntermediateScanPrel.class);
+    if (scan.getExtendedAttributes().getVariationDetected()) {
+      return false;
+    }
+
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    return call.getMetadataQuery().getRowCount(aggregate) <= settings.getOptions().getOption(ExecConstants.ELASTIC_AGGREGATE_MAX_BUCKETS);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final AggPrelBase aggregate = call.rel(0);
+    final ElasticsearchIntermediatePrel intermediatePrel = call.rel(1);
+    final ElasticIntermediateScanPrel scan = intermediatePrel.get(ElasticIntermediateScanPrel.class);
+
+    // the aggregate references the project on top of the stack, if any, which is folded into the aggregation.
+    final List<ElasticsearchPrel> stack = StackFinder.getStack(intermediatePrel.getInput());
+    final ElasticsearchProject project = stack.get(0) instanceof ElasticsearchProject ? (ElasticsearchProject) stack.get(0) : null;
+    final RelNode input = (RelNode) (project == null ? stack.get(0) : stack.get(1));
+    final List<RelDataType> inputTypes = new ArrayList<>();
+    for (int i = 0; i < aggregate.getInput().getRowType().getFieldCount(); i++) {
+      inputTypes.add(aggregate.getInput().getRowType().getFieldList().get(i).getType());
+    }
+    final ElasticsearchConf config = ElasticsearchConf.createElasticsearchConf(scan.getPluginId().getConnectionConf());
+
+    final List<SchemaPath> groupKeys = new ArrayList<>();
+    for (int index : aggregate.getGroupSet()) {
+      final SchemaPath path = getField(scan, project, index, config);
+      if (path == null || !isKeyType(inputTypes.get(index).getSqlTypeName())) {
+        logger.debug("Unable to push group key {} into Elastic.", index);
+        return;
+      }
+      groupKeys.add(path);
+    }
+
+    final List<Pair<MetricType, SchemaPath>> metrics = new ArrayList<>();
+    final List<AggregateCall> mergeCalls = new ArrayList<>();
+    final int groupCount = groupKeys.size();
+    for (AggregateCall aggCall : aggregate.getAggCallList()) {
+      final Pair<MetricType, SchemaPath> metric = getMetric(aggCall, scan, project, inputTypes, config);
+      if (metric == null) {
+        logger.debug("Unable to push {} into Elastic.", aggCall);
+        return;
+      }
+
+      metrics.add(metric);
+      mergeCalls.add(AggregateCall.create(
+          getMergeFunction(aggCall.getAggregation()),
+          false,
+          false,
+          Collections.singletonList(groupCount + mergeCalls.size()),
+          -1,
+          aggCall.getType(),
+          aggCall.getName()));
+    }
+
+    final ElasticsearchAggregate elasticAggregate = new ElasticsearchAggregate(
+        input.getCluster(),
+        input.getTraitSet(),
+        input,
+        aggregate.getRowType(),
+        groupKeys,
+        metrics,
+        call.getMetadataQuery().getRowCount(aggregate),
+        intermediatePrel.getPluginId());
+    final ElasticsearchIntermediatePrel newInter = intermediatePrel.withNewInput(elasticAggregate);
+
+    // the aggregation output is laid out as the aggregate output: keys first, then metrics.
+    final ImmutableBitSet groupSet = ImmutableBitSet.range(groupCount);
+    call.transformTo(aggregate.copy(
+        aggregate.getTraitSet(),
+        convert(newInter, aggregate.getInput().getTraitSet()),
+        false,
+        groupSet,
+        ImmutableList.of(groupSet),
+        mergeCalls));
+  }
+
+  private static Pair<MetricType, SchemaPath> getMetric(AggregateCall aggCall, ElasticIntermediateScanPrel scan,
+      ElasticsearchProject project, List<RelDataType> inputTypes, ElasticsearchConf config) {
+    if (aggCall.isDistinct() || aggCall.filterArg >= 0 || aggCall.getArgList().size() > 1) {
+      return null;
+    }
+
+    if (aggCall.getArgList().isEmpty()) {
+      return aggCall.getAggregation().getKind() == SqlKind.COUNT ? Pair.of(MetricType.DOC_COUNT, null) : null;
+    }
+
+    final int index = aggCall.getArgList().get(0);
+    final SqlKind kind = aggCall.getAggregation().getKind();
+    if (kind == SqlKind.COUNT && project != null && project.getProjects().get(index) instanceof RexLiteral) {
+      return ((RexLiteral) project.getProjects().get(index)).isNull() ? null : Pair.of(MetricType.DOC_COUNT, null);
+    }
+
+    final MetricType type = getMetricType(kind, inputTypes.get(index).getSqlTypeName());
+    if (type == null) {
+      return null;
+    }
+    final SchemaPath path = getField(scan, project, index, config);
+    return path == null ? null : Pair.of(type, path);
+  }
+
+  /**
+   * Returns the Elastic metric computing the given aggregate function over a single input of the given type, or
+   * null if the aggregate has to be computed by Dremio.
+   */
+  @VisibleForTesting
+  static MetricType getMetricType(SqlKind kind, SqlTypeName type) {
+    switch (kind) {
+    case COUNT:
+      return KEY_TYPES.contains(type) ? MetricType.VALUE_COUNT : null;
+    case SUM:
+      return SUM_TYPES.contains(type) ? MetricType.SUM : null;
+    case SUM0:
+      return SUM_TYPES.contains(type) ? MetricType.SUM0 : null;
+    case MIN:
+      return MIN_MAX_TYPES.contains(type) ? MetricType.MIN : null;
+    case MAX:
+      return MIN_MAX_TYPES.contains(type) ? MetricType.MAX : null;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Whether a group key of the given type can be a source of the composite aggregation.
+   */
+  @VisibleForTesting
+  static boolean isKeyType(SqlTypeName type) {
+    return KEY_TYPES.contains(type);
+  }
+
+  /**
+   * Resolves an aggregate input to an Elastic field that has doc values, or null if it can't be aggregated by Elastic.
+   */
+  private static SchemaPath getField(ElasticIntermediateScanPrel scan, ElasticsearchProject project, int index,
+      ElasticsearchConf config) {
+    final RexNode expression = project == null
+        ? new RexInputRef(index, scan.getRowType().getFieldList().get(index).getType())
+        : project.getProjects().get(index);
+    final SchemaPath path = scan.getDirectReferenceIfPossible(expression, IndexMode.DISALLOW);
+    if (path == null || ElasticsearchConstants.META_PATHS.contains(path) || scan.getSpecialTypeRecursive(path) != null) {
+      return null;
+    }
+
+    final FieldAnnotation annotation = scan.getAnnotation(path);
+    if (annotation != null) {
+      if (annotation.isAnalyzed() || annotation.isDocValueMissing()) {
+        return null;
+      }
+      if (annotation.isNormalized() && !config.isAllowPushdownOnNormalizedOrAnalyzedFields()) {
+        return null;
+      }
+    }
+    return path;
+  }
+
+  private static SqlAggFunction getMergeFunction(SqlAggFunction function) {
+    switch (function.getKind()) {
+    case COUNT:
+      return SqlStdOperatorTable.SUM0;
+    default:
+      return function;
+    }
+  }
+}
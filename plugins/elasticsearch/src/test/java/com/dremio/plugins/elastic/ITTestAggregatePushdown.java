@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic;
+
+import static com.dremio.plugins.elastic.ElasticsearchType.INTEGER;
+import static com.dremio.plugins.elastic.ElasticsearchType.LONG;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dremio.TestBuilder;
+import com.dremio.exec.ExecConstants;
+import com.dremio.plugins.Version;
+import com.dremio.plugins.elastic.ElasticBaseTestQuery.ElasticScrollSize;
+import com.dremio.plugins.elastic.ElasticsearchCluster.ColumnData;
+
+/**
+ * Tests for aggregations pushed down into Elastic.
+ */
+@ElasticScrollSize(scrollSize=128)
+public class ITTestAggregatePushdown extends ElasticBaseTestQuery {
+
+  @Before
+  public void loadTable() throws Exception {
+    setSessionOption(ExecConstants.ELASTIC_RULES_AGGREGATE, "true");
+    ColumnData[] data = getBusinessData();
+    load(schema, table, data);
+  }
+
+  @After
+  public void resetOptions() {
+    resetSessionOption(ExecConstants.ELASTIC_RULES_AGGREGATE);
+  }
+
+  private void assumeCompositeAggregation() {
+    final Version version = elastic.getMinVersionInCluster();
+    assumeTrue(version.getMajor() > 6 || (version.getMajor() == 6 && version.getMinor() >= 4));
+  }
+
+  @Test
+  public void testUngroupedAggregate() throws Exception {
+    final String sql = "select count(*) as cnt, sum(review_count) as total, min(review_count) as low, max(stars) as high "
+        + "from elasticsearch." + schema + "." + table;
+    testPlanSubstrPatterns(sql, new String[] {"\"match_all\"", "\"sum\"", "\"min\"", "\"max\""}, null);
+    testBuilder().sqlQuery(sql).unOrdered()
+        .baselineColumns("cnt", "total", "low", "high")
+        .baselineValues(5L, 78L, 1, 5.0f)
+        .go();
+  }
+
+  @Test
+  public void testGroupedAggregate() throws Exception {
+    assumeCompositeAggregation();
+    final String sql = "select state, count(*) as cnt, sum(review_count) as total "
+        + "from elasticsearch." + schema + "." + table + " group by state";
+    testPlanSubstrPatterns(sql, new String[] {"\"composite\"", "\"missing_bucket\" : true"}, null);
+    testBuilder().sqlQuery(sql).unOrdered()
+        .baselineColumns("state", "cnt", "total")
+        .baselineValues("MA", 2L, 22L)
+        .baselineValues("CA", 3L, 56L)
+        .go();
+  }
+
+  @Test
+  public void testGroupedAggregateWithFilter() throws Exception {
+    assumeCompositeAggregation();
+    final String sql = "select state, count(*) as cnt, sum(review_count) as total "
+        + "from elasticsearch." + schema + "." + table + " where stars >= 4 group by state";
+    testPlanSubstrPatterns(sql, new String[] {"\"composite\"", "\"range\""}, null);
+    testBuilder().sqlQuery(sql).unOrdered()
+        .baselineColumns("state", "cnt", "total")
+        .baselineValues("MA", 2L, 22L)
+        .baselineValues("CA", 1L, 33L)
+        .go();
+  }
+
+  @Test
+  public void testGroupedAggregatePaging() throws Exception {
+    assumeCompositeAggregation();
+    // more groups than the scroll size, so the reader has to follow the after key across pages.
+    final int rowCount = 300;
+    final Object[][] values = new Object[rowCount][1];
+    for (int i = 0; i < rowCount; i++) {
+      values[i][0] = i % 200;
+    }
+    final String pagedTable = table + "_paged";
+    load(schema, pagedTable, new ColumnData[] {new ColumnData("val", INTEGER, values)});
+
+    final TestBuilder builder = testBuilder()
+        .sqlQuery("select val, count(*) as cnt from elasticsearch." + schema + "." + pagedTable + " group by val")
+        .unOrdered()
+        .baselineColumns("val", "cnt");
+    for (int i = 0; i < 200; i++) {
+      builder.baselineValues(i, i < 100 ? 2L : 1L);
+    }
+    builder.go();
+  }
+
+  @Test
+  public void testBigIntSumNotPushed() throws Exception {
+    // Elastic sums longs as doubles, 2^53 + 1 would come back as 2^53.
+    final long value = (1L << 53) + 1;
+    final String longTable = table + "_long";
+    load(schema, longTable, new ColumnData[] {new ColumnData("val", LONG, new Object[][] {{value}, {0L}})});
+
+    final String sql = "select sum(val) as total, max(val) as high from elasticsearch." + schema + "." + longTable;
+    testPlanSubstrPatterns(sql, null, new String[] {"\"sum\"", "\"max\""});
+    testBuilder().sqlQuery(sql).unOrdered()
+        .baselineColumns("total", "high")
+        .baselineValues(value, value)
+        .go();
+  }
+
+    @Test
+  public void testAnalyzedFieldNotPushed() throws Exception {
+    final String sql = "select city_analyzed, count(*) as cnt "
+        + "from elasticsearch." + schema + "." + table + " group by city_analyzed";
+    testPlanSubstrPatterns(sql, null, new String[] {"\"composite\""});
+  }
+}
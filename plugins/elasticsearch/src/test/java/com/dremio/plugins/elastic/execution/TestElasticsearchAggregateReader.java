@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.common.expression.CompleteType;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.TestOutputMutator;
+import com.dremio.plugins.elastic.ElasticActions.Search;
+import com.dremio.plugins.elastic.ElasticConnectionPool.ElasticConnection;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec;
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec.MetricType;
+import com.dremio.plugins.elastic.planning.ElasticsearchScanSpec;
+import com.dremio.sabot.BaseTestWithAllocator;
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests reading the buckets of aggregations pushed down into Elastic.
+ */
+public class TestElasticsearchAggregateReader extends BaseTestWithAllocator {
+
+  private static final String GROUPED_QUERY = "{\"size\":0,\"aggregations\":{\"groups\":{\"composite\":"
+      + "{\"sources\":[{\"g0\":{\"terms\":{\"field\":\"state\",\"missing_bucket\":true}}}]},"
+      + "\"aggregations\":{\"m1\":{\"sum\":{\"field\":\"review_count\"}},"
+      + "\"m1_count\":{\"value_count\":{\"field\":\"review_count\"}}}}}}";
+
+  private static final String UNGROUPED_QUERY = "{\"size\":0,\"aggregations\":{\"all\":{\"filter\":{\"match_all\":{}},"
+      + "\"aggregations\":{\"m1\":{\"max\":{\"field\":\"stars\"}},\"m1_count\":{\"value_count\":{\"field\":\"stars\"}}}}}}";
+
+  @Test
+  public void testGroupedBucketsAcrossPages() throws Exception {
+    final ElasticConnection connection = mock(ElasticConnection.class);
+    when(connection.execute(any(Search.class))).thenReturn(
+        bytes("{\"_shards\":{\"failed\":0},\"aggregations\":{\"groups\":{\"after_key\":{\"g0\":\"MA\"},\"buckets\":["
+            + "{\"key\":{\"g0\":\"CA\"},\"doc_count\":3,\"m1\":{\"value\":56.0},\"m1_count\":{\"value\":3}},"
+            + "{\"key\":{\"g0\":\"MA\"},\"doc_count\":2,\"m1\":{\"value\":22.0},\"m1_count\":{\"value\":2}}]}}}"),
+        bytes("{\"_shards\":{\"failed\":0},\"aggregations\":{\"groups\":{\"buckets\":["
+            + "{\"key\":{\"g0\":null},\"doc_count\":4,\"m1\":{\"value\":0.0},\"m1_count\":{\"value\":0}}]}}}"));
+
+    final BatchSchema schema = BatchSchema.newBuilder()
+        .addField(CompleteType.VARCHAR.toField("state"))
+        .addField(CompleteType.BIGINT.toField("cnt"))
+        .addField(CompleteType.DOUBLE.toField("total"))
+        .build();
+    final ElasticsearchAggregateSpec aggregate =
+        new ElasticsearchAggregateSpec(1, ImmutableList.of(MetricType.DOC_COUNT, MetricType.SUM), 2);
+
+    final TestOutputMutator mutator = new TestOutputMutator(allocator);
+    try (ElasticsearchAggregateReader reader = newReader(connection, GROUPED_QUERY, aggregate, schema, mutator)) {
+      assertEquals(3, next(reader, mutator));
+
+      final VarCharVector state = (VarCharVector) mutator.getVector("state");
+      final BigIntVector count = (BigIntVector) mutator.getVector("cnt");
+      final Float8Vector total = (Float8Vector) mutator.getVector("total");
+      assertEquals("CA", state.getObject(0).toString());
+      assertEquals("MA", state.getObject(1).toString());
+      assertTrue(state.isNull(2));
+      assertEquals(3L, count.get(0));
+      assertEquals(2L, count.get(1));
+      assertEquals(4L, count.get(2));
+      assertEquals(56.0, total.get(0), 0.0);
+      assertEquals(22.0, total.get(1), 0.0);
+      // no value was summed in the last bucket.
+      assertTrue(total.isNull(2));
+
+      assertEquals(0, next(reader, mutator));
+    } finally {
+      AutoCloseables.close(mutator.getVectors());
+    }
+
+    // the second page resumes after the key reported by the first one.
+    final ArgumentCaptor<Search> searches = ArgumentCaptor.forClass(Search.class);
+    verify(connection, times(2)).execute(searches.capture());
+    final List<Search> requests = searches.getAllValues();
+    assertFalse(composite(requests.get(0)).has("after"));
+    assertEquals("MA", composite(requests.get(1)).getAsJsonObject("after").get("g0").getAsString());
+    assertEquals(2, composite(requests.get(1)).get("size").getAsInt());
+  }
+
+  @Test
+  public void testUngroupedBucket() throws Exception {
+    final ElasticConnection connection = mock(ElasticConnection.class);
+    when(connection.execute(any(Search.class))).thenReturn(
+        bytes("{\"_shards\":{\"failed\":0},\"aggregations\":{\"all\":"
+            + "{\"doc_count\":5,\"m1\":{\"value\":5.0},\"m1_count\":{\"value\":5}}}}"));
+
+    final BatchSchema schema = BatchSchema.newBuilder()
+        .addField(CompleteType.BIGINT.toField("cnt"))
+        .addField(CompleteType.DOUBLE.toField("high"))
+        .build();
+    final ElasticsearchAggregateSpec aggregate =
+        new ElasticsearchAggregateSpec(0, ImmutableList.of(MetricType.DOC_COUNT, MetricType.MAX), 2);
+
+    final TestOutputMutator mutator = new TestOutputMutator(allocator);
+    try (ElasticsearchAggregateReader reader = newReader(connection, UNGROUPED_QUERY, aggregate, schema, mutator)) {
+      assertEquals(1, next(reader, mutator));
+      assertEquals(5L, ((BigIntVector) mutator.getVector("cnt")).get(0));
+      assertEquals(5.0, ((Float8Vector) mutator.getVector("high")).get(0), 0.0);
+      assertEquals(0, next(reader, mutator));
+    } finally {
+      AutoCloseables.close(mutator.getVectors());
+    }
+    verify(connection, times(1)).execute(any(Search.class));
+  }
+
+  @Test
+  public void testNoAggregations() throws Exception {
+    final ElasticConnection connection = mock(ElasticConnection.class);
+    when(connection.execute(any(Search.class))).thenReturn(bytes("{\"_shards\":{\"failed\":0}}"));
+
+    final BatchSchema schema = BatchSchema.newBuilder()
+        .addField(CompleteType.BIGINT.toField("cnt"))
+        .build();
+    final ElasticsearchAggregateSpec aggregate =
+        new ElasticsearchAggregateSpec(0, ImmutableList.of(MetricType.DOC_COUNT), 2);
+
+    final TestOutputMutator mutator = new TestOutputMutator(allocator);
+    try (ElasticsearchAggregateReader reader = newReader(connection, UNGROUPED_QUERY, aggregate, schema, mutator)) {
+      // a response without aggregations has no buckets to read.
+      assertEquals(0, next(reader, mutator));
+    } finally {
+      AutoCloseables.close(mutator.getVectors());
+    }
+    verify(connection, times(1)).execute(any(Search.class));
+  }
+
+  private ElasticsearchAggregateReader newReader(ElasticConnection connection, String query,
+      ElasticsearchAggregateSpec aggregate, BatchSchema schema, TestOutputMutator mutator) throws Exception {
+    for (Field field : schema.getFields()) {
+      mutator.addField(field, ValueVector.class);
+    }
+    final ElasticsearchAggregateReader reader = new ElasticsearchAggregateReader(null,
+        new ElasticsearchScanSpec("index/type", query, 0, true, aggregate), schema,
+        ImmutableList.of(SchemaPath.getSimplePath("*")), ImmutableList.of("elastic", "index", "type"), null,
+        connection);
+    reader.setup(mutator);
+    return reader;
+  }
+
+  private static int next(ElasticsearchAggregateReader reader, TestOutputMutator mutator) {
+    for (ValueVector vector : mutator.getVectors()) {
+      vector.clear();
+      vector.allocateNew();
+    }
+    return reader.next();
+  }
+
+  private static JsonObject composite(Search<?> search) {
+    return new JsonParser().parse(search.getQuery()).getAsJsonObject()
+        .getAsJsonObject("aggregations")
+        .getAsJsonObject(ElasticsearchAggregateSpec.GROUPS)
+        .getAsJsonObject("composite");
+  }
+
+  private static byte[] bytes(String response) {
+    return response.getBytes(Charsets.UTF_8);
+  }
+}
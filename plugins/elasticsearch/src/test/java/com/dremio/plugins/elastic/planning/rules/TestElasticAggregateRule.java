@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.plugins.elastic.planning.rules;
+
+import static com.dremio.plugins.elastic.planning.rules.ElasticAggregateRule.getMetricType;
+import static com.dremio.plugins.elastic.planning.rules.ElasticAggregateRule.isKeyType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.Test;
+
+import com.dremio.plugins.elastic.planning.ElasticsearchAggregateSpec.MetricType;
+import com.dremio.test.DremioTest;
+
+/**
+ * Tests which aggregates {@link ElasticAggregateRule} pushes into Elastic.
+ */
+public class TestElasticAggregateRule extends DremioTest {
+
+  @Test
+  public void testCount() {
+    assertEquals(MetricType.VALUE_COUNT, getMetricType(SqlKind.COUNT, SqlTypeName.BIGINT));
+    assertEquals(MetricType.VALUE_COUNT, getMetricType(SqlKind.COUNT, SqlTypeName.VARCHAR));
+    assertEquals(MetricType.VALUE_COUNT, getMetricType(SqlKind.COUNT, SqlTypeName.TIMESTAMP));
+    assertNull(getMetricType(SqlKind.COUNT, SqlTypeName.ANY));
+  }
+
+  @Test
+  public void testSumMinMax() {
+    assertEquals(MetricType.SUM, getMetricType(SqlKind.SUM, SqlTypeName.INTEGER));
+    assertEquals(MetricType.SUM0, getMetricType(SqlKind.SUM0, SqlTypeName.DOUBLE));
+    assertEquals(MetricType.MIN, getMetricType(SqlKind.MIN, SqlTypeName.FLOAT));
+    assertEquals(MetricType.MAX, getMetricType(SqlKind.MAX, SqlTypeName.TIMESTAMP));
+    assertNull(getMetricType(SqlKind.SUM, SqlTypeName.TIMESTAMP));
+    assertNull(getMetricType(SqlKind.MIN, SqlTypeName.VARCHAR));
+  }
+
+  @Test
+  public void testBigIntMetricsNotPushed() {
+    // Elastic returns these as doubles, which would lose precision above 2^53.
+    assertNull(getMetricType(SqlKind.SUM, SqlTypeName.BIGINT));
+    assertNull(getMetricType(SqlKind.SUM0, SqlTypeName.BIGINT));
+    assertNull(getMetricType(SqlKind.MIN, SqlTypeName.BIGINT));
+    assertNull(getMetricType(SqlKind.MAX, SqlTypeName.BIGINT));
+  }
+
+  @Test
+  public void testUnsupportedFunctions() {
+    assertNull(getMetricType(SqlKind.AVG, SqlTypeName.DOUBLE));
+    assertNull(getMetricType(SqlKind.STDDEV_POP, SqlTypeName.DOUBLE));
+  }
+
+  @Test
+  public void testKeyTypes() {
+    assertTrue(isKeyType(SqlTypeName.BIGINT));
+    assertTrue(isKeyType(SqlTypeName.VARCHAR));
+    assertTrue(isKeyType(SqlTypeName.BOOLEAN));
+    assertTrue(isKeyType(SqlTypeName.TIMESTAMP));
+    assertFalse(isKeyType(SqlTypeName.DECIMAL));
+    assertFalse(isKeyType(SqlTypeName.ANY));
+  }
+}
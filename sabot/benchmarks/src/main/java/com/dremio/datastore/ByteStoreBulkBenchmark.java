@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.datastore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the RocksDB backed byte store for a batch of {@code batchSize} keys, comparing
+ * one call per key with the bulk {@code get(List)}, {@code putAll} and {@code deleteAll}
+ * operations. Lives in the datastore package since byte stores are not public.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteStoreBulkBenchmark {
+
+  private static final int KEY_COUNT = 100_000;
+
+  @Param({"16", "256"})
+  private int batchSize;
+
+  @Param({"100", "4096"})
+  private int valueSize;
+
+  private Path directory;
+  private ByteStoreManager manager;
+  private ByteStore store;
+  private List<byte[]> keys;
+  private List<byte[]> values;
+  private Random random;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    directory = Files.createTempDirectory("bytestore-benchmark");
+    manager = new ByteStoreManager(directory.toString(), false);
+    manager.start();
+    store = manager.getStore("benchmark");
+
+    random = new Random(batchSize);
+    keys = new ArrayList<>(KEY_COUNT);
+    values = new ArrayList<>(KEY_COUNT);
+    for (int i = 0; i < KEY_COUNT; i++) {
+      final byte[] key = String.format("key-%08d", i).getBytes();
+      final byte[] value = new byte[valueSize];
+      random.nextBytes(value);
+      keys.add(key);
+      values.add(value);
+      store.put(key, value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    manager.close();
+    FileUtils.deleteQuietly(directory.toFile());
+  }
+
+  private int nextBatchStart() {
+    return random.nextInt(KEY_COUNT - batchSize);
+  }
+
+  @Benchmark
+  public void getLoop(Blackhole blackhole) {
+    final int start = nextBatchStart();
+    for (byte[] key : keys.subList(start, start + batchSize)) {
+      blackhole.consume(store.get(key));
+    }
+  }
+
+  @Benchmark
+  public void getBulk(Blackhole blackhole) {
+    final int start = nextBatchStart();
+    blackhole.consume(store.get(keys.subList(start, start + batchSize)));
+  }
+
+  @Benchmark
+  public void putLoop() {
+    final int start = nextBatchStart();
+    for (int i = start; i < start + batchSize; i++) {
+      store.put(keys.get(i), values.get(i));
+    }
+  }
+
+  @Benchmark
+  public void putBulk() {
+    final int start = nextBatchStart();
+    final Map<byte[], byte[]> entries = new LinkedHashMap<>();
+    for (int i = start; i < start + batchSize; i++) {
+      entries.put(keys.get(i), values.get(i));
+    }
+    store.putAll(entries);
+  }
+
+  /**
+   * Deletes a batch and puts it back, so that the store keeps the same content across invocations.
+   */
+  @Benchmark
+  public void deleteLoop() {
+    final int start = nextBatchStart();
+    for (int i = start; i < start + batchSize; i++) {
+      store.delete(keys.get(i));
+    }
+    for (int i = start; i < start + batchSize; i++) {
+      store.put(keys.get(i), values.get(i));
+    }
+  }
+
+  /**
+   * Deletes a batch and puts it back, so that the store keeps the same content across invocations.
+   */
+  @Benchmark
+  public void deleteBulk() {
+    final int start = nextBatchStart();
+    store.deleteAll(keys.subList(start, start + batchSize));
+    final Map<byte[], byte[]> entries = new LinkedHashMap<>();
+    for (int i = start; i < start + batchSize; i++) {
+      entries.put(keys.get(i), values.get(i));
+    }
+    store.putAll(entries);
+  }
+}
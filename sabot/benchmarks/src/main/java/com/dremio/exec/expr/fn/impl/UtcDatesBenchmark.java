@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.MutableDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Date functions over a batch of timestamps: {@link UtcDates} against a reused Joda
+ * {@link MutableDateTime}, as the generated functions used to evaluate them. Reported time is per value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtcDatesBenchmark {
+
+  private static final int BATCH_SIZE = 4096;
+
+  private final long[] values = new long[BATCH_SIZE];
+  private final long[] results = new long[BATCH_SIZE];
+  private final MutableDateTime dateTime = new MutableDateTime(DateTimeZone.UTC);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final Random random = new Random(0);
+    // 1950 to 2050
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      values[i] = (long) ((random.nextDouble() * 2 - 1) * 50 * 365 * UtcDates.MILLIS_PER_DAY) + 30L * 365 * UtcDates.MILLIS_PER_DAY;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] extractHourJoda() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      dateTime.setMillis(values[i]);
+      results[i] = dateTime.getHourOfDay();
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] extractHour() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      results[i] = UtcDates.hourOfDay(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] truncateToDayJoda() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      dateTime.setMillis(values[i]);
+      dateTime.setRounding(dateTime.getChronology().dayOfMonth());
+      results[i] = dateTime.getMillis();
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] truncateToDay() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      results[i] = UtcDates.truncateToDay(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] truncateToMonthJoda() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      dateTime.setMillis(values[i]);
+      dateTime.setRounding(dateTime.getChronology().monthOfYear());
+      results[i] = dateTime.getMillis();
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] truncateToMonth() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      results[i] = UtcDates.truncateToMonth(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] addMonthsJoda() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      dateTime.setRounding(null, MutableDateTime.ROUND_NONE);
+      dateTime.setMillis(values[i]);
+      dateTime.addMonths(7);
+      results[i] = dateTime.getMillis();
+    }
+    return results;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long[] addMonths() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      results[i] = UtcDates.addMonths(values[i], 7);
+    }
+    return results;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JSON result files written by {@link BenchmarkRunner}, typically the ones of two
+ * releases, and prints the change of every benchmark present in both.
+ *
+ * Usage: {@code BenchmarkCompare <baseline.json> <current.json> [threshold percentage]}.
+ * Exits with a non zero status if any benchmark regressed by more than the threshold (10% by
+ * default).
+ */
+public final class BenchmarkCompare {
+
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+  private static final double DEFAULT_THRESHOLD = 10;
+
+  private BenchmarkCompare() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BenchmarkCompare <baseline.json> <current.json> [threshold percentage]");
+      System.exit(2);
+    }
+    final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+    final Map<String, JsonNode> baseline = load(new File(args[0]));
+    final Map<String, JsonNode> current = load(new File(args[1]));
+
+    int regressions = 0;
+    System.out.println(String.format("%-100s %14s %14s %9s %12s %12s",
+      "Benchmark", "Baseline", "Current", "Change", "Alloc B/op", "Alloc B/op"));
+    for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+      final JsonNode before = baseline.get(entry.getKey());
+      if (before == null) {
+        continue;
+      }
+      final JsonNode after = entry.getValue();
+      final double beforeScore = before.path("primaryMetric").path("score").asDouble();
+      final double afterScore = after.path("primaryMetric").path("score").asDouble();
+      // positive is better: lower is better for time based modes, higher for throughput
+      final double change = (afterScore - beforeScore) / beforeScore * 100
+        * ("thrpt".equals(after.path("mode").asText()) ? 1 : -1);
+      final boolean regressed = change < -threshold;
+      if (regressed) {
+        regressions++;
+      }
+      System.out.println(String.format("%-100s %14.3f %14.3f %+8.1f%% %12.1f %12.1f%s",
+        entry.getKey(), beforeScore, afterScore, change, allocation(before), allocation(after),
+        regressed ? "  REGRESSION" : ""));
+    }
+
+    if (regressions > 0) {
+      System.out.println(String.format("%d benchmark(s) regressed by more than %.1f%%", regressions, threshold));
+      System.exit(1);
+    }
+  }
+
+  /**
+   * @return results keyed by benchmark name, mode and parameters
+   */
+  private static Map<String, JsonNode> load(File file) throws IOException {
+    final Map<String, JsonNode> results = new LinkedHashMap<>();
+    for (JsonNode result : new ObjectMapper().readTree(file)) {
+      final StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+        .append(" (").append(result.path("mode").asText());
+      // sort the parameters so that the key doesn't depend on the order JMH wrote them in
+      final Map<String, String> params = new TreeMap<>();
+      final Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        params.put(field.getKey(), field.getValue().asText());
+      }
+      for (Map.Entry<String, String> param : params.entrySet()) {
+        key.append(", ").append(param.getKey()).append('=').append(param.getValue());
+      }
+      results.put(key.append(')').toString(), result);
+    }
+    return results;
+  }
+
+  private static double allocation(JsonNode result) {
+    final Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+    while (metrics.hasNext()) {
+      final Map.Entry<String, JsonNode> metric = metrics.next();
+      // JMH prefixes profiler metrics with a middle dot
+      if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+        return metric.getValue().path("score").asDouble();
+      }
+    }
+    return Double.NaN;
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark.tpch;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.common.config.SabotConfig;
+import com.dremio.common.utils.protos.ExternalIdHelper;
+import com.dremio.common.utils.protos.QueryWritableBatch;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.catalog.CatalogServiceImpl;
+import com.dremio.exec.planner.observer.AbstractAttemptObserver;
+import com.dremio.exec.planner.observer.AbstractQueryObserver;
+import com.dremio.exec.planner.observer.AttemptObserver;
+import com.dremio.exec.proto.GeneralRPCProtos.Ack;
+import com.dremio.exec.proto.UserBitShared.QueryProfile;
+import com.dremio.exec.proto.UserBitShared.QueryType;
+import com.dremio.exec.proto.UserProtos.RunQuery;
+import com.dremio.exec.proto.UserProtos.SubmissionSource;
+import com.dremio.exec.rpc.Acks;
+import com.dremio.exec.rpc.RpcOutcomeListener;
+import com.dremio.exec.server.SabotNode;
+import com.dremio.exec.store.CatalogService;
+import com.dremio.exec.store.dfs.InternalFileConf;
+import com.dremio.exec.store.dfs.SchemaMutability;
+import com.dremio.exec.work.AttemptId;
+import com.dremio.exec.work.protector.UserResult;
+import com.dremio.exec.work.user.LocalExecutionConfig;
+import com.dremio.exec.work.user.SubstitutionSettings;
+import com.dremio.proto.model.attempts.AttemptReason;
+import com.dremio.service.coordinator.ClusterCoordinator;
+import com.dremio.service.coordinator.local.LocalClusterCoordinator;
+import com.dremio.service.namespace.source.proto.SourceConfig;
+import com.google.common.base.StandardSystemProperty;
+import com.google.common.base.Stopwatch;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Runs queries against a single node, coordinator and executor, started in process. Queries
+ * are submitted through the {@link com.dremio.exec.work.user.LocalQueryExecutor} so that the
+ * final query profile is available without going through a client.
+ */
+public class EmbeddedQueryRunner implements AutoCloseable {
+
+  private final ClusterCoordinator coordinator;
+  private final SabotNode node;
+
+  /**
+   * Starts the node and registers {@code directory} as a writable file system source.
+   *
+   * @param sourceName name of the source
+   * @param directory root of the source
+   */
+  public EmbeddedQueryRunner(String sourceName, File directory) throws Exception {
+    final Properties properties = new Properties();
+    properties.put(ExecConstants.HTTP_ENABLE, "false");
+    coordinator = LocalClusterCoordinator.newRunningCoordinator();
+    node = SabotNode.start(SabotConfig.create(properties), coordinator);
+
+    final SourceConfig source = new SourceConfig();
+    final InternalFileConf conf = new InternalFileConf();
+    conf.connection = "file:///";
+    conf.path = directory.getAbsolutePath();
+    conf.mutability = SchemaMutability.ALL;
+    source.setConnectionConf(conf);
+    source.setName(sourceName);
+    source.setMetadataPolicy(CatalogService.NEVER_REFRESH_POLICY_WITH_AUTO_PROMOTE);
+    ((CatalogServiceImpl) node.getContext().getCatalogService()).getSystemUserCatalog().createSource(source);
+
+    // a failed query should fail the benchmark, not be silently retried
+    run("ALTER SYSTEM SET \"" + ExecConstants.ENABLE_REATTEMPTS.getOptionName() + "\" = false");
+  }
+
+  /**
+   * Runs a query to completion, discarding its results.
+   *
+   * @throws Exception if the query failed
+   */
+  public Measurement run(String sql) throws Exception {
+    final RunQuery query = RunQuery.newBuilder()
+      .setType(QueryType.SQL)
+      .setSource(SubmissionSource.LOCAL)
+      .setPlan(sql)
+      .build();
+    final LocalExecutionConfig config = LocalExecutionConfig.newBuilder()
+      .setEnableLeafLimits(false)
+      .setFailIfNonEmptySent(false)
+      .setUsername(StandardSystemProperty.USER_NAME.value())
+      .setSqlContext(Collections.<String>emptyList())
+      .setInternalSingleThreaded(false)
+      .setAllowPartitionPruning(true)
+      .setExposeInternalSources(false)
+      .setSubstitutionSettings(SubstitutionSettings.of())
+      .build();
+
+    final Observer observer = new Observer();
+    final Stopwatch watch = Stopwatch.createStarted();
+    node.getLocalQueryExecutor().submitLocalQuery(ExternalIdHelper.generateExternalId(), observer, query, false,
+      config, false);
+    final UserResult result = observer.await();
+    final long wallNanos = watch.elapsed(TimeUnit.NANOSECONDS);
+    if (result.hasException()) {
+      throw result.getException();
+    }
+    return new Measurement(wallNanos, observer.records.get(), result.getProfile());
+  }
+
+  @Override
+  public void close() throws Exception {
+    AutoCloseables.close(node, coordinator);
+  }
+
+  /**
+   * Outcome of a single query execution.
+   */
+  public static final class Measurement {
+    private final long wallNanos;
+    private final long records;
+    private final QueryProfile profile;
+
+    private Measurement(long wallNanos, long records, QueryProfile profile) {
+      this.wallNanos = wallNanos;
+      this.records = records;
+      this.profile = profile;
+    }
+
+    /**
+     * @return time from submission to completion, as seen by the caller
+     */
+    public long getWallNanos() {
+      return wallNanos;
+    }
+
+    public long getRecords() {
+      return records;
+    }
+
+    public QueryProfile getProfile() {
+      return profile;
+    }
+  }
+
+  private static final class Observer extends AbstractQueryObserver {
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final AtomicLong records = new AtomicLong();
+    private volatile UserResult result;
+
+    @Override
+    public AttemptObserver newAttempt(AttemptId attemptId, AttemptReason reason) {
+      return new AbstractAttemptObserver() {
+        @Override
+        public void execDataArrived(RpcOutcomeListener<Ack> outcomeListener, QueryWritableBatch result) {
+          records.addAndGet(result.getHeader().getRowCount());
+          for (ByteBuf buf : result.getBuffers()) {
+            buf.release();
+          }
+          outcomeListener.success(Acks.OK, null);
+        }
+      };
+    }
+
+    @Override
+    public void execCompletion(UserResult result) {
+      this.result = result;
+      latch.countDown();
+    }
+
+    private UserResult await() throws InterruptedException {
+      latch.await();
+      return result;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark.tpch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import com.dremio.common.util.DremioVersionInfo;
+import com.google.common.base.Preconditions;
+
+/**
+ * End to end TPC-H benchmark on local data.
+ *
+ * <ul>
+ *   <li>{@code --mode generate} writes the TPC-H like text files for the given scale factor,</li>
+ *   <li>{@code --mode run} additionally runs the query set on an embedded node and writes a JSON
+ *   report with per query wall times, planning time, peak memory and operator breakdowns, and
+ *   compares it to {@code --baseline} if one is given,</li>
+ *   <li>{@code --mode compare} compares two existing reports.</li>
+ * </ul>
+ * Compare exits with status 1 if any query regressed by more than {@code --threshold} percent.
+ */
+public final class TpchBenchmark {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TpchBenchmark.class);
+
+  private static final String SOURCE = "tpch";
+  private static final String RAW = "raw";
+
+  /**
+   * Storage of the tables being queried.
+   */
+  enum Format {
+    PARQUET,
+    CSV
+  }
+
+  private TpchBenchmark() {
+  }
+
+  static class Options {
+    @Parameter(names = {"-m", "--mode"}, description = "generate, run or compare")
+    private String mode = "run";
+
+    @Parameter(names = {"-d", "--dir"}, description = "directory holding the generated data")
+    private String dir;
+
+    @Parameter(names = {"-s", "--scale"}, description = "TPC-H scale factor, 1 is about 1GB of text")
+    private double scale = 0.1;
+
+    @Parameter(names = {"-f", "--format"}, description = "format of the queried tables, parquet or csv")
+    private String format = "parquet";
+
+    @Parameter(names = {"-q", "--queries"}, description = "comma separated queries to run, all by default")
+    private List<String> queries;
+
+    @Parameter(names = {"-w", "--warmup"}, description = "untimed executions of each query")
+    private int warmup = 1;
+
+    @Parameter(names = {"-i", "--iterations"}, description = "timed executions of each query")
+    private int iterations = 3;
+
+    @Parameter(names = {"-o", "--output"}, description = "report to write, defaults to tpch-<version>-<scale>-<format>.json")
+    private String output;
+
+    @Parameter(names = {"-b", "--baseline"}, description = "report to compare against")
+    private String baseline;
+
+    @Parameter(names = {"-c", "--current"}, description = "report to compare, compare mode only")
+    private String current;
+
+    @Parameter(names = {"-t", "--threshold"}, description = "allowed regression, in percent")
+    private double threshold = 10;
+
+    @Parameter(names = {"-h", "--help"}, description = "show usage", help = true)
+    private boolean help = false;
+  }
+
+  public static void main(String[] args) throws Exception {
+    final Options o = new Options();
+    final JCommander jc;
+    try {
+      jc = new JCommander(o, args);
+      jc.setProgramName("tpch-benchmark");
+    } catch (ParameterException e) {
+      System.err.println(e.getMessage());
+      new JCommander(o).usage();
+      System.exit(2);
+      return;
+    }
+    if (o.help) {
+      jc.usage();
+      return;
+    }
+
+    final TpchReport report;
+    switch (o.mode) {
+    case "generate":
+      generate(o);
+      return;
+    case "run":
+      report = run(o);
+      if (o.baseline == null) {
+        return;
+      }
+      break;
+    case "compare":
+      Preconditions.checkArgument(o.current != null, "--current is required to compare");
+      report = TpchReport.read(new File(o.current));
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown mode " + o.mode);
+    }
+
+    Preconditions.checkArgument(o.baseline != null, "--baseline is required to compare");
+    final int regressions = TpchReport.compare(TpchReport.read(new File(o.baseline)), report, o.threshold, System.out);
+    if (regressions > 0) {
+      System.out.println(String.format("%d queries regressed by more than %.1f%%", regressions, o.threshold));
+      System.exit(1);
+    }
+  }
+
+  private static void generate(Options o) throws Exception {
+    Preconditions.checkArgument(o.dir != null, "--dir is required");
+    final File raw = new File(new File(o.dir, scaleName(o.scale)), RAW);
+    new TpchDataGenerator(o.scale, raw).generate();
+  }
+
+  private static TpchReport run(Options o) throws Exception {
+    final Format format = Format.valueOf(o.format.toUpperCase());
+    generate(o);
+
+    final File root = new File(o.dir, scaleName(o.scale));
+    final String schema = String.format("%s.\"%s\"", SOURCE, format.name().toLowerCase());
+    final List<TpchReport.QueryReport> results = new ArrayList<>();
+    try (EmbeddedQueryRunner runner = new EmbeddedQueryRunner(SOURCE, root)) {
+      load(runner, root, format, schema);
+
+      for (String name : o.queries != null ? o.queries : TpchQueries.ALL) {
+        final String sql = TpchQueries.load(name, schema);
+        for (int i = 0; i < o.warmup; i++) {
+          runner.run(sql);
+        }
+        final List<EmbeddedQueryRunner.Measurement> measurements = new ArrayList<>();
+        for (int i = 0; i < o.iterations; i++) {
+          measurements.add(runner.run(sql));
+        }
+        final TpchReport.QueryReport result = TpchReport.QueryReport.of(name, measurements);
+        logger.info("Query {}: {} records, median {}ms", name, result.getRecords(), result.getMedianMillis());
+        results.add(result);
+      }
+    }
+
+    final TpchReport report = new TpchReport(DremioVersionInfo.getVersion(), o.scale, format.name().toLowerCase(),
+      results);
+    final File output = new File(o.output != null ? o.output
+      : String.format("tpch-%s-%s-%s.json", DremioVersionInfo.getVersion(), scaleName(o.scale), report.getFormat()));
+    report.write(output);
+    System.out.println("Wrote " + output.getAbsolutePath());
+    return report;
+  }
+
+  /**
+   * Makes the generated tables queryable in the requested format: parquet tables are created
+   * once from the text files with CTAS, csv tables are views casting the text columns.
+   */
+  private static void load(EmbeddedQueryRunner runner, File root, Format format, String schema) throws Exception {
+    for (TpchTable table : TpchTable.values()) {
+      final String select = String.format("SELECT %s FROM %s.\"%s\".\"%s\"",
+        table.getSelectList(), SOURCE, RAW, table.getName());
+      switch (format) {
+      case PARQUET:
+        if (new File(root, "parquet" + File.separator + table.getName()).exists()) {
+          continue;
+        }
+        logger.info("Converting table {} to parquet", table.getName());
+        runner.run(String.format("CREATE TABLE %s.%s AS %s", schema, table.getName(), select));
+        break;
+      case CSV:
+        runner.run(String.format("CREATE OR REPLACE VIEW %s.%s AS %s", schema, table.getName(), select));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown format " + format);
+      }
+    }
+  }
+
+  private static String scaleName(double scale) {
+    return "sf" + (scale == Math.rint(scale) ? Long.toString((long) scale) : Double.toString(scale));
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark.tpch;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+
+/**
+ * Generates TPC-H like data as comma separated text files, one directory per table.
+ *
+ * Cardinalities, key relationships and value domains follow the TPC-H specification closely
+ * enough for the standard queries to select comparable amounts of data, but this is not
+ * dbgen: the text fields are simpler and the results can't be validated against the official
+ * answer sets. Generation is deterministic for a given scale factor, so that results are
+ * comparable from run to run.
+ */
+public class TpchDataGenerator {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TpchDataGenerator.class);
+
+  private static final int ROWS_PER_FILE = 1_000_000;
+  private static final int SUPPLIERS_PER_PART = 4;
+
+  private static final long START_DATE = LocalDate.of(1992, 1, 1).toEpochDay();
+  private static final long END_DATE = LocalDate.of(1998, 12, 31).toEpochDay();
+  private static final long CURRENT_DATE = LocalDate.of(1995, 6, 17).toEpochDay();
+  private static final int MAX_ORDER_AGE = 151;
+
+  private static final String[] REGIONS = {"AFRICA", "AMERICA", "ASIA", "EUROPE", "MIDDLE EAST"};
+  private static final String[] NATIONS = {"ALGERIA", "ARGENTINA", "BRAZIL", "CANADA", "EGYPT", "ETHIOPIA",
+    "FRANCE", "GERMANY", "INDIA", "INDONESIA", "IRAN", "IRAQ", "JAPAN", "JORDAN", "KENYA", "MOROCCO", "MOZAMBIQUE",
+    "PERU", "CHINA", "ROMANIA", "SAUDI ARABIA", "VIETNAM", "RUSSIA", "UNITED KINGDOM", "UNITED STATES"};
+  private static final int[] NATION_REGIONS = {0, 1, 1, 1, 4, 0, 3, 3, 2, 2, 4, 4, 2, 4, 0, 0, 0, 1, 2, 3, 4, 2, 3, 3, 1};
+  private static final String[] SEGMENTS = {"AUTOMOBILE", "BUILDING", "FURNITURE", "MACHINERY", "HOUSEHOLD"};
+  private static final String[] PRIORITIES = {"1-URGENT", "2-HIGH", "3-MEDIUM", "4-NOT SPECIFIED", "5-LOW"};
+  private static final String[] INSTRUCTIONS = {"DELIVER IN PERSON", "COLLECT COD", "NONE", "TAKE BACK RETURN"};
+  private static final String[] MODES = {"REG AIR", "AIR", "RAIL", "SHIP", "TRUCK", "MAIL", "FOB"};
+  private static final String[] TYPE_SIZES = {"STANDARD", "SMALL", "MEDIUM", "LARGE", "ECONOMY", "PROMO"};
+  private static final String[] TYPE_FINISHES = {"ANODIZED", "BURNISHED", "PLATED", "POLISHED", "BRUSHED"};
+  private static final String[] TYPE_MATERIALS = {"TIN", "NICKEL", "BRASS", "STEEL", "COPPER"};
+  private static final String[] CONTAINER_SIZES = {"SM", "LG", "MED", "JUMBO", "WRAP"};
+  private static final String[] CONTAINER_TYPES = {"CASE", "BOX", "BAG", "JAR", "PKG", "PACK", "CAN", "DRUM"};
+  private static final String[] COLORS = {"almond", "antique", "aquamarine", "azure", "beige", "bisque", "black",
+    "blanched", "blue", "blush", "brown", "burlywood", "burnished", "chartreuse", "chiffon", "chocolate", "coral",
+    "cornflower", "cornsilk", "cream", "cyan", "dark", "deep", "dim", "dodger", "drab", "firebrick", "floral",
+    "forest", "frosted", "gainsboro", "ghost", "goldenrod", "green", "grey", "honeydew", "hot", "indian", "ivory",
+    "khaki", "lace", "lavender", "lawn", "lemon", "light", "lime", "linen", "magenta", "maroon", "medium",
+    "metallic", "midnight", "mint", "misty", "moccasin", "navajo", "navy", "olive", "orange", "orchid", "pale",
+    "papaya", "peach", "peru", "pink", "plum", "powder", "puff", "purple", "red", "rose", "rosy", "royal",
+    "saddle", "salmon", "sandy", "seashell", "sienna", "sky", "slate", "smoke", "snow", "spring", "steel", "tan",
+    "thistle", "tomato", "turquoise", "violet", "wheat", "white", "yellow"};
+  private static final String[] WORDS = {"furiously", "carefully", "quickly", "slyly", "blithely", "ironic",
+    "final", "regular", "express", "special", "pending", "bold", "even", "silent", "unusual", "requests",
+    "deposits", "accounts", "packages", "instructions", "theodolites", "pinto", "beans", "foxes", "ideas",
+    "dependencies", "platelets", "asymptotes", "courts", "dolphins", "sleep", "wake", "haggle", "nag", "use",
+    "boost", "affix", "detect", "integrate", "cajole", "among", "above", "across", "after", "along", "Customer",
+    "Complaints", "Recommends"};
+  private static final char[] ADDRESS_CHARS =
+    "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ".toCharArray();
+
+  private final double scale;
+  private final File directory;
+  private final int suppliers;
+  private final int parts;
+  private final int customers;
+  private final long orders;
+
+  public TpchDataGenerator(double scale, File directory) {
+    Preconditions.checkArgument(scale > 0, "scale factor must be positive");
+    this.scale = scale;
+    this.directory = directory;
+    this.suppliers = (int) TpchTable.SUPPLIER.getRowCount(scale);
+    this.parts = (int) TpchTable.PART.getRowCount(scale);
+    this.customers = (int) TpchTable.CUSTOMER.getRowCount(scale);
+    this.orders = TpchTable.ORDERS.getRowCount(scale);
+  }
+
+  /**
+   * @return directory holding the text files of the given table
+   */
+  public File getTableDirectory(TpchTable table) {
+    return new File(directory, table.getName());
+  }
+
+  /**
+   * Generates all the tables that don't exist yet.
+   */
+  public void generate() throws IOException {
+    for (TpchTable table : TpchTable.values()) {
+      final File target = getTableDirectory(table);
+      if (target.exists()) {
+        logger.info("Reusing existing data for table {} in {}", table.getName(), target);
+        continue;
+      }
+
+      // write to a temporary directory first, so that an interrupted run doesn't leave partial tables behind
+      final File temp = new File(directory, table.getName() + ".tmp");
+      FileUtils.deleteDirectory(temp);
+      FileUtils.forceMkdir(temp);
+      logger.info("Generating table {} at scale factor {}", table.getName(), scale);
+      try (TableWriter writer = new TableWriter(temp)) {
+        generate(table, writer, new Random(table.ordinal()));
+      }
+      FileUtils.moveDirectory(temp, target);
+    }
+  }
+
+  private void generate(TpchTable table, TableWriter w, Random random) throws IOException {
+    switch (table) {
+    case REGION:
+      for (int i = 0; i < REGIONS.length; i++) {
+        w.value(i).value(REGIONS[i]).value(comment(random)).endRow();
+      }
+      break;
+    case NATION:
+      for (int i = 0; i < NATIONS.length; i++) {
+        w.value(i).value(NATIONS[i]).value(NATION_REGIONS[i]).value(comment(random)).endRow();
+      }
+      break;
+    case SUPPLIER:
+      for (int key = 1; key <= suppliers; key++) {
+        final int nation = random.nextInt(NATIONS.length);
+        w.value(key).value(String.format("Supplier#%09d", key)).value(address(random)).value(nation)
+          .value(phone(random, nation)).value(money(random, -999.99, 9999.99)).value(comment(random)).endRow();
+      }
+      break;
+    case CUSTOMER:
+      for (int key = 1; key <= customers; key++) {
+        final int nation = random.nextInt(NATIONS.length);
+        w.value(key).value(String.format("Customer#%09d", key)).value(address(random)).value(nation)
+          .value(phone(random, nation)).value(money(random, -999.99, 9999.99)).value(pick(random, SEGMENTS))
+          .value(comment(random)).endRow();
+      }
+      break;
+    case PART:
+      for (int key = 1; key <= parts; key++) {
+        final int manufacturer = 1 + random.nextInt(5);
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+          name.append(i == 0 ? "" : " ").append(pick(random, COLORS));
+        }
+        w.value(key).value(name.toString()).value("Manufacturer#" + manufacturer)
+          .value("Brand#" + manufacturer + (1 + random.nextInt(5)))
+          .value(pick(random, TYPE_SIZES) + " " + pick(random, TYPE_FINISHES) + " " + pick(random, TYPE_MATERIALS))
+          .value(1 + random.nextInt(50))
+          .value(pick(random, CONTAINER_SIZES) + " " + pick(random, CONTAINER_TYPES))
+          .value(retailPrice(key)).value(comment(random)).endRow();
+      }
+      break;
+    case PARTSUPP:
+      for (int key = 1; key <= parts; key++) {
+        for (int i = 0; i < SUPPLIERS_PER_PART; i++) {
+          w.value(key).value(supplier(key, i)).value(1 + random.nextInt(9999))
+            .value(money(random, 1.00, 1000.00)).value(comment(random)).endRow();
+        }
+      }
+      break;
+    case ORDERS:
+    case LINEITEM:
+      generateOrders(table, w, random);
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown table " + table);
+    }
+  }
+
+  /**
+   * Orders and their line items are generated together so that order status and total price
+   * are consistent with the line items; each table keeps the half it needs.
+   */
+  private void generateOrders(TpchTable table, TableWriter w, Random random) throws IOException {
+    final boolean lineItems = table == TpchTable.LINEITEM;
+    // both tables have to see the same sequence of random values
+    random.setSeed(TpchTable.ORDERS.ordinal());
+    final int clerks = Math.max(1, (int) (scale * 1000));
+    for (long key = 1; key <= orders; key++) {
+      // as in the specification, a third of the customers never place an order
+      int customer = 1 + random.nextInt(customers);
+      if (customer % 3 == 0 && customers > 2) {
+        customer = customer == customers ? customer - 1 : customer + 1;
+      }
+      final long orderDate = START_DATE + random.nextInt((int) (END_DATE - START_DATE - MAX_ORDER_AGE));
+      final int lines = 1 + random.nextInt(7);
+      double totalPrice = 0;
+      int shipped = 0;
+      for (int line = 1; line <= lines; line++) {
+        final int part = 1 + random.nextInt(parts);
+        final int quantity = 1 + random.nextInt(50);
+        final double extendedPrice = quantity * retailPrice(part);
+        final double discount = random.nextInt(11) / 100.0;
+        final double tax = random.nextInt(9) / 100.0;
+        final long shipDate = orderDate + 1 + random.nextInt(121);
+        final long commitDate = orderDate + 30 + random.nextInt(61);
+        final long receiptDate = shipDate + 1 + random.nextInt(30);
+        final String returnFlag = receiptDate <= CURRENT_DATE ? (random.nextBoolean() ? "R" : "A") : "N";
+        final boolean isShipped = shipDate <= CURRENT_DATE;
+        final String instruction = pick(random, INSTRUCTIONS);
+        final String mode = pick(random, MODES);
+        final String comment = comment(random);
+        totalPrice += extendedPrice * (1 + tax) * (1 - discount);
+        shipped += isShipped ? 1 : 0;
+        if (lineItems) {
+          w.value(key).value(part).value(supplier(part, random.nextInt(SUPPLIERS_PER_PART))).value(line)
+            .value(quantity).value(extendedPrice).value(discount).value(tax).value(returnFlag)
+            .value(isShipped ? "F" : "O").value(date(shipDate)).value(date(commitDate)).value(date(receiptDate))
+            .value(instruction).value(mode).value(comment).endRow();
+        } else {
+          // keep consuming the same random values as the line item pass
+          random.nextInt(SUPPLIERS_PER_PART);
+        }
+      }
+      final String priority = pick(random, PRIORITIES);
+      final String clerk = String.format("Clerk#%09d", 1 + random.nextInt(clerks));
+      final String comment = comment(random);
+      if (!lineItems) {
+        final String status = shipped == lines ? "F" : shipped == 0 ? "O" : "P";
+        w.value(key).value(customer).value(status).value(Math.round(totalPrice * 100) / 100.0)
+          .value(date(orderDate)).value(priority).value(clerk).value(0).value(comment).endRow();
+      }
+    }
+  }
+
+  /**
+   * @return the i-th of the suppliers of a part, as defined by the specification
+   */
+  private int supplier(int part, int i) {
+    return (int) ((part + (i * ((suppliers / SUPPLIERS_PER_PART) + (long) (part - 1) / suppliers))) % suppliers) + 1;
+  }
+
+  private static double retailPrice(int part) {
+    return (90000 + ((part / 10) % 20001) + 100 * (part % 1000)) / 100.0;
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static double money(Random random, double min, double max) {
+    return Math.round((min + random.nextDouble() * (max - min)) * 100) / 100.0;
+  }
+
+  private static String phone(Random random, int nation) {
+    return String.format("%d-%03d-%03d-%04d", nation + 10, 100 + random.nextInt(900), 100 + random.nextInt(900),
+      1000 + random.nextInt(9000));
+  }
+
+  private static String address(Random random) {
+    final char[] chars = new char[10 + random.nextInt(31)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = ADDRESS_CHARS[random.nextInt(ADDRESS_CHARS.length)];
+    }
+    return new String(chars).trim();
+  }
+
+  private static String comment(Random random) {
+    final int words = 3 + random.nextInt(8);
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      sb.append(i == 0 ? "" : " ").append(pick(random, WORDS));
+    }
+    return sb.toString();
+  }
+
+  private static String date(long epochDay) {
+    return LocalDate.ofEpochDay(epochDay).toString();
+  }
+
+  /**
+   * Writes comma separated rows, starting a new file every {@link #ROWS_PER_FILE} rows so that
+   * the tables can be scanned in parallel.
+   */
+  private static final class TableWriter implements Closeable {
+    private final File directory;
+    private Writer writer;
+    private int files;
+    private int rows;
+    private boolean firstValue = true;
+
+    private TableWriter(File directory) {
+      this.directory = directory;
+    }
+
+    private TableWriter value(Object value) throws IOException {
+      if (writer == null) {
+        writer = new BufferedWriter(new OutputStreamWriter(
+          new FileOutputStream(new File(directory, String.format("%d.csv", files++))), Charsets.UTF_8), 1 << 16);
+      }
+      if (!firstValue) {
+        writer.write(',');
+      }
+      writer.write(value.toString());
+      firstValue = false;
+      return this;
+    }
+
+    private void endRow() throws IOException {
+      writer.write('\n');
+      firstValue = true;
+      if (++rows == ROWS_PER_FILE) {
+        rows = 0;
+        writer.close();
+        writer = null;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+}
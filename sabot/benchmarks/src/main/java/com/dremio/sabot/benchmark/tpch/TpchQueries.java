@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark.tpch;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+
+/**
+ * The standard TPC-H query set, read from the {@code tpch/queries} resources. Table names in
+ * the queries are qualified with a {@code ${schema}} placeholder replaced at load time.
+ */
+public final class TpchQueries {
+
+  public static final List<String> ALL = ImmutableList.of(
+    "01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "11",
+    "12", "13", "14", "15", "16", "17", "18", "19", "20", "21", "22");
+
+  private TpchQueries() {
+  }
+
+  /**
+   * @param name query number, e.g. "01"
+   * @param schema schema holding the TPC-H tables
+   * @return the query text, as a single statement
+   */
+  public static String load(String name, String schema) throws IOException {
+    final URL url = Resources.getResource(TpchQueries.class, "/tpch/queries/" + name + ".sql");
+    final List<String> lines = new ArrayList<>();
+    for (String line : Resources.readLines(url, Charsets.UTF_8)) {
+      // drop the license header and other full line comments
+      if (!line.trim().startsWith("--")) {
+        lines.add(line);
+      }
+    }
+    String sql = String.join("\n", lines).trim();
+    if (sql.endsWith(";")) {
+      sql = sql.substring(0, sql.length() - 1);
+    }
+    return sql.replace("${schema}", schema);
+  }
+}
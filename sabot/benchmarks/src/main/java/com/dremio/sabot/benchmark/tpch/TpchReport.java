@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark.tpch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.dremio.exec.proto.UserBitShared.CoreOperatorType;
+import com.dremio.exec.proto.UserBitShared.MajorFragmentProfile;
+import com.dremio.exec.proto.UserBitShared.MinorFragmentProfile;
+import com.dremio.exec.proto.UserBitShared.NodeQueryProfile;
+import com.dremio.exec.proto.UserBitShared.OperatorProfile;
+import com.dremio.exec.proto.UserBitShared.QueryProfile;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Results of a TPC-H benchmark run, stored as JSON so that runs of different releases can be
+ * compared with {@link #compare}.
+ */
+public final class TpchReport {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final String version;
+  private final double scale;
+  private final String format;
+  private final List<QueryReport> queries;
+
+  @JsonCreator
+  public TpchReport(
+      @JsonProperty("version") String version,
+      @JsonProperty("scale") double scale,
+      @JsonProperty("format") String format,
+      @JsonProperty("queries") List<QueryReport> queries) {
+    this.version = version;
+    this.scale = scale;
+    this.format = format;
+    this.queries = ImmutableList.copyOf(queries);
+  }
+
+  public String getVersion() {
+    return version;
+  }
+
+  public double getScale() {
+    return scale;
+  }
+
+  public String getFormat() {
+    return format;
+  }
+
+  public List<QueryReport> getQueries() {
+    return queries;
+  }
+
+  public void write(File file) throws IOException {
+    MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, this);
+  }
+
+  public static TpchReport read(File file) throws IOException {
+    return MAPPER.readValue(file, TpchReport.class);
+  }
+
+  /**
+   * Prints the change of every query present in both reports.
+   *
+   * A query regresses if its median wall time or its peak memory grew by more than the
+   * threshold, or if it returned a different number of records (the data is generated
+   * deterministically, so this points to a correctness problem).
+   *
+   * @param thresholdPercentage allowed growth, in percent
+   * @return number of regressed queries
+   */
+  public static int compare(TpchReport baseline, TpchReport current, double thresholdPercentage, PrintStream out) {
+    if (baseline.scale != current.scale || !baseline.format.equals(current.format)) {
+      out.println(String.format("WARNING: comparing scale %s/%s against scale %s/%s",
+        baseline.scale, baseline.format, current.scale, current.format));
+    }
+    out.println(String.format("%-6s %12s %12s %9s %14s %14s %9s",
+      "Query", baseline.version, current.version, "Change", "Peak memory", "Peak memory", "Change"));
+
+    final Map<String, QueryReport> before = new TreeMap<>();
+    for (QueryReport query : baseline.queries) {
+      before.put(query.name, query);
+    }
+    int regressions = 0;
+    for (QueryReport after : current.queries) {
+      final QueryReport previous = before.get(after.name);
+      if (previous == null) {
+        continue;
+      }
+      final double timeChange = change(previous.medianMillis, after.medianMillis);
+      final double memoryChange = change(previous.peakMemoryBytes, after.peakMemoryBytes);
+      final List<String> problems = new ArrayList<>();
+      if (timeChange > thresholdPercentage) {
+        problems.add("SLOWER");
+      }
+      if (memoryChange > thresholdPercentage) {
+        problems.add("MORE MEMORY");
+      }
+      if (previous.records != after.records) {
+        problems.add(String.format("RECORDS %d -> %d", previous.records, after.records));
+      }
+      if (!problems.isEmpty()) {
+        regressions++;
+      }
+      out.println(String.format("%-6s %10dms %10dms %+8.1f%% %14d %14d %+8.1f%% %s",
+        after.name, previous.medianMillis, after.medianMillis, timeChange,
+        previous.peakMemoryBytes, after.peakMemoryBytes, memoryChange, String.join(", ", problems)));
+    }
+    return regressions;
+  }
+
+  private static double change(long before, long after) {
+    return before == 0 ? 0 : (after - before) * 100.0 / before;
+  }
+
+  /**
+   * Measurements of one query.
+   */
+  public static final class QueryReport {
+    private final String name;
+    private final long records;
+    private final List<Long> wallMillis;
+    private final long medianMillis;
+    private final long planningMillis;
+    private final long peakMemoryBytes;
+    private final Map<String, Long> operatorMillis;
+
+    @JsonCreator
+    public QueryReport(
+        @JsonProperty("name") String name,
+        @JsonProperty("records") long records,
+        @JsonProperty("wallMillis") List<Long> wallMillis,
+        @JsonProperty("medianMillis") long medianMillis,
+        @JsonProperty("planningMillis") long planningMillis,
+        @JsonProperty("peakMemoryBytes") long peakMemoryBytes,
+        @JsonProperty("operatorMillis") Map<String, Long> operatorMillis) {
+      this.name = name;
+      this.records = records;
+      this.wallMillis = ImmutableList.copyOf(wallMillis);
+      this.medianMillis = medianMillis;
+      this.planningMillis = planningMillis;
+      this.peakMemoryBytes = peakMemoryBytes;
+      this.operatorMillis = ImmutableMap.copyOf(operatorMillis);
+    }
+
+    /**
+     * Summarizes the measured executions of a query. Planning time, peak memory and the
+     * operator breakdown are taken from the last execution.
+     */
+    public static QueryReport of(String name, List<EmbeddedQueryRunner.Measurement> measurements) {
+      final List<Long> wallMillis = new ArrayList<>();
+      for (EmbeddedQueryRunner.Measurement measurement : measurements) {
+        wallMillis.add(TimeUnit.NANOSECONDS.toMillis(measurement.getWallNanos()));
+      }
+      final List<Long> sorted = new ArrayList<>(wallMillis);
+      Collections.sort(sorted);
+
+      final EmbeddedQueryRunner.Measurement last = measurements.get(measurements.size() - 1);
+      final QueryProfile profile = last.getProfile();
+      final Map<String, Long> operatorNanos = new TreeMap<>();
+      long fragmentPeakMemory = 0;
+      for (MajorFragmentProfile major : profile.getFragmentProfileList()) {
+        for (MinorFragmentProfile minor : major.getMinorFragmentProfileList()) {
+          fragmentPeakMemory += minor.getMaxMemoryUsed();
+          for (OperatorProfile operator : minor.getOperatorProfileList()) {
+            final CoreOperatorType type = CoreOperatorType.valueOf(operator.getOperatorType());
+            operatorNanos.merge(type == null ? "UNKNOWN_" + operator.getOperatorType() : type.name(),
+              operator.getSetupNanos() + operator.getProcessNanos(), Long::sum);
+          }
+        }
+      }
+      final Map<String, Long> operatorMillis = new TreeMap<>();
+      for (Map.Entry<String, Long> entry : operatorNanos.entrySet()) {
+        operatorMillis.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue()));
+      }
+
+      // the per node peaks are the closest to the actual peak, the sum of the fragment peaks is an upper bound
+      long nodePeakMemory = 0;
+      for (NodeQueryProfile node : profile.getNodeProfileList()) {
+        nodePeakMemory += node.getMaxMemoryUsed();
+      }
+
+      return new QueryReport(name, last.getRecords(), wallMillis, sorted.get(sorted.size() / 2),
+        profile.getPlanningEnd() - profile.getPlanningStart(),
+        nodePeakMemory > 0 ? nodePeakMemory : fragmentPeakMemory, operatorMillis);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getRecords() {
+      return records;
+    }
+
+    public List<Long> getWallMillis() {
+      return wallMillis;
+    }
+
+    public long getMedianMillis() {
+      return medianMillis;
+    }
+
+    public long getPlanningMillis() {
+      return planningMillis;
+    }
+
+    public long getPeakMemoryBytes() {
+      return peakMemoryBytes;
+    }
+
+    /**
+     * @return setup and processing time of each operator type, summed over all fragments
+     */
+    public Map<String, Long> getOperatorMillis() {
+      return operatorMillis;
+    }
+  }
+}
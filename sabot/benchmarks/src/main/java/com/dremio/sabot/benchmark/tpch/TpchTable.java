@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.benchmark.tpch;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The TPC-H tables, with the column names and SQL types the generated text files are cast to.
+ */
+public enum TpchTable {
+  REGION(0, 5,
+    "r_regionkey INT", "r_name VARCHAR", "r_comment VARCHAR"),
+  NATION(0, 25,
+    "n_nationkey INT", "n_name VARCHAR", "n_regionkey INT", "n_comment VARCHAR"),
+  SUPPLIER(10_000, 0,
+    "s_suppkey INT", "s_name VARCHAR", "s_address VARCHAR", "s_nationkey INT", "s_phone VARCHAR",
+    "s_acctbal DOUBLE", "s_comment VARCHAR"),
+  CUSTOMER(150_000, 0,
+    "c_custkey INT", "c_name VARCHAR", "c_address VARCHAR", "c_nationkey INT", "c_phone VARCHAR",
+    "c_acctbal DOUBLE", "c_mktsegment VARCHAR", "c_comment VARCHAR"),
+  PART(200_000, 0,
+    "p_partkey INT", "p_name VARCHAR", "p_mfgr VARCHAR", "p_brand VARCHAR", "p_type VARCHAR", "p_size INT",
+    "p_container VARCHAR", "p_retailprice DOUBLE", "p_comment VARCHAR"),
+  PARTSUPP(800_000, 0,
+    "ps_partkey INT", "ps_suppkey INT", "ps_availqty INT", "ps_supplycost DOUBLE", "ps_comment VARCHAR"),
+  ORDERS(1_500_000, 0,
+    "o_orderkey BIGINT", "o_custkey INT", "o_orderstatus VARCHAR", "o_totalprice DOUBLE", "o_orderdate DATE",
+    "o_orderpriority VARCHAR", "o_clerk VARCHAR", "o_shippriority INT", "o_comment VARCHAR"),
+  // about four lines per order, the exact count depends on the generated orders
+  LINEITEM(6_000_000, 0,
+    "l_orderkey BIGINT", "l_partkey INT", "l_suppkey INT", "l_linenumber INT", "l_quantity DOUBLE",
+    "l_extendedprice DOUBLE", "l_discount DOUBLE", "l_tax DOUBLE", "l_returnflag VARCHAR", "l_linestatus VARCHAR",
+    "l_shipdate DATE", "l_commitdate DATE", "l_receiptdate DATE", "l_shipinstruct VARCHAR", "l_shipmode VARCHAR",
+    "l_comment VARCHAR");
+
+  private final long rowsPerScale;
+  private final long fixedRows;
+  private final List<String> columns;
+
+  TpchTable(long rowsPerScale, long fixedRows, String... columns) {
+    this.rowsPerScale = rowsPerScale;
+    this.fixedRows = fixedRows;
+    this.columns = ImmutableList.copyOf(columns);
+  }
+
+  public String getName() {
+    return name().toLowerCase();
+  }
+
+  /**
+   * @param scale scale factor, 1 being about 1GB of raw data
+   * @return number of rows at the given scale factor, at least one
+   */
+  public long getRowCount(double scale) {
+    return fixedRows > 0 ? fixedRows : Math.max(1, (long) (rowsPerScale * scale));
+  }
+
+  /**
+   * @return a select list casting the {@code columns} array of a text file to the typed columns of this table
+   */
+  public String getSelectList() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < columns.size(); i++) {
+      final String[] nameAndType = columns.get(i).split(" ");
+      if (i > 0) {
+        sb.append(", ");
+      }
+      if ("VARCHAR".equals(nameAndType[1])) {
+        sb.append(String.format("columns[%d] AS %s", i, nameAndType[0]));
+      } else {
+        sb.append(String.format("CAST(columns[%d] AS %s) AS %s", i, nameAndType[1], nameAndType[0]));
+      }
+    }
+    return sb.toString();
+  }
+}
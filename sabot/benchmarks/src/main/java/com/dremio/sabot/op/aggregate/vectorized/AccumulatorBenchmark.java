@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.aggregate.vectorized;
+
+import static com.dremio.sabot.op.aggregate.vectorized.VectorizedHashAggOperator.HTORDINAL_OFFSET;
+import static com.dremio.sabot.op.aggregate.vectorized.VectorizedHashAggOperator.KEYINDEX_OFFSET;
+import static com.dremio.sabot.op.aggregate.vectorized.VectorizedHashAggOperator.PARTITIONINDEX_HTORDINAL_WIDTH;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dremio.common.AutoCloseables;
+
+import io.netty.buffer.ArrowBuf;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Update rate of the vectorized hash agg accumulators: one incoming batch is accumulated into
+ * {@code groups} distinct hash table ordinals, the way {@link VectorizedHashAggOperator} does
+ * after inserting a batch. Reported time is per record.
+ *
+ * With {@code prepareInput} set, the accumulators count the nulls of the batch first, as the
+ * operator does, and skip reading the validity of inputs without nulls: compare both settings
+ * with no nulls to see the gain, and with nulls to see the cost of counting them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccumulatorBenchmark {
+
+  private static final int BATCH_SIZE = 4096;
+
+  /**
+   * Input column types.
+   */
+  public enum InputType {
+    INT,
+    BIGINT,
+    DOUBLE
+  }
+
+  @Param({"SUM", "MIN", "MAX", "COUNT"})
+  private AccumulatorBuilder.AccumulatorType function;
+
+  @Param({"INT", "BIGINT", "DOUBLE"})
+  private InputType type;
+
+  @Param({"64", "262144"})
+  private int groups;
+
+  @Param({"0", "25"})
+  private int nullPercentage;
+
+  @Param({"true", "false"})
+  private boolean prepareInput;
+
+  private BufferAllocator allocator;
+  private FieldVector input;
+  private FieldVector output;
+  private AccumulatorSet accumulator;
+  private ArrowBuf offsets;
+  private int bitsInChunk;
+  private int chunkOffsetMask;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    final Random random = new Random(groups);
+
+    input = newInput(random);
+    output = newOutput();
+    accumulator = new AccumulatorSet(4 * 1024, 64 * 1024, allocator, newAccumulator());
+    // the hash table adds a batch to the accumulators every time it fills one of its own
+    for (int ordinals = 0; ordinals < groups; ordinals += BATCH_SIZE) {
+      accumulator.addBatch();
+    }
+    bitsInChunk = Integer.numberOfTrailingZeros(BATCH_SIZE);
+    chunkOffsetMask = BATCH_SIZE - 1;
+
+    offsets = allocator.buffer(BATCH_SIZE * PARTITIONINDEX_HTORDINAL_WIDTH);
+    long offsetAddr = offsets.memoryAddress();
+    for (int i = 0; i < BATCH_SIZE; i++, offsetAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+      PlatformDependent.putInt(offsetAddr + HTORDINAL_OFFSET, random.nextInt(groups));
+      PlatformDependent.putInt(offsetAddr + KEYINDEX_OFFSET, i);
+    }
+  }
+
+  private FieldVector newInput(Random random) {
+    final FieldVector vector;
+    switch (type) {
+      case INT: {
+        final IntVector v = new IntVector("in", allocator);
+        v.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          if (random.nextInt(100) >= nullPercentage) {
+            v.set(i, random.nextInt());
+          }
+        }
+        vector = v;
+        break;
+      }
+      case BIGINT: {
+        final BigIntVector v = new BigIntVector("in", allocator);
+        v.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          if (random.nextInt(100) >= nullPercentage) {
+            v.set(i, random.nextLong());
+          }
+        }
+        vector = v;
+        break;
+      }
+      case DOUBLE: {
+        final Float8Vector v = new Float8Vector("in", allocator);
+        v.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          if (random.nextInt(100) >= nullPercentage) {
+            v.set(i, random.nextDouble());
+          }
+        }
+        vector = v;
+        break;
+      }
+      default:
+        throw new UnsupportedOperationException("Unknown input type " + type);
+    }
+    vector.setValueCount(BATCH_SIZE);
+    return vector;
+  }
+
+  private FieldVector newOutput() {
+    if (function == AccumulatorBuilder.AccumulatorType.COUNT) {
+      return new BigIntVector("out", allocator);
+    }
+    switch (type) {
+      case INT:
+        // int sums are widened to bigint
+        return function == AccumulatorBuilder.AccumulatorType.SUM
+          ? new BigIntVector("out", allocator) : new IntVector("out", allocator);
+      case BIGINT:
+        return new BigIntVector("out", allocator);
+      case DOUBLE:
+        return new Float8Vector("out", allocator);
+      default:
+        throw new UnsupportedOperationException("Unknown input type " + type);
+    }
+  }
+
+  private Accumulator newAccumulator() {
+    switch (function) {
+      case SUM:
+        switch (type) {
+          case INT:
+            return new SumAccumulators.IntSumAccumulator(input, output, output, BATCH_SIZE, allocator);
+          case BIGINT:
+            return new SumAccumulators.BigIntSumAccumulator(input, output, output, BATCH_SIZE, allocator);
+          default:
+            return new SumAccumulators.DoubleSumAccumulator(input, output, output, BATCH_SIZE, allocator);
+        }
+      case MIN:
+        switch (type) {
+          case INT:
+            return new MinAccumulators.IntMinAccumulator(input, output, output, BATCH_SIZE, allocator);
+          case BIGINT:
+            return new MinAccumulators.BigIntMinAccumulator(input, output, output, BATCH_SIZE, allocator);
+          default:
+            return new MinAccumulators.DoubleMinAccumulator(input, output, output, BATCH_SIZE, allocator);
+        }
+      case MAX:
+        switch (type) {
+          case INT:
+            return new MaxAccumulators.IntMaxAccumulator(input, output, output, BATCH_SIZE, allocator);
+          case BIGINT:
+            return new MaxAccumulators.BigIntMaxAccumulator(input, output, output, BATCH_SIZE, allocator);
+          default:
+            return new MaxAccumulators.DoubleMaxAccumulator(input, output, output, BATCH_SIZE, allocator);
+        }
+      case COUNT:
+        return new CountColumnAccumulator(input, output, output, BATCH_SIZE, allocator);
+      default:
+        throw new UnsupportedOperationException("Unsupported accumulator " + function);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    AutoCloseables.close(offsets, accumulator, output, input, allocator);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void accumulate() {
+    if (prepareInput) {
+      accumulator.prepareInput(BATCH_SIZE);
+    }
+    accumulator.accumulate(offsets.memoryAddress(), BATCH_SIZE, bitsInChunk, chunkOffsetMask);
+  }
+}
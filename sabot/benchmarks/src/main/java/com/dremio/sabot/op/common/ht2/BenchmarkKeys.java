@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SimpleBigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+
+import com.dremio.common.AutoCloseables;
+import com.google.common.base.Charsets;
+
+/**
+ * A set of keys of a given {@link KeyShape}, pivoted and hashed the same way
+ * the vectorized hash agg and hash join operators do before probing the table.
+ */
+final class BenchmarkKeys implements AutoCloseable {
+
+  private final List<FieldVector> vectors = new ArrayList<>();
+  private final PivotDef pivot;
+  private final FixedBlockVector fixed;
+  private final VariableBlockVector variable;
+  private final SimpleBigIntVector hashValues;
+  private final BlockChunk blockChunk;
+  private final int count;
+
+  /**
+   * @param allocator allocator for the key vectors and the pivoted blocks
+   * @param shape shape of the keys
+   * @param keys one value per record, equal values produce equal keys
+   */
+  BenchmarkKeys(BufferAllocator allocator, KeyShape shape, long[] keys) {
+    this.count = keys.length;
+    final FieldVector first;
+    if (shape == KeyShape.VARIABLE) {
+      final VarCharVector varchar = new VarCharVector("k0", allocator);
+      varchar.allocateNew(count * 12L, count);
+      for (int i = 0; i < count; i++) {
+        varchar.setSafe(i, ("key-" + keys[i]).getBytes(Charsets.UTF_8));
+      }
+      first = varchar;
+    } else {
+      final BigIntVector bigint = new BigIntVector("k0", allocator);
+      bigint.allocateNew(count);
+      for (int i = 0; i < count; i++) {
+        bigint.set(i, keys[i]);
+      }
+      first = bigint;
+    }
+    vectors.add(first);
+
+    final IntVector second = new IntVector("k1", allocator);
+    vectors.add(second);
+    second.allocateNew(count);
+    for (int i = 0; i < count; i++) {
+      if (shape != KeyShape.NULLABLE || keys[i] % 4 != 0) {
+        second.set(i, (int) (keys[i] * 31));
+      }
+    }
+
+    for (FieldVector v : vectors) {
+      v.setValueCount(count);
+    }
+
+    this.pivot = PivotBuilder.getBlockDefinition(new FieldVectorPair(first, first), new FieldVectorPair(second, second));
+    this.fixed = new FixedBlockVector(allocator, pivot.getBlockWidth());
+    this.variable = new VariableBlockVector(allocator, pivot.getVariableCount());
+    Pivots.pivot(pivot, count, fixed, variable);
+
+    this.hashValues = new SimpleBigIntVector("hashvalues", allocator);
+    hashValues.allocateNew(count);
+    this.blockChunk = new BlockChunk(fixed.getMemoryAddress(), variable.getMemoryAddress(),
+      pivot.getVariableCount() == 0, pivot.getBlockWidth(), count, hashValues.getBufferAddress(), 0);
+    HashComputation.computeHash(blockChunk);
+  }
+
+  PivotDef getPivot() {
+    return pivot;
+  }
+
+  int getCount() {
+    return count;
+  }
+
+  long getFixedAddress() {
+    return fixed.getMemoryAddress();
+  }
+
+  long getVariableAddress() {
+    return variable.getMemoryAddress();
+  }
+
+  long getHashValueAddress() {
+    return hashValues.getBufferAddress();
+  }
+
+  /**
+   * @return the chunk covering all the keys, hashes are written to {@link #getHashValueAddress()}
+   */
+  BlockChunk getBlockChunk() {
+    return blockChunk;
+  }
+
+  int getHash(int index) {
+    return (int) hashValues.get(index);
+  }
+
+  @Override
+  public void close() throws Exception {
+    AutoCloseables.close(hashValues, variable, fixed);
+    AutoCloseables.close(vectors);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dremio.common.AutoCloseables;
+
+/**
+ * Pivot and unpivot of one to three INT/BIGINT keys: {@link FixedKeyPivot}, as selected by
+ * {@link PivotBuilder}, against the generic per key pivots. Reported time is per record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedKeyPivotBenchmark {
+
+  private static final int BATCH_SIZE = 4096;
+
+  /**
+   * Key columns, in order: I for INT, B for BIGINT.
+   */
+  @Param({"I", "B", "BI", "BB", "BBI"})
+  private String keys;
+
+  @Param({"0", "10"})
+  private int nullPercentage;
+
+  @Param({"true", "false"})
+  private boolean specialized;
+
+  private BufferAllocator allocator;
+  private final List<FieldVector> vectors = new ArrayList<>();
+  private PivotDef pivot;
+  private FixedBlockVector fixed;
+  private VariableBlockVector variable;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    final Random random = new Random(nullPercentage);
+
+    final List<FieldVectorPair> pairs = new ArrayList<>();
+    for (int k = 0; k < keys.length(); k++) {
+      final FieldVector in;
+      final FieldVector out;
+      if (keys.charAt(k) == 'I') {
+        final IntVector v = new IntVector("in" + k, allocator);
+        v.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          if (random.nextInt(100) >= nullPercentage) {
+            v.set(i, random.nextInt());
+          }
+        }
+        in = v;
+        out = new IntVector("out" + k, allocator);
+      } else {
+        final BigIntVector v = new BigIntVector("in" + k, allocator);
+        v.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          if (random.nextInt(100) >= nullPercentage) {
+            v.set(i, random.nextLong());
+          }
+        }
+        in = v;
+        out = new BigIntVector("out" + k, allocator);
+      }
+      in.setValueCount(BATCH_SIZE);
+      vectors.add(in);
+      vectors.add(out);
+      pairs.add(new FieldVectorPair(in, out));
+    }
+
+    final PivotDef selected = PivotBuilder.getBlockDefinition(pairs);
+    pivot = specialized ? selected
+      : new PivotDef(selected.getBlockWidth(), selected.getVariableCount(), selected.getBitCount(),
+        selected.getVectorPivots());
+    fixed = new FixedBlockVector(allocator, pivot.getBlockWidth());
+    variable = new VariableBlockVector(allocator, pivot.getVariableCount());
+    Pivots.pivot(pivot, BATCH_SIZE, fixed, variable);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    AutoCloseables.close(variable, fixed);
+    AutoCloseables.close(vectors);
+    allocator.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long pivot() {
+    Pivots.pivot(pivot, BATCH_SIZE, fixed, variable);
+    return fixed.getMemoryAddress();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int unpivot() {
+    Unpivots.unpivot(pivot, fixed, variable, 0, BATCH_SIZE);
+    return pivot.getOutputVectors().get(0).getValueCount();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.SimpleBigIntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dremio.common.AutoCloseables;
+
+/**
+ * Hashing throughput of {@link HashComputation} over pivoted keys (XXH64) and over raw
+ * eight byte keys (as used by the vectorized hash join). Reported time is per key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashComputationBenchmark {
+
+  private static final int BATCH_SIZE = 4096;
+
+  @Param({"FIXED", "NULLABLE", "VARIABLE"})
+  private KeyShape shape;
+
+  private BufferAllocator allocator;
+  private BenchmarkKeys keys;
+  private SimpleBigIntVector eightByteKeys;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    final Random random = new Random(0);
+    final long[] values = new long[BATCH_SIZE];
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      values[i] = random.nextLong();
+    }
+    keys = new BenchmarkKeys(allocator, shape, values);
+
+    eightByteKeys = new SimpleBigIntVector("keys", allocator);
+    eightByteKeys.allocateNew(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      eightByteKeys.set(i, values[i]);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    AutoCloseables.close(eightByteKeys, keys, allocator);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long pivotedKeys() {
+    HashComputation.computeHash(keys.getBlockChunk());
+    return keys.getHash(BATCH_SIZE - 1);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long eightByteKeys() {
+    HashComputation.computeHash(keys.getHashValueAddress(), eightByteKeys.getBufferAddress(), BATCH_SIZE);
+    return keys.getHash(BATCH_SIZE - 1);
+  }
+}
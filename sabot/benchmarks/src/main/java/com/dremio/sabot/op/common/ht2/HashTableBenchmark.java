@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dremio.common.AutoCloseables;
+import com.koloboke.collect.hash.HashConfig;
+
+/**
+ * Insert and probe throughput of {@link LBlockHashTable}.
+ *
+ * The table holds {@code tableSize} distinct keys. Probes are done one hash agg / hash join
+ * sized batch at a time, with keys drawn at random from the table, so that the larger table
+ * sizes show the cost of cache misses on the control and fixed blocks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+
+  private static final int BATCH_SIZE = 4096;
+  private static final int VAR_LENGTH_SIZE = 15;
+
+  @Param({"FIXED", "NULLABLE", "VARIABLE"})
+  private KeyShape shape;
+
+  @Param({"1024", "65536", "1048576"})
+  private int tableSize;
+
+  private BufferAllocator allocator;
+  private BenchmarkKeys buildKeys;
+  private BenchmarkKeys probeKeys;
+  private LBlockHashTable table;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    final Random random = new Random(tableSize);
+
+    // every key exactly once, in random order
+    final long[] build = new long[tableSize];
+    for (int i = 0; i < tableSize; i++) {
+      build[i] = i;
+    }
+    for (int i = tableSize - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final long tmp = build[i];
+      build[i] = build[j];
+      build[j] = tmp;
+    }
+    buildKeys = new BenchmarkKeys(allocator, shape, build);
+
+    final long[] probe = new long[BATCH_SIZE];
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      probe[i] = random.nextInt(tableSize);
+    }
+    probeKeys = new BenchmarkKeys(allocator, shape, probe);
+
+    table = newTable();
+    insert(table);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    AutoCloseables.close(table, probeKeys, buildKeys, allocator);
+  }
+
+  private LBlockHashTable newTable() {
+    return new LBlockHashTable(HashConfig.getDefault(), buildKeys.getPivot(), allocator, BATCH_SIZE,
+      VAR_LENGTH_SIZE, true, ResizeListener.NO_OP, BATCH_SIZE);
+  }
+
+  private int insert(LBlockHashTable target) {
+    final long fixedAddr = buildKeys.getFixedAddress();
+    final long varAddr = buildKeys.getVariableAddress();
+    final int count = buildKeys.getCount();
+    for (int i = 0; i < count; i++) {
+      target.add(fixedAddr, varAddr, i, buildKeys.getHash(i));
+    }
+    return target.size();
+  }
+
+  /**
+   * Builds a table of {@code tableSize} keys from scratch, including all the rehashes and
+   * block allocations along the way. Reported time is per table.
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int insert() throws Exception {
+    try (LBlockHashTable target = newTable()) {
+      return insert(target);
+    }
+  }
+
+  /**
+   * Probes a batch of existing keys one at a time. Reported time is per key.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long find() {
+    final long fixedAddr = probeKeys.getFixedAddress();
+    final long varAddr = probeKeys.getVariableAddress();
+    long ordinals = 0;
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      ordinals += table.find(fixedAddr, varAddr, i, probeKeys.getHash(i));
+    }
+    return ordinals;
+  }
+
+  /**
+   * Same as {@link #find()}, but touches the slots of a chunk of keys ahead of the probes
+   * the way the hash agg and hash join operators do. Reported time is per key.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long findPrefetched() {
+    final long fixedAddr = probeKeys.getFixedAddress();
+    final long varAddr = probeKeys.getVariableAddress();
+    final long hashAddr = probeKeys.getHashValueAddress();
+    long ordinals = 0;
+    for (int start = 0; start < BATCH_SIZE; start += LBlockHashTable.PREFETCH_CHUNK_SIZE) {
+      final int end = Math.min(start + LBlockHashTable.PREFETCH_CHUNK_SIZE, BATCH_SIZE);
+      table.prefetch(hashAddr + start * 8L, end - start);
+      for (int i = start; i < end; i++) {
+        ordinals += table.find(fixedAddr, varAddr, i, probeKeys.getHash(i));
+      }
+    }
+    return ordinals;
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+/**
+ * Shapes of the group by / join keys used by the ht2 benchmarks.
+ */
+public enum KeyShape {
+  /** BIGINT and INT columns, never null. Pivots to a fixed-only block. */
+  FIXED,
+  /** BIGINT and INT columns, a quarter of the INT values are null. */
+  NULLABLE,
+  /** VARCHAR and INT columns. Pivots to a fixed and a variable block. */
+  VARIABLE
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dremio.common.AutoCloseables;
+import com.google.common.base.Charsets;
+
+/**
+ * Pivot and unpivot throughput for a mixed schema of BIT, INT, BIGINT, DECIMAL and two VARCHAR
+ * columns, with a configurable percentage of nulls. Reported time is per record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PivotBenchmark {
+
+  private static final int BATCH_SIZE = 4096;
+
+  @Param({"0", "10", "50"})
+  private int nullPercentage;
+
+  private BufferAllocator allocator;
+  private final List<FieldVector> vectors = new ArrayList<>();
+  private PivotDef pivot;
+  private FixedBlockVector fixed;
+  private VariableBlockVector variable;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    final Random random = new Random(nullPercentage);
+
+    final BitVector bit = add(new BitVector("bit", allocator), new BitVector("bit-out", allocator));
+    final IntVector integer = add(new IntVector("int", allocator), new IntVector("int-out", allocator));
+    final BigIntVector bigint = add(new BigIntVector("bigint", allocator), new BigIntVector("bigint-out", allocator));
+    final DecimalVector decimal = add(new DecimalVector("decimal", allocator, 38, 2),
+      new DecimalVector("decimal-out", allocator, 38, 2));
+    final VarCharVector shortString = add(new VarCharVector("short", allocator), new VarCharVector("short-out", allocator));
+    final VarCharVector longString = add(new VarCharVector("long", allocator), new VarCharVector("long-out", allocator));
+
+    final List<FieldVectorPair> pairs = new ArrayList<>();
+    for (int i = 0; i < vectors.size(); i += 2) {
+      vectors.get(i).allocateNew();
+      pairs.add(new FieldVectorPair(vectors.get(i), vectors.get(i + 1)));
+    }
+
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      if (random.nextInt(100) < nullPercentage) {
+        continue;
+      }
+      final long value = random.nextLong();
+      bit.setSafe(i, (int) (value & 1));
+      integer.setSafe(i, (int) value);
+      bigint.setSafe(i, value);
+      decimal.setSafe(i, BigDecimal.valueOf(value, 2));
+      shortString.setSafe(i, Long.toString(value & 0xFFFF).getBytes(Charsets.UTF_8));
+      longString.setSafe(i, ("a somewhat longer string value " + value).getBytes(Charsets.UTF_8));
+    }
+    for (int i = 0; i < vectors.size(); i += 2) {
+      vectors.get(i).setValueCount(BATCH_SIZE);
+    }
+
+    pivot = PivotBuilder.getBlockDefinition(pairs);
+    fixed = new FixedBlockVector(allocator, pivot.getBlockWidth());
+    variable = new VariableBlockVector(allocator, pivot.getVariableCount());
+    Pivots.pivot(pivot, BATCH_SIZE, fixed, variable);
+  }
+
+  private <T extends FieldVector> T add(T incoming, T outgoing) {
+    vectors.add(incoming);
+    vectors.add(outgoing);
+    return incoming;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    AutoCloseables.close(variable, fixed);
+    AutoCloseables.close(vectors);
+    allocator.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long pivot() {
+    Pivots.pivot(pivot, BATCH_SIZE, fixed, variable);
+    return fixed.getMemoryAddress();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int unpivot() {
+    Unpivots.unpivot(pivot, fixed, variable, 0, BATCH_SIZE);
+    return pivot.getOutputVectors().get(0).getValueCount();
+  }
+}
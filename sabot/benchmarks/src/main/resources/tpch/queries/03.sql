@@ -0,0 +1,43 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch3 using 1395599672 as a seed to the RNG
+select
+  l.l_orderkey,
+  sum(l.l_extendedprice * (1 - l.l_discount)) as revenue,
+  o.o_orderdate,
+  o.o_shippriority
+
+from
+  ${schema}.customer c,
+  ${schema}.orders o,
+  ${schema}.lineitem l
+
+where
+  c.c_mktsegment = 'HOUSEHOLD'
+  and c.c_custkey = o.o_custkey
+  and l.l_orderkey = o.o_orderkey
+  and o.o_orderdate < date '1995-03-25'
+  and l.l_shipdate > date '1995-03-25'
+
+group by
+  l.l_orderkey,
+  o.o_orderdate,
+  o.o_shippriority
+order by
+  revenue desc,
+  o.o_orderdate
+limit 10;
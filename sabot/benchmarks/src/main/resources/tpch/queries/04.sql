@@ -0,0 +1,40 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch4 using 1395599672 as a seed to the RNG
+select
+  o.o_orderpriority,
+  count(*) as order_count
+from
+  ${schema}.orders o
+
+where
+  o.o_orderdate >= date '1996-10-01'
+  and o.o_orderdate < date '1996-10-01' + interval '3' month
+  and
+  exists (
+    select
+      *
+    from
+      ${schema}.lineitem l
+    where
+      l.l_orderkey = o.o_orderkey
+      and l.l_commitdate < l.l_receiptdate
+  )
+group by
+  o.o_orderpriority
+order by
+  o.o_orderpriority;
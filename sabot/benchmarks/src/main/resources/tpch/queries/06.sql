@@ -0,0 +1,28 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch6 using 1395599672 as a seed to the RNG
+
+select
+  sum(l_extendedprice * l_discount) as revenue
+from
+  ${schema}.lineitem
+where
+  l_shipdate >= date '1997-01-01'
+  and l_shipdate < date '1997-01-01' + interval '1' year
+  and
+  l_discount between 0.03 - 0.01 and 0.03 + 0.01
+  and l_quantity < 24;
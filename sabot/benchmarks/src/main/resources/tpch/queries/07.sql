@@ -0,0 +1,56 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch7 using 1395599672 as a seed to the RNG
+select
+  supp_nation,
+  cust_nation,
+  l_year,
+  sum(volume) as revenue
+from
+  (
+    select
+      n1.n_name as supp_nation,
+      n2.n_name as cust_nation,
+      extract(year from l.l_shipdate) as l_year,
+      l.l_extendedprice * (1 - l.l_discount) as volume
+    from
+      ${schema}.supplier s,
+      ${schema}.lineitem l,
+      ${schema}.orders o,
+      ${schema}.customer c,
+      ${schema}.nation n1,
+      ${schema}.nation n2
+    where
+      s.s_suppkey = l.l_suppkey
+      and o.o_orderkey = l.l_orderkey
+      and c.c_custkey = o.o_custkey
+      and s.s_nationkey = n1.n_nationkey
+      and c.c_nationkey = n2.n_nationkey
+      and (
+        (n1.n_name = 'EGYPT' and n2.n_name = 'UNITED STATES')
+        or (n1.n_name = 'UNITED STATES' and n2.n_name = 'EGYPT')
+      )
+      and l.l_shipdate between date '1995-01-01' and date '1996-12-31'
+  ) as shipping
+group by
+  supp_nation,
+  cust_nation,
+  l_year
+order by
+  supp_nation,
+  cust_nation,
+  l_year;
@@ -0,0 +1,49 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch9 using 1395599672 as a seed to the RNG
+select
+  nation,
+  o_year,
+  sum(amount) as sum_profit
+from
+  (
+    select
+      n.n_name as nation,
+      extract(year from o.o_orderdate) as o_year,
+      l.l_extendedprice * (1 - l.l_discount) - ps.ps_supplycost * l.l_quantity as amount
+    from
+      ${schema}.part p,
+      ${schema}.supplier s,
+      ${schema}.lineitem l,
+      ${schema}.partsupp ps,
+      ${schema}.orders o,
+      ${schema}.nation n
+    where
+      s.s_suppkey = l.l_suppkey
+      and ps.ps_suppkey = l.l_suppkey
+      and ps.ps_partkey = l.l_partkey
+      and p.p_partkey = l.l_partkey
+      and o.o_orderkey = l.l_orderkey
+      and s.s_nationkey = n.n_nationkey
+      and p.p_name like '%yellow%'
+  ) as profit
+group by
+  nation,
+  o_year
+order by
+  nation,
+  o_year desc;
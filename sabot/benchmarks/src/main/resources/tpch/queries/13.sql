@@ -0,0 +1,38 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch13 using 1395599672 as a seed to the RNG
+select
+  c_count,
+  count(*) as custdist
+from
+  (
+    select
+      c.c_custkey,
+      count(o.o_orderkey)
+    from
+      ${schema}.customer c
+      left outer join ${schema}.orders o
+        on c.c_custkey = o.o_custkey
+        and o.o_comment not like '%special%requests%'
+    group by
+      c.c_custkey
+  ) as orders (c_custkey, c_count)
+group by
+  c_count
+order by
+  custdist desc,
+  c_count desc;
@@ -0,0 +1,49 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch15 using 1395599672 as a seed to the RNG
+-- the revenue0 view of the specification is inlined as a common table expression
+with revenue0 (supplier_no, total_revenue) as (
+  select
+    l_suppkey,
+    sum(l_extendedprice * (1 - l_discount))
+  from
+    ${schema}.lineitem
+  where
+    l_shipdate >= date '1993-05-01'
+    and l_shipdate < date '1993-05-01' + interval '3' month
+  group by
+    l_suppkey
+)
+select
+  s.s_suppkey,
+  s.s_name,
+  s.s_address,
+  s.s_phone,
+  r.total_revenue
+from
+  ${schema}.supplier s,
+  revenue0 r
+where
+  s.s_suppkey = r.supplier_no
+  and r.total_revenue = (
+    select
+      max(total_revenue)
+    from
+      revenue0
+  )
+order by
+  s.s_suppkey;
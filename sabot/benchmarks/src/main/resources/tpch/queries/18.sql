@@ -0,0 +1,50 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch18 using 1395599672 as a seed to the RNG
+select
+  c.c_name,
+  c.c_custkey,
+  o.o_orderkey,
+  o.o_orderdate,
+  o.o_totalprice,
+  sum(l.l_quantity)
+from
+  ${schema}.customer c,
+  ${schema}.orders o,
+  ${schema}.lineitem l
+where
+  o.o_orderkey in (
+    select
+      l_orderkey
+    from
+      ${schema}.lineitem
+    group by
+      l_orderkey having
+        sum(l_quantity) > 300
+  )
+  and c.c_custkey = o.o_custkey
+  and o.o_orderkey = l.l_orderkey
+group by
+  c.c_name,
+  c.c_custkey,
+  o.o_orderkey,
+  o.o_orderdate,
+  o.o_totalprice
+order by
+  o.o_totalprice desc,
+  o.o_orderdate
+limit 100;
@@ -0,0 +1,54 @@
+--
+-- Copyright (C) 2017-2019 Dremio Corporation
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- tpch22 using 1395599672 as a seed to the RNG
+select
+  cntrycode,
+  count(*) as numcust,
+  sum(c_acctbal) as totacctbal
+from
+  (
+    select
+      substring(c_phone from 1 for 2) as cntrycode,
+      c_acctbal
+    from
+      ${schema}.customer c
+    where
+      substring(c_phone from 1 for 2) in
+        ('24', '31', '11', '16', '21', '20', '34')
+      and c_acctbal > (
+        select
+          avg(c_acctbal)
+        from
+          ${schema}.customer
+        where
+          c_acctbal > 0.00
+          and substring(c_phone from 1 for 2) in
+            ('24', '31', '11', '16', '21', '20', '34')
+      )
+      and not exists (
+        select
+          *
+        from
+          ${schema}.orders o
+        where
+          o.o_custkey = c.c_custkey
+      )
+  ) as custsale
+group by
+  cntrycode
+order by
+  cntrycode;
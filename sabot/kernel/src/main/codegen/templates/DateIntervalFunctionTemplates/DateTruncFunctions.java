@@ -72,14 +72,14 @@ public class GDateTimeTruncateFunctions {
   public static class G${type}${toUnit}DateTrunc implements SimpleFunction {
     @Param  ${type}Holder right;
     @Output ${type}Holder out;
+    <#if (type == "DateMilli" || type == "TimeStampMilli") && (toUnit == "Decade" || toUnit == "Century" || toUnit == "Millennium")>
     @Workspace org.joda.time.MutableDateTime dateTime;
-    <#if toUnit == "Quarter" || toUnit == "Decade" || toUnit == "Century" || toUnit == "Millennium">
     @Workspace org.joda.time.MutableDateTime dateTime2;
     </#if>
 
     public void setup() {
+      <#if (type == "DateMilli" || type == "TimeStampMilli") && (toUnit == "Decade" || toUnit == "Century" || toUnit == "Millennium")>
       dateTime = new org.joda.time.MutableDateTime(org.joda.time.DateTimeZone.UTC);
-      <#if toUnit == "Quarter" || toUnit == "Decade" || toUnit == "Century" || toUnit == "Millennium">
       dateTime2 = new org.joda.time.MutableDateTime(org.joda.time.DateTimeZone.UTC);
       </#if>
     }
@@ -87,20 +87,11 @@ public class GDateTimeTruncateFunctions {
     public void eval() {
       <#if type == "TimeMilli"> <#-- Start InputType -->
         <#if toUnit == "Hour"> <#-- Start UnitType -->
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().hourOfDay());
-      out.value = (int) dateTime.getMillis();
+      out.value = (int) com.dremio.exec.expr.fn.impl.UtcDates.truncateToHour(right.value);
         <#elseif toUnit == "Minute">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().minuteOfHour());
-      out.value = (int) dateTime.getMillis();
+      out.value = (int) com.dremio.exec.expr.fn.impl.UtcDates.truncateToMinute(right.value);
         <#elseif toUnit == "Second">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().secondOfMinute());
-      out.value = (int) dateTime.getMillis();
+      out.value = (int) com.dremio.exec.expr.fn.impl.UtcDates.truncateToSecond(right.value);
         <#else>
         <#-- For all other units truncate the whole thing -->
       out.value = 0;
@@ -110,28 +101,13 @@ public class GDateTimeTruncateFunctions {
       // No truncation as there is no time part in date
       out.value = right.value;
         <#elseif toUnit == "Year">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().year());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToYear(right.value);
         <#elseif toUnit == "Month">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().monthOfYear());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToMonth(right.value);
         <#elseif toUnit == "Week">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().weekOfWeekyear());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToWeek(right.value);
         <#elseif toUnit == "Quarter">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
-      dateTime.setMillis(right.value);
-      int month = dateTime.getMonthOfYear();
-      dateTime.setRounding(dateTime.getChronology().year());
-      dateTime2.setMillis(dateTime.getMillis());
-      dateTime2.add(org.joda.time.DurationFieldType.months(), ((month-1)/3)*3);
-      out.value = dateTime2.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToQuarter(right.value);
         <#elseif toUnit == "Decade">
       dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
       dateTime.setMillis(right.value);
@@ -158,43 +134,24 @@ public class GDateTimeTruncateFunctions {
       out.value = dateTime2.getMillis();
         </#if> <#-- End UnitType -->
       <#elseif type == "TimeStampMilli">
-      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
         <#if toUnit == "Year"> <#--  Start UnitType -->
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().year());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToYear(right.value);
         <#elseif toUnit == "Month">
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().monthOfYear());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToMonth(right.value);
         <#elseif toUnit == "Day">
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().dayOfMonth());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToDay(right.value);
         <#elseif toUnit == "Hour">
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().hourOfDay());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToHour(right.value);
         <#elseif toUnit == "Minute">
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().minuteOfHour());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToMinute(right.value);
         <#elseif toUnit == "Second">
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().secondOfMinute());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToSecond(right.value);
         <#elseif toUnit == "Week">
-      dateTime.setMillis(right.value);
-      dateTime.setRounding(dateTime.getChronology().weekOfWeekyear());
-      out.value = dateTime.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToWeek(right.value);
         <#elseif toUnit == "Quarter">
-      dateTime.setMillis(right.value);
-      int month = dateTime.getMonthOfYear();
-      dateTime.setRounding(dateTime.getChronology().year());
-      dateTime2.setMillis(dateTime.getMillis());
-      dateTime2.add(org.joda.time.DurationFieldType.months(), ((month-1)/3)*3);
-      out.value = dateTime2.getMillis();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.truncateToQuarter(right.value);
         <#elseif toUnit == "Decade">
+      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
       dateTime.setMillis(right.value);
       int year = dateTime.getYear();
       dateTime.setRounding(dateTime.getChronology().centuryOfEra());
@@ -202,6 +159,7 @@ public class GDateTimeTruncateFunctions {
       dateTime2.add(org.joda.time.DurationFieldType.years(), ((year%100)/10)*10);
       out.value = dateTime2.getMillis();
         <#elseif toUnit == "Century">
+      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
       dateTime.setMillis(right.value);
       dateTime.add(org.joda.time.DurationFieldType.years(), -1);
       dateTime.setRounding(dateTime.getChronology().centuryOfEra());
@@ -209,6 +167,7 @@ public class GDateTimeTruncateFunctions {
       dateTime2.add(org.joda.time.DurationFieldType.years(), 1);
       out.value = dateTime2.getMillis();
         <#elseif toUnit == "Millennium">
+      dateTime.setRounding(null, org.joda.time.MutableDateTime.ROUND_NONE);
       dateTime.setMillis(right.value);
       int year = dateTime.getYear();
       dateTime.setRounding(dateTime.getChronology().era());
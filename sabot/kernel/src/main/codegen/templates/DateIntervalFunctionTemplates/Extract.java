@@ -47,45 +47,39 @@ public class ${className} {
 
     @Param ${fromUnit}Holder in;
     @Output BigIntHolder out;
-    @Workspace org.joda.time.MutableDateTime dateTime;
 
     public void setup() {
-      dateTime = new org.joda.time.MutableDateTime(
-          org.joda.time.chrono.DayOfWeekFromSundayChronology.getISOInstanceInUTC());
     }
 
     public void eval() {
-      dateTime.setMillis(in.value);
-
     <#if toUnit == "Second">
-      out.value = dateTime.getSecondOfMinute();
-      out.value += (dateTime.getMillisOfSecond()) / org.apache.arrow.vector.util.DateUtility.secondsToMillis;
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.secondOfMinute(in.value);
     <#elseif toUnit = "Minute">
-      out.value = dateTime.getMinuteOfHour();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.minuteOfHour(in.value);
     <#elseif toUnit = "Hour">
-      out.value = dateTime.getHourOfDay();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.hourOfDay(in.value);
     <#elseif toUnit = "Day">
-      out.value = dateTime.getDayOfMonth();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.dayOfMonth(in.value);
     <#elseif toUnit = "Month">
-      out.value = dateTime.getMonthOfYear();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.month(in.value);
     <#elseif toUnit = "Year">
-      out.value = dateTime.getYear();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.year(in.value);
     <#elseif toUnit = "Week">
-      out.value = dateTime.getWeekOfWeekyear();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.weekOfWeekYear(in.value);
     <#elseif toUnit = "DOW">
-      out.value = dateTime.getDayOfWeek();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.dayOfWeekFromSunday(in.value);
     <#elseif toUnit = "DOY">
-      out.value = dateTime.getDayOfYear();
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.dayOfYear(in.value);
     <#elseif toUnit = "Epoch">
-      out.value = dateTime.getMillis()/1000;
+      out.value = in.value / 1000;
     <#elseif toUnit = "Quarter">
-      out.value = (dateTime.getMonthOfYear()-1)/3 + 1;
+      out.value = (com.dremio.exec.expr.fn.impl.UtcDates.month(in.value) - 1) / 3 + 1;
     <#elseif toUnit = "Decade">
-      out.value = dateTime.getYear()/10;
+      out.value = com.dremio.exec.expr.fn.impl.UtcDates.year(in.value) / 10;
     <#elseif toUnit = "Century">
-      out.value = (dateTime.getYear() - 1)/100 + 1;
+      out.value = (com.dremio.exec.expr.fn.impl.UtcDates.year(in.value) - 1) / 100 + 1;
     <#elseif toUnit = "Millennium">
-      out.value = (dateTime.getYear() - 1)/1000 + 1;
+      out.value = (com.dremio.exec.expr.fn.impl.UtcDates.year(in.value) - 1) / 1000 + 1;
     </#if>
     }
   }
@@ -48,19 +48,15 @@ public class TimestampArithmeticFunctions {
   public static class TimestampAdd${addUnitType}${addUnit}To${inputUnit} implements SimpleFunction {
     @Param ${addUnitType}Holder count;
     @Param ${inputUnit}Holder in;
-    @Workspace MutableDateTime temp;
     @Workspace com.dremio.exec.util.TSI tsi;
     @Output ${inputUnit}Holder out;
 
     public void setup() {
-      temp = new MutableDateTime(org.joda.time.DateTimeZone.UTC);
       tsi = com.dremio.exec.util.TSI.getByName("${addUnit?upper_case}");
     }
 
     public void eval() {
-      temp.setMillis(in.value);
-      tsi.addCount(temp, count.value);
-      out.value = temp.getMillis();
+      out.value = tsi.addCount(in.value, count.value);
     }
   }
 
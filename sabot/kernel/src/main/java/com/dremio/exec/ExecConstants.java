@@ -88,6 +88,18 @@ public interface ExecConstants {
   String WORK_THRESHOLD_FOR_SPLIT_KEY = "exec.expression.split.work_per_split";
   DoubleValidator WORK_THRESHOLD_FOR_SPLIT = new RangeDoubleValidator(WORK_THRESHOLD_FOR_SPLIT_KEY, 0.0, Long.MAX_VALUE, 3.0);
 
+  // Configuration option for evaluating once the subexpressions shared by the expressions of a project
+  BooleanValidator SHARED_SUBEXPRESSIONS_ENABLED = new BooleanValidator("exec.expression.shared_subexpressions.enabled", true);
+
+  // Configuration option for evaluating the string functions of columns over whole batches, instead of generating code
+  BooleanValidator STRING_KERNELS_ENABLED = new BooleanValidator("exec.expression.string_kernels.enabled", true);
+
+  // Configuration options for starting the evaluation of filters and projects in the interpreter, and only generating
+  // code once they went through more records, or spent more time, than the limits below
+  BooleanValidator INTERPRETED_START_ENABLED = new BooleanValidator("exec.expression.interpreted_start.enabled", false);
+  LongValidator INTERPRETED_START_MAX_RECORDS = new RangeLongValidator("exec.expression.interpreted_start.max_records", 0, Integer.MAX_VALUE, 1024);
+  LongValidator INTERPRETED_START_MAX_MILLIS = new RangeLongValidator("exec.expression.interpreted_start.max_millis", 0, Integer.MAX_VALUE, 50);
+
   PositiveLongValidator MAX_FOREMEN_PER_COORDINATOR = new PositiveLongValidator("coordinator.alive_queries.limit", Long.MAX_VALUE, 1000);
 
   BooleanValidator REST_API_RUN_QUERY_ASYNC = new BooleanValidator("dremio.coordinator.rest.run_query.async", false);
@@ -209,6 +221,9 @@ public interface ExecConstants {
   String FILESYSTEM_PARTITION_COLUMN_LABEL = "dremio.exec.storage.file.partition.column.label";
   StringValidator FILESYSTEM_PARTITION_COLUMN_LABEL_VALIDATOR = new StringValidator(FILESYSTEM_PARTITION_COLUMN_LABEL, "dir");
 
+  // maximum number of directories listed concurrently when expanding the directories of a filesystem dataset
+  PositiveLongValidator FILESYSTEM_LIST_PARALLELISM = new PositiveLongValidator("store.file.list_parallelism", 256, 16);
+
   String JSON_READ_NUMBERS_AS_DOUBLE = "store.json.read_numbers_as_double";
   BooleanValidator JSON_READ_NUMBERS_AS_DOUBLE_VALIDATOR = new BooleanValidator(JSON_READ_NUMBERS_AS_DOUBLE, false);
 
@@ -231,12 +246,14 @@ public interface ExecConstants {
   BooleanValidator MONGO_RULES_SAMPLE = new BooleanValidator("store.mongo.enable_sample_rule", false);
 
   /* Elastic Rules */
-  BooleanValidator ELASTIC_RULES_AGGREGATE = new BooleanValidator("store.elastic.enable_aggregate_rule", true);
+  BooleanValidator ELASTIC_RULES_AGGREGATE = new BooleanValidator("store.elastic.enable_aggregate_rule", false);
   BooleanValidator ELASTIC_RULES_FILTER = new BooleanValidator("store.elastic.enable_filter_rule", true);
   BooleanValidator ELASTIC_RULES_LIMIT = new BooleanValidator("store.elastic.enable_limit_rule", true);
   BooleanValidator ELASTIC_RULES_PROJECT = new BooleanValidator("store.elastic.enable_project_rule", true);
   BooleanValidator ELASTIC_RULES_EDGE_PROJECT = new BooleanValidator("store.elastic.enable_edge_project_rule", false);
   BooleanValidator ELASTIC_RULES_SAMPLE = new BooleanValidator("store.elastic.enable_sample_rule", true);
+  // above this many estimated groups, aggregates are computed by Dremio instead of being pushed into Elasticsearch
+  PositiveLongValidator ELASTIC_AGGREGATE_MAX_BUCKETS = new PositiveLongValidator("store.elastic.aggregate_max_buckets", Integer.MAX_VALUE, 1_000_000);
 
   BooleanValidator ELASTIC_ENABLE_MAPPING_CHECKSUM = new BooleanValidator("store.elastic.enable_mapping_checksum", true);
 
@@ -341,6 +358,8 @@ public interface ExecConstants {
 
   String BOOTSTRAP_STORAGE_PLUGINS_FILE = "bootstrap-storage-plugins.json";
   String MAX_LOADING_CACHE_SIZE_CONFIG = "dremio.exec.compile.cache_max_size";
+  String COMPILE_DISK_CACHE_PATH_CONFIG = "dremio.exec.compile.disk_cache.path";
+  String COMPILE_DISK_CACHE_MAX_SIZE_CONFIG = "dremio.exec.compile.disk_cache.max_size";
 
   String ENABLE_WINDOW_FUNCTIONS = "window.enable";
   OptionValidator ENABLE_WINDOW_FUNCTIONS_VALIDATOR = new BooleanValidator(ENABLE_WINDOW_FUNCTIONS, true);
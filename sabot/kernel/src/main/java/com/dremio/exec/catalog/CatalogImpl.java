@@ -89,22 +89,25 @@ public class CatalogImpl implements Catalog {
   private final NamespaceService userNamespaceService;
   private final DatasetManager datasets;
   private final CatalogServiceImpl.SourceModifier sourceModifier;
+  private final DatasetConfigCache datasetConfigCache;
 
   CatalogImpl(
       SabotContext context,
       MetadataRequestOptions options,
       PluginRetriever pluginRetriever,
-      CatalogServiceImpl.SourceModifier sourceModifier
+      CatalogServiceImpl.SourceModifier sourceModifier,
+      DatasetConfigCache datasetConfigCache
       ) {
     this.context = context;
     this.options = options;
     this.pluginRetriever = pluginRetriever;
     this.sourceModifier = sourceModifier;
+    this.datasetConfigCache = datasetConfigCache;
 
     this.username = options.getSchemaConfig().getUserName();
     this.systemNamespaceService = context.getNamespaceService(SystemUser.SYSTEM_USERNAME);
     this.userNamespaceService = context.getNamespaceService(username);
-    this.datasets = new DatasetManager(pluginRetriever, userNamespaceService, context.getOptionManager());
+    this.datasets = new DatasetManager(pluginRetriever, userNamespaceService, context.getOptionManager(), datasetConfigCache);
   }
 
   @Override
@@ -294,17 +297,17 @@ public class CatalogImpl implements Catalog {
 
   @Override
   public Catalog resolveCatalog(String username, NamespaceKey newDefaultSchema) {
-    return new CatalogImpl(context, options.cloneWith(username, newDefaultSchema), pluginRetriever, sourceModifier);
+    return new CatalogImpl(context, options.cloneWith(username, newDefaultSchema), pluginRetriever, sourceModifier, datasetConfigCache);
   }
 
   @Override
   public Catalog resolveCatalog(String username) {
-    return new CatalogImpl(context, options.cloneWith(username, options.getSchemaConfig().getDefaultSchema()), pluginRetriever, sourceModifier);
+    return new CatalogImpl(context, options.cloneWith(username, options.getSchemaConfig().getDefaultSchema()), pluginRetriever, sourceModifier, datasetConfigCache);
   }
 
   @Override
   public Catalog resolveCatalog(NamespaceKey newDefaultSchema) {
-    return new CatalogImpl(context, options.cloneWith(getUser(), newDefaultSchema), pluginRetriever, sourceModifier);
+    return new CatalogImpl(context, options.cloneWith(getUser(), newDefaultSchema), pluginRetriever, sourceModifier, datasetConfigCache);
   }
 
   @Override
@@ -450,6 +453,8 @@ public class CatalogImpl implements Catalog {
       systemNamespaceService.deleteEntity(key);
     } catch (NamespaceException e) {
       throw Throwables.propagate(e);
+    } finally {
+      datasetConfigCache.invalidate(key);
     }
   }
 
@@ -466,6 +471,7 @@ public class CatalogImpl implements Catalog {
     }
 
     datasets.createDataset(key, plugin, datasetMutator);
+    datasetConfigCache.invalidate(key);
   }
 
   @Override
@@ -477,7 +483,11 @@ public class CatalogImpl implements Catalog {
           .buildSilently();
     }
 
-    return plugin.refreshDataset(key, retrievalOptions);
+    try {
+      return plugin.refreshDataset(key, retrievalOptions);
+    } finally {
+      datasetConfigCache.invalidate(key);
+    }
   }
 
   @Override
@@ -529,7 +539,11 @@ public class CatalogImpl implements Catalog {
           .buildSilently();
     }
 
-    return datasets.createOrUpdateDataset(plugin, datasetPath, datasetConfig, attributes);
+    try {
+      return datasets.createOrUpdateDataset(plugin, datasetPath, datasetConfig, attributes);
+    } finally {
+      datasetConfigCache.invalidate(datasetPath);
+    }
   }
 
 
@@ -589,6 +603,7 @@ public class CatalogImpl implements Catalog {
   private boolean storeSchema(NamespaceKey key, DatasetConfig config) throws NamespaceException {
     try {
       systemNamespaceService.addOrUpdateDataset(key, config);
+      datasetConfigCache.invalidate(key);
       return true;
     } catch (ConcurrentModificationException ex) {
       return false;
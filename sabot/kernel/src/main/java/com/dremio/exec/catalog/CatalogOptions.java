@@ -22,6 +22,7 @@ import com.dremio.options.TypeValidators;
 import com.dremio.options.TypeValidators.BooleanValidator;
 import com.dremio.options.TypeValidators.LongValidator;
 import com.dremio.options.TypeValidators.PositiveLongValidator;
+import com.dremio.options.TypeValidators.RangeLongValidator;
 import com.dremio.service.namespace.NamespaceService;
 
 /**
@@ -50,6 +51,16 @@ public final class CatalogOptions {
   public static final TypeValidators.EnumValidator<NamespaceService.SplitCompression> SPLIT_COMPRESSION_TYPE = new TypeValidators.EnumValidator<>(
     "store.plugin.split_compression", NamespaceService.SplitCompression.class, NamespaceService.SplitCompression.SNAPPY);
 
+  // Maximum number of threads synchronizing the metadata of the existing datasets of a source during a full refresh.
+  // Serial by default: only raise it for sources whose plugins support reading the metadata of several datasets at once.
+  public static final LongValidator METADATA_REFRESH_THREADS = new PositiveLongValidator("store.plugin.metadata_refresh_threads", 64, 1);
+
+  // Maximum size in bytes of the physical dataset configs cached across queries (0 to disable)
+  public static final LongValidator DATASET_CONFIG_CACHE_SIZE = new RangeLongValidator("store.plugin.dataset_config_cache_bytes", 0, Integer.MAX_VALUE, 32 * 1024 * 1024);
+
+  // Maximum time a physical dataset config is cached across queries
+  public static final LongValidator DATASET_CONFIG_CACHE_EXPIRE = new PositiveLongValidator("store.plugin.dataset_config_cache_expire_millis", TimeUnit.HOURS.toMillis(1), TimeUnit.MINUTES.toMillis(1));
+
   // Do not instantiate
   private CatalogOptions() {
   }
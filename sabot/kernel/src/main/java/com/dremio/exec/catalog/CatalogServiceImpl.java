@@ -112,6 +112,7 @@ public class CatalogServiceImpl implements CatalogService {
   private BufferAllocator allocator;
   private FabricRunnerFactory tunnelFactory;
   private CatalogProtocol protocol;
+  private DatasetConfigCache datasetConfigCache = DatasetConfigCache.disabled();
   private final CatalogServiceMonitor monitor;
 
   public CatalogServiceImpl(
@@ -147,6 +148,9 @@ public class CatalogServiceImpl implements CatalogService {
     this.allocator = context.getAllocator().newChildAllocator("catalog-protocol", 0, Long.MAX_VALUE);
     this.systemNamespace = context.getNamespaceService(SystemUser.SYSTEM_USERNAME);
     sourceDataStore = context.getKVStoreProvider().getStore(CatalogSourceDataCreator.class);
+    this.datasetConfigCache = DatasetConfigCache.withMetrics(
+        context.getOptionManager().getOption(CatalogOptions.DATASET_CONFIG_CACHE_SIZE),
+        context.getOptionManager().getOption(CatalogOptions.DATASET_CONFIG_CACHE_EXPIRE));
     this.plugins = new PluginsManager(context, sourceDataStore, this.scheduler.get(), this.connectionReaderProvider.get(), monitor);
     plugins.start();
     this.protocol =  new CatalogProtocol(allocator, new CatalogChangeListener(), context.getConfig());
@@ -253,6 +257,7 @@ public class CatalogServiceImpl implements CatalogService {
         logger.debug("Received delete source for [{}]", config.getName());
 
         plugins.closeAndRemoveSource(config);
+        datasetConfigCache.invalidateSource(config.getName());
       } catch (Exception ex) {
         logger.warn("Failure while synchronizing source [{}].", config.getName(), ex);
       }
@@ -383,6 +388,7 @@ public class CatalogServiceImpl implements CatalogService {
 
       namespaceService.deleteSource(config.getKey(), config.getTag());
       sourceDataStore.delete(config.getKey());
+      datasetConfigCache.invalidateSource(config.getName());
     } catch (RuntimeException ex) {
       throw ex;
     } catch (Exception ex) {
@@ -479,7 +485,7 @@ public class CatalogServiceImpl implements CatalogService {
     Preconditions.checkNotNull(requestOptions,  "request options are required");
 
     final Catalog catalog = new CatalogImpl(context.get(), requestOptions, new Retriever(),
-        new SourceModifier(requestOptions.getSchemaConfig().getUserName()));
+        new SourceModifier(requestOptions.getSchemaConfig().getUserName()), datasetConfigCache);
 
     final Catalog decoratedCatalog = SourceAccessChecker.secureIfNeeded(requestOptions, catalog);
     return new CachingCatalog(decoratedCatalog);
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dremio.datastore.ProtostuffSerializer;
+import com.dremio.datastore.Serializer;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.DatasetType;
+import com.dremio.telemetry.api.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Coordinator wide cache of the configs of physical datasets, shared by all catalogs.
+ *
+ * {@link CachingCatalog} only caches tables for the duration of a query, so queries on the same
+ * tables read their config from the namespace again and again. This cache keeps the serialized
+ * configs of the recently used physical datasets, along with the metadata version of their source
+ * when read (see {@link ManagedStoragePlugin#getMetadataVersion()}): an entry is only used while the
+ * source metadata did not change. Entries are also invalidated on changes made through the catalog,
+ * and expire after a while to bound staleness when the namespace is changed by other means.
+ *
+ * Virtual datasets are not cached. Access checks are not cached either, they still happen for each
+ * query.
+ */
+class DatasetConfigCache {
+
+  private static final Serializer<DatasetConfig> SERIALIZER = ProtostuffSerializer.of(DatasetConfig.getSchema());
+
+  private final boolean enabled;
+  private final Cache<NamespaceKey, Entry> configs;
+  // incremented on each invalidation, so that configs read before an invalidation are not cached
+  private final AtomicLong generation = new AtomicLong();
+
+  DatasetConfigCache(long maxSizeBytes, long expireAfterMs) {
+    this.enabled = maxSizeBytes > 0;
+    this.configs = CacheBuilder.newBuilder()
+        .maximumWeight(maxSizeBytes)
+        .<NamespaceKey, Entry>weigher((key, entry) -> entry.config.length)
+        .expireAfterWrite(expireAfterMs, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Create a cache and publish its hit and miss counts.
+   */
+  static DatasetConfigCache withMetrics(long maxSizeBytes, long expireAfterMs) {
+    final DatasetConfigCache cache = new DatasetConfigCache(maxSizeBytes, expireAfterMs);
+    Metrics.newGauge(Metrics.join("catalog", "dataset_config_cache", "hits"), () -> cache.configs.stats().hitCount());
+    Metrics.newGauge(Metrics.join("catalog", "dataset_config_cache", "misses"), () -> cache.configs.stats().missCount());
+    Metrics.newGauge(Metrics.join("catalog", "dataset_config_cache", "size"), cache.configs::size);
+    return cache;
+  }
+
+  /**
+   * A cache that never holds any config.
+   */
+  static DatasetConfigCache disabled() {
+    return new DatasetConfigCache(0, 0);
+  }
+
+  /**
+   * Get a copy of the cached config of the dataset.
+   *
+   * @param key the dataset key (case insensitive)
+   * @param metadataVersion the current metadata version of the dataset source
+   * @return the config, or null if not cached, or cached for another version of the source metadata
+   */
+  DatasetConfig get(NamespaceKey key, long metadataVersion) {
+    if (!enabled) {
+      return null;
+    }
+
+    final Entry entry = configs.getIfPresent(key.asLowerCase());
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.metadataVersion != metadataVersion) {
+      configs.asMap().remove(key.asLowerCase(), entry);
+      return null;
+    }
+    return SERIALIZER.deserialize(entry.config);
+  }
+
+  /**
+   * Current generation of the cache, to be obtained before reading a config to cache.
+   */
+  long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Cache the config of a physical dataset.
+   *
+   * @param config the config read from the namespace
+   * @param metadataVersion the metadata version of the dataset source before reading the config
+   * @param generation the generation of the cache before reading the config
+   */
+  void put(DatasetConfig config, long metadataVersion, long generation) {
+    if (!enabled || config.getType() == DatasetType.VIRTUAL_DATASET || config.getFullPathList() == null) {
+      return;
+    }
+
+    final NamespaceKey key = new NamespaceKey(config.getFullPathList()).asLowerCase();
+    final Entry entry = new Entry(SERIALIZER.serialize(config), metadataVersion);
+    configs.put(key, entry);
+    if (generation != this.generation.get()) {
+      // invalidated while reading the config
+      configs.asMap().remove(key, entry);
+    }
+  }
+
+  void invalidate(NamespaceKey key) {
+    generation.incrementAndGet();
+    configs.invalidate(key.asLowerCase());
+  }
+
+  /**
+   * Invalidate the configs of all the datasets of a source.
+   */
+  void invalidateSource(String sourceName) {
+    generation.incrementAndGet();
+    configs.asMap().keySet().removeIf(key -> key.getRoot().equalsIgnoreCase(sourceName));
+  }
+
+  void invalidateAll() {
+    generation.incrementAndGet();
+    configs.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long hitCount() {
+    return configs.stats().hitCount();
+  }
+
+  private static final class Entry {
+    private final byte[] config;
+    private final long metadataVersion;
+
+    private Entry(byte[] config, long metadataVersion) {
+      this.config = config;
+      this.metadataVersion = metadataVersion;
+    }
+  }
+}
@@ -87,15 +87,26 @@ class DatasetManager {
   private final PluginRetriever plugins;
   private final NamespaceService userNamespaceService;
   private final OptionManager optionManager;
+  private final DatasetConfigCache configCache;
 
   public DatasetManager(
       PluginRetriever plugins,
       NamespaceService userNamespaceService,
       OptionManager optionManager
       ) {
+    this(plugins, userNamespaceService, optionManager, DatasetConfigCache.disabled());
+  }
+
+  DatasetManager(
+      PluginRetriever plugins,
+      NamespaceService userNamespaceService,
+      OptionManager optionManager,
+      DatasetConfigCache configCache
+      ) {
     this.userNamespaceService = userNamespaceService;
     this.plugins = plugins;
     this.optionManager = optionManager;
+    this.configCache = configCache;
   }
 
   /**
@@ -121,13 +132,25 @@ class DatasetManager {
 
   private DatasetConfig getConfig(final NamespaceKey key) {
     if(!isAmbiguousKey(key)) {
-      try {
-        return userNamespaceService.getDataset(key);
-      } catch(NamespaceNotFoundException ex) {
-        return null;
-      } catch(NamespaceException ex) {
-        throw Throwables.propagate(ex);
+      final ManagedStoragePlugin plugin = plugins.getPlugin(key.getRoot(), false);
+      if (plugin == null) {
+        return getConfigFromNamespace(key);
+      }
+
+      // the source version and the cache generation are obtained before reading the config, so that a config
+      // changed while being read is not cached.
+      final long metadataVersion = plugin.getMetadataVersion();
+      final DatasetConfig cachedConfig = configCache.get(key, metadataVersion);
+      if (cachedConfig != null) {
+        return cachedConfig;
       }
+
+      final long generation = configCache.getGeneration();
+      final DatasetConfig config = getConfigFromNamespace(key);
+      if (config != null) {
+        configCache.put(config, metadataVersion, generation);
+      }
+      return config;
     }
 
     /**
@@ -182,6 +205,16 @@ class DatasetManager {
     return possibleMatches.get(0);
   }
 
+  private DatasetConfig getConfigFromNamespace(final NamespaceKey key) {
+    try {
+      return userNamespaceService.getDataset(key);
+    } catch(NamespaceNotFoundException ex) {
+      return null;
+    } catch(NamespaceException ex) {
+      throw Throwables.propagate(ex);
+    }
+  }
+
   private DatasetConfig getConfig(final String datasetId) {
     return userNamespaceService.findDatasetByUUID(datasetId);
   }
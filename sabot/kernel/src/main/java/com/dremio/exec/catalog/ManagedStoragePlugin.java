@@ -338,6 +338,7 @@ public class ManagedStoragePlugin implements AutoCloseable {
             logger.debug("Old metadata data may be bad; deleting all descendants of source [{}]", config.getName());
             // TODO: expensive call on non-master coordinators (sends as many RPC requests as entries under the source)
             systemUserNamespaceService.deleteSourceChildren(config.getKey(), config.getTag());
+            metadataManager.metadataChanged();
           } else {
             logger.info("Old metadata data may be bad, but preserving descendants of source [{}] because '{}' is enabled",
                 config.getName(), CatalogOptions.STORAGE_PLUGIN_KEEP_METADATA_ON_REPLACE.getOptionName());
@@ -628,6 +629,14 @@ public class ManagedStoragePlugin implements AutoCloseable {
     return metadataManager.getLastFullRefreshDateMs();
   }
 
+  /**
+   * Version of the metadata of the datasets of this source, changed each time the datasets or the
+   * source config are changed locally. Used to validate the configs cached by {@link DatasetConfigCache}.
+   */
+  long getMetadataVersion() {
+    return metadataManager.getMetadataVersion();
+  }
+
   private static boolean isComplete(DatasetConfig config) {
     return config != null
         && DatasetHelper.getSchemaBytes(config) != null
@@ -723,6 +732,9 @@ public class ManagedStoragePlugin implements AutoCloseable {
     this.state = plugin.getState();
     this.conf = config.getConnectionConf(reader);
     this.pluginId = new StoragePluginId(sourceConfig, conf, plugin.getSourceCapabilities());
+    if (metadataManager != null) {
+      metadataManager.metadataChanged();
+    }
   }
 
   /**
@@ -16,16 +16,21 @@
 package com.dremio.exec.catalog;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.dremio.common.collections.Tuple;
+import com.dremio.common.concurrent.NamedThreadFactory;
 import com.dremio.connector.ConnectorException;
 import com.dremio.connector.metadata.BytesOutput;
 import com.dremio.connector.metadata.DatasetHandle;
@@ -59,6 +64,7 @@ public class MetadataSynchronizer {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MetadataSynchronizer.class);
 
   private static final int NUM_RETRIES = 1;
+  private static final long PROGRESS_LOG_INTERVAL_SECONDS = 60;
   private final SyncStatus syncStatus = new SyncStatus(true);
 
   private final NamespaceService systemNamespace;
@@ -68,8 +74,10 @@ public class MetadataSynchronizer {
   private final DatasetRetrievalOptions options;
 
   private final UpdateMode updateMode;
+  private final int refreshThreads;
   private final Set<NamespaceKey> ancestorsToKeep;
   private final List<Tuple<String, String>> failedDatasets;
+  private final AtomicLong existingDatasetsSynced = new AtomicLong();
 
   private Set<NamespaceKey> existingDatasets;
 
@@ -79,7 +87,8 @@ public class MetadataSynchronizer {
       SourceMetadata sourceMetadata,
       MetadataPolicy metadataPolicy,
       DatasetSaver saver,
-      DatasetRetrievalOptions options
+      DatasetRetrievalOptions options,
+      int refreshThreads
   ) {
     this.systemNamespace = Preconditions.checkNotNull(systemNamespace);
     this.sourceKey = Preconditions.checkNotNull(sourceKey);
@@ -88,8 +97,9 @@ public class MetadataSynchronizer {
     this.options = options;
 
     this.updateMode = metadataPolicy.getDatasetUpdateMode();
+    this.refreshThreads = refreshThreads;
     this.ancestorsToKeep = new HashSet<>();
-    this.failedDatasets = new ArrayList<>();
+    this.failedDatasets = Collections.synchronizedList(new ArrayList<>());
   }
 
   /**
@@ -117,7 +127,9 @@ public class MetadataSynchronizer {
       logger.debug("Source '{}' sync started", sourceKey);
 
       // 1. update datasets in namespace with the ones in source
+      Stopwatch phaseStopwatch = Stopwatch.createStarted();
       synchronizeDatasets();
+      syncStatus.setPhaseTime(SyncStatus.Phase.SYNC_DATASETS, phaseStopwatch.elapsed(TimeUnit.MILLISECONDS));
       if (syncStatus.isInterrupted()) {
         // if interrupted, skip next steps to avoid deleting valid entries in existingDatasets
         return syncStatus;
@@ -126,10 +138,14 @@ public class MetadataSynchronizer {
       // remaining entries in existingDatasets must be deleted
 
       // 2. delete all the folders that have no references
+      phaseStopwatch = Stopwatch.createStarted();
       deleteOrphanFolders();
+      syncStatus.setPhaseTime(SyncStatus.Phase.DELETE_ORPHAN_FOLDERS, phaseStopwatch.elapsed(TimeUnit.MILLISECONDS));
 
       // 3. delete all the orphaned datasets
+      phaseStopwatch = Stopwatch.createStarted();
       deleteOrphanedDatasets();
+      syncStatus.setPhaseTime(SyncStatus.Phase.DELETE_ORPHAN_DATASETS, phaseStopwatch.elapsed(TimeUnit.MILLISECONDS));
     } catch (ManagedStoragePlugin.StoragePluginChanging e) {
       syncStatus.setInterrupted(true);
     } catch (Exception e) {
@@ -162,35 +178,89 @@ public class MetadataSynchronizer {
   /**
    * Brings the namespace up to date by gathering metadata from the source about existing and new datasets.
    *
+   * Existing datasets are the expensive ones to synchronize, as their metadata may have to be read again from
+   * the source. When more than one refresh thread is configured, they are synchronized concurrently by a bounded
+   * pool of workers, while datasets are listed and new datasets are added by the calling thread.
+   *
    * @throws NamespaceException if it cannot be handled
    */
   private void synchronizeDatasets() throws NamespaceException, ConnectorException {
     logger.trace("Source '{}' syncing datasets", sourceKey);
     try (DatasetHandleListing datasetListing = getDatasetHandleListing(options.asGetDatasetOptions(null))) {
-      final Iterator<? extends DatasetHandle> iterator = datasetListing.iterator();
-      while (true) {
+      final ThreadPoolExecutor workers = newWorkers();
+      try {
+        synchronizeDatasets(datasetListing, workers);
+      } finally {
+        // handles may be bound to the listing, so wait for the workers before closing it
+        awaitWorkers(workers);
+      }
+    }
+  }
 
-        if (!iterator.hasNext()) {
-          break;
-        }
+  private void synchronizeDatasets(DatasetHandleListing datasetListing, ThreadPoolExecutor workers)
+      throws NamespaceException, ConnectorException {
+    final Iterator<? extends DatasetHandle> iterator = datasetListing.iterator();
+    while (true) {
 
-        final DatasetHandle handle = iterator.next();
-        final NamespaceKey datasetKey = MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath());
-        final boolean existing = existingDatasets.remove(datasetKey);
-        if (logger.isTraceEnabled()) {
-          logger.trace("Dataset '{}' sync started ({})", datasetKey, existing ? "existing" : "new");
-        }
+      if (!iterator.hasNext()) {
+        break;
+      }
 
-        if (existing) {
-          addAncestors(datasetKey, ancestorsToKeep);
+      final DatasetHandle handle = iterator.next();
+      final NamespaceKey datasetKey = MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath());
+      final boolean existing = existingDatasets.remove(datasetKey);
+      if (logger.isTraceEnabled()) {
+        logger.trace("Dataset '{}' sync started ({})", datasetKey, existing ? "existing" : "new");
+      }
+
+      if (existing) {
+        addAncestors(datasetKey, ancestorsToKeep);
+        if (workers == null) {
           handleExistingDataset(datasetKey, handle);
         } else {
-          handleNewDataset(datasetKey, handle);
+          workers.execute(() -> handleExistingDataset(datasetKey, handle));
         }
+      } else {
+        handleNewDataset(datasetKey, handle);
       }
     }
   }
 
+  /**
+   * Create the pool synchronizing existing datasets, or null if they are synchronized by the calling thread.
+   */
+  private ThreadPoolExecutor newWorkers() {
+    if (refreshThreads <= 1) {
+      return null;
+    }
+
+    // the queue is bounded so that listing does not run far ahead of the workers. Once it is full, the
+    // caller runs policy makes the listing thread synchronize the dataset it just listed itself: listing
+    // and adding new datasets pause for the time of that sync, and plugins see calls from that thread too.
+    return new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(refreshThreads * 2), new NamedThreadFactory("metadata-refresh-"),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private void awaitWorkers(ThreadPoolExecutor workers) {
+    if (workers == null) {
+      return;
+    }
+
+    workers.shutdown();
+    try {
+      while (!workers.awaitTermination(PROGRESS_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+        logger.info("Source '{}' sync in progress, {} existing datasets synced so far", sourceKey,
+            existingDatasetsSynced.get());
+      }
+    } catch (InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+      // not all the datasets were synced
+      syncStatus.setInterrupted(true);
+    }
+  }
+
   /**
    * Handle metadata sync for the given existing dataset.
    *
@@ -230,6 +300,7 @@ public class MetadataSynchronizer {
         }
       }
     }
+    existingDatasetsSynced.incrementAndGet();
   }
 
   /**
@@ -21,6 +21,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.LongSupplier;
@@ -87,6 +88,10 @@ class SourceMetadataManager implements AutoCloseable {
   private static final long WAKEUP_FREQUENCY_MS = 1000*60;
   private static final long SCHEDULER_GRANULARITY_MS = 1 * 1000;
 
+  // Source of metadata versions, shared by all sources so that a version is never reused by a source
+  // created again with the same name
+  private static final AtomicLong METADATA_VERSIONS = new AtomicLong();
+
   // Stores the time (in milliseconds, obtained from System.currentTimeMillis()) at which a dataset was locally updated
   private final Cache<NamespaceKey, Long> localUpdateTime =
     CacheBuilder.newBuilder()
@@ -104,6 +109,7 @@ class SourceMetadataManager implements AutoCloseable {
   private final OptionManager optionManager;
   private final Lock runLock = new ReentrantLock();
   private volatile boolean initialized = false;
+  private volatile long metadataVersion = METADATA_VERSIONS.incrementAndGet();
 
   public SourceMetadataManager(
       NamespaceKey sourceName,
@@ -136,10 +142,24 @@ class SourceMetadataManager implements AutoCloseable {
 
   DatasetSaver getSaver() {
     return new DatasetSaver(bridge.getNamespaceService(),
-        key -> localUpdateTime.put(key, System.currentTimeMillis()),
+        key -> {
+          localUpdateTime.put(key, System.currentTimeMillis());
+          metadataChanged();
+        },
         optionManager);
   }
 
+  /**
+   * Version of the metadata of the datasets of this source, changed each time it is changed locally.
+   */
+  long getMetadataVersion() {
+    return metadataVersion;
+  }
+
+  void metadataChanged() {
+    metadataVersion = METADATA_VERSIONS.incrementAndGet();
+  }
+
   boolean refresh(UpdateType updateType, MetadataPolicy policy, boolean throwOnFailure) throws NamespaceException {
     try {
 
@@ -371,9 +391,16 @@ class SourceMetadataManager implements AutoCloseable {
 
       final Stopwatch stopwatch = Stopwatch.createStarted();
       final MetadataSynchronizer synchronizeRun = new MetadataSynchronizer(systemNamespace, sourceKey, bridge.getMetadata(),
-          metadataPolicy, getSaver(), retrievalOptions);
+          metadataPolicy, getSaver(), retrievalOptions,
+          (int) optionManager.getOption(CatalogOptions.METADATA_REFRESH_THREADS));
       synchronizeRun.setup();
-      final SyncStatus syncStatus = synchronizeRun.go();
+      final SyncStatus syncStatus;
+      try {
+        syncStatus = synchronizeRun.go();
+      } finally {
+        // datasets may have been deleted
+        metadataChanged();
+      }
 
       logger.info("Source '{}' refreshed in {} seconds. Details:\n{}", sourceKey, stopwatch.elapsed(TimeUnit.SECONDS),
           syncStatus);
@@ -531,6 +558,7 @@ class SourceMetadataManager implements AutoCloseable {
 
       try {
         namespace.deleteDataset(datasetKey, currentConfig.getTag());
+        metadataChanged();
         logger.trace("Dataset '{}' deleted", datasetKey);
         return UpdateStatus.DELETED;
       } catch (NamespaceException e) {
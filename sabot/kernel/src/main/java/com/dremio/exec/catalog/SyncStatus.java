@@ -15,55 +15,83 @@
  */
 package com.dremio.exec.catalog;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Metadata sync status.
+ *
+ * Datasets may be synchronized concurrently, so the counters are thread safe.
  */
 class SyncStatus {
 
+  /**
+   * Phases of a metadata sync, timed separately.
+   */
+  enum Phase {
+    SYNC_DATASETS("syncing datasets"),
+    DELETE_ORPHAN_FOLDERS("deleting orphan folders"),
+    DELETE_ORPHAN_DATASETS("deleting orphan datasets");
+
+    private final String description;
+
+    Phase(String description) {
+      this.description = description;
+    }
+  }
+
   private final boolean fullRefresh;
 
-  private long shallowAdded;
-  private long shallowDeleted;
-  private long shallowUnchanged;
+  private final AtomicLong shallowAdded = new AtomicLong();
+  private final AtomicLong shallowDeleted = new AtomicLong();
+  private final AtomicLong shallowUnchanged = new AtomicLong();
+
+  private final AtomicLong extendedChanged = new AtomicLong();
+  private final AtomicLong extendedUnchanged = new AtomicLong();
+  private final AtomicLong extendedUnreadable = new AtomicLong();
+  private final AtomicLong extendedDeleted = new AtomicLong();
 
-  private long extendedChanged;
-  private long extendedUnchanged;
-  private long extendedUnreadable;
-  private long extendedDeleted;
+  private final Map<Phase, Long> phaseMillis = Collections.synchronizedMap(new EnumMap<>(Phase.class));
 
-  private boolean refreshed;
-  private boolean interrupted;
+  private volatile boolean refreshed;
+  private volatile boolean interrupted;
 
   SyncStatus(boolean fullRefresh) {
     this.fullRefresh = fullRefresh;
   }
 
   void incrementShallowAdded() {
-    shallowAdded++;
+    shallowAdded.incrementAndGet();
   }
 
   void incrementShallowDeleted() {
-    shallowDeleted++;
+    shallowDeleted.incrementAndGet();
   }
 
   void incrementShallowUnchanged() {
-    shallowUnchanged++;
+    shallowUnchanged.incrementAndGet();
   }
 
   void incrementExtendedChanged() {
-    extendedChanged++;
+    extendedChanged.incrementAndGet();
   }
 
   void incrementExtendedUnchanged() {
-    extendedUnchanged++;
+    extendedUnchanged.incrementAndGet();
   }
 
   void incrementExtendedUnreadable() {
-    extendedUnreadable++;
+    extendedUnreadable.incrementAndGet();
   }
 
   void incrementExtendedDeleted() {
-    extendedDeleted++;
+    extendedDeleted.incrementAndGet();
+  }
+
+  void setPhaseTime(Phase phase, long millis) {
+    phaseMillis.put(phase, millis);
   }
 
   void setRefreshed() {
@@ -84,15 +112,27 @@ class SyncStatus {
 
   @Override
   public String toString() {
+    final long shallowAdded = this.shallowAdded.get();
+    final long shallowUnchanged = this.shallowUnchanged.get();
+    final long shallowDeleted = this.shallowDeleted.get();
     final StringBuilder builder = new StringBuilder();
     builder.append(String.format("Shallow probed %d datasets: %d added, %d unchanged, %d deleted\n",
         shallowAdded + shallowUnchanged + shallowDeleted, shallowAdded, shallowUnchanged, shallowDeleted));
     if (fullRefresh) {
+      final long extendedChanged = this.extendedChanged.get();
+      final long extendedUnchanged = this.extendedUnchanged.get();
+      final long extendedDeleted = this.extendedDeleted.get();
+      final long extendedUnreadable = this.extendedUnreadable.get();
       builder.append(
           String.format("Deep probed %d queried datasets: %d changed, %d unchanged, %d deleted, %d unreadable\n",
               extendedChanged + extendedUnchanged + extendedDeleted + extendedUnreadable, extendedChanged,
               extendedUnchanged, extendedDeleted, extendedUnreadable));
     }
+    synchronized (phaseMillis) {
+      for (Map.Entry<Phase, Long> entry : phaseMillis.entrySet()) {
+        builder.append(String.format("Took %d milliseconds %s\n", entry.getValue(), entry.getKey().description));
+      }
+    }
     return builder.toString();
   }
 }
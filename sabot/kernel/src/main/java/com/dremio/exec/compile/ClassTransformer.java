@@ -176,27 +176,53 @@ public class ClassTransformer {
       final TemplateClassDefinition<?> templateDefinition,
       final String entireClass,
       final String materializedClassName) throws ClassTransformationException {
+    final ClassBytes[] implementationClasses = compile(classLoader, entireClass, materializedClassName);
+    return loadImplementationClass(classLoader, templateDefinition, materializedClassName, implementationClasses);
+  }
 
+  /**
+   * Compile the generated source of a class, along with its inner classes.
+   */
+  public ClassBytes[] compile(
+      final QueryClassLoader classLoader,
+      final String entireClass,
+      final String materializedClassName) throws ClassTransformationException {
     try {
       final long t1 = System.nanoTime();
-      final ClassSet set = new ClassSet(null, templateDefinition.getTemplateClassName(), materializedClassName);
-      final ClassBytes[] implementationClasses = classLoader.getClassByteCode(set.generated, entireClass);
+      final ClassBytes[] implementationClasses = classLoader.getClassByteCode(new ClassNames(materializedClassName), entireClass);
 
       long totalBytecodeSize = 0;
       for (ClassBytes clazz : implementationClasses) {
         totalBytecodeSize += clazz.getBytes().length;
+      }
+      logger.debug("Done compiling (bytecode size={}, time:{} millis).", DremioStringUtils.readable(totalBytecodeSize), (System.nanoTime() - t1) / 1000000);
+      return implementationClasses;
+    } catch (CompileException | IOException | ClassNotFoundException e) {
+      throw new ClassTransformationException(String.format("Failure generating transformation classes for value: \n %s", entireClass), e);
+    }
+  }
+
+  /**
+   * Load previously compiled classes, and check the class implements the template interface.
+   */
+  public Class<?> loadImplementationClass(
+      final QueryClassLoader classLoader,
+      final TemplateClassDefinition<?> templateDefinition,
+      final String materializedClassName,
+      final ClassBytes[] implementationClasses) throws ClassTransformationException {
+    try {
+      for (ClassBytes clazz : implementationClasses) {
         classLoader.injectByteCode(clazz.getName(), clazz.getBytes());
       }
 
-      Class<?> c = classLoader.findClass(set.generated.dot);
+      Class<?> c = classLoader.findClass(materializedClassName);
       if (templateDefinition.getExternalInterface().isAssignableFrom(c)) {
-        logger.debug("Done compiling (bytecode size={}, time:{} millis).", DremioStringUtils.readable(totalBytecodeSize), (System.nanoTime() - t1) / 1000000);
         return c;
       }
 
       throw new ClassTransformationException("The requested class did not implement the expected interface.");
-    } catch (CompileException | IOException | ClassNotFoundException e) {
-      throw new ClassTransformationException(String.format("Failure generating transformation classes for value: \n %s", entireClass), e);
+    } catch (IOException | ClassNotFoundException e) {
+      throw new ClassTransformationException(String.format("Failure loading transformation class %s", materializedClassName), e);
     }
   }
 
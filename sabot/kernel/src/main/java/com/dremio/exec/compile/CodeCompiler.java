@@ -30,11 +30,13 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Lists;
 
 public class CodeCompiler {
-//  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(CodeCompiler.class);
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(CodeCompiler.class);
 
   private final ClassTransformer transformer;
   private final ClassCompilerSelector selector;
   private final LoadingCache<CodeGenerator<?>, GeneratedClassEntry> cache;
+  // second level cache, null if disabled
+  private final DiskClassCache diskCache;
 
   public CodeCompiler(final SabotConfig config, final OptionManager optionManager) {
     transformer = new ClassTransformer(optionManager);
@@ -43,6 +45,7 @@ public class CodeCompiler {
     cache = CacheBuilder.newBuilder()
         .maximumSize(cacheMaxSize)
         .build(new Loader());
+    diskCache = DiskClassCache.create(config);
   }
 
   @SuppressWarnings("unchecked")
@@ -68,9 +71,32 @@ public class CodeCompiler {
   private class Loader extends CacheLoader<CodeGenerator<?>, GeneratedClassEntry> {
     @Override
     public GeneratedClassEntry load(final CodeGenerator<?> cg) throws Exception {
+      if (diskCache == null) {
+        final QueryClassLoader loader = new QueryClassLoader(selector);
+        final Class<?> c = transformer.getImplementationClass(loader, cg.getDefinition(),
+            cg.getGeneratedCode(), cg.getMaterializedClassName());
+        return new GeneratedClassEntry(c);
+      }
+
+      final String key = DiskClassCache.key(cg);
+      final DiskClassCache.CachedClasses cached = diskCache.get(key);
+      if (cached != null) {
+        try {
+          final Class<?> c = transformer.loadImplementationClass(new QueryClassLoader(selector), cg.getDefinition(),
+              cached.getClassName(), cached.getClasses());
+          return new GeneratedClassEntry(c);
+        } catch (ClassTransformationException | LinkageError e) {
+          logger.warn("Failure while loading cached classes of {}, compiling them again.", cg.getMaterializedClassName(), e);
+        }
+      }
+
       final QueryClassLoader loader = new QueryClassLoader(selector);
-      final Class<?> c = transformer.getImplementationClass(loader, cg.getDefinition(),
-          cg.getGeneratedCode(), cg.getMaterializedClassName());
+      final long start = System.nanoTime();
+      final ClassBytes[] classes = transformer.compile(loader, cg.getGeneratedCode(), cg.getMaterializedClassName());
+      final long compileNanos = System.nanoTime() - start;
+      final Class<?> c = transformer.loadImplementationClass(loader, cg.getDefinition(),
+          cg.getMaterializedClassName(), classes);
+      diskCache.put(key, new DiskClassCache.CachedClasses(cg.getMaterializedClassName(), classes, compileNanos));
       return new GeneratedClassEntry(c);
     }
   }
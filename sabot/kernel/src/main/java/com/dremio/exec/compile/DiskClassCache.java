@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.compile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dremio.common.config.SabotConfig;
+import com.dremio.common.util.DremioVersionInfo;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.expr.CodeGenerator;
+import com.dremio.telemetry.api.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Second level cache of the bytecode of generated classes, kept on local disk so that it survives
+ * restarts and a new node does not compile again what it already compiled before.
+ *
+ * Entries are content addressed: a class is stored under a hash of the version of the build, the
+ * template it implements and its generated source (independent of the materialized class name).
+ * Files are written to a temporary file first and then atomically renamed, so that several code
+ * compilers (or processes) can share the same directory. Once the directory grows over its
+ * maximum size, the least recently used entries are deleted.
+ */
+class DiskClassCache {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DiskClassCache.class);
+
+  // bump when the layout of the entries changes
+  private static final int FORMAT_VERSION = 1;
+  private static final String SUFFIX = ".classes";
+  private static final String TEMP_SUFFIX = ".tmp";
+  // evict down to this ratio of the maximum size, so that eviction does not run on every write
+  private static final double EVICTION_RATIO = 0.9;
+
+  private static final AtomicLong HITS = new AtomicLong();
+  private static final AtomicLong MISSES = new AtomicLong();
+  private static final AtomicLong COMPILE_NANOS_SAVED = new AtomicLong();
+
+  static {
+    Metrics.newGauge(Metrics.join("compile", "disk_cache", "hits"), HITS::get);
+    Metrics.newGauge(Metrics.join("compile", "disk_cache", "misses"), MISSES::get);
+    Metrics.newGauge(Metrics.join("compile", "disk_cache", "compile_millis_saved"),
+        () -> TimeUnit.NANOSECONDS.toMillis(COMPILE_NANOS_SAVED.get()));
+  }
+
+  private final Path directory;
+  private final long maxSizeBytes;
+  private final AtomicLong size;
+
+  @VisibleForTesting
+  DiskClassCache(Path directory, long maxSizeBytes) throws IOException {
+    this.directory = directory;
+    this.maxSizeBytes = maxSizeBytes;
+    Files.createDirectories(directory);
+    this.size = new AtomicLong(computeSize());
+  }
+
+  /**
+   * Create the cache configured for the node.
+   *
+   * @return the cache, or null if disabled or its directory cannot be used
+   */
+  static DiskClassCache create(SabotConfig config) {
+    final String path = config.hasPath(ExecConstants.COMPILE_DISK_CACHE_PATH_CONFIG)
+        ? config.getString(ExecConstants.COMPILE_DISK_CACHE_PATH_CONFIG) : null;
+    final long maxSizeBytes = config.hasPath(ExecConstants.COMPILE_DISK_CACHE_MAX_SIZE_CONFIG)
+        ? config.getBytes(ExecConstants.COMPILE_DISK_CACHE_MAX_SIZE_CONFIG) : 0;
+    if (Strings.isNullOrEmpty(path) || maxSizeBytes <= 0) {
+      return null;
+    }
+
+    try {
+      return new DiskClassCache(Paths.get(path), maxSizeBytes);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Unable to use {} to cache generated classes, disabling the cache.", path, e);
+      return null;
+    }
+  }
+
+  /**
+   * The key of a generated class.
+   */
+  static String key(CodeGenerator<?> cg) {
+    final Hasher hasher = Hashing.sha256().newHasher()
+        .putInt(FORMAT_VERSION)
+        .putString(DremioVersionInfo.getVersion(), StandardCharsets.UTF_8)
+        .putChar('\0')
+        .putString(cg.getDefinition().getTemplateClassName(), StandardCharsets.UTF_8)
+        .putChar('\0')
+        .putString(cg.getGenerifiedCode(), StandardCharsets.UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Get the classes stored under a key.
+   *
+   * @return the classes, or null if not cached
+   */
+  CachedClasses get(String key) {
+    final Path file = directory.resolve(key + SUFFIX);
+    final byte[] content;
+    try {
+      content = Files.readAllBytes(file);
+    } catch (NoSuchFileException e) {
+      MISSES.incrementAndGet();
+      return null;
+    } catch (IOException e) {
+      logger.debug("Failure while reading cached classes {}.", file, e);
+      MISSES.incrementAndGet();
+      return null;
+    }
+
+    final CachedClasses classes;
+    try {
+      classes = read(content);
+    } catch (IOException e) {
+      logger.warn("Deleting corrupted cached classes {}.", file, e);
+      delete(file);
+      MISSES.incrementAndGet();
+      return null;
+    }
+
+    try {
+      // keep track of the use, for eviction
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      // evicted meanwhile
+    }
+    HITS.incrementAndGet();
+    COMPILE_NANOS_SAVED.addAndGet(classes.getCompileNanos());
+    return classes;
+  }
+
+  /**
+   * Store the classes compiled for a key. Failures are logged and ignored.
+   */
+  void put(String key, CachedClasses classes) {
+    final Path file = directory.resolve(key + SUFFIX);
+    Path temp = null;
+    try {
+      final byte[] content = write(classes);
+      temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+      Files.write(temp, content);
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      temp = null;
+
+      if (size.addAndGet(content.length) > maxSizeBytes) {
+        evict();
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failure while caching classes {}.", file, e);
+    } finally {
+      if (temp != null) {
+        delete(temp);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  long size() {
+    return size.get();
+  }
+
+  /**
+   * Delete the least recently used entries until the cache is back under its maximum size. The
+   * directory is listed again, as other compilers may share it.
+   */
+  private synchronized void evict() throws IOException {
+    final List<Entry> entries = list();
+    long total = 0;
+    for (Entry entry : entries) {
+      total += entry.size;
+    }
+
+    if (total > maxSizeBytes) {
+      final long target = (long) (maxSizeBytes * EVICTION_RATIO);
+      entries.sort(Comparator.comparingLong(e -> e.lastModified));
+      for (Entry entry : entries) {
+        if (total <= target) {
+          break;
+        }
+        delete(entry.file);
+        total -= entry.size;
+      }
+    }
+    size.set(total);
+  }
+
+  private long computeSize() throws IOException {
+    long total = 0;
+    for (Entry entry : list()) {
+      total += entry.size;
+    }
+    return total;
+  }
+
+  private List<Entry> list() throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      for (Path file : stream) {
+        try {
+          final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+          entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+        } catch (NoSuchFileException e) {
+          // deleted meanwhile
+        }
+      }
+    }
+    return entries;
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.debug("Failure while deleting {}.", file, e);
+    }
+  }
+
+  @VisibleForTesting
+  static byte[] write(CachedClasses classes) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeInt(FORMAT_VERSION);
+      output.writeUTF(classes.getClassName());
+      output.writeLong(classes.getCompileNanos());
+      output.writeInt(classes.getClasses().length);
+      for (ClassBytes clazz : classes.getClasses()) {
+        output.writeUTF(clazz.getName());
+        output.writeInt(clazz.getBytes().length);
+        output.write(clazz.getBytes());
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  @VisibleForTesting
+  static CachedClasses read(byte[] content) throws IOException {
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(content))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        throw new IOException("Unexpected format version");
+      }
+      final String className = input.readUTF();
+      final long compileNanos = input.readLong();
+      final int count = input.readInt();
+      if (count <= 0 || count > content.length) {
+        throw new IOException("Unexpected number of classes: " + count);
+      }
+
+      final ClassBytes[] classes = new ClassBytes[count];
+      for (int i = 0; i < count; i++) {
+        final String name = input.readUTF();
+        final int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+          throw new IOException("Unexpected class length: " + length);
+        }
+        final byte[] classBytes = new byte[length];
+        input.readFully(classBytes);
+        classes[i] = new ClassBytes(name, classBytes);
+      }
+      if (input.available() != 0) {
+        throw new IOException("Unexpected trailing bytes");
+      }
+      return new CachedClasses(className, classes, compileNanos);
+    }
+  }
+
+  /**
+   * The bytecode of a generated class and its inner classes.
+   */
+  static final class CachedClasses {
+    private final String className;
+    private final ClassBytes[] classes;
+    private final long compileNanos;
+
+    CachedClasses(String className, ClassBytes[] classes, long compileNanos) {
+      this.className = className;
+      this.classes = classes;
+      this.compileNanos = compileNanos;
+    }
+
+    /**
+     * The name of the generated class, as it was materialized when compiled.
+     */
+    String getClassName() {
+      return className;
+    }
+
+    ClassBytes[] getClasses() {
+      return classes;
+    }
+
+    /**
+     * The time it took to compile the classes.
+     */
+    long getCompileNanos() {
+      return compileNanos;
+    }
+  }
+
+  private static final class Entry {
+    private final Path file;
+    private final long size;
+    private final long lastModified;
+
+    private Entry(Path file, long size, long lastModified) {
+      this.file = file;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+  }
+}
@@ -113,6 +113,13 @@ public class CodeGenerator<T> {
     return generatedCode;
   }
 
+  /**
+   * The generated code, independent of the name of the materialized class.
+   */
+  public String getGenerifiedCode() {
+    return generifiedCode;
+  }
+
   public TemplateClassDefinition<T> getDefinition() {
     return definition;
   }
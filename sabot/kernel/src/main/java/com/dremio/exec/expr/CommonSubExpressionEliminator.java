@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.arrow.vector.types.Types.MinorType;
+
+import com.dremio.common.expression.CompleteType;
+import com.dremio.common.expression.FunctionHolderExpression;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.expression.SupportedEngines;
+import com.dremio.common.logical.data.NamedExpression;
+import com.google.common.collect.Sets;
+
+/**
+ * Finds the subexpressions evaluated by several expressions of an operator, so that the splitter
+ * evaluates each of them once into an intermediate vector, read by the expressions instead.
+ *
+ * Only function calls evaluated for every record are shared: the arguments of if-expressions and
+ * boolean operators are left alone, as they may only be evaluated conditionally. Since Java code
+ * generation already evaluates repeated subexpressions once, subexpressions are only shared when
+ * (at least partially) evaluated in Gandiva, and when expensive enough to be worth an intermediate
+ * vector: either working on variable width values, or made of several function calls.
+ *
+ * Only the largest shared subexpressions are shared, not the ones nested within them.
+ */
+class CommonSubExpressionEliminator {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(CommonSubExpressionEliminator.class);
+
+  // minimum number of function calls of a fixed width subexpression to share it
+  private static final int MIN_FUNCTIONS = 3;
+
+  private final ExpressionSplitter splitter;
+  private final SupportedEngines.Engine preferredEngine;
+
+  // the key of each candidate subexpression
+  private final Map<CodeGenContext, ExpressionKey> keys = new IdentityHashMap<>();
+  private final Map<ExpressionKey, List<Occurrence>> occurrences = new LinkedHashMap<>();
+  private final Map<ExpressionKey, ExpressionSplit> sharedSplits = new LinkedHashMap<>();
+  private int eliminatedEvaluations;
+
+  CommonSubExpressionEliminator(ExpressionSplitter splitter, SupportedEngines.Engine preferredEngine) {
+    this.splitter = splitter;
+    this.preferredEngine = preferredEngine;
+  }
+
+  /**
+   * Share the common subexpressions of the expressions.
+   *
+   * @param exprs the materialized expressions
+   * @return the expressions, reading the shared subexpressions from their splits
+   */
+  List<NamedExpression> eliminate(List<NamedExpression> exprs) throws Exception {
+    for (NamedExpression expr : exprs) {
+      collect((CodeGenContext) expr.getExpr(), new ArrayList<>());
+    }
+
+    // the largest subexpressions first, so that the subexpressions nested within them are only
+    // shared if also used elsewhere
+    final List<ExpressionKey> candidates = new ArrayList<>(occurrences.keySet());
+    candidates.sort(Comparator.comparingInt((ExpressionKey k) -> k.size).reversed());
+    final Set<ExpressionKey> shared = Sets.newHashSet();
+    for (ExpressionKey key : candidates) {
+      int count = 0;
+      for (Occurrence occurrence : occurrences.get(key)) {
+        if (Sets.intersection(occurrence.ancestors, shared).isEmpty()) {
+          count++;
+        }
+      }
+      if (count > 1) {
+        shared.add(key);
+        eliminatedEvaluations += count - 1;
+      }
+    }
+
+    if (shared.isEmpty()) {
+      return exprs;
+    }
+
+    for (ExpressionKey key : candidates) {
+      if (shared.contains(key)) {
+        final CodeGenContext expr = occurrences.get(key).get(0).expr;
+        logger.debug("Sharing subexpression {}", expr);
+        sharedSplits.put(key, splitter.createSharedSplit(expr));
+      }
+    }
+
+    final List<NamedExpression> result = new ArrayList<>(exprs.size());
+    for (NamedExpression expr : exprs) {
+      result.add(new NamedExpression(rewrite((CodeGenContext) expr.getExpr()), expr.getRef()));
+    }
+    return result;
+  }
+
+  int getNumSharedExpressions() {
+    return sharedSplits.size();
+  }
+
+  int getNumEliminatedEvaluations() {
+    return eliminatedEvaluations;
+  }
+
+  private void collect(CodeGenContext context, List<ExpressionKey> ancestors) {
+    if (!(context.getChild() instanceof FunctionHolderExpression)) {
+      return;
+    }
+
+    final FunctionHolderExpression function = (FunctionHolderExpression) context.getChild();
+    if (function.getHolder() == null || function.isRandom()) {
+      return;
+    }
+
+    List<ExpressionKey> argAncestors = ancestors;
+    if (isCandidate(context)) {
+      final ExpressionKey key = new ExpressionKey(CodeGenerationContextRemover.removeCodeGenContext(context));
+      keys.put(context, key);
+      occurrences.computeIfAbsent(key, k -> new ArrayList<>()).add(new Occurrence(context, ancestors));
+      argAncestors = new ArrayList<>(ancestors);
+      argAncestors.add(key);
+    }
+
+    for (int i = 0; i < function.args.size(); i++) {
+      if (!function.argConstantOnly(i)) {
+        collect((CodeGenContext) function.args.get(i), argAncestors);
+      }
+    }
+  }
+
+  private boolean isCandidate(CodeGenContext context) {
+    final CompleteType type = context.getCompleteType();
+    if (type.isComplex() || type.isUnion()) {
+      return false;
+    }
+
+    // Java code generation already evaluates the subexpressions within its blocks once
+    final boolean inGandiva = preferredEngine == SupportedEngines.Engine.GANDIVA
+        && context.isExpressionExecutableInEngine(SupportedEngines.Engine.GANDIVA);
+    if (!inGandiva && context.isSubExpressionExecutableInEngine(preferredEngine)) {
+      return false;
+    }
+    if (context.isExpressionExecutableInEngine(SupportedEngines.Engine.GANDIVA)
+        && !splitter.canSplitAt(context.getChild(), SupportedEngines.Engine.GANDIVA)) {
+      return false;
+    }
+
+    return isVariableWidth(type) || hasVariableWidthArg((FunctionHolderExpression) context.getChild())
+        || countFunctions(context) >= MIN_FUNCTIONS;
+  }
+
+  private static boolean isVariableWidth(CompleteType type) {
+    final MinorType minorType = type.toMinorType();
+    return minorType == MinorType.VARCHAR || minorType == MinorType.VARBINARY;
+  }
+
+  private static boolean hasVariableWidthArg(FunctionHolderExpression function) {
+    for (LogicalExpression arg : function.args) {
+      if (isVariableWidth(arg.getCompleteType())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int countFunctions(LogicalExpression expr) {
+    int count = 0;
+    if (expr instanceof CodeGenContext) {
+      expr = ((CodeGenContext) expr).getChild();
+    }
+    if (expr instanceof FunctionHolderExpression) {
+      count++;
+      for (LogicalExpression arg : ((FunctionHolderExpression) expr).args) {
+        count += countFunctions(arg);
+      }
+    }
+    return count;
+  }
+
+  private CodeGenContext rewrite(CodeGenContext context) {
+    final ExpressionKey key = keys.get(context);
+    if (key != null && sharedSplits.containsKey(key)) {
+      return sharedSplits.get(key).getReadExpressionContext();
+    }
+
+    if (!(context.getChild() instanceof FunctionHolderExpression)) {
+      return context;
+    }
+
+    final FunctionHolderExpression function = (FunctionHolderExpression) context.getChild();
+    final List<LogicalExpression> args = new ArrayList<>(function.args.size());
+    boolean changed = false;
+    for (LogicalExpression arg : function.args) {
+      final LogicalExpression newArg = rewrite((CodeGenContext) arg);
+      changed |= newArg != arg;
+      args.add(newArg);
+    }
+    if (!changed) {
+      return context;
+    }
+
+    // reading a vector is supported by all engines, so the supported engines are the same
+    final CodeGenContext result = CodeGenContext.buildWithNoDefaultSupport(function.copy(args));
+    for (SupportedEngines.Engine engine : SupportedEngines.Engine.values()) {
+      if (context.isExpressionExecutableInEngine(engine)) {
+        result.addSupportedExecutionEngineForExpression(engine);
+      }
+      if (context.isSubExpressionExecutableInEngine(engine)) {
+        result.addSupportedExecutionEngineForSubExpression(engine);
+      }
+    }
+    return result;
+  }
+
+  private static final class Occurrence {
+    private final CodeGenContext expr;
+    // the candidate subexpressions this occurrence is nested within
+    private final Set<ExpressionKey> ancestors;
+
+    private Occurrence(CodeGenContext expr, List<ExpressionKey> ancestors) {
+      this.expr = expr;
+      this.ancestors = Sets.newHashSet(ancestors);
+    }
+  }
+
+  /**
+   * Compares expressions by their structure.
+   */
+  private static final class ExpressionKey {
+    private final LogicalExpression expr;
+    private final int hashCode;
+    private final int size;
+
+    private ExpressionKey(LogicalExpression expr) {
+      this.expr = expr;
+      this.hashCode = expr.accept(new HashVisitor(), null);
+      this.size = countFunctions(expr);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ExpressionKey)) {
+        return false;
+      }
+      final ExpressionKey that = (ExpressionKey) obj;
+      return this.hashCode == that.hashCode && expr.accept(new EqualityVisitor(), that.expr);
+    }
+  }
+}
@@ -59,6 +59,16 @@ public class ExpressionEvaluationOptions {
 
   public boolean isSplitEnabled() { return options.getOption(ExecConstants.SPLIT_ENABLED); }
 
+  public boolean isSharedSubExpressionsEnabled() { return options.getOption(ExecConstants.SHARED_SUBEXPRESSIONS_ENABLED); }
+
+  public boolean isStringKernelsEnabled() { return options.getOption(ExecConstants.STRING_KERNELS_ENABLED); }
+
+  public boolean isInterpretedStartEnabled() { return options.getOption(ExecConstants.INTERPRETED_START_ENABLED); }
+
+  public long getInterpretedStartMaxRecords() { return options.getOption(ExecConstants.INTERPRETED_START_MAX_RECORDS); }
+
+  public long getInterpretedStartMaxMillis() { return options.getOption(ExecConstants.INTERPRETED_START_MAX_MILLIS); }
+
   public ExpressionEvaluationOptions flipPreferredCodeGen() {
     ExpressionEvaluationOptions clone = new ExpressionEvaluationOptions(options);
     if (this.codeGenOption == SupportedEngines.CodeGenOption.Java) {
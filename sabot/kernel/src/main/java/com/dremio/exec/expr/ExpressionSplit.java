@@ -196,6 +196,15 @@ public class ExpressionSplit implements Closeable {
     }
   }
 
+  // Adds a dependency on a split evaluating a subexpression shared with other expressions
+  void addSharedDependency(ExpressionSplit sharedSplit) {
+    if (dependsOnSplits.add(sharedSplit.getOutputName())) {
+      transfersIn.add(sharedSplit);
+      sharedSplit.incrementReaders();
+      toStr = null;
+    }
+  }
+
   // increment the readers of this split
   void incrementReaders() {
     this.totalReadersOfOutput++;
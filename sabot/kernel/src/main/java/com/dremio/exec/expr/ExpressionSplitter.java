@@ -17,6 +17,8 @@ package com.dremio.exec.expr;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.arrow.gandiva.exceptions.GandivaException;
@@ -46,6 +48,8 @@ import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.op.llvm.expr.GandivaPushdownSieve;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * Splits expressions, sets up the pipeline to evaluate the splits.
@@ -82,6 +86,13 @@ public class ExpressionSplitter implements AutoCloseable {
   int numExprsInJava = 0;
   int numExprsInBoth = 0;
 
+  // Splits evaluating the subexpressions shared by several expressions, by the id of their output
+  final Map<Integer, ExpressionSplit> sharedSplits = Maps.newHashMap();
+  int numEliminatedEvaluations = 0;
+
+  // string functions of columns evaluated over whole batches, instead of being split
+  final List<StringKernel> stringKernels = Lists.newArrayList();
+
   // execution pipeline
   final List<SplitStageExecutor> execPipeline;
 
@@ -181,7 +192,93 @@ public class ExpressionSplitter implements AutoCloseable {
   }
 
   public int getNumSplitsInBoth() {
-    return splitExpressions.size() - (numExprsInGandiva + numExprsInJava);
+    return splitExpressions.size() - (numExprsInGandiva + numExprsInJava + sharedSplits.size());
+  }
+
+  public int getNumSharedExprs() {
+    return sharedSplits.size();
+  }
+
+  public int getNumEliminatedEvaluations() {
+    return numEliminatedEvaluations;
+  }
+
+  public int getNumExprsInKernels() {
+    return stringKernels.size();
+  }
+
+  /**
+   * Evaluates once the subexpressions shared by several of the given expressions, before adding
+   * them to the splitter.
+   *
+   * @param namedExpressions the materialized expressions
+   * @return the expressions, reading the shared subexpressions from the output of their splits
+   */
+  public List<NamedExpression> shareCommonSubExpressions(List<NamedExpression> namedExpressions) throws Exception {
+    if (!options.isSharedSubExpressionsEnabled() || namedExpressions.size() < 2) {
+      return namedExpressions;
+    }
+
+    CommonSubExpressionEliminator eliminator = new CommonSubExpressionEliminator(this, preferredEngine);
+    List<NamedExpression> result = eliminator.eliminate(namedExpressions);
+    numEliminatedEvaluations += eliminator.getNumEliminatedEvaluations();
+    return result;
+  }
+
+  // Creates a split evaluating a subexpression shared by several expressions
+  ExpressionSplit createSharedSplit(CodeGenContext expr) throws Exception {
+    SplitDependencyTracker myTracker = new SplitDependencyTracker(expr.getExecutionEngineForExpression(), IfExprBranch.EMPTY_LIST);
+    SupportedEngines.Engine engineForSplit = null;
+    if (!isSplitEnabled) {
+      if (expr.isSubExpressionExecutableInEngine(preferredEngine)) {
+        engineForSplit = preferredEngine;
+      } else if (expr.isSubExpressionExecutableInEngine(nonPreferredEngine)) {
+        engineForSplit = nonPreferredEngine;
+      }
+    }
+
+    if (engineForSplit == null) {
+      PreferenceBasedSplitter preferenceBasedSplitter = new PreferenceBasedSplitter(this, preferredEngine, nonPreferredEngine);
+      expr = expr.accept(preferenceBasedSplitter, myTracker);
+      engineForSplit = expr.getExecutionEngineForExpression().contains(this.preferredEngine) ? this.preferredEngine
+        : this.nonPreferredEngine;
+    }
+
+    logger.debug("Creating a shared split for {}", expr);
+    ExpressionSplit split = createSplit(expr, myTracker, engineForSplit);
+    splitExpressions.addAll(currentExprSplits);
+    currentExprSplits.clear();
+    vectorContainer.buildSchema(BatchSchema.SelectionVectorMode.NONE);
+
+    ValueVectorReadExpression read = (ValueVectorReadExpression) split.getReadExpressionContext().getChild();
+    sharedSplits.put(read.getFieldId().getFieldIds()[0], split);
+    return split;
+  }
+
+  // Adds the dependencies of the split on the shared splits it reads
+  private void addSharedDependencies(ExpressionSplit split) {
+    Set<ExpressionSplit> sharedSplitsRead = Sets.newLinkedHashSet();
+    collectSharedSplitsRead(split.getNamedExpression().getExpr(), sharedSplitsRead);
+    for (ExpressionSplit sharedSplit : sharedSplitsRead) {
+      split.addSharedDependency(sharedSplit);
+    }
+  }
+
+  private void collectSharedSplitsRead(LogicalExpression expr, Set<ExpressionSplit> sharedSplitsRead) {
+    if (expr instanceof CodeGenContext) {
+      expr = ((CodeGenContext) expr).getChild();
+    }
+    if (expr instanceof ValueVectorReadExpression) {
+      ExpressionSplit sharedSplit = sharedSplits.get(((ValueVectorReadExpression) expr).getFieldId().getFieldIds()[0]);
+      if (sharedSplit != null) {
+        sharedSplitsRead.add(sharedSplit);
+      }
+      return;
+    }
+
+    for (LogicalExpression child : expr) {
+      collectSharedSplitsRead(child, sharedSplitsRead);
+    }
   }
 
   // Splits the given expression
@@ -309,12 +406,32 @@ public class ExpressionSplitter implements AutoCloseable {
 
   // Add one expression to be split
   public ValueVector addExpr(VectorContainer outgoing, NamedExpression namedExpression) throws Exception {
+    final StringKernel kernel = findStringKernel(namedExpression);
+    if (kernel != null) {
+      logger.debug("Evaluating expression {} with a string kernel", namedExpression.getExpr());
+      final ValueVector output = outgoing.addOrGet(namedExpression.getExpr().getCompleteType().toField(namedExpression.getRef()));
+      kernel.setOutput(output);
+      stringKernels.add(kernel);
+      return output;
+    }
+
     ExpressionSplit split = addToSplitter(incoming, namedExpression);
     LogicalExpression expr = split.getNamedExpression().getExpr();
     Field outputField = expr.getCompleteType().toField(namedExpression.getRef());
     return outgoing.addOrGet(outputField);
   }
 
+  private StringKernel findStringKernel(NamedExpression namedExpression) {
+    // the kernels read the incoming vectors directly, not the outputs of other splits
+    if (!options.isStringKernelsEnabled()
+      || codeGenOption == SupportedEngines.CodeGenOption.GandivaOnly
+      || incoming.getSchema().getSelectionVectorMode() != BatchSchema.SelectionVectorMode.NONE
+      || readsSharedSplits(namedExpression)) {
+      return null;
+    }
+    return StringKernel.find(CodeGenerationContextRemover.removeCodeGenContext(namedExpression.getExpr()), incoming);
+  }
+
   private boolean isPreferredCodeGenDoingEnoughWork(List<ExpressionSplit> expressionSplits) {
     long numSplitsInPreferred = 0;
     long overhead = 0;
@@ -349,7 +466,8 @@ public class ExpressionSplitter implements AutoCloseable {
     ExpressionSplit split = splitExpression(new NamedExpression(namedExpression.getExpr(), namedExpression
       .getRef()));
     List<ExpressionSplit> splitsForExpression = currentExprSplits;
-    if (currentExprSplits.size() > maxSplitsPerExpression && checkExcessiveSplits) {
+    // the flipped expression is materialized again, and would not read the shared splits
+    if (currentExprSplits.size() > maxSplitsPerExpression && checkExcessiveSplits && !readsSharedSplits(namedExpression)) {
       if (!isPreferredCodeGenDoingEnoughWork(currentExprSplits)) {
         logger.debug("Flipping preferred execution engine for {}", namedExpression.getExpr());
         // preferred code gen is not doing enough work
@@ -366,12 +484,26 @@ public class ExpressionSplitter implements AutoCloseable {
       }
     }
     printDebugInfoForSplits(namedExpression.getExpr(), split, splitsForExpression);
+    if (!sharedSplits.isEmpty()) {
+      for (ExpressionSplit splitForExpression : splitsForExpression) {
+        addSharedDependencies(splitForExpression);
+      }
+    }
     splitExpressions.addAll(splitsForExpression);
     flipCodeGenSplitter.currentExprSplits.clear();
     this.currentExprSplits.clear();
     return split;
   }
 
+  private boolean readsSharedSplits(NamedExpression namedExpression) {
+    if (sharedSplits.isEmpty()) {
+      return false;
+    }
+    Set<ExpressionSplit> sharedSplitsRead = Sets.newHashSet();
+    collectSharedSplitsRead(namedExpression.getExpr(), sharedSplitsRead);
+    return !sharedSplitsRead.isEmpty();
+  }
+
   private void verifySplitsInGandiva() throws Exception {
     if (codeGenOption != SupportedEngines.CodeGenOption.GandivaOnly) {
       return;
@@ -421,6 +553,13 @@ public class ExpressionSplitter implements AutoCloseable {
         SplitStageExecutor executor = execPipeline.get(i);
         executor.evaluateProjector(recordsToConsume, javaCodeGenWatch, gandivaCodeGenWatch);
       }
+      if (!stringKernels.isEmpty()) {
+        javaCodeGenWatch.start();
+        for (StringKernel kernel : stringKernels) {
+          kernel.evaluate(recordsToConsume);
+        }
+        javaCodeGenWatch.stop();
+      }
     } catch (Exception e) {
       releaseAllBuffers();
       throw e;
@@ -535,13 +674,23 @@ public class ExpressionSplitter implements AutoCloseable {
   // Adds the output field to the schema
   ExpressionSplit splitAndGenerateVectorReadExpression(CodeGenContext expr, SplitDependencyTracker
     parentTracker, SplitDependencyTracker myTracker) {
+    logger.trace("Creating a split for {}", expr);
+    expr = getExpressionInBranch(expr, myTracker);
+
+    SupportedEngines.Engine engineForSplit = expr.getExecutionEngineForExpression().contains(this
+      .preferredEngine) ? this.preferredEngine : this.nonPreferredEngine;
+    ExpressionSplit split = createSplit(expr, myTracker, engineForSplit);
+    parentTracker.addDependency(split);
+    return split;
+  }
+
+  // Creates a split evaluating the expression into a new intermediate vector
+  private ExpressionSplit createSplit(CodeGenContext expr, SplitDependencyTracker myTracker,
+                                      SupportedEngines.Engine engineForSplit) {
     String exprName = getOutputNameForSplit();
     SchemaPath path = SchemaPath.getSimplePath(exprName);
     FieldReference ref = new FieldReference(path);
 
-    logger.trace("Creating a split for {}", expr);
-    expr = getExpressionInBranch(expr, myTracker);
-
     NamedExpression newExpr = new NamedExpression(expr, ref);
     Field outputField = expr.getCompleteType().toField(ref);
     vectorContainer.addOrGet(outputField);
@@ -554,14 +703,11 @@ public class ExpressionSplitter implements AutoCloseable {
     final TypedFieldId id = read.getFieldId();
     final ValueVector vvIn = vectorContainer.getValueAccessorById(id.getIntermediateClass(), id.getFieldIds()).getValueVector();
 
-    SupportedEngines.Engine engineForSplit = expr.getExecutionEngineForExpression().contains(this
-      .preferredEngine) ? this.preferredEngine : this.nonPreferredEngine;
     ExpressionSplit split = new ExpressionSplit(newExpr, myTracker, fieldId, readContext, vvIn, false,
       engineForSplit, myTracker.getIfExprBranches().size());
     this.currentExprSplits.add(split);
 
     logger.trace("Split created {}", split.toString());
-    parentTracker.addDependency(split);
     return split;
   }
 
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+
+import com.dremio.common.expression.CompleteType;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.expression.ValueExpressions.IntExpression;
+import com.dremio.common.expression.ValueExpressions.LongExpression;
+import com.dremio.common.expression.ValueExpressions.QuotedString;
+import com.dremio.exec.expr.fn.BaseFunctionHolder;
+import com.dremio.exec.expr.fn.FunctionErrorContext;
+import com.dremio.exec.expr.fn.FunctionErrorContextBuilder;
+import com.dremio.exec.expr.fn.impl.VarCharKernels;
+import com.dremio.exec.record.TypedFieldId;
+import com.dremio.exec.record.VectorAccessible;
+
+/**
+ * A string function of a column, and literals, evaluated over whole batches with
+ * {@link VarCharKernels} instead of generating code evaluating it record by record.
+ *
+ * Supports upper, lower, ltrim/rtrim/btrim (of spaces), substring with literal offset and length,
+ * and the concatenation of columns and literals.
+ */
+public final class StringKernel {
+
+  private interface Kernel {
+    void evaluate(VarCharVector output, int recordCount);
+  }
+
+  private final Kernel kernel;
+  private VarCharVector output;
+
+  private StringKernel(Kernel kernel) {
+    this.kernel = kernel;
+  }
+
+  /**
+   * The kernel evaluating the given expression, if any.
+   *
+   * @param expr the materialized expression, without code generation context
+   * @param incoming the vectors read by the expression
+   * @return the kernel, or null if the expression is not a supported function of columns
+   */
+  public static StringKernel find(LogicalExpression expr, VectorAccessible incoming) {
+    if (!(expr instanceof FunctionHolderExpr)) {
+      return null;
+    }
+    final FunctionHolderExpr function = (FunctionHolderExpr) expr;
+    // the kernels have the semantics of the java functions
+    if (!(function.getHolder() instanceof BaseFunctionHolder)
+      || !CompleteType.VARCHAR.equals(function.getCompleteType())) {
+      return null;
+    }
+
+    final List<LogicalExpression> args = function.args;
+    final VarCharVector input = args.isEmpty() ? null : vector(args.get(0), incoming);
+    switch (function.getName().toLowerCase(Locale.ROOT)) {
+      case "upper":
+        if (args.size() != 1 || input == null) {
+          return null;
+        }
+        return new StringKernel((out, count) -> VarCharKernels.upper(input, out, count));
+
+      case "lower":
+        if (args.size() != 1 || input == null) {
+          return null;
+        }
+        return new StringKernel((out, count) -> VarCharKernels.lower(input, out, count));
+
+      case "ltrim":
+        return trim(args, input, true, false);
+
+      case "rtrim":
+        return trim(args, input, false, true);
+
+      case "btrim":
+        return trim(args, input, true, true);
+
+      case "substr":
+      case "substring": {
+        if (input == null || args.size() < 2 || args.size() > 3) {
+          return null;
+        }
+        final Long offset = constant(args.get(1));
+        final Long length = args.size() == 3 ? constant(args.get(2)) : null;
+        if (offset == null || (args.size() == 3 && length == null)) {
+          return null;
+        }
+        final FunctionErrorContext errCtx = FunctionErrorContextBuilder.builder().build();
+        return new StringKernel((out, count) -> VarCharKernels.substring(input, out, count, offset, length, errCtx));
+      }
+
+      case "concat":
+      case "concatoperator": {
+        final boolean nullIfNull = !"concat".equalsIgnoreCase(function.getName());
+        final VarCharVector[] vectors = new VarCharVector[args.size()];
+        final byte[][] literals = new byte[args.size()][];
+        for (int i = 0; i < args.size(); i++) {
+          if (args.get(i) instanceof QuotedString) {
+            literals[i] = ((QuotedString) args.get(i)).getString().getBytes(StandardCharsets.UTF_8);
+          } else {
+            vectors[i] = vector(args.get(i), incoming);
+            if (vectors[i] == null) {
+              return null;
+            }
+          }
+        }
+        return new StringKernel((out, count) -> VarCharKernels.concat(vectors, literals, out, count, nullIfNull));
+      }
+
+      default:
+        return null;
+    }
+  }
+
+  private static StringKernel trim(List<LogicalExpression> args, VarCharVector input, boolean left, boolean right) {
+    // only the functions trimming spaces, not the ones given the characters to trim
+    if (args.size() != 1 || input == null) {
+      return null;
+    }
+    return new StringKernel((out, count) -> VarCharKernels.trim(input, out, count, left, right));
+  }
+
+  private static VarCharVector vector(LogicalExpression expr, VectorAccessible incoming) {
+    if (!(expr instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression read = (ValueVectorReadExpression) expr;
+    final TypedFieldId id = read.getFieldId();
+    if (read.hasReadPath() || id.getFieldIds().length != 1 || !CompleteType.VARCHAR.equals(read.getCompleteType())) {
+      return null;
+    }
+    final ValueVector vector = incoming.getValueAccessorById(id.getIntermediateClass(), id.getFieldIds()).getValueVector();
+    return vector instanceof VarCharVector ? (VarCharVector) vector : null;
+  }
+
+  // integer literals, possibly cast to bigint by the materializer
+  private static Long constant(LogicalExpression expr) {
+    if (expr instanceof IntExpression) {
+      return (long) ((IntExpression) expr).getInt();
+    }
+    if (expr instanceof LongExpression) {
+      return ((LongExpression) expr).getLong();
+    }
+    if (expr instanceof FunctionHolderExpr) {
+      final FunctionHolderExpr function = (FunctionHolderExpr) expr;
+      if ("castBIGINT".equalsIgnoreCase(function.getName()) && function.args.size() == 1) {
+        return constant(function.args.get(0));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param output the vector receiving the values, allocated for each batch by the kernel
+   */
+  public void setOutput(ValueVector output) {
+    this.output = (VarCharVector) output;
+  }
+
+  public void evaluate(int recordCount) {
+    if (recordCount == 0) {
+      output.allocateNew();
+      output.setValueCount(0);
+      return;
+    }
+    kernel.evaluate(output, recordCount);
+  }
+}
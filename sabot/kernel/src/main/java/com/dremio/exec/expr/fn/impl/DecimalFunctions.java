@@ -30,6 +30,7 @@ import org.apache.arrow.vector.holders.NullableDecimalHolder;
 import org.apache.arrow.vector.holders.NullableFloat8Holder;
 import org.apache.arrow.vector.holders.NullableIntHolder;
 import org.apache.arrow.vector.holders.VarCharHolder;
+import org.apache.arrow.vector.util.DecimalUtility;
 
 import com.dremio.exec.expr.AggrFunction;
 import com.dremio.exec.expr.SimpleFunction;
@@ -42,8 +43,10 @@ import com.dremio.exec.expr.annotations.Workspace;
 import com.dremio.exec.expr.fn.FunctionErrorContext;
 import com.dremio.exec.expr.fn.FunctionGenerationHelper;
 import com.dremio.exec.expr.fn.OutputDerivation;
+import com.dremio.exec.util.DecimalUtils;
 
 import io.netty.buffer.ArrowBuf;
+import io.netty.util.internal.PlatformDependent;
 
 
 public class DecimalFunctions {
@@ -776,6 +779,100 @@ public class DecimalFunctions {
     return checkOverflow(result);
   }
 
+  /**
+   * Same as {@link #addOrSubtract(boolean, BigDecimal, BigDecimal, int, int)}, reading the decimals
+   * from and writing the result to arrow buffers. Computes on the unscaled values as longs when they
+   * fit, only using BigDecimal arithmetic when they (or the result) do not.
+   */
+  public static void addOrSubtract(boolean isSubtract, ArrowBuf left, int leftStart, int leftScale,
+                                   ArrowBuf right, int rightStart, int rightScale,
+                                   int outPrecision, int outScale, ArrowBuf out) {
+    final long leftAddr = left.memoryAddress() + leftStart;
+    final long rightAddr = right.memoryAddress() + rightStart;
+    final long leftLow = PlatformDependent.getLong(leftAddr);
+    final long rightLow = PlatformDependent.getLong(rightAddr);
+    if (DecimalUtils.fitsInLong(leftLow, PlatformDependent.getLong(leftAddr + DecimalUtils.LENGTH_OF_LONG))
+        && DecimalUtils.fitsInLong(rightLow, PlatformDependent.getLong(rightAddr + DecimalUtils.LENGTH_OF_LONG))) {
+      try {
+        final int higherScale = Math.max(leftScale, rightScale);
+        final long leftScaled = DecimalUtils.scaleUp(leftLow, higherScale - leftScale);
+        final long rightScaled = DecimalUtils.scaleUp(rightLow, higherScale - rightScale);
+        long result = isSubtract ? Math.subtractExact(leftScaled, rightScaled) : Math.addExact(leftScaled, rightScaled);
+        if (higherScale > outScale) {
+          result = DecimalUtils.scaleDownRoundHalfUp(result, higherScale - outScale);
+        }
+        DecimalUtils.writeLongToLEBytes(out.memoryAddress(), result);
+        return;
+      } catch (ArithmeticException e) {
+        // overflows a long
+      }
+    }
+
+    final BigDecimal result = addOrSubtract(isSubtract, getBigDecimal(left, leftStart, leftScale),
+      getBigDecimal(right, rightStart, rightScale), outPrecision, outScale);
+    DecimalUtility.writeBigDecimalToArrowBuf(result, out, 0);
+  }
+
+  /**
+   * Multiplies two decimals read from arrow buffers, rounding the product half up to the output
+   * scale, and writes the result to the output buffer. Computes on the unscaled values as longs
+   * when they fit, only using BigDecimal arithmetic when they (or the result) do not.
+   */
+  public static void multiply(ArrowBuf left, int leftStart, int leftScale,
+                              ArrowBuf right, int rightStart, int rightScale,
+                              int outScale, ArrowBuf out) {
+    final long leftAddr = left.memoryAddress() + leftStart;
+    final long rightAddr = right.memoryAddress() + rightStart;
+    final long leftLow = PlatformDependent.getLong(leftAddr);
+    final long rightLow = PlatformDependent.getLong(rightAddr);
+    if (DecimalUtils.fitsInLong(leftLow, PlatformDependent.getLong(leftAddr + DecimalUtils.LENGTH_OF_LONG))
+        && DecimalUtils.fitsInLong(rightLow, PlatformDependent.getLong(rightAddr + DecimalUtils.LENGTH_OF_LONG))) {
+      try {
+        final long product = Math.multiplyExact(leftLow, rightLow);
+        final int productScale = leftScale + rightScale;
+        final long result = productScale > outScale
+          ? DecimalUtils.scaleDownRoundHalfUp(product, productScale - outScale)
+          : DecimalUtils.scaleUp(product, outScale - productScale);
+        DecimalUtils.writeLongToLEBytes(out.memoryAddress(), result);
+        return;
+      } catch (ArithmeticException e) {
+        // overflows a long
+      }
+    }
+
+    BigDecimal result = getBigDecimal(left, leftStart, leftScale).multiply(getBigDecimal(right, rightStart, rightScale))
+      .setScale(outScale, BigDecimal.ROUND_HALF_UP);
+    DecimalUtility.writeBigDecimalToArrowBuf(checkOverflow(result), out, 0);
+  }
+
+  /**
+   * Compares two decimals read from arrow buffers, of possibly different scales, as
+   * {@link BigDecimal#compareTo(BigDecimal)}. Compares the unscaled values as longs when they fit.
+   */
+  public static int compare(ArrowBuf left, int leftStart, int leftScale,
+                            ArrowBuf right, int rightStart, int rightScale) {
+    final long leftAddr = left.memoryAddress() + leftStart;
+    final long rightAddr = right.memoryAddress() + rightStart;
+    final long leftLow = PlatformDependent.getLong(leftAddr);
+    final long rightLow = PlatformDependent.getLong(rightAddr);
+    if (DecimalUtils.fitsInLong(leftLow, PlatformDependent.getLong(leftAddr + DecimalUtils.LENGTH_OF_LONG))
+        && DecimalUtils.fitsInLong(rightLow, PlatformDependent.getLong(rightAddr + DecimalUtils.LENGTH_OF_LONG))) {
+      try {
+        final int higherScale = Math.max(leftScale, rightScale);
+        return Long.compare(DecimalUtils.scaleUp(leftLow, higherScale - leftScale),
+          DecimalUtils.scaleUp(rightLow, higherScale - rightScale));
+      } catch (ArithmeticException e) {
+        // overflows a long
+      }
+    }
+
+    return getBigDecimal(left, leftStart, leftScale).compareTo(getBigDecimal(right, rightStart, rightScale));
+  }
+
+  private static BigDecimal getBigDecimal(ArrowBuf buffer, int start, int scale) {
+    return DecimalUtility.getBigDecimalFromArrowBuf(buffer, start / DecimalUtility.DECIMAL_BYTE_LENGTH, scale);
+  }
+
   @SuppressWarnings("unused")
   @FunctionTemplate(name = "add", scope = FunctionScope.SIMPLE, derivation = OutputDerivation.DecimalAdd.class, nulls = NullHandling.NULL_IF_NULL)
   public static class AddTwoDecimals implements SimpleFunction {
@@ -798,21 +895,15 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (in1.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(in1.buffer, index, in1.scale);
-
-      index = (in2.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(in2.buffer, index, in2.scale);
-
       org.apache.arrow.vector.types.pojo.ArrowType.Decimal resultTypeForOperation = org.apache.arrow.gandiva.evaluator.DecimalTypeUtil.getResultTypeForOperation(org.apache.arrow.gandiva.evaluator.DecimalTypeUtil.OperationType.ADD,
         new org.apache.arrow.vector.types.pojo.ArrowType.Decimal(in1.precision, in1.scale),
         new org.apache.arrow.vector.types.pojo.ArrowType.Decimal(in2.precision, in2.scale));
       out.precision = resultTypeForOperation.getPrecision();
       out.scale = resultTypeForOperation.getScale();
 
-      java.math.BigDecimal result = com.dremio.exec.expr.fn.impl.DecimalFunctions.addOrSubtract(false, left, right, out.precision, out.scale);
       try {
-        org.apache.arrow.vector.util.DecimalUtility.writeBigDecimalToArrowBuf(result, buffer, 0);
+        com.dremio.exec.expr.fn.impl.DecimalFunctions.addOrSubtract(false, in1.buffer, in1.start, in1.scale,
+          in2.buffer, in2.start, in2.scale, out.precision, out.scale, buffer);
       } catch (RuntimeException e) {
         throw errorContext.error(e)
           .build();
@@ -843,21 +934,15 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
       org.apache.arrow.vector.types.pojo.ArrowType.Decimal resultTypeForOperation = org.apache.arrow.gandiva.evaluator.DecimalTypeUtil.getResultTypeForOperation(org.apache.arrow.gandiva.evaluator.DecimalTypeUtil.OperationType.SUBTRACT,
         new org.apache.arrow.vector.types.pojo.ArrowType.Decimal(leftHolder.precision, leftHolder.scale),
         new org.apache.arrow.vector.types.pojo.ArrowType.Decimal(rightHolder.precision, rightHolder.scale));
       resultHolder.precision = resultTypeForOperation.getPrecision();
       resultHolder.scale = resultTypeForOperation.getScale();
 
-      java.math.BigDecimal result = com.dremio.exec.expr.fn.impl.DecimalFunctions.addOrSubtract(true, left, right, resultHolder.precision, resultHolder.scale);
       try {
-        org.apache.arrow.vector.util.DecimalUtility.writeBigDecimalToArrowBuf(result, buffer, 0);
+        com.dremio.exec.expr.fn.impl.DecimalFunctions.addOrSubtract(true, leftHolder.buffer, leftHolder.start, leftHolder.scale,
+          rightHolder.buffer, rightHolder.start, rightHolder.scale, resultHolder.precision, resultHolder.scale, buffer);
       } catch (RuntimeException e) {
         throw functionErrorContext.error(e)
           .build();
@@ -887,22 +972,15 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
       org.apache.arrow.vector.types.pojo.ArrowType.Decimal resultTypeForOperation = org.apache.arrow.gandiva.evaluator.DecimalTypeUtil.getResultTypeForOperation(org.apache.arrow.gandiva.evaluator.DecimalTypeUtil.OperationType.MULTIPLY,
         new org.apache.arrow.vector.types.pojo.ArrowType.Decimal(leftHolder.precision, leftHolder.scale),
         new org.apache.arrow.vector.types.pojo.ArrowType.Decimal(rightHolder.precision, rightHolder.scale));
       resultHolder.precision = resultTypeForOperation.getPrecision();
       resultHolder.scale = resultTypeForOperation.getScale();
 
-      java.math.BigDecimal result = left.multiply(right).setScale(resultHolder.scale, java.math.BigDecimal.ROUND_HALF_UP);
-      result = com.dremio.exec.expr.fn.impl.DecimalFunctions.checkOverflow(result);
       try {
-        org.apache.arrow.vector.util.DecimalUtility.writeBigDecimalToArrowBuf(result, buffer, 0);
+        com.dremio.exec.expr.fn.impl.DecimalFunctions.multiply(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+          rightHolder.buffer, rightHolder.start, rightHolder.scale, resultHolder.scale, buffer);
       } catch (RuntimeException e) {
         throw functionErrorContext.error(e)
           .build();
@@ -1043,13 +1121,9 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
-      resultHolder.value = (left.compareTo(right) == 0) ? 1 : 0;
+      int compare = com.dremio.exec.expr.fn.impl.DecimalFunctions.compare(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+        rightHolder.buffer, rightHolder.start, rightHolder.scale);
+      resultHolder.value = (compare == 0) ? 1 : 0;
     }
   }
 
@@ -1072,13 +1146,9 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
-      resultHolder.value = (left.compareTo(right) != 0) ? 1 : 0;
+      int compare = com.dremio.exec.expr.fn.impl.DecimalFunctions.compare(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+        rightHolder.buffer, rightHolder.start, rightHolder.scale);
+      resultHolder.value = (compare != 0) ? 1 : 0;
     }
   }
 
@@ -1101,13 +1171,9 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
-      resultHolder.value = (left.compareTo(right) < 0) ? 1 : 0;
+      int compare = com.dremio.exec.expr.fn.impl.DecimalFunctions.compare(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+        rightHolder.buffer, rightHolder.start, rightHolder.scale);
+      resultHolder.value = (compare < 0) ? 1 : 0;
     }
   }
 
@@ -1130,13 +1196,9 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
-      resultHolder.value = (left.compareTo(right) <= 0) ? 1 : 0;
+      int compare = com.dremio.exec.expr.fn.impl.DecimalFunctions.compare(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+        rightHolder.buffer, rightHolder.start, rightHolder.scale);
+      resultHolder.value = (compare <= 0) ? 1 : 0;
     }
   }
 
@@ -1159,13 +1221,9 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
-      resultHolder.value = (left.compareTo(right) > 0) ? 1 : 0;
+      int compare = com.dremio.exec.expr.fn.impl.DecimalFunctions.compare(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+        rightHolder.buffer, rightHolder.start, rightHolder.scale);
+      resultHolder.value = (compare > 0) ? 1 : 0;
     }
   }
 
@@ -1188,13 +1246,9 @@ public class DecimalFunctions {
 
     @Override
     public void eval() {
-      int index = (leftHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal left = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(leftHolder.buffer, index, leftHolder.scale);
-
-      index = (rightHolder.start / (org.apache.arrow.vector.util.DecimalUtility.DECIMAL_BYTE_LENGTH));
-      java.math.BigDecimal right = org.apache.arrow.vector.util.DecimalUtility.getBigDecimalFromArrowBuf(rightHolder.buffer, index, rightHolder.scale);
-
-      resultHolder.value = (left.compareTo(right) >= 0) ? 1 : 0;
+      int compare = com.dremio.exec.expr.fn.impl.DecimalFunctions.compare(leftHolder.buffer, leftHolder.start, leftHolder.scale,
+        rightHolder.buffer, rightHolder.start, rightHolder.scale);
+      resultHolder.value = (compare >= 0) ? 1 : 0;
     }
   }
 
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.dremio.exec.expr.fn.FunctionErrorContext;
+import com.google.common.annotations.VisibleForTesting;
+
+import io.netty.buffer.ArrowBuf;
+
+/**
+ * Matches UTF-8 encoded values against a SQL LIKE pattern.
+ *
+ * Patterns only made of literals and '%' wildcards (exact, prefix, suffix, contains or several
+ * segments) are matched directly on the bytes of the values, searching the inner segments with a
+ * Boyer-Moore-Horspool searcher. Other patterns (using '_') are translated to a Java regex.
+ *
+ * Case insensitive matching compares ASCII bytes ignoring their case, and falls back to the regex
+ * for patterns or values which are not ASCII, as unicode case folding can map non ASCII characters
+ * to ASCII ones.
+ */
+public final class SqlPatternMatcher {
+
+  @VisibleForTesting
+  enum Kind {
+    EXACT,
+    PREFIX,
+    SUFFIX,
+    CONTAINS,
+    MULTI_SEGMENT,
+    REGEX
+  }
+
+  private final Kind kind;
+  private final boolean caseInsensitive;
+  // literal before the first '%', or the whole pattern if exact
+  private final byte[] prefix;
+  // literal after the last '%'
+  private final byte[] suffix;
+  // non empty literals between '%'
+  private final Searcher[] segments;
+  private final Pattern pattern;
+  private Matcher matcher;
+  private CharSequenceWrapper charSequenceWrapper;
+
+  private SqlPatternMatcher(Kind kind, boolean caseInsensitive, byte[] prefix, byte[] suffix, Searcher[] segments,
+      Pattern pattern) {
+    this.kind = kind;
+    this.caseInsensitive = caseInsensitive;
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.segments = segments;
+    this.pattern = pattern;
+  }
+
+  /**
+   * Compile a LIKE pattern.
+   *
+   * @param sqlPattern the pattern
+   * @param escape the escape character, or null if none
+   * @param caseInsensitive whether to ignore case (ILIKE)
+   * @param errCtx the context to report invalid patterns
+   */
+  public static SqlPatternMatcher compile(String sqlPattern, String escape, boolean caseInsensitive,
+      FunctionErrorContext errCtx) {
+    // also validates the pattern and the escape character
+    final String regex = RegexpUtil.sqlToRegexLike(sqlPattern, escape, errCtx);
+    final int flags = caseInsensitive
+        ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL
+        : Pattern.DOTALL;
+    final Pattern pattern = StringFunctionUtil.compilePattern(regex, flags, errCtx);
+    final char escapeChar = escape == null ? 0 : escape.charAt(0);
+
+    final List<String> literals = new ArrayList<>();
+    final StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < sqlPattern.length(); i++) {
+      final char c = sqlPattern.charAt(i);
+      if (escape != null && c == escapeChar) {
+        literal.append(sqlPattern.charAt(++i));
+      } else if (c == '%') {
+        literals.add(literal.toString());
+        literal.setLength(0);
+      } else if (c == '_' || (caseInsensitive && c > 0x7F)) {
+        return new SqlPatternMatcher(Kind.REGEX, caseInsensitive, null, null, null, pattern);
+      } else {
+        literal.append(c);
+      }
+    }
+    literals.add(literal.toString());
+
+    final byte[] prefix = toBytes(literals.get(0), caseInsensitive);
+    if (literals.size() == 1) {
+      return new SqlPatternMatcher(Kind.EXACT, caseInsensitive, prefix, null, new Searcher[0], pattern);
+    }
+
+    final byte[] suffix = toBytes(literals.get(literals.size() - 1), caseInsensitive);
+    final List<Searcher> segments = new ArrayList<>();
+    for (String segment : literals.subList(1, literals.size() - 1)) {
+      if (!segment.isEmpty()) {
+        segments.add(new Searcher(toBytes(segment, caseInsensitive)));
+      }
+    }
+
+    final Kind kind;
+    if (segments.isEmpty() && suffix.length == 0) {
+      kind = Kind.PREFIX;
+    } else if (segments.isEmpty() && prefix.length == 0) {
+      kind = Kind.SUFFIX;
+    } else if (segments.size() == 1 && prefix.length == 0 && suffix.length == 0) {
+      kind = Kind.CONTAINS;
+    } else {
+      kind = Kind.MULTI_SEGMENT;
+    }
+    return new SqlPatternMatcher(kind, caseInsensitive, prefix, suffix, segments.toArray(new Searcher[0]), pattern);
+  }
+
+  private static byte[] toBytes(String literal, boolean caseInsensitive) {
+    final byte[] bytes = literal.getBytes(StandardCharsets.UTF_8);
+    if (caseInsensitive) {
+      // only ASCII at this point
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = toLowerCase(bytes[i]);
+      }
+    }
+    return bytes;
+  }
+
+  @VisibleForTesting
+  Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Whether the UTF-8 value between start (inclusive) and end (exclusive) matches the pattern.
+   */
+  public boolean matches(int start, int end, ArrowBuf buffer) {
+    if (kind == Kind.REGEX || (caseInsensitive && !isAscii(start, end, buffer))) {
+      return matchesRegex(start, end, buffer);
+    }
+
+    switch (kind) {
+    case EXACT:
+      return end - start == prefix.length && equalsAt(buffer, start, prefix);
+    case PREFIX:
+      return end - start >= prefix.length && equalsAt(buffer, start, prefix);
+    case SUFFIX:
+      return end - start >= suffix.length && equalsAt(buffer, end - suffix.length, suffix);
+    case CONTAINS:
+      return segments[0].indexOf(buffer, start, end, caseInsensitive) >= 0;
+    default:
+      break;
+    }
+
+    if (end - start < prefix.length + suffix.length
+        || !equalsAt(buffer, start, prefix)
+        || !equalsAt(buffer, end - suffix.length, suffix)) {
+      return false;
+    }
+
+    // the leftmost occurrence of each segment leaves the most room for the next ones
+    int index = start + prefix.length;
+    final int limit = end - suffix.length;
+    for (Searcher segment : segments) {
+      final int found = segment.indexOf(buffer, index, limit, caseInsensitive);
+      if (found < 0) {
+        return false;
+      }
+      index = found + segment.needle.length;
+    }
+    return true;
+  }
+
+  private boolean matchesRegex(int start, int end, ArrowBuf buffer) {
+    if (matcher == null) {
+      charSequenceWrapper = new CharSequenceWrapper();
+      matcher = pattern.matcher(charSequenceWrapper);
+    }
+    charSequenceWrapper.setBuffer(start, end, buffer);
+    matcher.reset();
+    return matcher.matches();
+  }
+
+  private boolean equalsAt(ArrowBuf buffer, int index, byte[] literal) {
+    for (int i = 0; i < literal.length; i++) {
+      if (fold(buffer.getByte(index + i)) != literal[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte fold(byte b) {
+    return caseInsensitive ? toLowerCase(b) : b;
+  }
+
+  private static byte toLowerCase(byte b) {
+    return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+  }
+
+  private static boolean isAscii(int start, int end, ArrowBuf buffer) {
+    for (int i = start; i < end; i++) {
+      if (buffer.getByte(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Boyer-Moore-Horspool search of a literal.
+   */
+  private static final class Searcher {
+    private final byte[] needle;
+    // how far to move when the last byte of the window is a given byte
+    private final int[] shifts = new int[256];
+
+    private Searcher(byte[] needle) {
+      this.needle = needle;
+      Arrays.fill(shifts, needle.length);
+      for (int i = 0; i < needle.length - 1; i++) {
+        shifts[needle[i] & 0xFF] = needle.length - 1 - i;
+      }
+    }
+
+    /**
+     * Get the index of the first occurrence of the literal between from and end, or -1.
+     */
+    private int indexOf(ArrowBuf buffer, int from, int end, boolean caseInsensitive) {
+      final int last = needle.length - 1;
+      int index = from;
+      while (index + last < end) {
+        int i = last;
+        while (i >= 0 && foldIf(buffer.getByte(index + i), caseInsensitive) == needle[i]) {
+          i--;
+        }
+        if (i < 0) {
+          return index;
+        }
+        index += shifts[foldIf(buffer.getByte(index + last), caseInsensitive) & 0xFF];
+      }
+      return -1;
+    }
+
+    private static byte foldIf(byte b, boolean caseInsensitive) {
+      return caseInsensitive ? toLowerCase(b) : b;
+    }
+  }
+}
@@ -54,25 +54,21 @@ public class StringFunctions{
     @Param VarCharHolder input;
     @Param(constant=true) VarCharHolder pattern;
     @Output BitHolder out;
-    @Workspace java.util.regex.Matcher matcher;
-    @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher matcher;
     @Inject FunctionErrorContext errCtx;
 
     @Override
     public void setup() {
-      charSequenceWrapper = new com.dremio.exec.expr.fn.impl.CharSequenceWrapper();
-      matcher = com.dremio.exec.expr.fn.impl.StringFunctionUtil.compilePattern(com.dremio.exec.expr.fn.impl.RegexpUtil.sqlToRegexLike(
-          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(pattern.start,  pattern.end,  pattern.buffer), errCtx),
-          java.util.regex.Pattern.DOTALL,
-          errCtx
-      ).matcher(charSequenceWrapper);
+      matcher = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.compile(
+          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(pattern.start,  pattern.end,  pattern.buffer),
+          null,
+          false,
+          errCtx);
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches()? 1:0;
+      out.value = matcher.matches(input.start, input.end, input.buffer) ? 1 : 0;
     }
   }
 
@@ -83,26 +79,21 @@ public class StringFunctions{
     @Param(constant=true) VarCharHolder pattern;
     @Param(constant=true) VarCharHolder escape;
     @Output BitHolder out;
-    @Workspace java.util.regex.Matcher matcher;
-    @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher matcher;
     @Inject FunctionErrorContext errCtx;
 
     @Override
     public void setup() {
-      charSequenceWrapper = new com.dremio.exec.expr.fn.impl.CharSequenceWrapper();
-      matcher = com.dremio.exec.expr.fn.impl.StringFunctionUtil.compilePattern(com.dremio.exec.expr.fn.impl.RegexpUtil.sqlToRegexLike(
+      matcher = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.compile(
           com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(pattern.start,  pattern.end,  pattern.buffer),
-          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(escape.start,  escape.end,  escape.buffer), errCtx),
-          java.util.regex.Pattern.DOTALL,
-          errCtx
-      ).matcher(charSequenceWrapper);
+          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(escape.start,  escape.end,  escape.buffer),
+          false,
+          errCtx);
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches()? 1:0;
+      out.value = matcher.matches(input.start, input.end, input.buffer) ? 1 : 0;
     }
   }
 
@@ -112,25 +103,21 @@ public class StringFunctions{
     @Param VarCharHolder input;
     @Param(constant=true) VarCharHolder pattern;
     @Output BitHolder out;
-    @Workspace java.util.regex.Matcher matcher;
-    @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher matcher;
     @Inject FunctionErrorContext errCtx;
 
     @Override
     public void setup() {
-      charSequenceWrapper = new com.dremio.exec.expr.fn.impl.CharSequenceWrapper();
-      matcher = com.dremio.exec.expr.fn.impl.StringFunctionUtil.compilePattern(com.dremio.exec.expr.fn.impl.RegexpUtil.sqlToRegexLike(
-          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(pattern.start,  pattern.end,  pattern.buffer), errCtx),
-          java.util.regex.Pattern.CASE_INSENSITIVE | java.util.regex.Pattern.UNICODE_CASE | java.util.regex.Pattern.DOTALL,
-          errCtx
-      ).matcher(charSequenceWrapper);
+      matcher = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.compile(
+          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(pattern.start,  pattern.end,  pattern.buffer),
+          null,
+          true,
+          errCtx);
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches()? 1:0;
+      out.value = matcher.matches(input.start, input.end, input.buffer) ? 1 : 0;
     }
   }
 
@@ -141,26 +128,21 @@ public class StringFunctions{
     @Param(constant=true) VarCharHolder pattern;
     @Param(constant=true) VarCharHolder escape;
     @Output BitHolder out;
-    @Workspace java.util.regex.Matcher matcher;
-    @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher matcher;
     @Inject FunctionErrorContext errCtx;
 
     @Override
     public void setup() {
-      charSequenceWrapper = new com.dremio.exec.expr.fn.impl.CharSequenceWrapper();
-      matcher = com.dremio.exec.expr.fn.impl.StringFunctionUtil.compilePattern(com.dremio.exec.expr.fn.impl.RegexpUtil.sqlToRegexLike( //
+      matcher = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.compile(
           com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(pattern.start,  pattern.end,  pattern.buffer),
-          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(escape.start,  escape.end,  escape.buffer), errCtx),
-          java.util.regex.Pattern.CASE_INSENSITIVE | java.util.regex.Pattern.UNICODE_CASE | java.util.regex.Pattern.DOTALL,
-          errCtx
-      ).matcher(charSequenceWrapper);
+          com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(escape.start,  escape.end,  escape.buffer),
+          true,
+          errCtx);
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches()? 1:0;
+      out.value = matcher.matches(input.start, input.end, input.buffer) ? 1 : 0;
     }
   }
 
@@ -1330,10 +1312,8 @@ public class StringFunctions{
       out.start = out.end = text.start;
 
       //Scan from right of "text", stop until find a char not in " "
+      //(spaces are never part of multi byte characters, whose bytes are all kept)
       for (int id = text.end - 1; id >= text.start; --id) {
-        while ((text.buffer.getByte(id) & 0xC0) == 0x80 && id >= text.start) {
-          id--;
-        }
         if (text.buffer.getByte(id) != spaceInByte) { // Found the 1st char not in " ", stop
           out.end = id + 1;
           break;
@@ -1421,10 +1401,8 @@ public class StringFunctions{
       }
 
       //Scan from right of "text", stop until find a char not " "
+      //(spaces are never part of multi byte characters, whose bytes are all kept)
       for (int id = text.end - 1; id >= text.start; --id) {
-        while ((text.buffer.getByte(id) & 0xC0) == 0x80 && id >= text.start) {
-          id--;
-        }
         if (text.buffer.getByte(id) != spaceInByte) { // Found the 1st char not in " ", stop
           out.end = id + 1;
           break;
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+/**
+ * Fields, truncations and additions of dates and timestamps, represented as milliseconds since
+ * the epoch in UTC, computed without going through Joda objects.
+ *
+ * Same results as Joda's ISO chronology in UTC (proleptic Gregorian calendar, with a year 0),
+ * which the date functions used to evaluate these with for each record.
+ */
+public final class UtcDates {
+  public static final long MILLIS_PER_SECOND = 1000L;
+  public static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+  public static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+  public static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+  public static final long MILLIS_PER_WEEK = 7 * MILLIS_PER_DAY;
+
+  // days of a 400 years cycle of the Gregorian calendar
+  private static final long DAYS_PER_CYCLE = 146097;
+  // days from 0000-03-01 to 1970-01-01
+  private static final long DAYS_0000_TO_1970 = 719468;
+
+  private UtcDates() {
+  }
+
+  /*
+   * The calendar computations count years from March 1st, so that the leap day is the last day of
+   * the year, and 400 years cycles from 0000-03-01.
+   */
+
+  private static long dayOfCycle(long epochDay) {
+    return Math.floorMod(epochDay + DAYS_0000_TO_1970, DAYS_PER_CYCLE);
+  }
+
+  private static long cycle(long epochDay) {
+    return Math.floorDiv(epochDay + DAYS_0000_TO_1970, DAYS_PER_CYCLE);
+  }
+
+  private static long yearOfCycle(long dayOfCycle) {
+    return (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+  }
+
+  // day of the year starting on March 1st
+  private static long dayOfMarchYear(long dayOfCycle, long yearOfCycle) {
+    return dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+  }
+
+  // month of the year starting on March 1st, 0 to 11
+  private static long marchMonth(long dayOfMarchYear) {
+    return (5 * dayOfMarchYear + 2) / 153;
+  }
+
+  public static long epochDay(long millis) {
+    return Math.floorDiv(millis, MILLIS_PER_DAY);
+  }
+
+  public static long year(long millis) {
+    final long epochDay = epochDay(millis);
+    final long dayOfCycle = dayOfCycle(epochDay);
+    final long yearOfCycle = yearOfCycle(dayOfCycle);
+    final long marchMonth = marchMonth(dayOfMarchYear(dayOfCycle, yearOfCycle));
+    return yearOfCycle + cycle(epochDay) * 400 + (marchMonth >= 10 ? 1 : 0);
+  }
+
+  /**
+   * Month of the year, 1 to 12.
+   */
+  public static long month(long millis) {
+    final long dayOfCycle = dayOfCycle(epochDay(millis));
+    final long marchMonth = marchMonth(dayOfMarchYear(dayOfCycle, yearOfCycle(dayOfCycle)));
+    return marchMonth < 10 ? marchMonth + 3 : marchMonth - 9;
+  }
+
+  /**
+   * Day of the month, 1 to 31.
+   */
+  public static long dayOfMonth(long millis) {
+    final long dayOfCycle = dayOfCycle(epochDay(millis));
+    final long dayOfMarchYear = dayOfMarchYear(dayOfCycle, yearOfCycle(dayOfCycle));
+    return dayOfMarchYear - (153 * marchMonth(dayOfMarchYear) + 2) / 5 + 1;
+  }
+
+  /**
+   * Day of the year, 1 to 366.
+   */
+  public static long dayOfYear(long millis) {
+    return epochDay(millis) - epochDay(year(millis), 1, 1) + 1;
+  }
+
+  /**
+   * ISO day of the week, from 1 (Monday) to 7 (Sunday).
+   */
+  public static long isoDayOfWeek(long millis) {
+    // 1970-01-01 is a Thursday
+    return Math.floorMod(epochDay(millis) + 3, 7) + 1;
+  }
+
+  /**
+   * Day of the week, from 1 (Sunday) to 7 (Saturday), as DayOfWeekFromSundayChronology.
+   */
+  public static long dayOfWeekFromSunday(long millis) {
+    return isoDayOfWeek(millis) % 7 + 1;
+  }
+
+  /**
+   * ISO week of the week based year, 1 to 53: weeks start on Monday, and the first week of a year
+   * is the one containing its first Thursday.
+   */
+  public static long weekOfWeekYear(long millis) {
+    final long thursday = millis - (isoDayOfWeek(millis) - 4) * MILLIS_PER_DAY;
+    return (dayOfYear(thursday) - 1) / 7 + 1;
+  }
+
+  public static long hourOfDay(long millis) {
+    return Math.floorMod(millis, MILLIS_PER_DAY) / MILLIS_PER_HOUR;
+  }
+
+  public static long minuteOfHour(long millis) {
+    return Math.floorMod(millis, MILLIS_PER_HOUR) / MILLIS_PER_MINUTE;
+  }
+
+  public static long secondOfMinute(long millis) {
+    return Math.floorMod(millis, MILLIS_PER_MINUTE) / MILLIS_PER_SECOND;
+  }
+
+  /**
+   * Days from 1970-01-01 to the given date.
+   */
+  public static long epochDay(long year, long month, long dayOfMonth) {
+    final long marchYear = month <= 2 ? year - 1 : year;
+    final long cycle = Math.floorDiv(marchYear, 400);
+    final long yearOfCycle = marchYear - cycle * 400;
+    final long dayOfMarchYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+    final long dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + dayOfMarchYear;
+    return cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_0000_TO_1970;
+  }
+
+  public static boolean isLeapYear(long year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  public static int daysInMonth(long year, long month) {
+    switch ((int) month) {
+    case 2:
+      return isLeapYear(year) ? 29 : 28;
+    case 4:
+    case 6:
+    case 9:
+    case 11:
+      return 30;
+    default:
+      return 31;
+    }
+  }
+
+  public static long truncateToSecond(long millis) {
+    return millis - Math.floorMod(millis, MILLIS_PER_SECOND);
+  }
+
+  public static long truncateToMinute(long millis) {
+    return millis - Math.floorMod(millis, MILLIS_PER_MINUTE);
+  }
+
+  public static long truncateToHour(long millis) {
+    return millis - Math.floorMod(millis, MILLIS_PER_HOUR);
+  }
+
+  public static long truncateToDay(long millis) {
+    return millis - Math.floorMod(millis, MILLIS_PER_DAY);
+  }
+
+  /**
+   * Truncates to the Monday starting the ISO week.
+   */
+  public static long truncateToWeek(long millis) {
+    return truncateToDay(millis) - (isoDayOfWeek(millis) - 1) * MILLIS_PER_DAY;
+  }
+
+  public static long truncateToMonth(long millis) {
+    return truncateToDay(millis) - (dayOfMonth(millis) - 1) * MILLIS_PER_DAY;
+  }
+
+  public static long truncateToQuarter(long millis) {
+    final long month = month(millis);
+    return epochDay(year(millis), month - (month - 1) % 3, 1) * MILLIS_PER_DAY;
+  }
+
+  public static long truncateToYear(long millis) {
+    return epochDay(year(millis), 1, 1) * MILLIS_PER_DAY;
+  }
+
+  /**
+   * Adds a number of months, keeping the time of the day, and the day of the month unless past
+   * the end of the resulting month (2019-01-31 plus one month is 2019-02-28).
+   *
+   * @throws ArithmeticException if the result overflows
+   */
+  public static long addMonths(long millis, long months) {
+    if (months == 0) {
+      return millis;
+    }
+    final long epochDay = epochDay(millis);
+    final long millisOfDay = millis - epochDay * MILLIS_PER_DAY;
+    final long totalMonths = Math.addExact(Math.multiplyExact(year(millis), 12L), month(millis) - 1 + months);
+    final long year = Math.floorDiv(totalMonths, 12L);
+    final long month = Math.floorMod(totalMonths, 12L) + 1;
+    final long dayOfMonth = Math.min(dayOfMonth(millis), daysInMonth(year, month));
+    return Math.addExact(Math.multiplyExact(epochDay(year, month, dayOfMonth), MILLIS_PER_DAY), millisOfDay);
+  }
+
+  /**
+   * Adds a number of units of the given length in milliseconds.
+   *
+   * @throws ArithmeticException if the result overflows
+   */
+  public static long addMillis(long millis, long count, long unitMillis) {
+    return Math.addExact(millis, Math.multiplyExact(count, unitMillis));
+  }
+}
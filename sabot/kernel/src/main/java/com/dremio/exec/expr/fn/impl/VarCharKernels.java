@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import org.apache.arrow.vector.VarCharVector;
+
+import com.dremio.exec.expr.fn.FunctionErrorContext;
+import com.dremio.sabot.op.common.ht2.Copier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * String functions evaluated over a whole batch, reading the offset and data buffers of the input
+ * vectors and writing those of the output vector in one pass.
+ *
+ * Same results as the row at a time implementations in {@link StringFunctions} and
+ * {@link ConcatFunctions}, for a positive number of records. The output vector is allocated by
+ * each kernel, sized from the input: the values can only shrink, except for concatenation which
+ * adds up the lengths of its inputs.
+ */
+public final class VarCharKernels {
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+  private static final byte SPACE = ' ';
+
+  private VarCharKernels() {
+  }
+
+  /**
+   * Whether the given bytes only contain ASCII characters, checking eight bytes at a time.
+   */
+  public static boolean isAscii(long address, int length) {
+    final long end = address + length;
+    long bits = 0;
+    for (; address + 8 <= end; address += 8) {
+      bits |= PlatformDependent.getLong(address);
+    }
+    for (; address < end; address++) {
+      bits |= PlatformDependent.getByte(address);
+    }
+    return (bits & HIGH_BITS) == 0;
+  }
+
+  public static void upper(VarCharVector input, VarCharVector output, int count) {
+    // 'a' - 'z' : 0x61 - 0x7A
+    convertCase(input, output, count, (byte) 0x61, (byte) 0x7A);
+  }
+
+  public static void lower(VarCharVector input, VarCharVector output, int count) {
+    // 'A' - 'Z' : 0x41 - 0x5A
+    convertCase(input, output, count, (byte) 0x41, (byte) 0x5A);
+  }
+
+  /*
+   * Flips the case bit (0x20) of the bytes between first and last, in the whole data buffer: the
+   * output keeps the offsets and validity of the input.
+   */
+  private static void convertCase(VarCharVector input, VarCharVector output, int count, byte first, byte last) {
+    final long inOffsetAddr = input.getOffsetBufferAddress();
+    final int start = PlatformDependent.getInt(inOffsetAddr);
+    final int length = PlatformDependent.getInt(inOffsetAddr + count * 4L) - start;
+    output.allocateNew(length, count);
+    copyValidity(input, output, count);
+
+    final long outOffsetAddr = output.getOffsetBufferAddress();
+    for (int i = 0; i <= count; i++) {
+      PlatformDependent.putInt(outOffsetAddr + i * 4L, PlatformDependent.getInt(inOffsetAddr + i * 4L) - start);
+    }
+
+    // for each byte, the high bit of (byte & 0x7F) + n is set if byte & 0x7F >= 0x80 - n
+    final long addFirst = (0x80 - first) * 0x0101010101010101L;
+    final long addAfterLast = (0x80 - last - 1) * 0x0101010101010101L;
+    long inAddr = input.getDataBufferAddress() + start;
+    long outAddr = output.getDataBufferAddress();
+    final long inEnd = inAddr + length;
+    for (; inAddr + 8 <= inEnd; inAddr += 8, outAddr += 8) {
+      final long word = PlatformDependent.getLong(inAddr);
+      final long lowBits = word & LOW_BITS;
+      // bytes in range, excluding the non ASCII ones
+      final long inRange = (lowBits + addFirst) & ~(lowBits + addAfterLast) & ~word & HIGH_BITS;
+      PlatformDependent.putLong(outAddr, word ^ (inRange >>> 2));
+    }
+    for (; inAddr < inEnd; inAddr++, outAddr++) {
+      final byte value = PlatformDependent.getByte(inAddr);
+      PlatformDependent.putByte(outAddr, value >= first && value <= last ? (byte) (value ^ 0x20) : value);
+    }
+
+    setValueCount(output, count);
+  }
+
+  /**
+   * Removes the spaces at the start (if left) and the end (if right) of the values.
+   */
+  public static void trim(VarCharVector input, VarCharVector output, int count, boolean left, boolean right) {
+    final long inOffsetAddr = input.getOffsetBufferAddress();
+    final long inDataAddr = input.getDataBufferAddress();
+    final int length = PlatformDependent.getInt(inOffsetAddr + count * 4L) - PlatformDependent.getInt(inOffsetAddr);
+    output.allocateNew(length, count);
+    copyValidity(input, output, count);
+
+    final long outOffsetAddr = output.getOffsetBufferAddress();
+    final long outDataAddr = output.getDataBufferAddress();
+    int outEnd = 0;
+    PlatformDependent.putInt(outOffsetAddr, 0);
+    for (int i = 0; i < count; i++) {
+      int start = PlatformDependent.getInt(inOffsetAddr + i * 4L);
+      int end = PlatformDependent.getInt(inOffsetAddr + (i + 1) * 4L);
+      // spaces are never part of multi byte characters
+      if (left) {
+        while (start < end && PlatformDependent.getByte(inDataAddr + start) == SPACE) {
+          start++;
+        }
+      }
+      if (right) {
+        while (end > start && PlatformDependent.getByte(inDataAddr + end - 1) == SPACE) {
+          end--;
+        }
+      }
+      Copier.copy(inDataAddr + start, outDataAddr + outEnd, end - start);
+      outEnd += end - start;
+      PlatformDependent.putInt(outOffsetAddr + (i + 1) * 4L, outEnd);
+    }
+
+    setValueCount(output, count);
+  }
+
+  /**
+   * Substring of the values starting at the given character (from 1, or from the end if negative),
+   * of the given length in characters, or until the end of the values if length is null.
+   *
+   * Character positions are byte positions if the batch is ASCII, and are decoded otherwise.
+   */
+  public static void substring(VarCharVector input, VarCharVector output, int count, long offset, Long length,
+                               FunctionErrorContext errCtx) {
+    final long inOffsetAddr = input.getOffsetBufferAddress();
+    final long inDataAddr = input.getDataBufferAddress();
+    final int dataStart = PlatformDependent.getInt(inOffsetAddr);
+    final int dataLength = PlatformDependent.getInt(inOffsetAddr + count * 4L) - dataStart;
+    output.allocateNew(dataLength, count);
+    copyValidity(input, output, count);
+
+    final boolean ascii = isAscii(inDataAddr + dataStart, dataLength);
+    final ByteBuf data = ascii ? null : input.getDataBuffer().asNettyBuffer();
+    final long outOffsetAddr = output.getOffsetBufferAddress();
+    final long outDataAddr = output.getDataBufferAddress();
+    int outEnd = 0;
+    PlatformDependent.putInt(outOffsetAddr, 0);
+    for (int i = 0; i < count; i++) {
+      final int start = PlatformDependent.getInt(inOffsetAddr + i * 4L);
+      final int end = PlatformDependent.getInt(inOffsetAddr + (i + 1) * 4L);
+      int subStart = 0;
+      int subEnd = 0;
+      if ((length == null || length > 0) && start < end) {
+        final int charCount = ascii ? end - start : StringFunctionUtil.getUTF8CharLength(data, start, end, errCtx);
+
+        final int fromCharIdx;
+        if (offset < 0) {
+          fromCharIdx = charCount - (-(int) offset) + 1;
+        } else if (offset == 0) {
+          fromCharIdx = 1;
+        } else {
+          fromCharIdx = (int) offset;
+        }
+
+        if (fromCharIdx > 0 && fromCharIdx <= charCount) {
+          subStart = ascii ? start + fromCharIdx - 1
+            : StringFunctionUtil.getUTF8CharPosition(data, start, end, fromCharIdx - 1, errCtx);
+          if (length == null) {
+            subEnd = end;
+          } else {
+            final int charLen = Math.min((int) length.longValue(), charCount - fromCharIdx + 1);
+            if (!ascii) {
+              subEnd = StringFunctionUtil.getUTF8CharPosition(data, subStart, end, charLen, errCtx);
+            } else {
+              // as when decoding, a negative length (overflowing int) goes to the end
+              subEnd = charLen < 0 ? end : subStart + charLen;
+            }
+          }
+        }
+      }
+      Copier.copy(inDataAddr + subStart, outDataAddr + outEnd, subEnd - subStart);
+      outEnd += subEnd - subStart;
+      PlatformDependent.putInt(outOffsetAddr + (i + 1) * 4L, outEnd);
+    }
+
+    setValueCount(output, count);
+  }
+
+  /**
+   * Concatenates columns and literals: for each part, either its vector or its literal is set.
+   *
+   * @param nullIfNull whether the output is null if any column is (as the || operator), or if null
+   *                   values are skipped (as the concat function)
+   */
+  public static void concat(VarCharVector[] vectors, byte[][] literals, VarCharVector output, int count,
+                            boolean nullIfNull) {
+    long size = 0;
+    for (int p = 0; p < vectors.length; p++) {
+      if (vectors[p] != null) {
+        final long offsetAddr = vectors[p].getOffsetBufferAddress();
+        size += PlatformDependent.getInt(offsetAddr + count * 4L) - PlatformDependent.getInt(offsetAddr);
+      } else {
+        size += (long) literals[p].length * count;
+      }
+    }
+    output.allocateNew(size, count);
+
+    final long outValidityAddr = output.getValidityBufferAddress();
+    final int validityBytes = validityBytes(count);
+    PlatformDependent.setMemory(outValidityAddr, validityBytes, (byte) 0xFF);
+    if (nullIfNull) {
+      for (VarCharVector vector : vectors) {
+        if (vector != null) {
+          final long inValidityAddr = vector.getValidityBufferAddress();
+          for (int b = 0; b < validityBytes; b++) {
+            PlatformDependent.putByte(outValidityAddr + b,
+              (byte) (PlatformDependent.getByte(outValidityAddr + b) & PlatformDependent.getByte(inValidityAddr + b)));
+          }
+        }
+      }
+    }
+
+    final long outOffsetAddr = output.getOffsetBufferAddress();
+    final long outDataAddr = output.getDataBufferAddress();
+    int outEnd = 0;
+    PlatformDependent.putInt(outOffsetAddr, 0);
+    for (int i = 0; i < count; i++) {
+      if (isSet(outValidityAddr, i)) {
+        for (int p = 0; p < vectors.length; p++) {
+          final VarCharVector vector = vectors[p];
+          if (vector == null) {
+            final byte[] literal = literals[p];
+            PlatformDependent.copyMemory(literal, 0, outDataAddr + outEnd, literal.length);
+            outEnd += literal.length;
+          } else if (isSet(vector.getValidityBufferAddress(), i)) {
+            final long offsetAddr = vector.getOffsetBufferAddress() + i * 4L;
+            final int start = PlatformDependent.getInt(offsetAddr);
+            final int len = PlatformDependent.getInt(offsetAddr + 4) - start;
+            Copier.copy(vector.getDataBufferAddress() + start, outDataAddr + outEnd, len);
+            outEnd += len;
+          }
+        }
+      }
+      PlatformDependent.putInt(outOffsetAddr + (i + 1) * 4L, outEnd);
+    }
+
+    setValueCount(output, count);
+  }
+
+  private static int validityBytes(int count) {
+    return (count + 7) >>> 3;
+  }
+
+  private static boolean isSet(long validityAddr, int index) {
+    return ((PlatformDependent.getByte(validityAddr + (index >>> 3)) >>> (index & 7)) & 1) == 1;
+  }
+
+  private static void copyValidity(VarCharVector input, VarCharVector output, int count) {
+    PlatformDependent.copyMemory(input.getValidityBufferAddress(), output.getValidityBufferAddress(),
+      validityBytes(count));
+  }
+
+  private static void setValueCount(VarCharVector output, int count) {
+    // all the offsets are written, do not let the vector fill them again
+    output.setLastSet(count - 1);
+    output.setValueCount(count);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.interpreter;
+
+import java.util.concurrent.TimeUnit;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.expr.ExpressionEvaluationOptions;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+
+/**
+ * Keeps track of the records an operator evaluates in the interpreter when it starts, before
+ * generating code for its expressions.
+ *
+ * Small queries (metadata probes, health checks...) complete without paying for code generation,
+ * while the others switch to generated code as soon as a batch would take them over the maximum
+ * number of interpreted records, or once they spent the maximum time interpreting.
+ */
+public class InterpretedStart {
+  private final long maxRecords;
+  private final long maxNanos;
+  private final Stopwatch watch = Stopwatch.createUnstarted();
+  private long records;
+
+  public InterpretedStart(ExpressionEvaluationOptions options) {
+    this.maxRecords = options.getInterpretedStartMaxRecords();
+    this.maxNanos = TimeUnit.MILLISECONDS.toNanos(options.getInterpretedStartMaxMillis());
+  }
+
+  /**
+   * Whether the next batch should still be evaluated in the interpreter.
+   *
+   * @param recordCount the number of records of the batch
+   */
+  public boolean canInterpret(int recordCount) {
+    return records + recordCount <= maxRecords && watch.elapsed(TimeUnit.NANOSECONDS) < maxNanos;
+  }
+
+  public void start() {
+    watch.start();
+  }
+
+  public void stop(int recordCount) {
+    watch.stop();
+    records += recordCount;
+  }
+
+  /**
+   * The number of records evaluated in the interpreter so far.
+   */
+  public long getRecords() {
+    return records;
+  }
+
+  /**
+   * The interpreter wraps the failures of the functions it evaluates. Get the user exception thrown
+   * by the function if any, so that the query fails the same way as with generated code.
+   */
+  public static RuntimeException unwrap(RuntimeException e) {
+    for (Throwable cause : Throwables.getCausalChain(e)) {
+      if (cause instanceof UserException) {
+        return (UserException) cause;
+      }
+    }
+    return e;
+  }
+}
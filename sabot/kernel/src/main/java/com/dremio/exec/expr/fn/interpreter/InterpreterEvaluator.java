@@ -88,6 +88,132 @@ public class InterpreterEvaluator {
 
   }
 
+  /**
+   * Whether the interpreter supports all the nodes of the expression, so that it can be evaluated
+   * without generating code. The expression must not contain any code generation context.
+   */
+  public static boolean canEvaluate(LogicalExpression expr) {
+    return expr.accept(new SupportVisitor(), null);
+  }
+
+  /**
+   * Prepare the evaluation of the expression on the records of the incoming batches, creating the
+   * interpreters of its functions once.
+   *
+   * @return the visitor evaluating the expression for the record at the index it is given
+   */
+  public static EvalVisitor setup(VectorAccessible incoming, FunctionContext functionContext, LogicalExpression expr) {
+    expr.accept(new InitVisitor(functionContext), incoming);
+    return new EvalVisitor(incoming, functionContext);
+  }
+
+  /**
+   * Checks that an expression is only made of nodes the interpreter evaluates for every record,
+   * without allocating memory per record.
+   */
+  private static class SupportVisitor extends AbstractExprVisitor<Boolean, Void, RuntimeException> {
+
+    @Override
+    public Boolean visitFunctionHolderExpression(FunctionHolderExpression holderExpr, Void value) {
+      if (!(holderExpr instanceof FunctionHolderExpr)
+          || !(holderExpr.getHolder() instanceof SimpleFunctionHolder)
+          || ((FunctionHolderExpr) holderExpr).isComplexWriterFuncHolder()
+          || !holderExpr.getCompleteType().isScalar()) {
+        return false;
+      }
+      return visitChildren(holderExpr);
+    }
+
+    @Override
+    public Boolean visitIfExpression(IfExpression ifExpr, Void value) {
+      return visitChildren(ifExpr);
+    }
+
+    @Override
+    public Boolean visitBooleanOperator(BooleanOperator op, Void value) {
+      return visitChildren(op);
+    }
+
+    @Override
+    public Boolean visitIntConstant(ValueExpressions.IntExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitLongConstant(ValueExpressions.LongExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitFloatConstant(ValueExpressions.FloatExpression fExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitDoubleConstant(ValueExpressions.DoubleExpression dExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitBooleanConstant(ValueExpressions.BooleanExpression e, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitDateConstant(ValueExpressions.DateExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitTimeConstant(ValueExpressions.TimeExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitTimeStampConstant(ValueExpressions.TimeStampExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitIntervalYearConstant(ValueExpressions.IntervalYearExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitIntervalDayConstant(ValueExpressions.IntervalDayExpression intExpr, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitQuotedStringConstant(ValueExpressions.QuotedString e, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitNullConstant(TypedNullConstant e, Void value) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitUnknown(LogicalExpression e, Void value) {
+      // decimal constants are not supported, as they are copied into a new buffer for every record
+      if (e instanceof ValueVectorReadExpression) {
+        final ValueVectorReadExpression read = (ValueVectorReadExpression) e;
+        return read.getCompleteType().isScalar() && !read.hasReadPath();
+      }
+      return false;
+    }
+
+    private boolean visitChildren(LogicalExpression e) {
+      for (LogicalExpression child : e) {
+        if (!child.accept(this, null)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   private static class InitVisitor extends AbstractExprVisitor<LogicalExpression, VectorAccessible, RuntimeException> {
 
     private FunctionContext functionContext;
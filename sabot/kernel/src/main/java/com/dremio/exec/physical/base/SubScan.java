@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 
 import com.dremio.exec.record.BatchSchema;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * A SubScan operator represents the data scanned by a particular major/minor fragment.  This is in contrast to
@@ -49,4 +50,15 @@ public interface SubScan extends Scan {
    */
   BatchSchema getFullSchema();
 
+  /**
+   * Number of splits read by this scan. Used to report the splits that were never read when a fragment terminates
+   * early.
+   *
+   * @return The number of splits, or -1 if unknown.
+   */
+  @JsonIgnore
+  default int getSplitCount() {
+    return -1;
+  }
+
 }
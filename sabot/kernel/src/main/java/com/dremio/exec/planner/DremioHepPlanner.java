@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.planner;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +36,7 @@ import com.dremio.exec.planner.logical.CancelFlag;
 import com.dremio.exec.planner.physical.DistributionTrait;
 import com.dremio.exec.planner.physical.DistributionTraitDef;
 import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.proto.UserBitShared.PlannerRuleProfile;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 
@@ -44,6 +46,9 @@ public class DremioHepPlanner extends HepPlanner {
   private final CancelFlag cancelFlag;
   private final PlannerPhase phase;
   private final MaxNodesListener listener;
+  private final RuleStatsListener ruleStats;
+  // read by observers once the phase is done, possibly asynchronously
+  private volatile List<PlannerRuleProfile> ruleProfiles = Collections.emptyList();
 
   public DremioHepPlanner(final HepProgram program, final Context context, final RelOptCostFactory costFactory, PlannerPhase phase) {
     super(program, context, false, null, costFactory);
@@ -51,6 +56,8 @@ public class DremioHepPlanner extends HepPlanner {
     this.phase = phase;
     this.listener = new MaxNodesListener(context.unwrap(PlannerSettings.class).getMaxNodesPerPlan());
     addListener(listener);
+    this.ruleStats = new RuleStatsListener();
+    addListener(ruleStats);
   }
 
   @Override
@@ -58,6 +65,7 @@ public class DremioHepPlanner extends HepPlanner {
     try {
       cancelFlag.reset();
       listener.reset();
+      ruleStats.reset();
       return super.findBestExp();
     } catch(RuntimeException ex) {
       // if the planner is hiding a UserException, bubble its message to the top.
@@ -67,9 +75,18 @@ public class DremioHepPlanner extends HepPlanner {
       } else {
         throw ex;
       }
+    } finally {
+      ruleProfiles = ruleStats.getRuleProfiles();
     }
   }
 
+  /**
+   * Get the profiles of the rules fired by the last {@link #findBestExp()}.
+   */
+  public List<PlannerRuleProfile> getRuleProfiles() {
+    return ruleProfiles;
+  }
+
   @Override
   public RelTraitSet emptyTraitSet() {
     return RelTraitSet.createEmpty().plus(Convention.NONE).plus(DistributionTrait.DEFAULT).plus(RelCollations.EMPTY);
@@ -15,12 +15,17 @@
  */
 package com.dremio.exec.planner;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.calcite.plan.Context;
 import org.apache.calcite.plan.ConventionTraitDef;
 import org.apache.calcite.plan.RelOptCostFactory;
+import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.volcano.VolcanoPlanner;
 import org.apache.calcite.rel.RelCollationTraitDef;
 import org.apache.calcite.rel.RelNode;
@@ -35,6 +40,7 @@ import com.dremio.exec.planner.logical.ConstExecutor;
 import com.dremio.exec.planner.physical.DistributionTraitDef;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.sql.SqlConverter;
+import com.dremio.exec.proto.UserBitShared.PlannerRuleProfile;
 import com.dremio.service.Pointer;
 import com.google.common.base.Throwables;
 
@@ -44,18 +50,28 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
   private final SubstitutionProvider substitutionProvider;
 
   private final CancelFlag cancelFlag;
+  private final long budgetMillis;
+  private final RuleStatsListener ruleStats;
+  // rule profiles and budget state of each phase, read by observers once the phase is done, possibly asynchronously
+  private final Map<PlannerPhase, List<PlannerRuleProfile>> ruleProfiles = new ConcurrentHashMap<>();
+  private final Set<PlannerPhase> budgetExceededPhases = ConcurrentHashMap.newKeySet();
 
   private RelNode originalRoot;
   private PlannerPhase phase;
   private MaxNodesListener listener;
+  private long phaseStartNanos;
+  private boolean budgetExceeded;
 
   private DremioVolcanoPlanner(RelOptCostFactory costFactory, Context context, SubstitutionProvider substitutionProvider) {
     super(costFactory, context);
     this.substitutionProvider = substitutionProvider;
     this.cancelFlag = new CancelFlag(context.unwrap(PlannerSettings.class).getMaxPlanningPerPhaseMS(), TimeUnit.MILLISECONDS);
+    this.budgetMillis = context.unwrap(PlannerSettings.class).getPlanningBudgetPerPhaseMS();
     this.phase = null;
     this.listener = new MaxNodesListener(context.unwrap(PlannerSettings.class).getMaxNodesPerPlan());
     addListener(listener);
+    this.ruleStats = new RuleStatsListener();
+    addListener(ruleStats);
   }
 
   public static DremioVolcanoPlanner of(final SqlConverter converter) {
@@ -80,6 +96,9 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
     try {
       cancelFlag.reset();
       listener.reset();
+      ruleStats.reset();
+      phaseStartNanos = System.nanoTime();
+      budgetExceeded = false;
       return super.findBestExp();
     } catch(RuntimeException ex) {
       // if the planner is hiding a UserException, bubble it's message to the top.
@@ -89,6 +108,15 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
       } else {
         throw ex;
       }
+    } finally {
+      if (phase != null) {
+        ruleProfiles.put(phase, ruleStats.getRuleProfiles());
+        if (budgetExceeded) {
+          budgetExceededPhases.add(phase);
+        } else {
+          budgetExceededPhases.remove(phase);
+        }
+      }
     }
   }
 
@@ -96,6 +124,41 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
     this.phase = phase;
   }
 
+  /**
+   * Get the profiles of the rules fired during the given phase.
+   */
+  public List<PlannerRuleProfile> getRuleProfiles(PlannerPhase phase) {
+    return ruleProfiles.getOrDefault(phase, Collections.emptyList());
+  }
+
+  /**
+   * Whether the given phase stopped exploring because it exceeded its time budget.
+   */
+  public boolean isBudgetExceeded(PlannerPhase phase) {
+    return budgetExceededPhases.contains(phase);
+  }
+
+  /**
+   * Once the phase exceeds its time budget and a complete plan was found, skip all the remaining rule
+   * matches, so that the best plan found so far is used.
+   */
+  @Override
+  public boolean isRuleExcluded(RelOptRule rule) {
+    if (!budgetExceeded && budgetMillis > 0
+        && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStartNanos) > budgetMillis
+        && hasCompletePlan()) {
+      budgetExceeded = true;
+      logger.debug("Planning phase {} exceeded its budget of {} ms, using the best plan found so far.",
+          phase != null ? phase.description : null, budgetMillis);
+    }
+    return budgetExceeded || super.isRuleExcluded(rule);
+  }
+
+  private boolean hasCompletePlan() {
+    final RelNode root = getRoot();
+    return root != null && !getCost(root, root.getCluster().getMetadataQuery()).isInfinite();
+  }
+
   @Override
   protected void registerMaterializations() {
     final SubstitutionStream result = substitutionProvider.findSubstitutions(getOriginalRoot());
@@ -291,6 +291,13 @@ public class PlanCaptureAttemptObserver extends AbstractAttemptObserver {
         .setDurationMillis(millisTakenFinalize)
         .setPlan(planAsString);
 
+    if (planner instanceof DremioVolcanoPlanner) {
+      b.addAllRuleProfiles(((DremioVolcanoPlanner) planner).getRuleProfiles(phase))
+          .setBudgetExceeded(((DremioVolcanoPlanner) planner).isBudgetExceeded(phase));
+    } else if (planner instanceof DremioHepPlanner) {
+      b.addAllRuleProfiles(((DremioHepPlanner) planner).getRuleProfiles());
+    }
+
     // dump state of volcano planner to troubleshoot costing issues (or long planning issues).
     if (verbose || noTransform) {
       final String dump = getPlanDump(planner);
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.calcite.plan.RelOptListener;
+
+import com.dremio.exec.proto.UserBitShared.PlannerRuleProfile;
+
+/**
+ * Monitors planners and collects, for each rule, how many times it fired, how many
+ * transformations it produced, and the time spent in it.
+ */
+class RuleStatsListener implements RelOptListener {
+
+  private final Map<String, RuleStats> stats = new HashMap<>();
+  // rule calls are not nested, a call is done before the next one is attempted
+  private long attemptStart;
+
+  @Override
+  public void ruleAttempted(RuleAttemptedEvent event) {
+    if (event.isBefore()) {
+      attemptStart = System.nanoTime();
+      return;
+    }
+
+    final RuleStats ruleStats = getStats(event);
+    ruleStats.matchCount++;
+    ruleStats.durationNanos += System.nanoTime() - attemptStart;
+  }
+
+  @Override
+  public void ruleProductionSucceeded(RuleProductionEvent event) {
+    if (!event.isBefore()) {
+      getStats(event).transformationCount++;
+    }
+  }
+
+  private RuleStats getStats(RuleEvent event) {
+    return stats.computeIfAbsent(event.getRuleCall().getRule().toString(), k -> new RuleStats());
+  }
+
+  public void reset() {
+    stats.clear();
+  }
+
+  /**
+   * Get the profiles of the rules which fired, the most expensive first.
+   */
+  public List<PlannerRuleProfile> getRuleProfiles() {
+    final List<PlannerRuleProfile> profiles = new ArrayList<>(stats.size());
+    for (Map.Entry<String, RuleStats> entry : stats.entrySet()) {
+      profiles.add(PlannerRuleProfile.newBuilder()
+          .setRuleName(entry.getKey())
+          .setMatchCount(entry.getValue().matchCount)
+          .setTransformationCount(entry.getValue().transformationCount)
+          .setDurationNanos(entry.getValue().durationNanos)
+          .build());
+    }
+    profiles.sort(Comparator.comparingLong(PlannerRuleProfile::getDurationNanos).reversed());
+    return profiles;
+  }
+
+  @Override
+  public void relEquivalenceFound(RelEquivalenceEvent event) {
+  }
+
+  @Override
+  public void relDiscarded(RelDiscardedEvent event) {
+  }
+
+  @Override
+  public void relChosen(RelChosenEvent event) {
+  }
+
+  private static final class RuleStats {
+    private long matchCount;
+    private long transformationCount;
+    private long durationNanos;
+  }
+}
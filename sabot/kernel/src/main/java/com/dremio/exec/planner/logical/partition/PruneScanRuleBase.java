@@ -544,7 +544,9 @@ public abstract class PruneScanRuleBase<T extends ScanRelBase & PruneableScan> e
         finalNewSplits = prunedOutput.value;
         logger.debug("Partition pruning using expression evaluation took {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
       }else {
-        finalNewSplits = ImmutableList.copyOf(dataset.value.getSplits());
+        // only pruned using the search index: keep the lazy pointer rather than loading all the remaining
+        // partition chunks on heap
+        finalNewSplits = null;
         evalPruned = false;
       }
 
@@ -588,12 +590,15 @@ public abstract class PruneScanRuleBase<T extends ScanRelBase & PruneableScan> e
           // filter changed but scan did not. avoid generating another scan
           inputRel = scanRel;
         }
-      }else if(finalNewSplits.isEmpty()) {
+      }else if(evalPruned ? finalNewSplits.isEmpty() : dataset.value.getSplitCount() == 0) {
         // no splits left, replace with an empty rel.
         inputRel = new EmptyRel(scanRel.getCluster(), scanRel.getTraitSet(), scanRel.getRowType(), scanRel.getProjectedSchema());
-      } else {
+      } else if (evalPruned) {
         // some splits but less than original.
         inputRel = scanRel.applyDatasetPointer(dataset.value.prune(finalNewSplits));
+      } else {
+        // evaluation did not prune any further than the search index
+        inputRel = scanRel.applyDatasetPointer(dataset.value);
       }
 
       if (projectRel != null) {
@@ -110,6 +110,8 @@ public class PlannerSettings implements Context{
   public static final String UNIONALL_DISTRIBUTE_KEY = "planner.enable_unionall_distribute";
   public static final BooleanValidator UNIONALL_DISTRIBUTE = new BooleanValidator(UNIONALL_DISTRIBUTE_KEY, true);
   public static final LongValidator PLANNING_MAX_MILLIS = new LongValidator("planner.timeout_per_phase_ms", 60_000);
+  // time after which cost based planning phases stop exploring and use the best plan found so far (0 to disable)
+  public static final LongValidator PLANNING_BUDGET_MILLIS = new LongValidator("planner.budget_per_phase_ms", 30_000);
   public static final BooleanValidator RELATIONAL_PLANNING = new BooleanValidator("planner.enable_relational_planning", true);
 
   public static final BooleanValidator ENABLE_LEAF_LIMITS = new BooleanValidator("planner.leaf_limit_enable", false);
@@ -191,6 +193,12 @@ public class PlannerSettings implements Context{
    */
   public static final BooleanValidator REUSE_PREPARE_HANDLES = new BooleanValidator("planner.reuse_prepare_statement_handles", false);
 
+  /**
+   * Controls whether the physical plans of queries are cached, so that running the same query again (against the same
+   * datasets, with the same options) skips planning.
+   */
+  public static final BooleanValidator PLAN_CACHE_ENABLED = new BooleanValidator("planner.plan_cache.enabled", true);
+
   public static final BooleanValidator VERBOSE_PROFILE = new BooleanValidator("planner.verbose_profile", false);
 
   public static final BooleanValidator INCLUDE_DATASET_PROFILE = new BooleanValidator("planner.include_dataset_profile", true);
@@ -303,6 +311,10 @@ public class PlannerSettings implements Context{
     return options.getOption(PLANNING_MAX_MILLIS);
   }
 
+  public long getPlanningBudgetPerPhaseMS() {
+    return options.getOption(PLANNING_BUDGET_MILLIS);
+  }
+
   public void forceSingleMode() {
     forceSingleMode = true;
   }
@@ -16,6 +16,7 @@
 package com.dremio.exec.planner.sql;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.calcite.adapter.java.JavaTypeFactory;
@@ -105,6 +106,8 @@ public class SqlConverter {
   private final FlattenOpCounter flattenCounter;
   private final ScanResult scanResult;
   private final SabotConfig config;
+  // shared with the converters of the expanded views
+  private final AtomicBoolean dynamicFunctions;
 
   public SqlConverter(
       final PlannerSettings settings,
@@ -142,6 +145,7 @@ public class SqlConverter {
     this.viewExpansionContext = new ViewExpansionContext(catalog.getUser());
     this.config = config;
     this.scanResult = scanResult;
+    this.dynamicFunctions = new AtomicBoolean(false);
   }
 
   public SqlConverter(SqlConverter parent, DremioCatalogReader catalog) {
@@ -168,6 +172,7 @@ public class SqlConverter {
     this.viewExpansionContext = parent.viewExpansionContext;
     this.config = parent.config;
     this.scanResult = parent.scanResult;
+    this.dynamicFunctions = parent.dynamicFunctions;
   }
 
   public static final SqlShuttle STRING_LITERAL_CONVERTER = new SqlShuttle() {
@@ -299,6 +304,14 @@ public class SqlConverter {
     return config;
   }
 
+  /**
+   * Whether the query, or any view it expands, uses a dynamic function (such as NOW() or USER), whose
+   * value is folded at planning time.
+   */
+  public boolean hasDynamicFunctions() {
+    return dynamicFunctions.get();
+  }
+
   /**
    * Returns a rel root that defers materialization of scans via {@link com.dremio.exec.planner.logical.ConvertibleScan}
    *
@@ -318,6 +331,9 @@ public class SqlConverter {
     final SqlToRelConverter sqlToRelConverter = new DremioSqlToRelConverter(this, validator, convertletTable, config);
     // Previously we had "top" = !innerQuery, but calcite only adds project if it is not a top query.
     final RelRoot rel = sqlToRelConverter.convertQuery(validatedNode, false /* needs validate */, false /* top */);
+    if (convertletTable.hasDynamicFunctions()) {
+      dynamicFunctions.set(true);
+    }
     final RelNode rel2 = sqlToRelConverter.flattenTypes(rel.rel, true);
     RelNode converted;
     final RelNode rel3 = expand ? rel2 : rel2.accept(new RelsWithRexSubQueryFlattener(sqlToRelConverter));
@@ -104,6 +104,7 @@ public class CommandCreator {
   private final AttemptObserver observer;
   private final SabotContext dbContext;
   private final Cache<Long, PreparedPlan> plans;
+  private final PlanCache planCache;
   private final int attemptNumber;
   private final Pointer<QueryId> prepareId;
 
@@ -114,6 +115,7 @@ public class CommandCreator {
       UserRequest request,
       AttemptObserver observer,
       Cache<Long, PreparedPlan> plans,
+      PlanCache planCache,
       Pointer<QueryId> prepareId,
       int attemptNumber,
       ResourceAllocator queryResourceManager,
@@ -124,6 +126,7 @@ public class CommandCreator {
     this.observer = observer;
     this.dbContext = dbContext;
     this.plans = plans;
+    this.planCache = planCache;
     this.prepareId = prepareId;
     this.attemptNumber = attemptNumber;
     this.queryResourceManager = queryResourceManager;
@@ -205,8 +208,18 @@ public class CommandCreator {
               .build(logger);
           }
 
-        case SQL:
-          return getSqlCommand(query.getPlan(), false);
+        case SQL: {
+          final PlanCache.Key cacheKey = planCache.newKey(context, query.getPlan());
+          // as for prepared statements, only use the cached plan on the first attempt.
+          if (cacheKey != null && attemptNumber == 0) {
+            final PreparedPlan plan = planCache.get(cacheKey, context.getCatalog());
+            if (plan != null) {
+              return new PrepareToExecution(plan, context, observer, dbContext.getPlanReader(), tunnelCreator,
+                  queryResourceManager, executorSelectionService);
+            }
+          }
+          return getSqlCommand(query.getPlan(), false, cacheKey);
+        }
 
         case PHYSICAL: // should be deprecated once tests are removed.
           return new PhysicalPlanCommand(tunnelCreator, context, dbContext.getPlanReader(), observer,
@@ -233,6 +246,10 @@ public class CommandCreator {
   }
 
   private CommandRunner<?> getSqlCommand(String sql, boolean isPrepare) {
+    return getSqlCommand(sql, isPrepare, null);
+  }
+
+  private CommandRunner<?> getSqlCommand(String sql, boolean isPrepare, PlanCache.Key cacheKey) {
     try{
       final SqlConverter parser = new SqlConverter(
           context.getPlannerSettings(),
@@ -317,7 +334,7 @@ public class CommandCreator {
 
         // fallthrough
       default:
-        return async.create(new NormalHandler(), config);
+        return async.create(new NormalHandler(), config, cacheKey);
       }
 
     } catch(SqlUnsupportedException e) {
@@ -374,11 +391,16 @@ public class CommandCreator {
 
     // handlers in handlers.query package
     public CommandRunner<?> create(SqlToPlanHandler handler, SqlHandlerConfig config){
+      return create(handler, config, null);
+    }
+
+    // caches the plan of the query if the cache key is not null
+    public CommandRunner<?> create(SqlToPlanHandler handler, SqlHandlerConfig config, PlanCache.Key cacheKey){
       if(prepare){
         return new HandlerToPreparePlan(context, sqlNode, handler, plans, sql, observer, config);
       }
       return new HandlerToExec(tunnelCreator, context, dbContext.getPlanReader(), observer, sql, sqlNode,
-          handler, config, queryResourceManager, executorSelectionService);
+          handler, config, queryResourceManager, executorSelectionService, planCache, cacheKey);
     }
   }
 
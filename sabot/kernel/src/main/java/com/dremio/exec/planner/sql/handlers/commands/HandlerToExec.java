@@ -22,7 +22,9 @@ import com.dremio.exec.ops.QueryContext;
 import com.dremio.exec.physical.PhysicalPlan;
 import com.dremio.exec.planner.PhysicalPlanReader;
 import com.dremio.exec.planner.observer.AttemptObserver;
+import com.dremio.exec.planner.observer.AttemptObservers;
 import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
+import com.dremio.exec.planner.sql.handlers.commands.HandlerToPreparePlan.RecordingObserver;
 import com.dremio.exec.planner.sql.handlers.query.SqlToPlanHandler;
 import com.dremio.exec.work.rpc.CoordToExecTunnelCreator;
 import com.dremio.resource.ResourceAllocator;
@@ -37,8 +39,11 @@ public class HandlerToExec extends AsyncCommand {
   private final SqlNode sqlNode;
   private final SqlToPlanHandler handler;
   private final String sql;
+  private final PlanCache planCache;
+  private final PlanCache.Key cacheKey;
   private SqlHandlerConfig config;
   private PhysicalPlan physicalPlan;
+  private RecordingObserver recording;
 
   public HandlerToExec(
       CoordToExecTunnelCreator tunnelCreator,
@@ -51,12 +56,34 @@ public class HandlerToExec extends AsyncCommand {
       SqlHandlerConfig config,
       ResourceAllocator queryResourceManager,
       ExecutorSelectionService executorSelectionService) {
+    this(tunnelCreator, context, reader, observer, sql, sqlNode, handler, config, queryResourceManager,
+        executorSelectionService, null, null);
+  }
+
+  /**
+   * Create a command which also caches the plan of the query, if the key is not null.
+   */
+  public HandlerToExec(
+      CoordToExecTunnelCreator tunnelCreator,
+      QueryContext context,
+      PhysicalPlanReader reader,
+      AttemptObserver observer,
+      String sql,
+      SqlNode sqlNode,
+      SqlToPlanHandler handler,
+      SqlHandlerConfig config,
+      ResourceAllocator queryResourceManager,
+      ExecutorSelectionService executorSelectionService,
+      PlanCache planCache,
+      PlanCache.Key cacheKey) {
     super(context, queryResourceManager, executorSelectionService, observer, reader, tunnelCreator);
     this.observer = observer;
     this.sqlNode = sqlNode;
     this.sql = sql;
     this.handler = handler;
     this.config = config;
+    this.planCache = planCache;
+    this.cacheKey = cacheKey;
   }
 
   @Override
@@ -66,16 +93,31 @@ public class HandlerToExec extends AsyncCommand {
 
   @Override
   public double plan() throws Exception {
-    observer.planStart(sql);
-    physicalPlan = handler.getPlan(config, sql, sqlNode);
+    if (cacheKey == null) {
+      observer.planStart(sql);
+      physicalPlan = handler.getPlan(config, sql, sqlNode);
+      return physicalPlan.getCost();
+    }
+
+    // record the planning calls, to be replayed when the cached plan is used.
+    recording = new RecordingObserver();
+    final AttemptObservers observers = AttemptObservers.of(observer, recording);
+    observers.planStart(sql);
+    physicalPlan = handler.getPlan(config.cloneWithNewObserver(observers), sql, sqlNode);
     return physicalPlan.getCost();
   }
 
   @Override
   public void planExecution() throws ExecutionSetupException {
     super.planExecution();
+    // only cache the plan once its execution is planned, as this updates the plan operators.
+    if (recording != null && !config.getConverter().hasDynamicFunctions()) {
+      planCache.put(cacheKey, new PreparedPlan(context.getQueryId(), context.getQueryUserName(), sql, physicalPlan,
+          recording), context.getCatalog().getAllRequestedTables());
+    }
     physicalPlan = null; // no longer needed.
     config = null; // no longer needed.
+    recording = null; // no longer needed.
   }
 
   @Override
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.commands;
+
+import static com.dremio.exec.planner.physical.PlannerSettings.PLAN_CACHE_ENABLED;
+import static com.dremio.exec.planner.physical.PlannerSettings.STORE_QUERY_RESULTS;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.calcite.avatica.util.Quoting;
+
+import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.planner.acceleration.MaterializationDescriptor;
+import com.dremio.exec.planner.physical.PlannerSettings.StoreQueryResultsPolicy;
+import com.dremio.options.OptionValue;
+import com.dremio.sabot.rpc.user.UserSession;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Cache of the physical plans of ad-hoc queries, so that a query run again is only parallelized.
+ *
+ * Plans are looked up by the normalized text of the query (see {@link #normalize(String)}), along
+ * with everything else planning depends on: the user, the session settings, the options set to a
+ * non-default value and the reflections available. A cached plan also records the versions of the datasets it was
+ * planned against, and is only used while all of them are unchanged.
+ *
+ * Queries using dynamic functions (whose values are folded while planning) or storing their results
+ * are not cached. Cached plans expire after a while, and are released under memory pressure.
+ */
+public class PlanCache {
+
+  // rough estimate of the memory held for each operator of a cached plan, including the plans
+  // recorded for the query profile.
+  private static final long OPERATOR_WEIGHT = 32 * 1024;
+
+  private final boolean enabled;
+  private final Cache<Key, Entry> plans;
+
+  public PlanCache(long maxSizeBytes, long expireAfterMs) {
+    this.enabled = maxSizeBytes > 0;
+    this.plans = CacheBuilder.newBuilder()
+        .maximumWeight(maxSizeBytes)
+        .<Key, Entry>weigher((key, entry) -> entry.weight)
+        // Plans are memory intensive. If there is memory pressure, let GC release them as last
+        // resort before running OOM.
+        .softValues()
+        .expireAfterWrite(expireAfterMs, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Create the cache key of a query.
+   *
+   * @return the key, or null if the plan of the query cannot be cached
+   */
+  public Key newKey(QueryContext context, String sql) {
+    if (!enabled || !context.getOptions().getOption(PLAN_CACHE_ENABLED)) {
+      return null;
+    }
+
+    final StoreQueryResultsPolicy storeQueryResultsPolicy = Optional
+        .ofNullable(context.getOptions().getOption(STORE_QUERY_RESULTS.getOptionName()))
+        .map(o -> StoreQueryResultsPolicy.valueOf(o.getStringVal().toUpperCase(Locale.ROOT)))
+        .orElse(StoreQueryResultsPolicy.NO);
+    if (storeQueryResultsPolicy != StoreQueryResultsPolicy.NO) {
+      // the results location is specific to the query
+      return null;
+    }
+
+    final ImmutableSet.Builder<String> materializations = ImmutableSet.builder();
+    for (MaterializationDescriptor descriptor : context.getMaterializationProvider().get()) {
+      materializations.add(descriptor.getMaterializationId());
+    }
+
+    final UserSession session = context.getSession();
+    return new Key(
+        normalize(sql),
+        context.getQueryUserName(),
+        session.getDefaultSchemaName(),
+        session.getInitialQuoting(),
+        session.supportFullyQualifiedProjections(),
+        session.isSupportComplexTypes(),
+        // only the options changed from their defaults, rather than the value of every option
+        ImmutableSet.copyOf(context.getNonDefaultOptions()),
+        materializations.build());
+  }
+
+  /**
+   * Get the cached plan of a query, if the datasets it was planned against did not change since.
+   *
+   * @param key the query key
+   * @param catalog the catalog of the query
+   * @return the plan, or null if not cached
+   */
+  public PreparedPlan get(Key key, Catalog catalog) {
+    final Entry entry = plans.getIfPresent(key);
+    if (entry == null) {
+      return null;
+    }
+
+    for (Map.Entry<NamespaceKey, String> dataset : entry.datasetTags.entrySet()) {
+      final DremioTable table;
+      try {
+        table = catalog.getTableNoResolve(dataset.getKey());
+      } catch (RuntimeException e) {
+        // let planning report the failure
+        return null;
+      }
+
+      final DatasetConfig config = table == null ? null : table.getDatasetConfig();
+      if (config == null || !dataset.getValue().equals(config.getTag())) {
+        plans.asMap().remove(key, entry);
+        return null;
+      }
+    }
+    return entry.plan;
+  }
+
+  /**
+   * Cache the plan of a query.
+   *
+   * @param key the query key
+   * @param plan the plan
+   * @param tables the tables used to plan the query
+   */
+  public void put(Key key, PreparedPlan plan, Iterable<DremioTable> tables) {
+    final Map<NamespaceKey, String> datasetTags = new HashMap<>();
+    for (DremioTable table : tables) {
+      final DatasetConfig config = table.getDatasetConfig();
+      if (config == null || config.getTag() == null) {
+        // no way to tell if the dataset changes
+        return;
+      }
+      datasetTags.put(table.getPath(), config.getTag());
+    }
+
+    final long weight = plan.getPlan().getSortedOperators().size() * OPERATOR_WEIGHT + plan.getQuery().length();
+    plans.put(key, new Entry(plan, ImmutableMap.copyOf(datasetTags), (int) Math.min(weight, Integer.MAX_VALUE)));
+  }
+
+  public void invalidateAll() {
+    plans.invalidateAll();
+  }
+
+  public long hitCount() {
+    return plans.stats().hitCount();
+  }
+
+  public long missCount() {
+    return plans.stats().missCount();
+  }
+
+  public long size() {
+    return plans.size();
+  }
+
+  /**
+   * Normalize the text of a query, so that queries only differing by their whitespaces, comments or
+   * trailing semicolons share the same plan. Quoted strings and identifiers are left untouched.
+   */
+  @VisibleForTesting
+  static String normalize(String sql) {
+    final StringBuilder normalized = new StringBuilder(sql.length());
+    boolean pendingSpace = false;
+    int i = 0;
+    while (i < sql.length()) {
+      final char c = sql.charAt(i);
+      if (Character.isWhitespace(c)) {
+        pendingSpace = true;
+        i++;
+      } else if (c == '-' && sql.startsWith("--", i)) {
+        final int end = sql.indexOf('\n', i);
+        i = end == -1 ? sql.length() : end + 1;
+        pendingSpace = true;
+      } else if (c == '/' && sql.startsWith("/*", i)) {
+        final int end = sql.indexOf("*/", i + 2);
+        i = end == -1 ? sql.length() : end + 2;
+        pendingSpace = true;
+      } else {
+        if (pendingSpace && normalized.length() > 0) {
+          normalized.append(' ');
+        }
+        pendingSpace = false;
+
+        if (c == '\'' || c == '"' || c == '`' || c == '[') {
+          // copy quoted text as is, quotes within being escaped by doubling them
+          final char close = c == '[' ? ']' : c;
+          int end = i + 1;
+          while (end < sql.length()) {
+            if (sql.charAt(end) == close) {
+              if (end + 1 < sql.length() && sql.charAt(end + 1) == close) {
+                end += 2;
+                continue;
+              }
+              break;
+            }
+            end++;
+          }
+          end = Math.min(end + 1, sql.length());
+          normalized.append(sql, i, end);
+          i = end;
+        } else {
+          normalized.append(c);
+          i++;
+        }
+      }
+    }
+
+    int length = normalized.length();
+    while (length > 0 && (normalized.charAt(length - 1) == ';' || normalized.charAt(length - 1) == ' ')) {
+      length--;
+    }
+    normalized.setLength(length);
+    return normalized.toString();
+  }
+
+  /**
+   * What the plan of a query depends on.
+   */
+  public static final class Key {
+    private final String sql;
+    private final String username;
+    private final String defaultSchema;
+    private final Quoting quoting;
+    private final boolean fullyQualifiedProjections;
+    private final boolean complexTypes;
+    private final ImmutableSet<OptionValue> options;
+    private final ImmutableSet<String> materializations;
+    private final int hashCode;
+
+    private Key(String sql, String username, String defaultSchema, Quoting quoting, boolean fullyQualifiedProjections,
+        boolean complexTypes, ImmutableSet<OptionValue> options, ImmutableSet<String> materializations) {
+      this.sql = sql;
+      this.username = username;
+      this.defaultSchema = defaultSchema;
+      this.quoting = quoting;
+      this.fullyQualifiedProjections = fullyQualifiedProjections;
+      this.complexTypes = complexTypes;
+      this.options = options;
+      this.materializations = materializations;
+      this.hashCode = Objects.hash(sql, username, defaultSchema, quoting, fullyQualifiedProjections, complexTypes,
+          options, materializations);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return this.hashCode == that.hashCode
+          && this.sql.equals(that.sql)
+          && Objects.equals(this.username, that.username)
+          && Objects.equals(this.defaultSchema, that.defaultSchema)
+          && this.quoting == that.quoting
+          && this.fullyQualifiedProjections == that.fullyQualifiedProjections
+          && this.complexTypes == that.complexTypes
+          && this.options.equals(that.options)
+          && this.materializations.equals(that.materializations);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class Entry {
+    private final PreparedPlan plan;
+    private final ImmutableMap<NamespaceKey, String> datasetTags;
+    private final int weight;
+
+    private Entry(PreparedPlan plan, ImmutableMap<NamespaceKey, String> datasetTags, int weight) {
+      this.plan = plan;
+      this.datasetTags = datasetTags;
+      this.weight = weight;
+    }
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.planner.sql.handlers.commands;
 
+import com.dremio.common.exceptions.ExecutionSetupException;
 import com.dremio.exec.ops.QueryContext;
 import com.dremio.exec.physical.PhysicalPlan;
 import com.dremio.exec.planner.PhysicalPlanReader;
@@ -51,6 +52,14 @@ public class PrepareToExecution extends AsyncCommand {
     return plan.getPlan().getCost();
   }
 
+  @Override
+  public void planExecution() throws ExecutionSetupException {
+    // the plan may be shared by concurrent queries, and planning execution sets the memory limits of its operators.
+    synchronized (plan.getPlan()) {
+      super.planExecution();
+    }
+  }
+
   @Override
   public CommandType getCommandType() {
     return CommandType.ASYNC_QUERY;
@@ -168,13 +168,31 @@ public class FileSelection {
     return create(fs, getPathBasedOnFullPath(fullPath));
   }
 
+  public static FileSelection create(final FileSystem fs, final List<String> fullPath, int listParallelism) throws IOException {
+    return create(fs, getPathBasedOnFullPath(fullPath), listParallelism);
+  }
+
   // Check if path is actually a full schema path
   public static FileSelection createWithFullSchema(final FileSystem fs, final String parent, final String fullSchemaPath) throws IOException {
+    return createWithFullSchema(fs, parent, fullSchemaPath, 1);
+  }
+
+  public static FileSelection createWithFullSchema(final FileSystem fs, final String parent, final String fullSchemaPath,
+      int listParallelism) throws IOException {
     final Path combined = Path.mergePaths(Path.of(parent), PathUtils.toFSPath(fullSchemaPath));
-    return create(fs, combined);
+    return create(fs, combined, listParallelism);
   }
 
   public static FileSelection create(final FileSystem fs, Path combined) throws IOException {
+    return create(fs, combined, 1);
+  }
+
+  /**
+   * Creates a selection of all the files under the given path.
+   *
+   * @param listParallelism maximum number of directories listed concurrently
+   */
+  public static FileSelection create(final FileSystem fs, Path combined, int listParallelism) throws IOException {
     Stopwatch timer = Stopwatch.createStarted();
 
     // NFS filesystems has delay before files written by executor shows up in the coordinator.
@@ -183,7 +201,7 @@ public class FileSelection {
     fs.exists(combined);
 
     final ImmutableList<FileAttributes> fileAttributes;
-    try(DirectoryStream<FileAttributes> stream = FileSystemUtils.globRecursive(fs, combined, NO_HIDDEN_FILES)) {
+    try(DirectoryStream<FileAttributes> stream = FileSystemUtils.globRecursive(fs, combined, NO_HIDDEN_FILES, listParallelism, true)) {
       fileAttributes = ImmutableList.copyOf(stream);
     } catch (DirectoryIteratorException e) {
       throw e.getCause();
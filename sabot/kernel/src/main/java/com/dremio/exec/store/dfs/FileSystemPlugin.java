@@ -445,11 +445,12 @@ public class FileSystemPlugin<C extends FileSystemConf<C, ?>> implements Storage
     try {
       List<String> parentSchemaPath = new ArrayList<>(fullPath.subList(0, fullPath.size() - 1));
       FileSystem fs = createFS(user);
-      FileSelection fileSelection = FileSelection.create(fs, fullPath);
+      FileSelection fileSelection = FileSelection.create(fs, fullPath, getListParallelism());
       String tableName = datasetPath.getName();
 
       if (fileSelection == null) {
-        fileSelection = FileSelection.createWithFullSchema(fs, PathUtils.toFSPathString(parentSchemaPath), tableName);
+        fileSelection = FileSelection.createWithFullSchema(fs, PathUtils.toFSPathString(parentSchemaPath), tableName,
+            getListParallelism());
         if (fileSelection == null) {
           return null; // no table found
         } else {
@@ -876,6 +877,13 @@ public class FileSystemPlugin<C extends FileSystemConf<C, ?>> implements Storage
     return context;
   }
 
+  /**
+   * Maximum number of directories listed concurrently when expanding the directories of a dataset.
+   */
+  protected int getListParallelism() {
+    return (int) context.getOptionManager().getOption(ExecConstants.FILESYSTEM_LIST_PARALLELISM);
+  }
+
   @Override
   public void close() {
     // Empty cache
@@ -992,7 +1000,7 @@ public class FileSystemPlugin<C extends FileSystemConf<C, ?>> implements Storage
     List<String> fullPath = resolveTableNameToValidPath(tableSchemaPath);
     FileSelection fileSelection;
     try {
-      fileSelection = FileSelection.create(fs, fullPath);
+      fileSelection = FileSelection.create(fs, fullPath, getListParallelism());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
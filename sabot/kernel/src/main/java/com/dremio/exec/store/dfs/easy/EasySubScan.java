@@ -86,6 +86,12 @@ public class EasySubScan extends SubScanWithProjection {
     return splits;
   }
 
+  @Override
+  @JsonIgnore
+  public int getSplitCount() {
+    return splits == null ? -1 : splits.size();
+  }
+
   public List<String> getPartitionColumns() {
     return partitionColumns;
   }
@@ -106,6 +106,12 @@ public class ParquetSubScan extends SubScanWithProjection {
     return splits;
   }
 
+  @Override
+  @JsonIgnore
+  public int getSplitCount() {
+    return splits == null ? -1 : splits.size();
+  }
+
   public List<List<String>> getTablePath() {
     return tablePath;
   }
@@ -44,6 +44,24 @@ public final class DecimalUtils {
 
   public static final int LENGTH_OF_LONG = 8;
 
+  // powers of ten fitting in a long
+  private static final long[] POWERS_OF_TEN = new long[19];
+  // powers of ten exactly represented as doubles
+  private static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+  // largest unscaled value BigDecimal#doubleValue() converts with a single division
+  private static final long MAX_EXACT_DOUBLE = 1L << 52;
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+    DOUBLE_POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+      DOUBLE_POWERS_OF_TEN[i] = DOUBLE_POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
   private DecimalUtils() {}
 
   /**
@@ -64,6 +82,78 @@ public final class DecimalUtils {
     return new BigDecimal(unscaledValue, scale);
   }
 
+  /**
+   * Read a Decimal value from direct memory at address 'srcAddr', as a double.
+   * Same as getBigDecimalFromLEBytes(srcAddr, buf, scale).doubleValue(), without building a
+   * BigDecimal when the unscaled value is small enough.
+   * @param srcAddr direct memory address where the Decimal value is located
+   * @param buf temporary buffer of width DECIMAL_WIDTH
+   * @return the double value of the DECIMAL_WIDTH bytes at srcAddr
+   */
+  public static double getDoubleFromLEBytes(long srcAddr, byte[] buf, final int scale) {
+    final long low = PlatformDependent.getLong(srcAddr);
+    final long high = PlatformDependent.getLong(srcAddr + LENGTH_OF_LONG);
+    // same computation as BigDecimal#doubleValue() for compact values
+    if (fitsInLong(low, high) && -MAX_EXACT_DOUBLE < low && low < MAX_EXACT_DOUBLE
+        && scale >= 0 && scale < DOUBLE_POWERS_OF_TEN.length) {
+      return scale == 0 ? (double) low : (double) low / DOUBLE_POWERS_OF_TEN[scale];
+    }
+    return getBigDecimalFromLEBytes(srcAddr, buf, scale).doubleValue();
+  }
+
+  /**
+   * Whether a 16 byte decimal, represented as two longs, is the sign extension of its low order
+   * long, i.e. whether its unscaled value fits in a long.
+   */
+  public static boolean fitsInLong(long valLow, long valHigh) {
+    return valHigh == (valLow >> 63);
+  }
+
+  /**
+   * Gets 10^exponent as a long.
+   * @throws ArithmeticException if the power of ten does not fit in a long
+   */
+  public static long powerOfTen(int exponent) {
+    if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+      throw new ArithmeticException("long overflow");
+    }
+    return POWERS_OF_TEN[exponent];
+  }
+
+  /**
+   * Rescales an unscaled long value to a higher scale.
+   * @throws ArithmeticException if the rescaled value does not fit in a long
+   */
+  public static long scaleUp(long unscaledValue, int scaleIncrease) {
+    return scaleIncrease == 0 ? unscaledValue : Math.multiplyExact(unscaledValue, powerOfTen(scaleIncrease));
+  }
+
+  /**
+   * Rescales an unscaled long value to a lower scale, rounding half up (away from zero) as
+   * BigDecimal.ROUND_HALF_UP.
+   * @throws ArithmeticException if the power of ten to divide by does not fit in a long
+   */
+  public static long scaleDownRoundHalfUp(long unscaledValue, int scaleDecrease) {
+    if (scaleDecrease == 0) {
+      return unscaledValue;
+    }
+    final long divisor = powerOfTen(scaleDecrease);
+    final long quotient = unscaledValue / divisor;
+    final long remainder = Math.abs(unscaledValue % divisor);
+    if (remainder >= divisor - remainder) {
+      return unscaledValue < 0 ? quotient - 1 : quotient + 1;
+    }
+    return quotient;
+  }
+
+  /**
+   * Writes an unscaled long value as a 16 byte little endian decimal.
+   */
+  public static void writeLongToLEBytes(long dstAddr, long unscaledValue) {
+    PlatformDependent.putLong(dstAddr, unscaledValue);
+    PlatformDependent.putLong(dstAddr + LENGTH_OF_LONG, unscaledValue >> 63);
+  }
+
   /**
    * Given a byte array representing a decimal in big endian format
    * Converts it to Arrow Little Endian represenation of length 16 bytes.
@@ -130,6 +220,9 @@ public final class DecimalUtils {
 
   public static int compareDecimalsAsTwoLongs(long leftHigh, long leftLow, long rightHigh, long
     rightLow) {
+    if (fitsInLong(leftLow, leftHigh) && fitsInLong(rightLow, rightHigh)) {
+      return Long.compare(leftLow, rightLow);
+    }
     boolean isNegative1 = leftHigh < 0;
     boolean isNegative2 = rightHigh < 0;
     if (isNegative1 != isNegative2) {
@@ -183,6 +276,15 @@ public final class DecimalUtils {
    */
   public static void addSignedDecimals(long resultMemoryAddress, long leftValLow,
                                        long leftValHigh, long rightValLow, long rightValHigh) {
+    if (fitsInLong(leftValLow, leftValHigh) && fitsInLong(rightValLow, rightValHigh)) {
+      final long sum = leftValLow + rightValLow;
+      // the sum of two longs only overflows when its sign differs from the signs of both
+      if (((leftValLow ^ sum) & (rightValLow ^ sum)) >= 0) {
+        writeLongToLEBytes(resultMemoryAddress, sum);
+        return;
+      }
+    }
+
     boolean isNegative1 = leftValHigh < 0;
     boolean isNegative2 = rightValHigh < 0;
 
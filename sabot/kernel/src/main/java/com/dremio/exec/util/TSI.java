@@ -29,6 +29,7 @@ import org.joda.time.Weeks;
 import org.joda.time.Years;
 
 import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.expr.fn.impl.UtcDates;
 import com.google.common.collect.ImmutableList;
 
 public enum TSI {
@@ -44,6 +45,12 @@ public enum TSI {
       throw new UnsupportedOperationException("Fractional second is not supported");
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      // TODO (DX-11268): Fix TIMESTAMPADD(SQL_TSI_FRAC_SECOND, ..., ...) function
+      throw new UnsupportedOperationException("Fractional second is not supported");
+    }
+
     @Override
     public long getDiff(Interval interval) {
       // TODO (DX-11268): Fix TIMESTAMPADD(SQL_TSI_FRAC_SECOND, ..., ...) function
@@ -56,6 +63,11 @@ public enum TSI {
       dateTime.addSeconds(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMillis(millis, count, UtcDates.MILLIS_PER_SECOND);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Seconds.secondsIn(interval).getSeconds();
@@ -67,6 +79,11 @@ public enum TSI {
       dateTime.addMinutes(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMillis(millis, count, UtcDates.MILLIS_PER_MINUTE);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Minutes.minutesIn(interval).getMinutes();
@@ -78,6 +95,11 @@ public enum TSI {
       dateTime.addHours(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMillis(millis, count, UtcDates.MILLIS_PER_HOUR);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Hours.hoursIn(interval).getHours();
@@ -89,6 +111,11 @@ public enum TSI {
       dateTime.addDays(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMillis(millis, count, UtcDates.MILLIS_PER_DAY);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Days.daysIn(interval).getDays();
@@ -100,6 +127,11 @@ public enum TSI {
       dateTime.addWeeks(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMillis(millis, count, UtcDates.MILLIS_PER_WEEK);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Weeks.weeksIn(interval).getWeeks();
@@ -111,6 +143,11 @@ public enum TSI {
       dateTime.addMonths(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMonths(millis, count);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Months.monthsIn(interval).getMonths();
@@ -122,6 +159,11 @@ public enum TSI {
       dateTime.addMonths(3 * count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMonths(millis, 3 * count);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Months.monthsIn(interval).getMonths() / 3;
@@ -133,6 +175,11 @@ public enum TSI {
       dateTime.addYears(count);
     }
 
+    @Override
+    public long addCount(long millis, int count) {
+      return UtcDates.addMonths(millis, 12L * count);
+    }
+
     @Override
     public long getDiff(Interval interval) {
       return Years.yearsIn(interval).getYears();
@@ -171,12 +218,27 @@ public enum TSI {
   public abstract void addCount(MutableDateTime dateTime, int count);
 
   public void addCount(MutableDateTime dateTime, long count) {
+    checkCount(count);
+    addCount(dateTime, (int) count);
+  }
+
+  private void checkCount(long count) {
     if (count > Integer.MAX_VALUE || count < Integer.MIN_VALUE) {
       throw UserException.unsupportedError()
         .message("Do not support adding " + count + " " + this.getNames() + " to dateTime. [" + count + "] too large/small for integer.")
         .build(logger);
     }
-    addCount(dateTime, (int) count);
+  }
+
+  /**
+   * Adds count units to a timestamp in milliseconds since the epoch in UTC. Same as
+   * {@link #addCount(MutableDateTime, int)} in UTC, without going through a Joda date time.
+   */
+  public abstract long addCount(long millis, int count);
+
+  public long addCount(long millis, long count) {
+    checkCount(count);
+    return addCount(millis, (int) count);
   }
 
   public abstract long getDiff(Interval interval);
@@ -33,6 +33,7 @@ import com.dremio.exec.planner.sql.handlers.commands.AsyncCommand;
 import com.dremio.exec.planner.sql.handlers.commands.CommandCreator;
 import com.dremio.exec.planner.sql.handlers.commands.CommandRunner;
 import com.dremio.exec.planner.sql.handlers.commands.CommandRunner.CommandType;
+import com.dremio.exec.planner.sql.handlers.commands.PlanCache;
 import com.dremio.exec.planner.sql.handlers.commands.PreparedPlan;
 import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
 import com.dremio.exec.proto.CoordExecRPC.NodeQueryStatus;
@@ -107,6 +108,7 @@ public class AttemptManager implements Runnable {
   private final QueryManager queryManager; // handles lower-level details of query execution
   private final SabotContext sabotContext;
   private final Cache<Long, PreparedPlan> plans;
+  private final PlanCache planCache;
   private volatile QueryState state;
   private volatile String cancelReason;
   private volatile boolean clientCancelled;
@@ -141,6 +143,7 @@ public class AttemptManager implements Runnable {
       final OptionProvider options,
       final CoordToExecTunnelCreator tunnelCreator,
       final Cache<Long, PreparedPlan> plans,
+      final PlanCache planCache,
       final QueryContext queryContext,
       final ResourceAllocator queryResourceManager,
       final CommandPool commandPool,
@@ -157,6 +160,7 @@ public class AttemptManager implements Runnable {
     this.commandPool = commandPool;
     this.executorSelectionService = executorSelectionService;
     this.plans = plans;
+    this.planCache = planCache;
     this.prepareId = new Pointer<>();
 
     this.queryContext = queryContext;
@@ -431,7 +435,7 @@ public class AttemptManager implements Runnable {
 
   protected CommandCreator newCommandCreator(QueryContext queryContext, AttemptObserver observer, Pointer<QueryId> prepareId) {
     return new CommandCreator(this.sabotContext, queryContext, tunnelCreator, queryRequest,
-      observer, plans, prepareId, attemptId.getAttemptNum(), queryResourceManager, executorSelectionService);
+      observer, plans, planCache, prepareId, attemptId.getAttemptNum(), queryResourceManager, executorSelectionService);
   }
 
   /**
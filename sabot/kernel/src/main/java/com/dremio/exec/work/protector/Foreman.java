@@ -40,6 +40,7 @@ import com.dremio.exec.planner.observer.DelegatingAttemptObserver;
 import com.dremio.exec.planner.observer.QueryObserver;
 import com.dremio.exec.planner.physical.HashAggPrel;
 import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.sql.handlers.commands.PlanCache;
 import com.dremio.exec.planner.sql.handlers.commands.PreparedPlan;
 import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
 import com.dremio.exec.proto.CoordExecRPC.NodeQueryStatus;
@@ -104,6 +105,7 @@ public class Foreman {
   private final ReAttemptHandler attemptHandler;
   private final CoordToExecTunnelCreator tunnelCreator;
   private final Cache<Long, PreparedPlan> plans;
+  private final PlanCache planCache;
   private final ResourceAllocator queryResourceManager;
   private final ExecutorSelectionService executorSelectionService;
 
@@ -127,6 +129,7 @@ public class Foreman {
       final ReAttemptHandler attemptHandler,
       final CoordToExecTunnelCreator tunnelCreator,
       Cache<Long, PreparedPlan> plans,
+      final PlanCache planCache,
       final ResourceAllocator queryResourceManager,
       final ExecutorSelectionService executorSelectionService) {
     this.attemptId = AttemptId.of(externalId);
@@ -141,6 +144,7 @@ public class Foreman {
     this.attemptHandler = attemptHandler;
     this.tunnelCreator = tunnelCreator;
     this.plans = plans;
+    this.planCache = planCache;
     this.queryResourceManager = queryResourceManager;
     this.executorSelectionService = executorSelectionService;
   }
@@ -189,7 +193,8 @@ public class Foreman {
     }
 
     attemptManager = newAttemptManager(context, attemptId, request, attemptObserver, session,
-      optionProvider, tunnelCreator, plans, datasetValidityChecker, queryResourceManager, commandPool, executorSelectionService);
+      optionProvider, tunnelCreator, plans, planCache, datasetValidityChecker, queryResourceManager, commandPool,
+      executorSelectionService);
 
     if (request.runInSameThread()) {
       attemptManager.run();
@@ -200,12 +205,13 @@ public class Foreman {
 
   protected AttemptManager newAttemptManager(SabotContext context, AttemptId attemptId, UserRequest queryRequest,
       AttemptObserver observer, UserSession session, OptionProvider options, CoordToExecTunnelCreator tunnelCreator,
-      Cache<Long, PreparedPlan> plans, Predicate<DatasetConfig> datasetValidityChecker, ResourceAllocator resourceAllocator,
+      Cache<Long, PreparedPlan> plans, PlanCache planCache, Predicate<DatasetConfig> datasetValidityChecker,
+      ResourceAllocator resourceAllocator,
       CommandPool commandPool, ExecutorSelectionService executorSelectionService) {
     final QueryContext queryContext = new QueryContext(session, context, attemptId.toQueryId(),
         queryRequest.getPriority(), queryRequest.getMaxAllocation(), datasetValidityChecker);
     return new AttemptManager(context, attemptId, queryRequest, observer, options, tunnelCreator, plans,
-      queryContext, resourceAllocator, commandPool, executorSelectionService, queryRequest.runInSameThread());
+      planCache, queryContext, resourceAllocator, commandPool, executorSelectionService, queryRequest.runInSameThread());
   }
 
   public void updateStatus(FragmentStatus status) {
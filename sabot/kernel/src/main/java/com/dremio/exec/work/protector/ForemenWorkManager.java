@@ -36,6 +36,7 @@ import com.dremio.common.utils.protos.QueryIdHelper;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.planner.observer.OutOfBandQueryObserver;
 import com.dremio.exec.planner.observer.QueryObserver;
+import com.dremio.exec.planner.sql.handlers.commands.PlanCache;
 import com.dremio.exec.planner.sql.handlers.commands.PreparedPlan;
 import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
 import com.dremio.exec.proto.CoordExecRPC.NodeQueryStatus;
@@ -105,6 +106,14 @@ public class ForemenWorkManager implements Service, SafeExit {
       .expireAfterWrite(Long.getLong(PREPARE_HANDLE_TIMEOUT_MS, 60_000L), TimeUnit.MILLISECONDS)
       .build();
 
+  private static final String PLAN_CACHE_SIZE_BYTES = "dremio.planner.plan_cache.size_bytes";
+  private static final String PLAN_CACHE_TIMEOUT_MS = "dremio.planner.plan_cache.timeout_ms";
+
+  // cache of the plans of ad-hoc queries.
+  private final PlanCache planCache = new PlanCache(
+      Long.getLong(PLAN_CACHE_SIZE_BYTES, 128 * 1024 * 1024L),
+      Long.getLong(PLAN_CACHE_TIMEOUT_MS, TimeUnit.MINUTES.toMillis(10)));
+
   // single map of currently running queries, mapped by their external ids.
   private final ConcurrentMap<ExternalId, ManagedForeman> externalIdToForeman = Maps.newConcurrentMap();
   private final NodeStatusListener nodeListener = new NodeStatusListener();
@@ -144,6 +153,9 @@ public class ForemenWorkManager implements Service, SafeExit {
   public void start() throws Exception {
 
     Metrics.newGauge(Metrics.join("jobs","active"), () -> externalIdToForeman.size());
+    Metrics.newGauge(Metrics.join("planner", "plan_cache", "hits"), planCache::hitCount);
+    Metrics.newGauge(Metrics.join("planner", "plan_cache", "misses"), planCache::missCount);
+    Metrics.newGauge(Metrics.join("planner", "plan_cache", "size"), planCache::size);
 
     coordinator = coord.get();
     coordinator.getServiceSet(ClusterCoordinator.Role.EXECUTOR).addNodeStatusListener(nodeListener);
@@ -205,7 +217,7 @@ public class ForemenWorkManager implements Service, SafeExit {
 
     final DelegatingCompletionListener delegate = new DelegatingCompletionListener();
     final Foreman foreman = newForeman(pool, commandPool.get(), delegate, externalId, observer, session, request,
-      config, attemptHandler, tunnelCreator, preparedHandles);
+      config, attemptHandler, tunnelCreator, preparedHandles, planCache);
     final ManagedForeman managed = new ManagedForeman(registry, foreman);
     externalIdToForeman.put(foreman.getExternalId(), managed);
     delegate.setListener(managed);
@@ -215,9 +227,9 @@ public class ForemenWorkManager implements Service, SafeExit {
   protected Foreman newForeman(Executor executor, CommandPool commandPool, CompletionListener listener, ExternalId externalId,
       QueryObserver observer, UserSession session, UserRequest request, OptionProvider config,
       ReAttemptHandler attemptHandler, CoordToExecTunnelCreator tunnelCreator,
-      Cache<Long, PreparedPlan> plans) {
+      Cache<Long, PreparedPlan> plans, PlanCache planCache) {
     return new Foreman(dbContext.get(), executor, commandPool, listener, externalId, observer, session, request, config,
-      attemptHandler, tunnelCreator, plans, queryResourceManager.get(), executorSelectionService.get());
+      attemptHandler, tunnelCreator, plans, planCache, queryResourceManager.get(), executorSelectionService.get());
   }
 
   /**
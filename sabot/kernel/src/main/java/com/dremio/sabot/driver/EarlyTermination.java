@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.driver;
+
+import com.dremio.sabot.op.spi.BatchStreamProvider;
+import com.dremio.sabot.op.spi.Operator;
+import com.dremio.sabot.op.spi.Operator.MasterState;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Tracks the receivers feeding an operator that stops consuming before its input is exhausted (a satisfied limit)
+ * within a fragment. Once the operator is done, the senders feeding those receivers are informed right away instead
+ * of when the fragment finishes, which in turn lets the upstream fragments terminate early.
+ */
+class EarlyTermination {
+
+  private final Operator operator;
+  private final int[] senderMajorFragmentIds;
+  private final BatchStreamProvider streams;
+  private boolean informed = false;
+
+  EarlyTermination(Operator operator, int[] senderMajorFragmentIds, BatchStreamProvider streams) {
+    Preconditions.checkArgument(senderMajorFragmentIds.length > 0);
+    this.operator = operator;
+    this.senderMajorFragmentIds = senderMajorFragmentIds;
+    this.streams = streams;
+  }
+
+  /**
+   * Inform upstream senders if the operator is done.
+   *
+   * @return true if upstream senders have been informed, either during this call or a previous one.
+   */
+  boolean informUpstreamIfDone() {
+    if (!informed && operator.getState().getMasterState() == MasterState.DONE) {
+      for (int senderMajorFragmentId : senderMajorFragmentIds) {
+        streams.informUpstreamFinished(senderMajorFragmentId);
+      }
+      informed = true;
+    }
+    return informed;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+      .add("operator", operator)
+      .add("informed", informed)
+      .toString();
+  }
+}
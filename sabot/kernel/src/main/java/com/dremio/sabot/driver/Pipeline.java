@@ -15,6 +15,7 @@
  */
 package com.dremio.sabot.driver;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +38,7 @@ public class Pipeline implements AutoCloseable {
   private final TerminalOperator terminal;
   private final Pipe terminalPipe;
   private final SharedResourcesContext sharedResourcesContext;
+  private final List<EarlyTermination> earlyTerminations;
   private boolean closed = false;
 
   /**
@@ -45,9 +47,10 @@ public class Pipeline implements AutoCloseable {
    * @param terminal The terminal operator, (this is the endpoint of the terminal pipe and is passed in so we are type safe). It is made available to inform this pipeline that one or more receivers are no longer interested in downstream messages.
    * @param operators A list of all the operators associated with this pipe. This is done to manage closing. We keep this typed (as opposed to List<AutoCloseable> to help with debugging.
    * @param sharedResourcesContext shared resources context
+   * @param earlyTerminations The sinks whose upstream senders should be informed as soon as the sink is done.
    */
   public Pipeline(Pipe terminalPipe, TerminalOperator terminal, List<Wrapped<?>> operators,
-                  SharedResourcesContext sharedResourcesContext) {
+                  SharedResourcesContext sharedResourcesContext, List<EarlyTermination> earlyTerminations) {
     this.terminalPipe = terminalPipe;
     while (terminalPipe.getRequiredUpstream() != null) {
       terminalPipe = terminalPipe.getRequiredUpstream();
@@ -62,6 +65,7 @@ public class Pipeline implements AutoCloseable {
     this.currentPipe = terminalPipe;
     this.terminal = terminal;
     this.sharedResourcesContext = sharedResourcesContext;
+    this.earlyTerminations = new ArrayList<>(earlyTerminations);
   }
 
   public void setup() throws Exception {
@@ -97,6 +101,9 @@ public class Pipeline implements AutoCloseable {
    */
   public State pumpOnce() throws Exception {
     final State state = doPump();
+    if (!earlyTerminations.isEmpty()) {
+      earlyTerminations.removeIf(EarlyTermination::informUpstreamIfDone);
+    }
     if (state == State.RUNNABLE && !sharedResourcesContext.isRunnable()) {
       return State.BLOCKED_ON_SHARED_RESOURCE;
     }
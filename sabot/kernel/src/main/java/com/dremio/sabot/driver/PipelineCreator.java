@@ -17,6 +17,8 @@ package com.dremio.sabot.driver;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import com.dremio.common.AutoCloseables;
 import com.dremio.common.AutoCloseables.RollbackCloseable;
@@ -30,6 +32,7 @@ import com.dremio.exec.physical.base.Sender;
 import com.dremio.exec.physical.base.SubScan;
 import com.dremio.exec.physical.config.EmptyValues;
 import com.dremio.exec.physical.config.HashJoinPOP;
+import com.dremio.exec.physical.config.Limit;
 import com.dremio.exec.physical.config.MergeJoinPOP;
 import com.dremio.exec.physical.config.NestedLoopJoinPOP;
 import com.dremio.exec.physical.config.Screen;
@@ -47,6 +50,7 @@ import com.dremio.sabot.op.spi.SingleInputOperator;
 import com.dremio.sabot.op.spi.TerminalOperator;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.Ints;
 
 /**
  * Factor class used to generate a PipelineDriver.
@@ -60,6 +64,7 @@ public class PipelineCreator {
   private final IncomingBuffers buffers;
   private final OperatorCreator creator;
   private final List<Wrapped<?>> operators = new ArrayList<>();
+  private final List<EarlyTermination> earlyTerminations = new ArrayList<>();
   private final SharedResourcesContext sharedResourcesContext;
 
   private PipelineCreator(
@@ -106,7 +111,8 @@ public class PipelineCreator {
       final CreatorVisitor visitor = new CreatorVisitor();
       OpPipe opPipe = operator.accept(visitor, null);
       Preconditions.checkNotNull(opPipe.getPipe());
-      Pipeline driver = new Pipeline(opPipe.getPipe(), visitor.terminal, operators, sharedResourcesContext);
+      Pipeline driver = new Pipeline(opPipe.getPipe(), visitor.terminal, operators, sharedResourcesContext,
+        earlyTerminations);
       closeable.commit();
       return driver;
     }
@@ -131,6 +137,28 @@ public class PipelineCreator {
       this.terminal = terminal;
     }
 
+    /**
+     * Track the receivers within the input of an operator that can be done before its input is exhausted, so their
+     * senders can be informed as soon as the operator is done.
+     */
+    private void trackEarlyTermination(Operator operator, PhysicalOperator input) {
+      final Set<Integer> senderMajorFragmentIds = new TreeSet<>();
+      collectSenderMajorFragmentIds(input, senderMajorFragmentIds);
+      if (!senderMajorFragmentIds.isEmpty()) {
+        earlyTerminations.add(new EarlyTermination(operator, Ints.toArray(senderMajorFragmentIds), buffers));
+      }
+    }
+
+    private void collectSenderMajorFragmentIds(PhysicalOperator operator, Set<Integer> senderMajorFragmentIds) {
+      if (operator instanceof Receiver) {
+        senderMajorFragmentIds.add(((Receiver) operator).getSenderMajorFragmentId());
+        return;
+      }
+      for (PhysicalOperator child : operator) {
+        collectSenderMajorFragmentIds(child, senderMajorFragmentIds);
+      }
+    }
+
     @Override
     public OpPipe visitUnion(UnionAll config, Void value) throws Exception {
       return dualInput(config);
@@ -235,8 +263,18 @@ public class PipelineCreator {
       return pair(new StraightPipe(sink, input), sink).associate(input);
     }
 
+    @Override
+    public OpPipe visitLimit(Limit config, Void value) throws Exception {
+      // a satisfied limit stops consuming its input, the senders below it don't need to keep sending.
+      return singleInput(config, true);
+    }
+
     @Override
     public OpPipe visitOp(PhysicalOperator config, Void value) throws Exception {
+      return singleInput(config, false);
+    }
+
+    private OpPipe singleInput(PhysicalOperator config, boolean earlyTermination) throws Exception {
       Preconditions.checkArgument(config instanceof AbstractSingle, "Object %s was expected to be implementation of AbstractSingle, but was not. Class was %s.", config.toString(), config.getClass().getName());
       OperatorContext context = operatorContextCreator.newOperatorContext(config);
       SingleInputOperator sink = record(
@@ -244,6 +282,9 @@ public class PipelineCreator {
           context,
           config,
           functionLookupContext));
+      if (earlyTermination) {
+        trackEarlyTermination(sink, ((AbstractSingle) config).getChild());
+      }
       OpPipe input = ((AbstractSingle) config).getChild().accept(this, null);
       return pair(new StraightPipe(sink, input), sink).associate(input);
     }
@@ -151,6 +151,13 @@ public class FragmentHandler implements EventProvider {
 
   void receiverFinished(FragmentHandle receiver) {
     finishedReceivers.add(new FragmentEvent(receiver));
+
+    // A missing executor means it either terminated or hasn't started yet, in the latter case the message will be
+    // handled once the executor starts.
+    final FragmentExecutor executor = execReference.getReference();
+    if (executor != null) {
+      executor.getListener().receiverFinished();
+    }
   }
 
   @Override
@@ -51,6 +51,7 @@ public class FragmentStats {
   private long blockedOnSharedResourceDuration;
 
   private long numRuns;
+  private long splitsSkipped;
 
   private final Stopwatch runWatch = Stopwatch.createUnstarted();
   private final Stopwatch setupWatch = Stopwatch.createUnstarted();
@@ -103,6 +104,7 @@ public class FragmentStats {
     prfB.setSetupDuration(setupWatch.elapsed(MILLISECONDS));
     prfB.setFinishDuration(finishWatch.elapsed(MILLISECONDS));
     prfB.setNumRuns(numRuns);
+    prfB.setNumSplitsSkipped(splitsSkipped);
   }
 
   /**
@@ -153,6 +155,10 @@ public class FragmentStats {
     this.sleepingDuration = sleepingDuration;
   }
 
+  public void setSplitsSkipped(long splitsSkipped) {
+    this.splitsSkipped = splitsSkipped;
+  }
+
   public void setBlockedOnUpstreamDuration(long blockedDuration) {
     this.blockedOnUpstreamDuration = blockedDuration;
   }
@@ -19,6 +19,7 @@ import static com.dremio.sabot.exec.fragment.FragmentExecutorBuilder.PIPELINE_RE
 import static com.dremio.sabot.exec.fragment.FragmentExecutorBuilder.WORK_QUEUE_RES_GRP;
 
 import java.security.PrivilegedExceptionAction;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -31,8 +32,11 @@ import com.dremio.common.exceptions.UserException;
 import com.dremio.common.utils.protos.QueryIdHelper;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.expr.fn.FunctionLookupContext;
+import com.dremio.exec.physical.base.AbstractSender;
 import com.dremio.exec.physical.base.PhysicalOperator;
+import com.dremio.exec.physical.base.SubScan;
 import com.dremio.exec.planner.fragment.CachedFragmentReader;
+import com.dremio.exec.planner.fragment.EndpointsIndex;
 import com.dremio.exec.planner.fragment.PlanFragmentFull;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
@@ -117,6 +121,10 @@ public class FragmentExecutor {
 
   private boolean retired = false;
   private boolean isSetup = false;
+  private PhysicalOperator rootOperator;
+
+  // finished receivers received before the fragment was setup. Only accessed by the execution thread.
+  private final Set<FragmentHandle> finishedReceiversBeforeSetup = new LinkedHashSet<>();
 
   // All tasks start as runnable. Only the execution thread will be allowed to change this value so no locking is needed.
   private volatile State taskState = State.RUNNABLE;
@@ -253,6 +261,11 @@ public class FragmentExecutor {
 
       // setup the execution if it isn't setup.
       if(!isSetup){
+        if (allReceiversFinished()) {
+          // all receivers of this fragment finished (e.g. a satisfied limit) before it got a chance to start.
+          skipExecution();
+          return;
+        }
         stats.setupStarted();
         try {
           setupExecution();
@@ -264,6 +277,10 @@ public class FragmentExecutor {
       }
 
       // handle any previously sent fragment finished messages.
+      for (FragmentHandle finishedFragment : finishedReceiversBeforeSetup) {
+        pipeline.getTerminalOperator().receivingFragmentFinished(finishedFragment);
+      }
+      finishedReceiversBeforeSetup.clear();
       FragmentHandle finishedFragment;
       while ((finishedFragment = eventProvider.pollFinishedReceiver()) != null) {
         pipeline.getTerminalOperator().receivingFragmentFinished(finishedFragment);
@@ -353,7 +370,7 @@ public class FragmentExecutor {
       Long.MAX_VALUE);
     contextCreator.setFragmentOutputAllocator(outputAllocator);
 
-    final PhysicalOperator rootOperator = reader.readFragment(fragment);
+    final PhysicalOperator root = getRootOperator();
     FunctionLookupContext functionLookupContextToUse = functionLookupContext;
     if (fragmentOptions.getOption(PlannerSettings.ENABLE_DECIMAL_V2)) {
       functionLookupContextToUse = decimalFunctionLookupContext;
@@ -364,7 +381,7 @@ public class FragmentExecutor {
         opCreator,
         contextCreator,
         functionLookupContextToUse,
-        rootOperator,
+        root,
         tunnelProvider,
         new SharedResourcesContextImpl(sharedResources)
         );
@@ -377,6 +394,57 @@ public class FragmentExecutor {
     isSetup = true;
   }
 
+  private PhysicalOperator getRootOperator() throws Exception {
+    if (rootOperator == null) {
+      rootOperator = reader.readFragment(fragment);
+    }
+    return rootOperator;
+  }
+
+  /**
+   * Checks whether all the receivers of this fragment are already finished. Only called before setup, the finished
+   * receivers are retained so they can be passed to the terminal operator once the fragment is setup.
+   */
+  private boolean allReceiversFinished() throws Exception {
+    FragmentHandle finishedFragment;
+    while ((finishedFragment = eventProvider.pollFinishedReceiver()) != null) {
+      finishedReceiversBeforeSetup.add(finishedFragment);
+    }
+    if (finishedReceiversBeforeSetup.isEmpty()) {
+      return false;
+    }
+
+    final PhysicalOperator root = getRootOperator();
+    if (!(root instanceof AbstractSender)) {
+      return false;
+    }
+    final EndpointsIndex endpointsIndex = reader.getPlanFragmentsIndex().getEndpointsIndex();
+    return finishedReceiversBeforeSetup.size() >= ((AbstractSender) root).getDestinations(endpointsIndex).size();
+  }
+
+  /**
+   * Finishes the fragment without setting up its pipeline. Closing the incoming buffers in retire() informs the
+   * upstream fragments that their data is no longer needed.
+   */
+  private void skipExecution() throws Exception {
+    final long skippedSplits = countSplits(getRootOperator());
+    stats.setSplitsSkipped(skippedSplits);
+    logger.debug("All receivers of fragment {} finished before it started, skipping execution of {} splits.",
+      QueryIdHelper.getQueryIdentifier(fragment.getHandle()), skippedSplits);
+    transitionToFinished();
+  }
+
+  private static long countSplits(PhysicalOperator operator) {
+    long splits = 0;
+    if (operator instanceof SubScan) {
+      splits += Math.max(((SubScan) operator).getSplitCount(), 0);
+    }
+    for (PhysicalOperator child : operator) {
+      splits += countSplits(child);
+    }
+    return splits;
+  }
+
   // called every time a run is completed.
   private void finishRun(String originalThreadName) {
 
@@ -637,6 +705,10 @@ public class FragmentExecutor {
       requestActivate("activate message from foreman");
     }
 
+    public void receiverFinished() {
+      requestActivate("receiver finished message");
+    }
+
     public void cancel() {
       requestActivate("cancel message from foreman");
       requestCancellation();
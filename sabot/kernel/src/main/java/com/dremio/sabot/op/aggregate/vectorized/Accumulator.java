@@ -67,6 +67,15 @@ public interface Accumulator extends AutoCloseable {
    */
   FieldVector getInput();
 
+  /**
+   * Prepare for accumulating a new batch of records from the input vector,
+   * before accumulate() is called for any of its partitions. Lets the
+   * accumulator check once per batch whether the input has null values.
+   *
+   * @param records number of records in the input vector
+   */
+  void prepareInput(int records);
+
   int getValidityBufferSize();
 
   int getDataBufferSize();
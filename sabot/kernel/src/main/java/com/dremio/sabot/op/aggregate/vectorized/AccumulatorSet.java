@@ -203,6 +203,12 @@ public class AccumulatorSet implements ResizeListener, AutoCloseable {
     } // hashtable/operator will handle the exception
   }
 
+  public void prepareInput(final int records) {
+    for(Accumulator a : children){
+      a.prepareInput(records);
+    }
+  }
+
   public void accumulate(final long memoryAddr, final int count,
                          final int bitsInChunk, final int chunkOffsetMask) {
     for(Accumulator a : children){
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.FixedWidthVector;
 import org.apache.arrow.vector.util.DecimalUtility;
@@ -48,6 +49,7 @@ abstract class BaseSingleAccumulator implements Accumulator {
   private static final long ON = 0xFFFFFFFFFFFFFFFFl;
 
   private FieldVector input;
+  private boolean inputHasNulls = true;
   private final FieldVector output;
   private final FieldVector transferVector;
   private FieldVector[] accumulators;
@@ -181,6 +183,28 @@ abstract class BaseSingleAccumulator implements Accumulator {
   @Override
   public void setInput(final FieldVector inputVector) {
     this.input = inputVector;
+    this.inputHasNulls = true;
+  }
+
+  /**
+   * Count the null values of the incoming batch, so that accumulate() can
+   * skip reading the validity of the input when there are none.
+   *
+   * @param records number of records in the input vector
+   */
+  @Override
+  public void prepareInput(final int records) {
+    inputHasNulls = input == null || BitVectorHelper.getNullCount(input.getValidityBuffer(), records) > 0;
+  }
+
+  /**
+   * Whether the input vector may have null values. This is true unless
+   * {@link #prepareInput(int)} found none in the current batch.
+   *
+   * @return false if all the values of the input batch are set
+   */
+  boolean inputHasNulls() {
+    return inputHasNulls;
   }
 
   private void initArrs(int size){
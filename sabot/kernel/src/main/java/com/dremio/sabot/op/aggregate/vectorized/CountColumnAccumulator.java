@@ -37,9 +37,25 @@ public class CountColumnAccumulator extends BaseSingleAccumulator {
                          final int bitsInChunk, final int chunkOffsetMask){
     final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
     final long incomingBit = getInput().getValidityBufferAddress();
+    final boolean inputHasNulls = inputHasNulls();
     final long[] valueAddresses = this.valueAddresses;
     final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+    if (!inputHasNulls) {
+      // every value of the batch is set, the input validity is neither read nor applied.
+      for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+        /* get the hash table ordinal */
+        final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+        /* get the target addresses of accumulation vector */
+        final int chunkIndex = tableIndex >>> bitsInChunk;
+        final int chunkOffset = tableIndex & chunkOffsetMask;
+        final long countAddr = valueAddresses[chunkIndex] + chunkOffset * 8;
+        /* store the accumulated values(count) at the target location of accumulation vector */
+        PlatformDependent.putLong(countAddr, PlatformDependent.getLong(countAddr) + 1);
+      }
+      return;
+    }
+
     for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
       /* get the hash table ordinal */
       final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
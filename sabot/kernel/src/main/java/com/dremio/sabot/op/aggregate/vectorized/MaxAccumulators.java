@@ -55,11 +55,35 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final int newVal = PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new max or existing) at the target location of accumulation vector */
+          PlatformDependent.putInt(maxAddr, Math.max(PlatformDependent.getInt(maxAddr), newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -104,11 +128,35 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final float newVal = Float.intBitsToFloat(PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new max or existing) at the target location of accumulation vector */
+          PlatformDependent.putInt(maxAddr, Float.floatToRawIntBits(Math.max(Float.intBitsToFloat(PlatformDependent.getInt(maxAddr)), newVal)));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -152,11 +200,35 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final long newVal = PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new max or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(maxAddr, Math.max(PlatformDependent.getLong(maxAddr), newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -251,11 +323,34 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = Double.longBitsToDouble(PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          PlatformDependent.putLong(maxAddr, Double.doubleToRawLongBits(Math.max(Double.longBitsToDouble(PlatformDependent.getLong(maxAddr)), newVal)));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -300,19 +395,43 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int scale = ((DecimalVector)inputVector).getScale();
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new max or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(maxAddr, Double.doubleToLongBits(Math.max(Double.longBitsToDouble(PlatformDependent.getLong(maxAddr)), newVal)));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
         /* get the index of data in input vector */
         final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
         /* get the corresponding data from input vector -- source data for accumulation */
-        java.math.BigDecimal newVal = DecimalUtils.getBigDecimalFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+        final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
         final int bitVal = (PlatformDependent.getByte(incomingBit + ((incomingIndex >>> 3))) >>> (incomingIndex & 7)) & 1;
         /* get the hash table batch index */
         final int chunkIndex = tableIndex >>> bitsInChunk;
@@ -322,7 +441,7 @@ public class MaxAccumulators {
         final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
         final int bitUpdateVal = bitVal << (chunkOffset & 31);
         /* store the accumulated values(new max or existing) at the target location of accumulation vector */
-        PlatformDependent.putLong(maxAddr, Double.doubleToLongBits(max(Double.longBitsToDouble(PlatformDependent.getLong(maxAddr)), newVal.doubleValue(), bitVal)));
+        PlatformDependent.putLong(maxAddr, Double.doubleToLongBits(max(Double.longBitsToDouble(PlatformDependent.getLong(maxAddr)), newVal, bitVal)));
         PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
       }
     }
@@ -350,11 +469,47 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          long addressOfInput = incomingValue + (incomingIndex * WIDTH_INPUT);
+          long newValLow = PlatformDependent.getLong(addressOfInput);
+          long newValHigh = PlatformDependent.getLong(addressOfInput + DecimalUtils.LENGTH_OF_LONG);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new max or existing) at the target location of accumulation vector */
+          long curValLow = PlatformDependent.getLong(maxAddr);
+          long curValHigh = PlatformDependent.getLong(maxAddr + DecimalUtils.LENGTH_OF_LONG);
+          int compare = DecimalUtils.compareDecimalsAsTwoLongs(newValHigh, newValLow, curValHigh,
+            curValLow);
+
+          if (compare > 0) {
+            /* store the accumulated values(new max or existing) at the target location of
+            accumulation vector */
+            PlatformDependent.putLong(maxAddr, newValLow);
+            PlatformDependent.putLong(maxAddr + DecimalUtils.LENGTH_OF_LONG, newValHigh);
+            PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+          }
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -487,11 +642,45 @@ public class MaxAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final long newVal = PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long maxAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          // first 4 bytes are the number of days (in little endian, that's the bottom 32 bits)
+          // second 4 bytes are the number of milliseconds (in little endian, that's the top 32 bits)
+          final int newDays = (int) newVal;
+          final int newMillis = (int)(newVal >>> 32);
+          // To compare the pairs of day/milli, we swap them, with days getting the most significant bits
+          final long newSwappedVal = ((((long)newDays) << 32) | newMillis);
+          final long maxVal = PlatformDependent.getLong(maxAddr);
+          final int maxDays = (int) maxVal;
+          final int maxMillis = (int)(maxVal >>> 32);
+          final long maxSwappedVal = (((long)maxDays) << 32) | maxMillis;
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(maxAddr, (maxSwappedVal > newSwappedVal) ? maxVal : newVal);
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
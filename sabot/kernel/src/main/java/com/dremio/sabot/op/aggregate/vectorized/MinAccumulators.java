@@ -55,11 +55,35 @@ public class MinAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final int newVal = PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putInt(minAddr, Math.min(PlatformDependent.getInt(minAddr), newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -104,11 +128,35 @@ public class MinAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final float newVal = Float.intBitsToFloat(PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putInt(minAddr, Float.floatToIntBits(Math.min(Float.intBitsToFloat(PlatformDependent.getInt(minAddr)), newVal)));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -152,11 +200,35 @@ public class MinAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final long newVal = PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(minAddr, Math.min(PlatformDependent.getLong(minAddr), newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -252,11 +324,35 @@ public class MinAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = Double.longBitsToDouble(PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(minAddr, Double.doubleToLongBits(Math.min(Double.longBitsToDouble(PlatformDependent.getLong(minAddr)), newVal)));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -303,19 +399,43 @@ public class MinAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int scale = ((DecimalVector)inputVector).getScale();
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(minAddr, Double.doubleToLongBits(Math.min(Double.longBitsToDouble(PlatformDependent.getLong(minAddr)), newVal)));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
         /* get the index of data in input vector */
         final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
         /* get the corresponding data from input vector -- source data for accumulation */
-        java.math.BigDecimal newVal = DecimalUtils.getBigDecimalFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+        final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
         final int bitVal = (PlatformDependent.getByte(incomingBit + ((incomingIndex >>> 3))) >>> (incomingIndex & 7)) & 1;
         /* get the hash table batch index */
         final int chunkIndex = tableIndex >>> bitsInChunk;
@@ -325,7 +445,7 @@ public class MinAccumulators {
         final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
         final int bitUpdateVal = bitVal << (chunkOffset & 31);
         /* store the accumulated values(new min or existing) at the target location of accumulation vector */
-        PlatformDependent.putLong(minAddr, Double.doubleToLongBits(min(Double.longBitsToDouble(PlatformDependent.getLong(minAddr)), newVal.doubleValue(), bitVal)));
+        PlatformDependent.putLong(minAddr, Double.doubleToLongBits(min(Double.longBitsToDouble(PlatformDependent.getLong(minAddr)), newVal, bitVal)));
         PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
       }
     }
@@ -353,11 +473,47 @@ public class MinAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          long addressOfInput = incomingValue + (incomingIndex * WIDTH_INPUT);
+          long newValLow = PlatformDependent.getLong(addressOfInput);
+          long newValHigh = PlatformDependent.getLong(addressOfInput + DecimalUtils.LENGTH_OF_LONG);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* Get current value and compare */
+          long curValLow = PlatformDependent.getLong(minAddr);
+          long curValHigh = PlatformDependent.getLong(minAddr + DecimalUtils.LENGTH_OF_LONG);
+          int compare = DecimalUtils.compareDecimalsAsTwoLongs(newValHigh, newValLow, curValHigh,
+            curValLow);
+
+          if (compare < 0) {
+            /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+            PlatformDependent.putLong(minAddr, newValLow);
+            PlatformDependent.putLong(minAddr + DecimalUtils.LENGTH_OF_LONG, newValHigh);
+            PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+          }
+
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -492,11 +648,45 @@ public class MinAccumulators {
       final long maxMemAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final long newVal = PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long minAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          // first 4 bytes are the number of days (in little endian, that's the bottom 32 bits)
+          // second 4 bytes are the number of milliseconds (in little endian, that's the top 32 bits)
+          final int newDays = (int) newVal;
+          final int newMillis = (int)(newVal >>> 32);
+          // To compare the pairs of day/milli, we swap them, with days getting the most significant bits
+          final long newSwappedVal = ((((long)newDays) << 32) | newMillis);
+          final long minVal = PlatformDependent.getLong(minAddr);
+          final int minDays = (int) minVal;
+          final int minMillis = (int)(minVal >>> 32);
+          final long minSwappedVal = (((long)minDays) << 32) | minMillis;
+          /* store the accumulated values(new min or existing) at the target location of accumulation vector */
+          PlatformDependent.putLong(minAddr, (minSwappedVal < newSwappedVal) ? minVal : newVal);
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxMemAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -52,11 +52,35 @@ public class SumAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final int newVal = PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, PlatformDependent.getLong(sumAddr) + newVal);
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -99,11 +123,35 @@ public class SumAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final float newVal = Float.intBitsToFloat(PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -214,11 +262,35 @@ public class SumAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final long newVal = PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, PlatformDependent.getLong(sumAddr) + newVal);
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -331,11 +403,35 @@ public class SumAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = Double.longBitsToDouble(PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -379,12 +475,36 @@ public class SumAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int scale = ((DecimalVector) inputVector).getScale();
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal));
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -392,7 +512,7 @@ public class SumAccumulators {
         final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
         /* get the corresponding data from input vector -- source data for accumulation */
         final int bitVal = (PlatformDependent.getByte(incomingBit + ((incomingIndex >>> 3))) >>> (incomingIndex & 7)) & 1;
-        java.math.BigDecimal newVal = DecimalUtils.getBigDecimalFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+        final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
         /* get the hash table batch index */
         final int chunkIndex = tableIndex >>> bitsInChunk;
         final int chunkOffset = tableIndex & chunkOffsetMask;
@@ -401,7 +521,7 @@ public class SumAccumulators {
         final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
         final int bitUpdateVal = bitVal << (chunkOffset & 31);
         /* store the accumulated values at the target location of accumulation vector */
-        PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal.doubleValue() * bitVal));
+        PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal * bitVal));
         PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
       }
     }
@@ -428,12 +548,40 @@ public class SumAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] bitAddresses = this.bitAddresses;
       final long[] valueAddresses = this.valueAddresses;
       final int scale = ((DecimalVector) inputVector).getScale();
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          long addressOfInput = incomingValue + (incomingIndex * WIDTH_INPUT);
+          long newValLow = PlatformDependent.getLong(addressOfInput);
+          long newValHigh = PlatformDependent.getLong(addressOfInput + DecimalUtils.LENGTH_OF_LONG);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target addresses of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          final long bitUpdateAddr = bitAddresses[chunkIndex] + ((chunkOffset >>> 5) * 4);
+          final int bitUpdateVal = 1 << (chunkOffset & 31);
+          /* store the accumulated values at the target location of accumulation vector */
+          long curValLow = PlatformDependent.getLong(sumAddr);
+          long curValHigh = PlatformDependent.getLong(sumAddr + DecimalUtils.LENGTH_OF_LONG);
+          DecimalUtils.addSignedDecimals(sumAddr, newValLow, newValHigh, curValLow, curValHigh);
+          PlatformDependent.putInt(bitUpdateAddr, PlatformDependent.getInt(bitUpdateAddr) | bitUpdateVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
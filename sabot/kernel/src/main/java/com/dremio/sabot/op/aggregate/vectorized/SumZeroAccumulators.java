@@ -46,10 +46,31 @@ public class SumZeroAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final int newVal = PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target address of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, PlatformDependent.getLong(sumAddr) + newVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -83,10 +104,31 @@ public class SumZeroAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final float newVal = Float.intBitsToFloat(PlatformDependent.getInt(incomingValue + (incomingIndex * WIDTH_INPUT)));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target address of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal));
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -144,10 +186,31 @@ public class SumZeroAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final long newVal = PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT));
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+           /* get the target address of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+           /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, PlatformDependent.getLong(sumAddr) + newVal);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -251,10 +314,31 @@ public class SumZeroAccumulators {
                            final int bitsInChunk, final int chunkOffsetMask) {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       final long incomingBit = getInput().getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue =  getInput().getDataBufferAddress();
       final long[] valueAddresses = this.valueAddresses;
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = Double.longBitsToDouble(PlatformDependent.getLong(incomingValue + (incomingIndex * WIDTH_INPUT)));
+           /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+           /* get the target address of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+           /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal));
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -291,11 +375,32 @@ public class SumZeroAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] valueAddresses = this.valueAddresses;
       final int scale = ((DecimalVector)inputVector).getScale();
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target address of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          /* store the accumulated values at the target location of accumulation vector */
+          PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal));
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
@@ -303,14 +408,14 @@ public class SumZeroAccumulators {
         final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
         /* get the corresponding data from input vector -- source data for accumulation */
         final int bitVal = (PlatformDependent.getByte(incomingBit + ((incomingIndex >>> 3))) >>> (incomingIndex & 7)) & 1;
-        java.math.BigDecimal newVal = DecimalUtils.getBigDecimalFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
+        final double newVal = DecimalUtils.getDoubleFromLEBytes(incomingValue + (incomingIndex * WIDTH_INPUT), valBuf, scale);
         /* get the hash table batch index */
         final int chunkIndex = tableIndex >>> bitsInChunk;
         final int chunkOffset = tableIndex & chunkOffsetMask;
         /* get the target address of accumulation vector */
         final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
         /* store the accumulated values at the target location of accumulation vector */
-        PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal.doubleValue() * bitVal));
+        PlatformDependent.putLong(sumAddr, Double.doubleToLongBits(Double.longBitsToDouble(PlatformDependent.getLong(sumAddr)) + newVal * bitVal));
       }
     }
   }
@@ -332,11 +437,36 @@ public class SumZeroAccumulators {
       final long maxAddr = memoryAddr + count * PARTITIONINDEX_HTORDINAL_WIDTH;
       FieldVector inputVector = getInput();
       final long incomingBit = inputVector.getValidityBufferAddress();
+      final boolean inputHasNulls = inputHasNulls();
       final long incomingValue = inputVector.getDataBufferAddress();
       final long[] valueAddresses = this.valueAddresses;
       final int scale = ((DecimalVector)inputVector).getScale();
       final int maxValuesPerBatch = super.maxValuesPerBatch;
 
+      if (!inputHasNulls) {
+        // every value of the batch is set, the input validity is neither read nor applied.
+        for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
+          /* get the hash table ordinal */
+          final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
+          /* get the index of data in input vector */
+          final int incomingIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + KEYINDEX_OFFSET);
+          /* get the corresponding data from input vector -- source data for accumulation */
+          long addressOfInput = incomingValue + (incomingIndex * WIDTH_INPUT);
+          long newValLow = PlatformDependent.getLong(addressOfInput);
+          long newValHigh = PlatformDependent.getLong(addressOfInput + DecimalUtils.LENGTH_OF_LONG);
+          /* get the hash table batch index */
+          final int chunkIndex = tableIndex >>> bitsInChunk;
+          final int chunkOffset = tableIndex & chunkOffsetMask;
+          /* get the target address of accumulation vector */
+          final long sumAddr = valueAddresses[chunkIndex] + (chunkOffset) * WIDTH_ACCUMULATOR;
+          /* store the accumulated values at the target location of accumulation vector */
+          long curValLow = PlatformDependent.getLong(sumAddr);
+          long curValHigh = PlatformDependent.getLong(sumAddr + DecimalUtils.LENGTH_OF_LONG);
+          DecimalUtils.addSignedDecimals(sumAddr, newValLow, newValHigh, curValLow, curValHigh);
+        }
+        return;
+      }
+
       for (long partitionAndOrdinalAddr = memoryAddr; partitionAndOrdinalAddr < maxAddr; partitionAndOrdinalAddr += PARTITIONINDEX_HTORDINAL_WIDTH) {
         /* get the hash table ordinal */
         final int tableIndex = PlatformDependent.getInt(partitionAndOrdinalAddr + HTORDINAL_OFFSET);
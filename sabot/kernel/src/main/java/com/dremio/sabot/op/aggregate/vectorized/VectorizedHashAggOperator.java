@@ -342,6 +342,8 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
   private State state = State.NEEDS_SETUP;
   private boolean fixedOnly;
   private VectorizedHashAggPartition[] hashAggPartitions;
+  // hashes of the chunk of keys being inserted, see hashAndPrefetch()
+  private final long[] chunkHashes = new long[LBlockHashTable.PREFETCH_CHUNK_SIZE];
   private PartitionToLoadSpilledData partitionToLoadSpilledData;
   private VectorizedHashAggPartitionSpillHandler partitionSpillHandler;
   private InternalState internalStateMachine;
@@ -773,6 +775,8 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
     int recordsConsumed = 0;
     int recordsPivoted = 0;
 
+    prepareAccumulatorInputs(records);
+
     /* first check if we need to finish consuming some records from previous batch */
     if (resumableInsertState != null) {
       recordsPivoted = resumableInsertState.recordsPivoted;
@@ -954,19 +958,23 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
     int keyVarLen;
     long partitionsUsed = partitionsUsedMask;
 
+    final long[] chunkHashes = this.chunkHashes;
     insertWatch.start();
     insertAllRecords:
     {
       for (int keyIndex = insertStartIndex; keyIndex < recordsPivoted; keyIndex++, keyFixedAddr += blockWidth) {
-        final long keyHash;
+        final int chunkOffset = (keyIndex - insertStartIndex) & (LBlockHashTable.PREFETCH_CHUNK_SIZE - 1);
+        if (chunkOffset == 0) {
+          hashAndPrefetch(keyFixedAddr, keyVarVectorAddr, Math.min(LBlockHashTable.PREFETCH_CHUNK_SIZE, recordsPivoted - keyIndex),
+            blockWidth, dataWidth, seed);
+        }
+        final long keyHash = chunkHashes[chunkOffset];
         if (fixedOnly) {
-          keyHash = LBlockHashTable.fixedKeyHashCode(keyFixedAddr, dataWidth, seed);
           keyVarAddr = -1;
           keyVarLen = 0;
         } else {
           keyVarAddr = keyVarVectorAddr + PlatformDependent.getInt(keyFixedAddr + dataWidth);
           keyVarLen = PlatformDependent.getInt(keyVarAddr);
-          keyHash = LBlockHashTable.keyHashCode(keyFixedAddr, dataWidth, keyVarAddr, keyVarLen, seed);
         }
         /* get the partition index from higher order bits in hash */
         final int hashPartitionIndex = ((int) (keyHash >> 32)) & hashPartitionMask;
@@ -1010,6 +1018,28 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
     return partitionsUsed;
   }
 
+  /**
+   * Compute the hashes of the next chunk of keys to insert and touch their slots in the target partition's hash
+   * table, so that the cache misses of the chunk overlap instead of stalling each insert in turn. The hashes are
+   * kept in {@link #chunkHashes} for the inserts.
+   */
+  private void hashAndPrefetch(long keyFixedAddr, final long keyVarVectorAddr, final int count,
+                               final int blockWidth, final int dataWidth, final long seed) {
+    final boolean fixedOnly = this.fixedOnly;
+    final long[] chunkHashes = this.chunkHashes;
+    for (int i = 0; i < count; i++, keyFixedAddr += blockWidth) {
+      final long keyHash;
+      if (fixedOnly) {
+        keyHash = LBlockHashTable.fixedKeyHashCode(keyFixedAddr, dataWidth, seed);
+      } else {
+        final long keyVarAddr = keyVarVectorAddr + PlatformDependent.getInt(keyFixedAddr + dataWidth);
+        keyHash = LBlockHashTable.keyHashCode(keyFixedAddr, dataWidth, keyVarAddr, PlatformDependent.getInt(keyVarAddr), seed);
+      }
+      chunkHashes[i] = keyHash;
+      hashAggPartitions[((int) (keyHash >> 32)) & hashPartitionMask].hashTable.prefetch((int) keyHash);
+    }
+  }
+
   /**
    * When operator detects (proactively) it will run out of memory or it has
    * already run of memory, we use this function to handle OOM by spilling a
@@ -1407,6 +1437,19 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
     accumulateWatch.stop();
   }
 
+  /**
+   * Let the accumulators of all partitions check their input vectors for
+   * null values once per incoming batch (or spilled batch), before any
+   * partition accumulates it.
+   *
+   * @param records number of records in the batch
+   */
+  private void prepareAccumulatorInputs(final int records) {
+    for (int i = 0; i < numPartitions; i++) {
+      hashAggPartitions[i].accumulator.prepareInput(records);
+    }
+  }
+
   /**
    * Aggregate data for each partition.
    *
@@ -1623,6 +1666,8 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
     final boolean fixedOnly = this.fixedOnly;
     final long seed = getSeedForRepartitioning();
 
+    prepareAccumulatorInputs(records);
+
     if (resumableInsertState != null) {
       final int recordsPivoted = resumableInsertState.recordsPivoted;
       final int recordsConsumed = resumableInsertState.recordsConsumed;
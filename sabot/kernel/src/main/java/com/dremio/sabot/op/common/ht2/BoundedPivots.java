@@ -19,6 +19,7 @@ import static com.dremio.sabot.op.common.ht2.LBlockHashTable.VAR_LENGTH_SIZE;
 
 import java.util.List;
 
+import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.FieldVector;
 
 import com.dremio.common.expression.Describer;
@@ -53,6 +54,8 @@ public class BoundedPivots {
     final long[] dataAddresses = new long[fieldCount];
     final int[] nullByteOffset = new int[fieldCount];
     final int[] nullBitOffset = new int[fieldCount];
+    // fields without nulls in the batch skip reading their validity
+    final boolean[] hasNulls = new boolean[fieldCount];
     long targetFixedAddress = targetFixed.getMemoryAddress();
 
     int i = 0;
@@ -67,6 +70,7 @@ public class BoundedPivots {
 
       // convert to bit offsets. Overflows shouldn't exist since no system (yet) has memory of Long.MAX_VALUE / 8
       bitAddresses[i] = buffers.get(0).memoryAddress() * 8;
+      hasNulls[i] = BitVectorHelper.getNullCount(buffers.get(0), start + count) > 0;
       offsetAddresses[i] = buffers.get(1).memoryAddress();
       dataAddresses[i] = buffers.get(2).memoryAddress();
 
@@ -105,7 +109,7 @@ public class BoundedPivots {
 
         // update bit address.
         final long bitAddress = bitAddresses[field];
-        final int bitVal = (PlatformDependent.getByte(bitAddress >>> 3) >>> (bitAddress & 7)) & 1;
+        final int bitVal = hasNulls[field] ? (PlatformDependent.getByte(bitAddress >>> 3) >>> (bitAddress & 7)) & 1 : 1;
         long targetNullByteAddress = targetFixedAddress + nullByteOffset[field];
         PlatformDependent.putInt(targetNullByteAddress, PlatformDependent.getInt(targetNullByteAddress) | (bitVal << nullBitOffset[field]));
 
@@ -152,6 +156,13 @@ public class BoundedPivots {
   }
 
   public static int pivot(PivotDef pivot, int start, int count, FixedBlockVector fixedBlock, VariableBlockVector variable) {
+    final FixedKeyPivot fixedKeyPivot = pivot.getFixedKeyPivot();
+    if (fixedKeyPivot != null) {
+      // fixed keys only, all the records fit
+      fixedKeyPivot.pivot(fixedBlock, start, count);
+      return count;
+    }
+
     // We are constrained by the capacity of variable block vector and count.
     // First fill the variable width vectors to find how many records we can fit in.
     if (pivot.getVariableCount() > 0) {
@@ -0,0 +1,409 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import org.apache.arrow.vector.FieldVector;
+
+import com.dremio.sabot.op.common.ht2.PivotBuilder.FieldType;
+import com.google.common.base.Preconditions;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Pivot and unpivot of blocks holding one to three four or eight byte keys, and nothing else: the
+ * most common layout of group by and join keys (int, bigint, date...).
+ *
+ * Unlike {@link Pivots} and {@link Unpivots}, which go over the whole batch once per key and update
+ * the shared validity word of each block every time, these write each block in a single pass: the
+ * validity word is computed from all the keys and stored once, and the validity of 64 records is
+ * read (or written, when unpivoting) as one long per key. Batches of words without nulls copy the
+ * values without masking them.
+ *
+ * Selected by {@link PivotBuilder} for the matching definitions.
+ */
+public abstract class FixedKeyPivot {
+
+  private static final int WORD_BITS = 64;
+  private static final int WORD_SHIFT = 6;
+  private static final int WORD_MASK = WORD_BITS - 1;
+  private static final long ALL_SET = 0xFFFFFFFFFFFFFFFFL;
+
+  final long blockWidth;
+
+  private FixedKeyPivot(int blockWidth) {
+    this.blockWidth = blockWidth;
+  }
+
+  /**
+   * Pivot the records [start, start + count) of the incoming vectors into the first count blocks.
+   */
+  abstract void pivot(FixedBlockVector fixedBlock, int start, int count);
+
+  /**
+   * Unpivot count blocks, from the given one, into the (allocated) outgoing vectors.
+   */
+  abstract void unpivot(long fixedAddr, int start, int count);
+
+  /**
+   * The routine for the given fixed width keys, in block order.
+   *
+   * @param blockWidth width of the block, validity word included
+   * @param keys one to three four or eight byte keys
+   * @return the routine
+   */
+  static FixedKeyPivot of(int blockWidth, VectorPivotDef... keys) {
+    for (VectorPivotDef key : keys) {
+      Preconditions.checkArgument(key.getType() == FieldType.FOUR_BYTE || key.getType() == FieldType.EIGHT_BYTE,
+        "Unexpected key type %s", key.getType());
+      Preconditions.checkArgument(key.getNullByteOffset() == 0, "Keys are expected to share the first validity word");
+    }
+    switch (keys.length) {
+      case 1:
+        return new OneKey(blockWidth, keys[0]);
+      case 2:
+        return new TwoKeys(blockWidth, keys[0], keys[1]);
+      case 3:
+        return new ThreeKeys(blockWidth, keys[0], keys[1], keys[2]);
+      default:
+        throw new IllegalArgumentException("Unsupported number of keys: " + keys.length);
+    }
+  }
+
+  private static int width(VectorPivotDef key) {
+    return key.getType() == FieldType.EIGHT_BYTE ? 8 : 4;
+  }
+
+  // mask of the first n records of a word
+  private static long mask(int n) {
+    return n == WORD_BITS ? ALL_SET : (1L << n) - 1;
+  }
+
+  // validity of the records from index on, in the low bits (some may be past the batch)
+  private static long validity(long validityAddr, int index) {
+    return PlatformDependent.getLong(validityAddr + ((index >>> WORD_SHIFT) << 3)) >>> (index & WORD_MASK);
+  }
+
+  private static void copy(long srcAddr, long dstAddr, int width) {
+    if (width == 8) {
+      PlatformDependent.putLong(dstAddr, PlatformDependent.getLong(srcAddr));
+    } else {
+      PlatformDependent.putInt(dstAddr, PlatformDependent.getInt(srcAddr));
+    }
+  }
+
+  // copy of the value if set, zero otherwise
+  private static void copy(long srcAddr, long dstAddr, int width, int bitVal) {
+    if (width == 8) {
+      PlatformDependent.putLong(dstAddr, PlatformDependent.getLong(srcAddr) * bitVal);
+    } else {
+      PlatformDependent.putInt(dstAddr, PlatformDependent.getInt(srcAddr) * bitVal);
+    }
+  }
+
+  // store the validity of n records, from index (a multiple of 64)
+  private static void putValidity(long validityAddr, int index, long bits, int n) {
+    final long addr = validityAddr + (index >>> 3);
+    if (n == WORD_BITS) {
+      PlatformDependent.putLong(addr, bits);
+      return;
+    }
+    for (int i = 0; i < n; i += 8) {
+      PlatformDependent.putByte(addr + (i >>> 3), (byte) (bits >>> i));
+    }
+  }
+
+  private static final class OneKey extends FixedKeyPivot {
+    private final VectorPivotDef key0;
+    private final int width0;
+    private final int nullBit0;
+    private final int offset0;
+
+    private OneKey(int blockWidth, VectorPivotDef key0) {
+      super(blockWidth);
+      this.key0 = key0;
+      this.width0 = width(key0);
+      this.nullBit0 = key0.getNullBitOffset();
+      this.offset0 = key0.getOffset();
+    }
+
+    @Override
+    void pivot(FixedBlockVector fixedBlock, int start, int count) {
+      final long blockWidth = this.blockWidth;
+      final int width0 = this.width0;
+      final int nullBit0 = this.nullBit0;
+      final int allSet = 1 << nullBit0;
+      final FieldVector in0 = key0.getIncomingVector();
+      final long bits0 = in0.getValidityBufferAddress();
+      long src0 = in0.getDataBufferAddress() + (long) start * width0;
+      long target = fixedBlock.getMemoryAddress();
+
+      final int end = start + count;
+      for (int index = start; index < end; ) {
+        final int n = Math.min(WORD_BITS - (index & WORD_MASK), end - index);
+        final long valid0 = validity(bits0, index);
+        if ((valid0 & mask(n)) == mask(n)) {
+          for (int i = 0; i < n; i++, target += blockWidth, src0 += width0) {
+            PlatformDependent.putInt(target, allSet);
+            copy(src0, target + offset0, width0);
+          }
+        } else {
+          for (int i = 0; i < n; i++, target += blockWidth, src0 += width0) {
+            final int bitVal0 = ((int) (valid0 >>> i)) & 1;
+            PlatformDependent.putInt(target, bitVal0 << nullBit0);
+            copy(src0, target + offset0, width0, bitVal0);
+          }
+        }
+        index += n;
+      }
+    }
+
+    @Override
+    void unpivot(long fixedAddr, int start, int count) {
+      final long blockWidth = this.blockWidth;
+      final int width0 = this.width0;
+      final int nullBit0 = this.nullBit0;
+      final FieldVector out0 = key0.getOutgoingVector();
+      final long bits0 = out0.getValidityBufferAddress();
+      long dst0 = out0.getDataBufferAddress();
+      long src = fixedAddr + start * blockWidth;
+
+      for (int index = 0; index < count; index += WORD_BITS) {
+        final int n = Math.min(WORD_BITS, count - index);
+        long valid0 = 0;
+        for (int i = 0; i < n; i++, src += blockWidth, dst0 += width0) {
+          final long validity = PlatformDependent.getInt(src);
+          valid0 |= ((validity >>> nullBit0) & 1) << i;
+          copy(src + offset0, dst0, width0);
+        }
+        putValidity(bits0, index, valid0, n);
+      }
+    }
+  }
+
+  private static final class TwoKeys extends FixedKeyPivot {
+    private final VectorPivotDef key0;
+    private final VectorPivotDef key1;
+    private final int width0;
+    private final int width1;
+    private final int nullBit0;
+    private final int nullBit1;
+    private final int offset0;
+    private final int offset1;
+
+    private TwoKeys(int blockWidth, VectorPivotDef key0, VectorPivotDef key1) {
+      super(blockWidth);
+      this.key0 = key0;
+      this.key1 = key1;
+      this.width0 = width(key0);
+      this.width1 = width(key1);
+      this.nullBit0 = key0.getNullBitOffset();
+      this.nullBit1 = key1.getNullBitOffset();
+      this.offset0 = key0.getOffset();
+      this.offset1 = key1.getOffset();
+    }
+
+    @Override
+    void pivot(FixedBlockVector fixedBlock, int start, int count) {
+      final long blockWidth = this.blockWidth;
+      final int width0 = this.width0;
+      final int width1 = this.width1;
+      final int nullBit0 = this.nullBit0;
+      final int nullBit1 = this.nullBit1;
+      final int allSet = (1 << nullBit0) | (1 << nullBit1);
+      final FieldVector in0 = key0.getIncomingVector();
+      final FieldVector in1 = key1.getIncomingVector();
+      final long bits0 = in0.getValidityBufferAddress();
+      final long bits1 = in1.getValidityBufferAddress();
+      long src0 = in0.getDataBufferAddress() + (long) start * width0;
+      long src1 = in1.getDataBufferAddress() + (long) start * width1;
+      long target = fixedBlock.getMemoryAddress();
+
+      final int end = start + count;
+      for (int index = start; index < end; ) {
+        final int n = Math.min(WORD_BITS - (index & WORD_MASK), end - index);
+        final long valid0 = validity(bits0, index);
+        final long valid1 = validity(bits1, index);
+        if ((valid0 & valid1 & mask(n)) == mask(n)) {
+          for (int i = 0; i < n; i++, target += blockWidth, src0 += width0, src1 += width1) {
+            PlatformDependent.putInt(target, allSet);
+            copy(src0, target + offset0, width0);
+            copy(src1, target + offset1, width1);
+          }
+        } else {
+          for (int i = 0; i < n; i++, target += blockWidth, src0 += width0, src1 += width1) {
+            final int bitVal0 = ((int) (valid0 >>> i)) & 1;
+            final int bitVal1 = ((int) (valid1 >>> i)) & 1;
+            PlatformDependent.putInt(target, (bitVal0 << nullBit0) | (bitVal1 << nullBit1));
+            copy(src0, target + offset0, width0, bitVal0);
+            copy(src1, target + offset1, width1, bitVal1);
+          }
+        }
+        index += n;
+      }
+    }
+
+    @Override
+    void unpivot(long fixedAddr, int start, int count) {
+      final long blockWidth = this.blockWidth;
+      final int width0 = this.width0;
+      final int width1 = this.width1;
+      final int nullBit0 = this.nullBit0;
+      final int nullBit1 = this.nullBit1;
+      final FieldVector out0 = key0.getOutgoingVector();
+      final FieldVector out1 = key1.getOutgoingVector();
+      final long bits0 = out0.getValidityBufferAddress();
+      final long bits1 = out1.getValidityBufferAddress();
+      long dst0 = out0.getDataBufferAddress();
+      long dst1 = out1.getDataBufferAddress();
+      long src = fixedAddr + start * blockWidth;
+
+      for (int index = 0; index < count; index += WORD_BITS) {
+        final int n = Math.min(WORD_BITS, count - index);
+        long valid0 = 0;
+        long valid1 = 0;
+        for (int i = 0; i < n; i++, src += blockWidth, dst0 += width0, dst1 += width1) {
+          final long validity = PlatformDependent.getInt(src);
+          valid0 |= ((validity >>> nullBit0) & 1) << i;
+          valid1 |= ((validity >>> nullBit1) & 1) << i;
+          copy(src + offset0, dst0, width0);
+          copy(src + offset1, dst1, width1);
+        }
+        putValidity(bits0, index, valid0, n);
+        putValidity(bits1, index, valid1, n);
+      }
+    }
+  }
+
+  private static final class ThreeKeys extends FixedKeyPivot {
+    private final VectorPivotDef key0;
+    private final VectorPivotDef key1;
+    private final VectorPivotDef key2;
+    private final int width0;
+    private final int width1;
+    private final int width2;
+    private final int nullBit0;
+    private final int nullBit1;
+    private final int nullBit2;
+    private final int offset0;
+    private final int offset1;
+    private final int offset2;
+
+    private ThreeKeys(int blockWidth, VectorPivotDef key0, VectorPivotDef key1, VectorPivotDef key2) {
+      super(blockWidth);
+      this.key0 = key0;
+      this.key1 = key1;
+      this.key2 = key2;
+      this.width0 = width(key0);
+      this.width1 = width(key1);
+      this.width2 = width(key2);
+      this.nullBit0 = key0.getNullBitOffset();
+      this.nullBit1 = key1.getNullBitOffset();
+      this.nullBit2 = key2.getNullBitOffset();
+      this.offset0 = key0.getOffset();
+      this.offset1 = key1.getOffset();
+      this.offset2 = key2.getOffset();
+    }
+
+    @Override
+    void pivot(FixedBlockVector fixedBlock, int start, int count) {
+      final long blockWidth = this.blockWidth;
+      final int width0 = this.width0;
+      final int width1 = this.width1;
+      final int width2 = this.width2;
+      final int nullBit0 = this.nullBit0;
+      final int nullBit1 = this.nullBit1;
+      final int nullBit2 = this.nullBit2;
+      final int allSet = (1 << nullBit0) | (1 << nullBit1) | (1 << nullBit2);
+      final FieldVector in0 = key0.getIncomingVector();
+      final FieldVector in1 = key1.getIncomingVector();
+      final FieldVector in2 = key2.getIncomingVector();
+      final long bits0 = in0.getValidityBufferAddress();
+      final long bits1 = in1.getValidityBufferAddress();
+      final long bits2 = in2.getValidityBufferAddress();
+      long src0 = in0.getDataBufferAddress() + (long) start * width0;
+      long src1 = in1.getDataBufferAddress() + (long) start * width1;
+      long src2 = in2.getDataBufferAddress() + (long) start * width2;
+      long target = fixedBlock.getMemoryAddress();
+
+      final int end = start + count;
+      for (int index = start; index < end; ) {
+        final int n = Math.min(WORD_BITS - (index & WORD_MASK), end - index);
+        final long valid0 = validity(bits0, index);
+        final long valid1 = validity(bits1, index);
+        final long valid2 = validity(bits2, index);
+        if ((valid0 & valid1 & valid2 & mask(n)) == mask(n)) {
+          for (int i = 0; i < n; i++, target += blockWidth, src0 += width0, src1 += width1, src2 += width2) {
+            PlatformDependent.putInt(target, allSet);
+            copy(src0, target + offset0, width0);
+            copy(src1, target + offset1, width1);
+            copy(src2, target + offset2, width2);
+          }
+        } else {
+          for (int i = 0; i < n; i++, target += blockWidth, src0 += width0, src1 += width1, src2 += width2) {
+            final int bitVal0 = ((int) (valid0 >>> i)) & 1;
+            final int bitVal1 = ((int) (valid1 >>> i)) & 1;
+            final int bitVal2 = ((int) (valid2 >>> i)) & 1;
+            PlatformDependent.putInt(target, (bitVal0 << nullBit0) | (bitVal1 << nullBit1) | (bitVal2 << nullBit2));
+            copy(src0, target + offset0, width0, bitVal0);
+            copy(src1, target + offset1, width1, bitVal1);
+            copy(src2, target + offset2, width2, bitVal2);
+          }
+        }
+        index += n;
+      }
+    }
+
+    @Override
+    void unpivot(long fixedAddr, int start, int count) {
+      final long blockWidth = this.blockWidth;
+      final int width0 = this.width0;
+      final int width1 = this.width1;
+      final int width2 = this.width2;
+      final int nullBit0 = this.nullBit0;
+      final int nullBit1 = this.nullBit1;
+      final int nullBit2 = this.nullBit2;
+      final FieldVector out0 = key0.getOutgoingVector();
+      final FieldVector out1 = key1.getOutgoingVector();
+      final FieldVector out2 = key2.getOutgoingVector();
+      final long bits0 = out0.getValidityBufferAddress();
+      final long bits1 = out1.getValidityBufferAddress();
+      final long bits2 = out2.getValidityBufferAddress();
+      long dst0 = out0.getDataBufferAddress();
+      long dst1 = out1.getDataBufferAddress();
+      long dst2 = out2.getDataBufferAddress();
+      long src = fixedAddr + start * blockWidth;
+
+      for (int index = 0; index < count; index += WORD_BITS) {
+        final int n = Math.min(WORD_BITS, count - index);
+        long valid0 = 0;
+        long valid1 = 0;
+        long valid2 = 0;
+        for (int i = 0; i < n; i++, src += blockWidth, dst0 += width0, dst1 += width1, dst2 += width2) {
+          final long validity = PlatformDependent.getInt(src);
+          valid0 |= ((validity >>> nullBit0) & 1) << i;
+          valid1 |= ((validity >>> nullBit1) & 1) << i;
+          valid2 |= ((validity >>> nullBit2) & 1) << i;
+          copy(src + offset0, dst0, width0);
+          copy(src + offset1, dst1, width1);
+          copy(src + offset2, dst2, width2);
+        }
+        putValidity(bits0, index, valid0, n);
+        putValidity(bits1, index, valid1, n);
+        putValidity(bits2, index, valid2, n);
+      }
+    }
+  }
+}
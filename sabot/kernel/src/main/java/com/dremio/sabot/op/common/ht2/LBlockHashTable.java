@@ -61,6 +61,12 @@ public final class LBlockHashTable implements AutoCloseable {
   private static final int RETRY_RETURN_CODE = -2;
   public static final int ORDINAL_SIZE = 4;
 
+  /*
+   * Number of keys hashed and prefetched together before they are probed. Large enough for the cache misses of a
+   * chunk to overlap, small enough for the touched lines to still be in cache when the chunk is probed.
+   */
+  public static final int PREFETCH_CHUNK_SIZE = 32;
+
   private final HashConfigWrapper config;
   private final ResizeListener listener;
 
@@ -111,6 +117,9 @@ public final class LBlockHashTable implements AutoCloseable {
   private final boolean enforceVarWidthBufferLimit;
   private int maxOrdinalBeforeExpand;
 
+  // sink for the loads done by prefetch(), so that the JIT doesn't eliminate them.
+  private long prefetched;
+
   public LBlockHashTable(HashConfig config,
                          PivotDef pivot,
                          BufferAllocator allocator,
@@ -253,6 +262,43 @@ public final class LBlockHashTable implements AutoCloseable {
     return returnValue;
   }
 
+  /**
+   * Touch the control block slot a key hashes to and, if occupied, the fixed block of the key stored in it.
+   *
+   * A probe does a chain of dependent loads, so probing keys one at a time stalls on every cache miss when the table
+   * is much larger than the cache. Prefetching a chunk of keys back to back issues loads that don't depend on each
+   * other, which lets the processor overlap their cache misses. Probing the chunk right after then mostly hits cache.
+   * This doesn't modify the table.
+   *
+   * @param keyHash 32 bit hash of the key that will be probed next
+   */
+  public void prefetch(final int keyHash) {
+    final int controlIndex = keyHash & (capacity - 1);
+    final long control = PlatformDependent.getLong(tableControlAddresses[controlIndex >>> BITS_IN_CHUNK] +
+      ((controlIndex & CHUNK_OFFSET_MASK) * CONTROL_WIDTH));
+    if (control == LFREE) {
+      prefetched ^= control;
+      return;
+    }
+
+    final int ordinal = (int) control;
+    prefetched ^= PlatformDependent.getLong(tableFixedAddresses[ordinal >>> BITS_IN_CHUNK] +
+      ((ordinal & CHUNK_OFFSET_MASK) * pivot.getBlockWidth()));
+  }
+
+  /**
+   * Prefetch the keys of a chunk of hash values. See {@link #prefetch(int)}.
+   *
+   * @param hashValueAddr address of the hash values, 8 bytes each (only the lower 32 bits are used)
+   * @param count number of hash values
+   */
+  public void prefetch(final long hashValueAddr, final int count) {
+    final long maxAddr = hashValueAddr + (count * 8L);
+    for (long addr = hashValueAddr; addr < maxAddr; addr += 8) {
+      prefetch((int) PlatformDependent.getLong(addr));
+    }
+  }
+
   /**
    * Helper method for inserting/searching the hash table.
    * For a given key, it first searches (linear probing) the hash table
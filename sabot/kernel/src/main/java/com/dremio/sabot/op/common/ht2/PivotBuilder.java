@@ -31,6 +31,7 @@ public class PivotBuilder {
   private static final int BITS_TO_FOUR_BYTES = 5;
   private static final int FOUR_BYTES_TO_BYTES = 2;
   public static final int BIT_OFFSET_MASK = 31;
+  private static final int MAX_FIXED_KEYS = 3;
 
   public static PivotDef getBlockDefinition(FieldVectorPair... fieldVectors) {
     return getBlockDefinition(FluentIterable.of(fieldVectors).toList());
@@ -124,7 +125,25 @@ public class PivotBuilder {
       blockWidth = allBitsWidthInBytes + fixedOffset;
     }
 
-    return new PivotDef(blockWidth, variableOffset, bitOffset, shiftedDefs);
+    return new PivotDef(blockWidth, variableOffset, bitOffset, shiftedDefs,
+      selectFixedKeyPivot(blockWidth, variableOffset, shiftedDefs));
+  }
+
+  /**
+   * Select the specialized routine for blocks of one to three four or eight byte keys.
+   *
+   * @return the routine, or null if the generic pivots are needed
+   */
+  private static FixedKeyPivot selectFixedKeyPivot(int blockWidth, int variableCount, List<VectorPivotDef> defs) {
+    if (variableCount > 0 || defs.isEmpty() || defs.size() > MAX_FIXED_KEYS) {
+      return null;
+    }
+    for (VectorPivotDef def : defs) {
+      if (def.getType() != FieldType.FOUR_BYTE && def.getType() != FieldType.EIGHT_BYTE) {
+        return null;
+      }
+    }
+    return FixedKeyPivot.of(blockWidth, defs.toArray(new VectorPivotDef[defs.size()]));
   }
 
   public static PivotInfo getBlockInfo(Iterable<FieldVector> fieldVectors) {
@@ -35,13 +35,24 @@ public class PivotDef {
   private final ImmutableList<VectorPivotDef> nonBitFixedPivots;
   private final ImmutableList<VectorPivotDef> variablePivots;
   private final List<FieldVector> outputVectors;
+  private final FixedKeyPivot fixedKeyPivot;
 
   public PivotDef(
       int blockWidth,
       int variableCount,
       int bitCount,
       List<VectorPivotDef> fields) {
+    this(blockWidth, variableCount, bitCount, fields, null);
+  }
+
+  public PivotDef(
+      int blockWidth,
+      int variableCount,
+      int bitCount,
+      List<VectorPivotDef> fields,
+      FixedKeyPivot fixedKeyPivot) {
     super();
+    this.fixedKeyPivot = fixedKeyPivot;
     this.blockWidth = blockWidth;
     this.variableCount = variableCount;
     this.bitCount = bitCount;
@@ -114,4 +125,12 @@ public class PivotDef {
     return outputVectors;
   }
 
+  /**
+   * @return the routine pivoting and unpivoting all the keys at once, or null if the generic
+   * per key pivots are used for this layout.
+   */
+  public FixedKeyPivot getFixedKeyPivot() {
+    return fixedKeyPivot;
+  }
+
 }
@@ -17,6 +17,7 @@ package com.dremio.sabot.op.common.ht2;
 
 import java.util.List;
 
+import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.FieldVector;
 
 import com.dremio.common.expression.Describer;
@@ -52,6 +53,8 @@ public class Pivots {
     final long[] dataAddresses = new long[fieldCount];
     final int[] nullByteOffset = new int[fieldCount];
     final int[] nullBitOffset = new int[fieldCount];
+    // fields without nulls in the batch skip reading their validity
+    final boolean[] hasNulls = new boolean[fieldCount];
     long targetFixedAddress = targetFixed.getMemoryAddress();
 
     int i = 0;
@@ -66,6 +69,7 @@ public class Pivots {
 
       // convert to bit offsets. Overflows shouldn't exist since no system (yet) has memory of Long.MAX_VALUE / 8
       bitAddresses[i] = buffers.get(0).memoryAddress() * 8;
+      hasNulls[i] = BitVectorHelper.getNullCount(buffers.get(0), count) > 0;
 
       offsetAddresses[i] = buffers.get(1).memoryAddress();
 
@@ -104,7 +108,7 @@ public class Pivots {
 
         // update bit address.
         final long bitAddress = bitAddresses[field];
-        final int bitVal = (PlatformDependent.getByte(bitAddress >>> 3) >>> (bitAddress & 7)) & 1;
+        final int bitVal = hasNulls[field] ? (PlatformDependent.getByte(bitAddress >>> 3) >>> (bitAddress & 7)) & 1 : 1;
         long targetNullByteAddress = targetFixedAddress + nullByteOffset[field];
         PlatformDependent.putInt(targetNullByteAddress, PlatformDependent.getInt(targetNullByteAddress) | (bitVal << nullBitOffset[field]));
 
@@ -135,6 +139,11 @@ public class Pivots {
 
   public static void pivot(PivotDef pivot, int count, FixedBlockVector fixedBlock, VariableBlockVector variable) {
     fixedBlock.ensureAvailableBlocks(count);
+    final FixedKeyPivot fixedKeyPivot = pivot.getFixedKeyPivot();
+    if (fixedKeyPivot != null) {
+      fixedKeyPivot.pivot(fixedBlock, 0, count);
+      return;
+    }
     for(VectorPivotDef def : pivot.getFixedPivots()){
       switch(def.getType()){
       case BIT:
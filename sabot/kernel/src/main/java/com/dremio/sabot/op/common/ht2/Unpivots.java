@@ -153,6 +153,12 @@ public class Unpivots {
     final long variableAddr = variableVector.getMemoryAddress();
     final long maxVariableAddr = variableVector.getMaxMemoryAddress();
 
+    final FixedKeyPivot fixedKeyPivot = pivot.getFixedKeyPivot();
+    if (fixedKeyPivot != null) {
+      fixedKeyPivot.unpivot(fixedAddr, start, count);
+      return;
+    }
+
     // unpivots bit arrays
     for(VectorPivotDef v : pivot.getVectorPivots()){
       final List<ArrowBuf> buffers = v.getOutgoingVector().getFieldBuffers();
@@ -313,11 +313,32 @@ public abstract class FieldBufferCopier {
       }
     }
 
+    /**
+     * Sets the first count validity bits of a freshly allocated target when the source has no nulls, without
+     * reading the selection vector or the source validity.
+     * @return true if the validity was set, false if it has to be copied per record.
+     */
+    private boolean copyNoNulls(int count) {
+      if (bufferOrdinal != NULL_BUFFER_ORDINAL || source.getNullCount() != 0) {
+        return false;
+      }
+      final long dstAddr = target.getValidityBufferAddress();
+      PlatformDependent.setMemory(dstAddr, count >>> 3, (byte) 0xFF);
+      if ((count & 7) != 0) {
+        final long addr = dstAddr + (count >>> 3);
+        PlatformDependent.putByte(addr, (byte) (PlatformDependent.getByte(addr) | ((1 << (count & 7)) - 1)));
+      }
+      return true;
+    }
+
     @Override
     public void copy(long offsetAddr, int count) {
       if (allocateAsFixed){
         targetAlt.allocateNew(count);
       }
+      if (copyNoNulls(count)) {
+        return;
+      }
       seekAndCopy(offsetAddr, count, 0);
     }
 
@@ -356,14 +377,16 @@ public abstract class FieldBufferCopier {
           throw new UnsupportedOperationException("unexpected buffer offset");
       }
 
-      final long maxAddr = offsetAddr + count * STEP_SIZE;
       int targetIndex = 0;
-      for(; offsetAddr < maxAddr; offsetAddr += STEP_SIZE, targetIndex++){
-        final int recordIndex = Short.toUnsignedInt(PlatformDependent.getShort(offsetAddr));
-        final int byteValue = PlatformDependent.getByte(srcAddr + (recordIndex >>> 3));
-        final int bitVal = ((byteValue >>> (recordIndex & 7)) & 1) << (targetIndex & 7);
-        final long addr = dstAddr + (targetIndex >>> 3);
-        PlatformDependent.putByte(addr, (byte) (PlatformDependent.getByte(addr) | bitVal));
+      if (!copyNoNulls(count)) {
+        final long maxAddr = offsetAddr + count * STEP_SIZE;
+        for (; offsetAddr < maxAddr; offsetAddr += STEP_SIZE, targetIndex++) {
+          final int recordIndex = Short.toUnsignedInt(PlatformDependent.getShort(offsetAddr));
+          final int byteValue = PlatformDependent.getByte(srcAddr + (recordIndex >>> 3));
+          final int bitVal = ((byteValue >>> (recordIndex & 7)) & 1) << (targetIndex & 7);
+          final long addr = dstAddr + (targetIndex >>> 3);
+          PlatformDependent.putByte(addr, (byte) (PlatformDependent.getByte(addr) | bitVal));
+        }
       }
 
       // Set the validity to 0 for all records in nullAddr after copy validity data
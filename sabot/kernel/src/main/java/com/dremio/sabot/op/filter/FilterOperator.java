@@ -27,8 +27,11 @@ import com.dremio.common.expression.FieldReference;
 import com.dremio.common.expression.LogicalExpression;
 import com.dremio.common.logical.data.NamedExpression;
 import com.dremio.exec.ExecConstants;
+import com.dremio.exec.expr.CodeGenerationContextRemover;
 import com.dremio.exec.expr.ExpressionEvaluationOptions;
 import com.dremio.exec.expr.ExpressionSplitter;
+import com.dremio.exec.expr.fn.interpreter.InterpretedStart;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator;
 import com.dremio.exec.physical.config.Filter;
 import com.dremio.exec.proto.UserBitShared.OperatorProfileDetails;
 import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
@@ -58,6 +61,9 @@ public class FilterOperator implements SingleInputOperator {
   private Stopwatch javaCodeGenWatch = Stopwatch.createUnstarted();
   private Stopwatch gandivaCodeGenWatch = Stopwatch.createUnstarted();
   private ExpressionSplitter splitter;
+  // evaluates the condition until code is generated, if starting in the interpreter
+  private Filterer interpretedFilterer;
+  private InterpretedStart interpretedStart;
 
   public FilterOperator(Filter pop, OperatorContext context) throws OutOfMemoryException {
     this.config = pop;
@@ -95,6 +101,24 @@ public class FilterOperator implements SingleInputOperator {
       return;
     }
 
+    if (interpretedFilterer != null) {
+      if (interpretedStart.canInterpret(records)) {
+        interpretedStart.start();
+        try {
+          recordCount = interpretedFilterer.filterBatch(records);
+        } finally {
+          interpretedStart.stop(records);
+        }
+        doTransfers();
+        state = State.CAN_PRODUCE;
+        return;
+      }
+
+      logger.debug("Generating code for the filter after interpreting {} records", interpretedStart.getRecords());
+      interpretedFilterer = null;
+      setupCompiled(input);
+    }
+
     recordCount = splitter.filterData(records, javaCodeGenWatch, gandivaCodeGenWatch);
 
     doTransfers();
@@ -128,6 +152,9 @@ public class FilterOperator implements SingleInputOperator {
   @Override
   public void close() throws Exception {
     AutoCloseables.close(output, splitter);
+    if (interpretedStart != null) {
+      context.getStats().addLongStat(Metric.INTERPRETED_RECORDS, interpretedStart.getRecords());
+    }
     context.getStats().addLongStat(Metric.JAVA_EXECUTE_TIME, javaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
     context.getStats().addLongStat(Metric.GANDIVA_EXECUTE_TIME, gandivaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
     javaCodeGenWatch.reset();
@@ -136,6 +163,32 @@ public class FilterOperator implements SingleInputOperator {
 
   protected void generateSV2Filterer(VectorAccessible accessible) throws Exception {
     setupTransfers();
+    if (filterOptions.isInterpretedStartEnabled() && setupInterpreter(accessible)) {
+      return;
+    }
+    setupCompiled(accessible);
+  }
+
+  private boolean setupInterpreter(VectorAccessible accessible) {
+    final LogicalExpression expr = CodeGenerationContextRemover.removeCodeGenContext(
+      context.getClassProducer().materializeAndAllowComplex(filterOptions, config.getExpr(), input));
+    if (!InterpreterEvaluator.canEvaluate(expr)) {
+      return false;
+    }
+
+    try {
+      final Filterer filterer = new InterpretedFilterer(expr);
+      filterer.setup(context.getClassProducer().getFunctionContext(), accessible, output);
+      interpretedFilterer = filterer;
+    } catch (Exception e) {
+      logger.debug("Unable to interpret filter condition {}, generating code instead", expr, e);
+      return false;
+    }
+    interpretedStart = new InterpretedStart(filterOptions);
+    return true;
+  }
+
+  private void setupCompiled(VectorAccessible accessible) throws Exception {
     setupSplitter(accessible);
 
     OperatorStats stats = context.getStats();
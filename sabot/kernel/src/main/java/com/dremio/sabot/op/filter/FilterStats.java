@@ -25,7 +25,8 @@ public class FilterStats {
     GANDIVA_EXECUTE_TIME,
     JAVA_EXPRESSIONS,
     GANDIVA_EXPRESSIONS,
-    MIXED_SPLITS;
+    MIXED_SPLITS,
+    INTERPRETED_RECORDS;
 
     @Override
     public int metricId() {
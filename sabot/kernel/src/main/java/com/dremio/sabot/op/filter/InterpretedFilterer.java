@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.filter;
+
+import org.apache.arrow.vector.holders.BitHolder;
+import org.apache.arrow.vector.holders.NullableBitHolder;
+import org.apache.arrow.vector.holders.ValueHolder;
+
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.exec.exception.SchemaChangeException;
+import com.dremio.exec.expr.fn.interpreter.InterpretedStart;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator.EvalVisitor;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.selection.SelectionVector2;
+import com.dremio.sabot.exec.context.FunctionContext;
+
+/**
+ * Filters records evaluating the condition in the interpreter, without generating code.
+ * Same as {@link FilterTemplate2} otherwise.
+ */
+class InterpretedFilterer implements Filterer {
+
+  private final LogicalExpression condition;
+  private EvalVisitor evaluator;
+  private SelectionVector2 outgoingSelectionVector;
+  private SelectionVector2 incomingSelectionVector;
+  private SelectionVectorMode svMode;
+
+  InterpretedFilterer(LogicalExpression condition) {
+    this.condition = condition;
+  }
+
+  @Override
+  public void setup(FunctionContext context, VectorAccessible incoming, VectorAccessible outgoing) throws SchemaChangeException {
+    this.outgoingSelectionVector = outgoing.getSelectionVector2();
+    this.svMode = incoming.getSchema().getSelectionVectorMode();
+
+    switch (svMode) {
+    case NONE:
+      break;
+    case TWO_BYTE:
+      this.incomingSelectionVector = incoming.getSelectionVector2();
+      break;
+    default:
+      throw new UnsupportedOperationException();
+    }
+    this.evaluator = InterpreterEvaluator.setup(incoming, context, condition);
+  }
+
+  @Override
+  public int filterBatch(int recordCount) {
+    if (recordCount == 0) {
+      return 0;
+    }
+
+    outgoingSelectionVector.allocateNew(recordCount);
+    int svIndex = 0;
+    try {
+      for (int i = 0; i < recordCount; i++) {
+        final char index = svMode == SelectionVectorMode.TWO_BYTE ? incomingSelectionVector.getIndex(i) : (char) i;
+        if (isTrue(condition.accept(evaluator, (int) index))) {
+          outgoingSelectionVector.setIndex(svIndex, index);
+          svIndex++;
+        }
+      }
+    } catch (RuntimeException e) {
+      throw InterpretedStart.unwrap(e);
+    }
+    outgoingSelectionVector.setRecordCount(svIndex);
+    return svIndex;
+  }
+
+  private static boolean isTrue(ValueHolder holder) {
+    if (holder instanceof NullableBitHolder) {
+      return ((NullableBitHolder) holder).isSet == 1 && ((NullableBitHolder) holder).value == 1;
+    }
+    return ((BitHolder) holder).value == 1;
+  }
+}
@@ -135,9 +135,13 @@ public class BlockJoinTable implements JoinTable {
         HashComputation.computeHash(blockChunk);
         buildHashComputationWatch.stop();
 
-        // STEP 3: then we insert build side into hash table
+        // STEP 3: then we insert build side into hash table, prefetching the table slots a chunk at a time.
         insertWatch.start();
+        final long hashValueAddr = hashValues.getBufferAddress();
         for(int keyIndex = 0 ; keyIndex < records; keyIndex++, findAddr += 4) {
+          if ((keyIndex & (LBlockHashTable.PREFETCH_CHUNK_SIZE - 1)) == 0) {
+            table.prefetch(hashValueAddr + (keyIndex * 8L), Math.min(LBlockHashTable.PREFETCH_CHUNK_SIZE, records - keyIndex));
+          }
           final int keyHash = (int)hashValues.get(keyIndex);
           PlatformDependent.putInt(findAddr, table.add(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
         }
@@ -159,7 +163,6 @@ public class BlockJoinTable implements JoinTable {
   @Override
   public void find(long offsetAddr, final int records) {
     final LBlockHashTable table = this.table;
-    final int blockWidth = probePivot.getBlockWidth();
     try(FixedBlockVector fbv = new FixedBlockVector(allocator, probePivot.getBlockWidth());
         VariableBlockVector var = new VariableBlockVector(allocator, probePivot.getVariableCount());
         SimpleBigIntVector hashValues = new SimpleBigIntVector("hashvalues", allocator)){
@@ -179,75 +182,91 @@ public class BlockJoinTable implements JoinTable {
       HashComputation.computeHash(blockChunk);
       probeHashComputationWatch.stop();
 
-      // STEP 3: then we probe hash table.
+      // STEP 3: then we probe hash table, a chunk at a time. The table slots of all the keys in a chunk are touched
+      // first so that their cache misses overlap, instead of stalling on each key in turn.
       probeFindWatch.start();
-      final NullComparator compare = nullMask;
-      switch(compare.getMode()){
-      case NONE:
-        for(int keyIndex = 0; keyIndex < records; keyIndex++, offsetAddr += 4) {
+      final long hashValueAddr = hashValues.getBufferAddress();
+      for (int chunkStart = 0; chunkStart < records; chunkStart += LBlockHashTable.PREFETCH_CHUNK_SIZE) {
+        final int chunkEnd = Math.min(records, chunkStart + LBlockHashTable.PREFETCH_CHUNK_SIZE);
+        table.prefetch(hashValueAddr + (chunkStart * 8L), chunkEnd - chunkStart);
+        offsetAddr = findChunk(keyFixedVectorAddr, keyVarVectorAddr, hashValues, chunkStart, chunkEnd, offsetAddr);
+      }
+
+    }
+    probeFindWatch.stop();
+  }
+
+
+  /**
+   * Probe the hash table for the keys in [start, end).
+   * @return the offset address following the last key
+   */
+  private long findChunk(final long keyFixedVectorAddr, final long keyVarVectorAddr,
+                         final SimpleBigIntVector hashValues, final int start, final int end, long offsetAddr) {
+    final LBlockHashTable table = this.table;
+    final int blockWidth = probePivot.getBlockWidth();
+    final NullComparator compare = nullMask;
+    switch(compare.getMode()){
+    case NONE:
+      for(int keyIndex = start; keyIndex < end; keyIndex++, offsetAddr += 4) {
+        final int keyHash = (int)hashValues.get(keyIndex);
+        PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
+      }
+      break;
+
+    // 32 bits to consider.
+    case FOUR: {
+      long bitsAddr = keyFixedVectorAddr + (start * blockWidth);
+      final int nullMask = compare.getFour();
+      for(int keyIndex = start; keyIndex < end; keyIndex++, offsetAddr += 4, bitsAddr += blockWidth){
+        if((PlatformDependent.getInt(bitsAddr) & nullMask) == nullMask){
+          // the nulls are not comparable. as such, this doesn't match.
           final int keyHash = (int)hashValues.get(keyIndex);
           PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
+        } else {
+          PlatformDependent.putInt(offsetAddr, SKIP);
         }
-        break;
-
-      // 32 bits to consider.
-      case FOUR: {
-        long bitsAddr = keyFixedVectorAddr;
-        final int nullMask = compare.getFour();
-        for(int keyIndex = 0; keyIndex < records; keyIndex++, offsetAddr += 4, bitsAddr += blockWidth){
-          if((PlatformDependent.getInt(bitsAddr) & nullMask) == nullMask){
-            // the nulls are not comparable. as such, this doesn't match.
-            final int keyHash = (int)hashValues.get(keyIndex);
-            PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
-          } else {
-            PlatformDependent.putInt(offsetAddr, SKIP);
-          }
-        }
-        break;
       }
+      break;
+    }
 
-      // 64 bits to consider.
-      case EIGHT: {
-        long bitsAddr = keyFixedVectorAddr;
-        final long nullMask = compare.getEight();
-        for(int keyIndex = 0; keyIndex < records; keyIndex++, offsetAddr += 4, bitsAddr += blockWidth){
-          if((PlatformDependent.getLong(bitsAddr) & nullMask) == nullMask){
-            final int keyHash = (int)hashValues.get(keyIndex);
-            PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
-          } else {
-            // the nulls are not comparable. as such, this doesn't match.
-            PlatformDependent.putInt(offsetAddr, SKIP);
-          }
+    // 64 bits to consider.
+    case EIGHT: {
+      long bitsAddr = keyFixedVectorAddr + (start * blockWidth);
+      final long nullMask = compare.getEight();
+      for(int keyIndex = start; keyIndex < end; keyIndex++, offsetAddr += 4, bitsAddr += blockWidth){
+        if((PlatformDependent.getLong(bitsAddr) & nullMask) == nullMask){
+          final int keyHash = (int)hashValues.get(keyIndex);
+          PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
+        } else {
+          // the nulls are not comparable. as such, this doesn't match.
+          PlatformDependent.putInt(offsetAddr, SKIP);
         }
-        break;
       }
+      break;
+    }
 
-      // more than 64 bits to consider.
-      case BIG: {
-        long bitsAddr = keyFixedVectorAddr;
-        for(int keyIndex = 0; keyIndex < records; keyIndex++, offsetAddr += 4, bitsAddr += blockWidth){
-          if(compare.isComparableBigBits(bitsAddr)){
-            final int keyHash = (int)hashValues.get(keyIndex);
-            PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
-          } else {
-            // the nulls are not comparable. as such, this doesn't match.
-            PlatformDependent.putInt(offsetAddr, SKIP);
-          }
+    // more than 64 bits to consider.
+    case BIG: {
+      long bitsAddr = keyFixedVectorAddr + (start * blockWidth);
+      for(int keyIndex = start; keyIndex < end; keyIndex++, offsetAddr += 4, bitsAddr += blockWidth){
+        if(compare.isComparableBigBits(bitsAddr)){
+          final int keyHash = (int)hashValues.get(keyIndex);
+          PlatformDependent.putInt(offsetAddr, table.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, keyHash));
+        } else {
+          // the nulls are not comparable. as such, this doesn't match.
+          PlatformDependent.putInt(offsetAddr, SKIP);
         }
-        break;
       }
+      break;
+    }
 
-
-      default:
-        throw new IllegalStateException();
-      }
-
-
+    default:
+      throw new IllegalStateException();
     }
-    probeFindWatch.stop();
+    return offsetAddr;
   }
 
-
   @Override
   public int capacity() {
     return table.capacity();
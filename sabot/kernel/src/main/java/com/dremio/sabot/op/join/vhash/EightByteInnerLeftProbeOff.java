@@ -147,6 +147,7 @@ public class EightByteInnerLeftProbeOff implements JoinTable {
           }
         } else if (bitValues == ALL_SET) {
           // all set,
+          map.prefetch(hashValueAddress, remainCount);
           for (int i = 0; i < remainCount; i++, srcDataAddr += EIGHT_BYTE, outputAddr += FOUR_BYTE) {
             final int keyHash = (int) PlatformDependent.getLong(hashValueAddress);
             PlatformDependent.putInt(outputAddr, map.insert(PlatformDependent.getLong(srcDataAddr), keyHash));
@@ -210,6 +211,7 @@ public class EightByteInnerLeftProbeOff implements JoinTable {
           }
         } else if (bitValues == ALL_SET) {
           // all set, skip individual checks.
+          map.prefetch(hashValueAddress, WORD_BITS);
           for (int i = 0; i < WORD_BITS; i++, srcDataAddr += EIGHT_BYTE, outputAddr += FOUR_BYTE) {
             final int keyHash = (int) PlatformDependent.getLong(hashValueAddress);
             PlatformDependent.putInt(outputAddr, map.get(PlatformDependent.getLong(srcDataAddr), keyHash));
@@ -219,6 +221,7 @@ public class EightByteInnerLeftProbeOff implements JoinTable {
           // some nulls, some not, update each value to zero or the value, depending on the null bit.
           // if null keys are equal, get the ordinal of null key in hash table, otherwise set to NO_MATCH.
           final int nullKeyId = isEqualForNullKey ? map.getNull() : LBlockHashTableEight.NO_MATCH;
+          map.prefetch(hashValueAddress, WORD_BITS);
           for (int i = 0; i < WORD_BITS; i++, srcDataAddr += EIGHT_BYTE, outputAddr += FOUR_BYTE) {
             final int bitVal = ((int) (bitValues >>> i)) & 1;
             if(bitVal == 1){
@@ -245,6 +248,7 @@ public class EightByteInnerLeftProbeOff implements JoinTable {
           }
         } else if (bitValues == ALL_SET) {
           // all set,
+          map.prefetch(hashValueAddress, remainCount);
           for (int i = 0; i < remainCount; i++, srcDataAddr += EIGHT_BYTE, outputAddr += FOUR_BYTE) {
             final int keyHash = (int) PlatformDependent.getLong(hashValueAddress);
             PlatformDependent.putInt(outputAddr, map.get(PlatformDependent.getLong(srcDataAddr), keyHash));
@@ -254,6 +258,7 @@ public class EightByteInnerLeftProbeOff implements JoinTable {
           // some nulls,
           // if null keys are equal, get the ordinal of null key in hash table, otherwise set to NO_MATCH.
           final int nullKeyId = isEqualForNullKey ? map.getNull() : LBlockHashTableEight.NO_MATCH;
+          map.prefetch(hashValueAddress, remainCount);
           for (int i = 0; i < remainCount; i++, srcDataAddr += EIGHT_BYTE, outputAddr += FOUR_BYTE) {
             final int bitVal = ((int) (bitValues >>> i)) & 1;
             if(bitVal == 1){
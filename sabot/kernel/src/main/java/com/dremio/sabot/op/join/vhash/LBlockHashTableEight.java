@@ -81,6 +81,9 @@ public final class LBlockHashTableEight implements AutoCloseable {
   private final Stopwatch rehashTimer = Stopwatch.createUnstarted();
   private final Stopwatch initTimer = Stopwatch.createUnstarted();
 
+  // sink for the loads done by prefetch(), so that the JIT doesn't eliminate them.
+  private long prefetched;
+
   public LBlockHashTableEight(HashConfig config, BufferAllocator allocator, int initialSize) {
     this.allocator = allocator;
     this.config = new HashConfigWrapper(config);
@@ -198,6 +201,25 @@ public final class LBlockHashTableEight implements AutoCloseable {
     return getOrInsert(key, false, keyHash);
   }
 
+  /**
+   * Touch the table slots of a chunk of keys that will be looked up next, so that the cache misses of the chunk
+   * overlap rather than stalling each lookup in turn. See {@link com.dremio.sabot.op.common.ht2.LBlockHashTable#prefetch(int)}.
+   *
+   * @param hashValueAddr address of the hash values, 8 bytes each (only the lower 32 bits are used)
+   * @param count number of hash values
+   */
+  public void prefetch(final long hashValueAddr, final int count) {
+    final int capacityMask = this.capacityMask;
+    final long[] tableFixedAddresses = this.tableFixedAddresses;
+    long touched = 0;
+    final long maxAddr = hashValueAddr + (count * 8L);
+    for (long addr = hashValueAddr; addr < maxAddr; addr += 8) {
+      final int index = ((int) PlatformDependent.getLong(addr)) & capacityMask;
+      touched ^= PlatformDependent.getLong(tableFixedAddresses[index >>> BITS_IN_CHUNK] + ((index & CHUNK_OFFSET_MASK) * BLOCK_WIDTH));
+    }
+    prefetched ^= touched;
+  }
+
   private final int getOrInsert(long key, boolean insertNew, int keyHash) {
 
     long free = this.freeValue;
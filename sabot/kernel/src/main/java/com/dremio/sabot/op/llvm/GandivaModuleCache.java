@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.llvm;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.arrow.gandiva.evaluator.Filter;
+import org.apache.arrow.gandiva.evaluator.Projector;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.expression.ArrowTypeHelper;
+import org.apache.arrow.gandiva.expression.Condition;
+import org.apache.arrow.gandiva.expression.ExpressionTree;
+import org.apache.arrow.gandiva.ipc.GandivaTypes;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.dremio.telemetry.api.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.ByteString;
+
+/**
+ * Node wide cache of gandiva projectors and filters, so that the fragments of a query evaluating
+ * the same expressions share the same native module instead of building one each.
+ *
+ * Modules are keyed by the schema of the referenced fields and the serialized expressions. They
+ * are reference counted: a module is only closed once evicted and released by all the fragments
+ * using it. The cache is bounded by an estimate of the native memory held by the modules.
+ */
+final class GandivaModuleCache {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(GandivaModuleCache.class);
+
+  static final GandivaModuleCache INSTANCE = withMetrics(
+      Long.getLong("dremio.gandiva.module_cache_size", 256 * 1024 * 1024));
+
+  // rough estimate of the native memory held by a module, whose generated code grows with the
+  // size of its expressions.
+  private static final int MODULE_WEIGHT = 64 * 1024;
+  private static final int EXPRESSION_BYTE_WEIGHT = 32;
+
+  private final boolean enabled;
+  private final Cache<Key, Module<?>> modules;
+
+  @VisibleForTesting
+  GandivaModuleCache(long maxSizeBytes) {
+    this.enabled = maxSizeBytes > 0;
+    this.modules = CacheBuilder.newBuilder()
+        .maximumWeight(maxSizeBytes)
+        .<Key, Module<?>>weigher((key, module) -> module.weight)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .removalListener((RemovalListener<Key, Module<?>>) notification -> notification.getValue().release())
+        .recordStats()
+        .build();
+  }
+
+  private static GandivaModuleCache withMetrics(long maxSizeBytes) {
+    final GandivaModuleCache cache = new GandivaModuleCache(maxSizeBytes);
+    Metrics.newGauge(Metrics.join("gandiva", "module_cache", "hits"), () -> cache.modules.stats().hitCount());
+    Metrics.newGauge(Metrics.join("gandiva", "module_cache", "misses"), () -> cache.modules.stats().missCount());
+    Metrics.newGauge(Metrics.join("gandiva", "module_cache", "build_millis"),
+        () -> TimeUnit.NANOSECONDS.toMillis(cache.modules.stats().totalLoadTime()));
+    Metrics.newGauge(Metrics.join("gandiva", "module_cache", "size"), cache.modules::size);
+    return cache;
+  }
+
+  /**
+   * Get a projector for the expressions. The returned module must be released once done.
+   */
+  Module<Projector> getProjector(Schema schema, List<ExpressionTree> exprs) throws GandivaException {
+    final GandivaTypes.ExpressionList.Builder builder = GandivaTypes.ExpressionList.newBuilder();
+    for (ExpressionTree expr : exprs) {
+      builder.addExprs(expr.toProtobuf());
+    }
+    final Key key = new Key(KeyType.PROJECTOR, ArrowTypeHelper.arrowSchemaToProtobuf(schema).toByteString(),
+        builder.build().toByteString());
+    return get(key, () -> Projector.make(schema, exprs), Projector::close);
+  }
+
+  /**
+   * Get a filter for the condition. The returned module must be released once done.
+   */
+  Module<Filter> getFilter(Schema schema, Condition condition) throws GandivaException {
+    final Key key = new Key(KeyType.FILTER, ArrowTypeHelper.arrowSchemaToProtobuf(schema).toByteString(),
+        condition.toProtobuf().toByteString());
+    return get(key, () -> Filter.make(schema, condition), Filter::close);
+  }
+
+  @VisibleForTesting
+  @SuppressWarnings("unchecked")
+  <T> Module<T> get(Key key, Builder<T> builder, Closer<T> closer) throws GandivaException {
+    if (!enabled) {
+      return new Module<>(builder.build(), closer, 0);
+    }
+
+    final Module<T> module;
+    try {
+      module = (Module<T>) modules.get(key, () -> new Module<>(builder.build(), closer, key.weight()));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), GandivaException.class);
+      throw new RuntimeException(e.getCause());
+    }
+
+    if (module.tryAcquire()) {
+      return module;
+    }
+    // already evicted and closed, for example when heavier than the whole cache
+    return new Module<>(builder.build(), closer, 0);
+  }
+
+  @VisibleForTesting
+  long size() {
+    return modules.size();
+  }
+
+  @VisibleForTesting
+  void invalidateAll() {
+    modules.invalidateAll();
+  }
+
+  enum KeyType {
+    PROJECTOR,
+    FILTER
+  }
+
+  @VisibleForTesting
+  static final class Key {
+    private final KeyType type;
+    private final ByteString schema;
+    private final ByteString exprs;
+
+    Key(KeyType type, ByteString schema, ByteString exprs) {
+      this.type = type;
+      this.schema = schema;
+      this.exprs = exprs;
+    }
+
+    private int weight() {
+      return MODULE_WEIGHT + EXPRESSION_BYTE_WEIGHT * exprs.size();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return this.type == that.type && this.schema.equals(that.schema) && this.exprs.equals(that.exprs);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, schema, exprs);
+    }
+  }
+
+  @FunctionalInterface
+  interface Builder<T> {
+    T build() throws GandivaException;
+  }
+
+  @FunctionalInterface
+  interface Closer<T> {
+    void close(T evaluator) throws GandivaException;
+  }
+
+  /**
+   * A reference counted projector or filter. The cache holds a reference while the module is
+   * cached, and each user holds one until it releases the module.
+   */
+  static final class Module<T> implements AutoCloseable {
+    private final T evaluator;
+    private final Closer<T> closer;
+    private final int weight;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private Module(T evaluator, Closer<T> closer, int weight) {
+      this.evaluator = evaluator;
+      this.closer = closer;
+      this.weight = weight;
+    }
+
+    T get() {
+      return evaluator;
+    }
+
+    private boolean tryAcquire() {
+      while (true) {
+        final int count = references.get();
+        if (count == 0) {
+          return false;
+        }
+        if (references.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Release a reference to the module, closing it once not referenced anymore.
+     */
+    void release() {
+      if (references.decrementAndGet() != 0) {
+        return;
+      }
+
+      try {
+        closer.close(evaluator);
+      } catch (GandivaException e) {
+        logger.warn("Failure while closing gandiva module.", e);
+      }
+    }
+
+    @Override
+    public void close() {
+      release();
+    }
+  }
+}
@@ -40,11 +40,11 @@ import io.netty.buffer.ArrowBuf;
  */
 public class NativeFilter implements AutoCloseable {
 
-  private final Filter filter;
+  private final GandivaModuleCache.Module<Filter> filter;
   private final VectorSchemaRoot root;
   private final SelectionVector2 selectionVector;
 
-  private NativeFilter(Filter filter, VectorSchemaRoot root, SelectionVector2 selectionVector) {
+  private NativeFilter(GandivaModuleCache.Module<Filter> filter, VectorSchemaRoot root, SelectionVector2 selectionVector) {
     this.filter = filter;
     this.root = root;
     this.selectionVector = selectionVector;
@@ -64,7 +64,7 @@ public class NativeFilter implements AutoCloseable {
     Set referencedFields = Sets.newHashSet();
     Condition condition = GandivaExpressionBuilder.serializeExprToCondition(input, expr, referencedFields, functionContext);
     VectorSchemaRoot root = GandivaUtils.getSchemaRoot(input, referencedFields);
-    Filter filter = Filter.make(root.getSchema(), condition);
+    GandivaModuleCache.Module<Filter> filter = GandivaModuleCache.INSTANCE.getFilter(root.getSchema(), condition);
     return new NativeFilter(filter, root, selectionVector);
   }
 
@@ -91,18 +91,17 @@ public class NativeFilter implements AutoCloseable {
     ArrowBuf svBuffer = selectionVector.getBuffer(false);
     SelectionVector selectionVectorGandiva = new SelectionVectorInt16(svBuffer);
 
-    filter.evaluate(recordCount, buffers, selectionVectorGandiva);
+    filter.get().evaluate(recordCount, buffers, selectionVectorGandiva);
     selectionVector.setRecordCount(selectionVectorGandiva.getRecordCount());
     return selectionVector.getCount();
   }
 
   /**
-   * Close the underlying gandiva filter.
-   * @throws GandivaException
+   * Release the underlying gandiva filter.
    */
   @Override
-  public void close() throws GandivaException {
-    filter.close();
+  public void close() {
+    filter.release();
   }
 
 }
@@ -39,7 +39,7 @@ import io.netty.buffer.ArrowBuf;
 public class NativeProjector implements AutoCloseable {
   private final VectorAccessible incoming;
   private List<ExpressionTree> columnExprList = new ArrayList<>();
-  private Projector projector = null;
+  private GandivaModuleCache.Module<Projector> projector = null;
   private VectorSchemaRoot root;
   private final Schema schema;
   private final FunctionContext functionContext;
@@ -61,7 +61,7 @@ public class NativeProjector implements AutoCloseable {
 
   public void build() throws GandivaException {
     root = GandivaUtils.getSchemaRoot(incoming, referencedFields);
-    projector = Projector.make(root.getSchema(), columnExprList);
+    projector = GandivaModuleCache.INSTANCE.getProjector(root.getSchema(), columnExprList);
   }
 
   public void execute(int recordCount, List<ValueVector> outVectors) throws Exception {
@@ -72,11 +72,11 @@ public class NativeProjector implements AutoCloseable {
       buffers.addAll(v.getFieldBuffers());
     }
 
-    projector.evaluate(recordCount, buffers, outVectors);
+    projector.get().evaluate(recordCount, buffers, outVectors);
   }
 
   @Override
   public void close() throws Exception {
-    projector.close();
+    projector.release();
   }
 }
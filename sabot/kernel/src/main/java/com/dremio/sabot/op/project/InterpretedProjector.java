@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.project;
+
+import java.util.List;
+
+import org.apache.arrow.vector.AllocationHelper;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.util.TransferPair;
+
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.exec.exception.SchemaChangeException;
+import com.dremio.exec.expr.TypeHelper;
+import com.dremio.exec.expr.fn.interpreter.InterpretedStart;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator.EvalVisitor;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.selection.SelectionVector2;
+import com.dremio.sabot.exec.context.FunctionContext;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Evaluates the expressions of a project in the interpreter, without generating code.
+ * Same as {@link ProjectorTemplate} otherwise, except that it also allocates its output vectors.
+ */
+class InterpretedProjector implements Projector {
+
+  private final List<LogicalExpression> exprs;
+  private final List<ValueVector> outputs;
+  private final EvalVisitor[] evaluators;
+  private ImmutableList<TransferPair> transfers;
+  private SelectionVector2 vector2;
+  private SelectionVectorMode svMode;
+
+  /**
+   * @param exprs the expressions, without code generation context
+   * @param outputs the vector receiving the values of each expression
+   */
+  InterpretedProjector(List<LogicalExpression> exprs, List<ValueVector> outputs) {
+    Preconditions.checkArgument(exprs.size() == outputs.size());
+    this.exprs = exprs;
+    this.outputs = outputs;
+    this.evaluators = new EvalVisitor[exprs.size()];
+  }
+
+  @Override
+  public void setup(FunctionContext context, VectorAccessible incoming, VectorAccessible outgoing, List<TransferPair> transfers,
+      ComplexWriterCreator writerCreator) throws SchemaChangeException {
+    this.svMode = incoming.getSchema().getSelectionVectorMode();
+    switch (svMode) {
+    case NONE:
+      break;
+    case TWO_BYTE:
+      this.vector2 = incoming.getSelectionVector2();
+      break;
+    default:
+      throw new UnsupportedOperationException("Unsupported selection vector mode " + svMode.name());
+    }
+    this.transfers = ImmutableList.copyOf(transfers);
+
+    for (int i = 0; i < exprs.size(); i++) {
+      evaluators[i] = InterpreterEvaluator.setup(incoming, context, exprs.get(i));
+    }
+  }
+
+  @Override
+  public void projectRecords(int recordCount) {
+    for (int e = 0; e < exprs.size(); e++) {
+      final LogicalExpression expr = exprs.get(e);
+      final ValueVector output = outputs.get(e);
+      AllocationHelper.allocateNew(output, recordCount);
+      try {
+        for (int i = 0; i < recordCount; i++) {
+          final int inIndex = svMode == SelectionVectorMode.TWO_BYTE ? vector2.getIndex(i) : i;
+          TypeHelper.setValueSafe(output, i, expr.accept(evaluators[e], inIndex));
+        }
+      } catch (RuntimeException ex) {
+        output.clear();
+        throw InterpretedStart.unwrap(ex);
+      }
+      output.setValueCount(recordCount);
+    }
+
+    if (svMode == SelectionVectorMode.NONE) {
+      for (TransferPair t : transfers) {
+        t.transfer();
+      }
+    }
+  }
+}
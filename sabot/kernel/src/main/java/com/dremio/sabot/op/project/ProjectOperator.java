@@ -52,6 +52,8 @@ import com.dremio.exec.expr.FunctionHolderExpr;
 import com.dremio.exec.expr.TypeHelper;
 import com.dremio.exec.expr.ValueVectorReadExpression;
 import com.dremio.exec.expr.fn.ComplexWriterFunctionHolder;
+import com.dremio.exec.expr.fn.interpreter.InterpretedStart;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator;
 import com.dremio.exec.physical.config.ComplexToJson;
 import com.dremio.exec.physical.config.Project;
 import com.dremio.exec.proto.UserBitShared.OperatorProfileDetails;
@@ -82,6 +84,9 @@ public class ProjectOperator implements SingleInputOperator {
   private Projector projector;
   private List<ValueVector> allocationVectors;
   private ExpressionSplitter splitter;
+  // evaluates the expressions until code is generated, if starting in the interpreter
+  private Projector interpretedProjector;
+  private InterpretedStart interpretedStart;
   private final List<ComplexWriter> complexWriters = new ArrayList<>();
   private int recordsConsumedCurrentBatch;
   private BatchSchema initialSchema;
@@ -107,6 +112,75 @@ public class ProjectOperator implements SingleInputOperator {
   public VectorAccessible setup(VectorAccessible incoming) throws Exception {
     this.incoming = incoming;
     this.allocationVectors = Lists.newArrayList();
+    if (!(projectorOptions.isInterpretedStartEnabled() && setupInterpreter())) {
+      setupCompiled();
+    }
+    state = State.CAN_CONSUME;
+    return outgoing;
+  }
+
+  // Sets up the evaluation of the expressions in the interpreter, if it supports all of them
+  private boolean setupInterpreter() {
+    final List<NamedExpression> exprs = getExpressionList();
+    final List<LogicalExpression> materializedExprs = new ArrayList<>(exprs.size());
+    final IntHashSet transferFieldIds = new IntHashSet();
+    for (NamedExpression namedExpression : exprs) {
+      final LogicalExpression expr = CodeGenerationContextRemover.removeCodeGenContext(context.getClassProducer()
+        .materializeAndAllowComplex(projectorOptions, namedExpression.getExpr(), incoming));
+      switch (getEvalMode(incoming, expr, transferFieldIds)) {
+        case DIRECT:
+          transferFieldIds.add(((ValueVectorReadExpression) expr).getFieldId().getFieldIds()[0]);
+          break;
+        case EVAL:
+          if (!InterpreterEvaluator.canEvaluate(expr)) {
+            return false;
+          }
+          break;
+        case COMPLEX:
+        default:
+          return false;
+      }
+      materializedExprs.add(expr);
+    }
+
+    // same outgoing vectors, in the same order, as when generating code
+    final List<LogicalExpression> interpretedExprs = new ArrayList<>();
+    final List<ValueVector> outputs = new ArrayList<>();
+    final List<TransferPair> transfers = new ArrayList<>();
+    transferFieldIds.clear();
+    for (int i = 0; i < exprs.size(); i++) {
+      final LogicalExpression expr = materializedExprs.get(i);
+      final FieldReference ref = exprs.get(i).getRef();
+      if (getEvalMode(incoming, expr, transferFieldIds) == EvalMode.DIRECT) {
+        final ValueVectorReadExpression vectorRead = (ValueVectorReadExpression) expr;
+        final TypedFieldId id = vectorRead.getFieldId();
+        final ValueVector vvIn = incoming.getValueAccessorById(id.getIntermediateClass(), id.getFieldIds()).getValueVector();
+        final ValueVector vvOut = outgoing.addOrGet(vectorRead.getCompleteType().toField(ref));
+        transfers.add(vvIn.makeTransferPair(vvOut));
+        transferFieldIds.add(id.getFieldIds()[0]);
+      } else {
+        interpretedExprs.add(expr);
+        outputs.add(outgoing.addOrGet(expr.getCompleteType().toField(ref)));
+      }
+    }
+    outgoing.buildSchema(SelectionVectorMode.NONE);
+    outgoing.setInitialCapacity(context.getTargetBatchSize());
+    initialSchema = outgoing.getSchema();
+
+    try {
+      final Projector projector = new InterpretedProjector(interpretedExprs, outputs);
+      projector.setup(context.getFunctionContext(), incoming, outgoing, transfers, null);
+      interpretedProjector = projector;
+    } catch (Exception e) {
+      // generating code gets the same outgoing vectors
+      logger.debug("Unable to interpret project expressions {}, generating code instead", interpretedExprs, e);
+      return false;
+    }
+    interpretedStart = new InterpretedStart(projectorOptions);
+    return true;
+  }
+
+  private void setupCompiled() throws Exception {
     final List<NamedExpression> exprs = getExpressionList();
     final List<TransferPair> transfers = new ArrayList<>();
 
@@ -120,7 +194,6 @@ public class ProjectOperator implements SingleInputOperator {
 
     outgoing.buildSchema(SelectionVectorMode.NONE);
     outgoing.setInitialCapacity(context.getTargetBatchSize());
-    state = State.CAN_CONSUME;
     initialSchema = outgoing.getSchema();
     splitter.setupProjector(outgoing, javaCodeGenWatch, gandivaCodeGenWatch);
     javaCodeGenWatch.start();
@@ -148,6 +221,9 @@ public class ProjectOperator implements SingleInputOperator {
     stats.addLongStat(Metric.JAVA_EXPRESSIONS, splitter.getNumExprsInJava());
     stats.addLongStat(Metric.MIXED_EXPRESSIONS, splitter.getNumExprsInBoth());
     stats.addLongStat(Metric.MIXED_SPLITS, splitter.getNumSplitsInBoth());
+    stats.addLongStat(Metric.SHARED_SUBEXPRESSIONS, splitter.getNumSharedExprs());
+    stats.addLongStat(Metric.ELIMINATED_EVALUATIONS, splitter.getNumEliminatedEvaluations());
+    stats.addLongStat(Metric.STRING_KERNEL_EXPRESSIONS, splitter.getNumExprsInKernels());
     stats.setProfileDetails(OperatorProfileDetails
       .newBuilder()
       .addAllSplitInfos(splitter.getSplitInfos())
@@ -155,7 +231,6 @@ public class ProjectOperator implements SingleInputOperator {
     );
     gandivaCodeGenWatch.reset();
     javaCodeGenWatch.reset();
-    return outgoing;
   }
 
 
@@ -169,6 +244,24 @@ public class ProjectOperator implements SingleInputOperator {
   @Override
   public int outputData() throws Exception {
     state.is(State.CAN_PRODUCE);
+    if (interpretedProjector != null) {
+      if (interpretedStart.canInterpret(recordsConsumedCurrentBatch)) {
+        interpretedStart.start();
+        try {
+          interpretedProjector.projectRecords(recordsConsumedCurrentBatch);
+        } finally {
+          interpretedStart.stop(recordsConsumedCurrentBatch);
+        }
+        outgoing.setRecordCount(recordsConsumedCurrentBatch);
+        state = State.CAN_CONSUME;
+        return recordsConsumedCurrentBatch;
+      }
+
+      logger.debug("Generating code for the project after interpreting {} records", interpretedStart.getRecords());
+      interpretedProjector = null;
+      setupCompiled();
+    }
+
     allocateNew();
 
     splitter.projectRecords(recordsConsumedCurrentBatch, javaCodeGenWatch, gandivaCodeGenWatch);
@@ -205,6 +298,9 @@ public class ProjectOperator implements SingleInputOperator {
   @Override
   public void close() throws Exception {
     AutoCloseables.close(outgoing, splitter);
+    if (interpretedStart != null) {
+      context.getStats().addLongStat(Metric.INTERPRETED_RECORDS, interpretedStart.getRecords());
+    }
     context.getStats().addLongStat(Metric.JAVA_EVALUATE_TIME, javaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
     context.getStats().addLongStat(Metric.GANDIVA_EVALUATE_TIME, gandivaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
     javaCodeGenWatch.reset();
@@ -322,16 +418,37 @@ public class ProjectOperator implements SingleInputOperator {
     ExpressionSplitter splitter = new ExpressionSplitter(context, incoming,
             options, context.getClassProducer().getFunctionLookupContext().isDecimalV2Enabled());
 
+    final List<LogicalExpression> materializedExprs = new ArrayList<>(exprs.size());
+    final List<NamedExpression> evaluatedExprs = new ArrayList<>();
     for (int i = 0; i < exprs.size(); i++) {
       final NamedExpression namedExpression = exprs.get(i);
       // it is possible that a filter removed all output or the shard has no data, so we don't have any incoming vectors
       // applies only for coercion readers
       if (targetSchema != null && incoming.getValueVectorId(SchemaPath.getSimplePath(targetSchema
               .getFields().get(i).getName())) == null) {
+        materializedExprs.add(null);
         continue;
       }
       final LogicalExpression expr = context.getClassProducer().materializeAndAllowComplex(options,
               namedExpression.getExpr(), incoming);
+      materializedExprs.add(expr);
+      final LogicalExpression originalExpression = ((CodeGenContext) expr).getChild();
+      if (!(originalExpression instanceof ValueVectorReadExpression)
+        && !(originalExpression instanceof FunctionHolderExpr && ((FunctionHolderExpr) originalExpression).isComplexWriterFuncHolder())) {
+        evaluatedExprs.add(new NamedExpression(expr, namedExpression.getRef()));
+      }
+    }
+
+    // evaluate once the subexpressions shared by the evaluated expressions
+    final List<NamedExpression> sharingExprs = splitter.shareCommonSubExpressions(evaluatedExprs);
+    int evaluatedIndex = 0;
+
+    for (int i = 0; i < exprs.size(); i++) {
+      final NamedExpression namedExpression = exprs.get(i);
+      final LogicalExpression expr = materializedExprs.get(i);
+      if (expr == null) {
+        continue;
+      }
       final LogicalExpression originalExpression = ((CodeGenContext) expr).getChild();
       switch (ProjectOperator.getEvalMode(incoming, originalExpression, transferFieldIds)) {
 
@@ -358,7 +475,9 @@ public class ProjectOperator implements SingleInputOperator {
         }
 
         case EVAL: {
-          splitter.addExpr(outgoing, new NamedExpression(expr, namedExpression.getRef()));
+          final LogicalExpression evaluatedExpr = originalExpression instanceof ValueVectorReadExpression
+            ? expr : sharingExprs.get(evaluatedIndex++).getExpr();
+          splitter.addExpr(outgoing, new NamedExpression(evaluatedExpr, namedExpression.getRef()));
           break;
         }
         default:
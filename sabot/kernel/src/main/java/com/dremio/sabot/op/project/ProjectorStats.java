@@ -26,7 +26,11 @@ public class ProjectorStats {
     GANDIVA_BUILD_TIME,
     GANDIVA_EVALUATE_TIME,
     MIXED_EXPRESSIONS,
-    MIXED_SPLITS;
+    MIXED_SPLITS,
+    SHARED_SUBEXPRESSIONS,
+    ELIMINATED_EVALUATIONS,
+    INTERPRETED_RECORDS,
+    STRING_KERNEL_EXPRESSIONS;
 
     @Override
     public int metricId() {
@@ -158,6 +158,13 @@ public abstract class AbstractDataCollector implements DataCollector {
 
   protected abstract RawBatchBuffer getBuffer(int minorFragmentId);
 
+  @Override
+  public void informUpstreamFinished() {
+    for (int i = 0; i < completionMessages.length; i++) {
+      completionMessages[i].informUpstreamIfNecessary();
+    }
+  }
+
   @Override
   public synchronized void close() throws Exception {
     if(!closed){
@@ -174,9 +181,7 @@ public abstract class AbstractDataCollector implements DataCollector {
           // We can optimize this to only do so in the situation where the query
           // isn't currently failing. In those cases, the Foreman will already
           // be cleaning up.
-          for (int i = 0; i < completionMessages.length; i++) {
-            completionMessages[i].informUpstreamIfNecessary();
-          }
+          informUpstreamFinished();
         }
 
       });
@@ -173,6 +173,27 @@ public class IncomingBuffers implements BatchStreamProvider, AutoCloseable {
   }
 
 
+  /**
+   * Informs the senders of the given major fragment that this fragment no longer needs their data. Called as soon as
+   * the consuming side of a receiver is done (e.g. a satisfied limit) rather than waiting for this fragment to finish.
+   *
+   * @param senderMajorFragmentId major fragment id of the senders
+   */
+  @Override
+  public void informUpstreamFinished(int senderMajorFragmentId) {
+    try (AutoCloseableLock lock = sharedIncomingBatchLock.open()) {
+      if (closed) {
+        return;
+      }
+
+      final DataCollector collector = collector(senderMajorFragmentId);
+
+      synchronized (collector) {
+        collector.informUpstreamFinished();
+      }
+    }
+  }
+
   @Override
   public boolean isPotentiallyBlocked() {
     return !resourceGroup.isAvailable();
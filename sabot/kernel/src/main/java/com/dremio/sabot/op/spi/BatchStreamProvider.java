@@ -21,4 +21,9 @@ public interface BatchStreamProvider {
   public RawFragmentBatchProvider[] getBuffers(int senderMajorFragmentId);
 
   public boolean isPotentiallyBlocked();
+
+  /**
+   * Informs all senders of the given major fragment that no more data is needed from them.
+   */
+  public void informUpstreamFinished(int senderMajorFragmentId);
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.DatasetType;
+
+/**
+ * Tests for {@link DatasetConfigCache}
+ */
+public class TestDatasetConfigCache {
+  private static final long MAX_SIZE = 1024 * 1024;
+  private static final long EXPIRE_MS = TimeUnit.HOURS.toMillis(1);
+
+  private static DatasetConfig newConfig(DatasetType type, String... path) {
+    return new DatasetConfig()
+        .setName(path[path.length - 1])
+        .setFullPathList(Arrays.asList(path))
+        .setType(type)
+        .setTag("0");
+  }
+
+  @Test
+  public void testGet() {
+    final DatasetConfigCache cache = new DatasetConfigCache(MAX_SIZE, EXPIRE_MS);
+    final DatasetConfig config = newConfig(DatasetType.PHYSICAL_DATASET, "source", "Table");
+    cache.put(config, 1, cache.getGeneration());
+
+    final DatasetConfig cached = cache.get(new NamespaceKey(Arrays.asList("source", "Table")), 1);
+    assertEquals(config, cached);
+    // callers get their own copy
+    assertNotSame(config, cached);
+
+    // lookups are case insensitive
+    assertEquals(config, cache.get(new NamespaceKey(Arrays.asList("SOURCE", "table")), 1));
+    assertEquals(2, cache.hitCount());
+  }
+
+  @Test
+  public void testSourceMetadataChanged() {
+    final DatasetConfigCache cache = new DatasetConfigCache(MAX_SIZE, EXPIRE_MS);
+    cache.put(newConfig(DatasetType.PHYSICAL_DATASET, "source", "table"), 1, cache.getGeneration());
+
+    final NamespaceKey key = new NamespaceKey(Arrays.asList("source", "table"));
+    assertNull(cache.get(key, 2));
+    // stale entry is dropped
+    assertNull(cache.get(key, 1));
+  }
+
+  @Test
+  public void testVirtualDatasetNotCached() {
+    final DatasetConfigCache cache = new DatasetConfigCache(MAX_SIZE, EXPIRE_MS);
+    cache.put(newConfig(DatasetType.VIRTUAL_DATASET, "space", "view"), 1, cache.getGeneration());
+
+    assertNull(cache.get(new NamespaceKey(Arrays.asList("space", "view")), 1));
+  }
+
+  @Test
+  public void testInvalidatedWhileReading() {
+    final DatasetConfigCache cache = new DatasetConfigCache(MAX_SIZE, EXPIRE_MS);
+    final NamespaceKey key = new NamespaceKey(Arrays.asList("source", "table"));
+
+    final long generation = cache.getGeneration();
+    cache.invalidate(key);
+    cache.put(newConfig(DatasetType.PHYSICAL_DATASET, "source", "table"), 1, generation);
+
+    assertNull(cache.get(key, 1));
+  }
+
+  @Test
+  public void testInvalidate() {
+    final DatasetConfigCache cache = new DatasetConfigCache(MAX_SIZE, EXPIRE_MS);
+    cache.put(newConfig(DatasetType.PHYSICAL_DATASET, "source", "table1"), 1, cache.getGeneration());
+    cache.put(newConfig(DatasetType.PHYSICAL_DATASET, "source", "table2"), 1, cache.getGeneration());
+    cache.put(newConfig(DatasetType.PHYSICAL_DATASET, "other", "table1"), 1, cache.getGeneration());
+
+    cache.invalidate(new NamespaceKey(Arrays.asList("SOURCE", "TABLE1")));
+    assertNull(cache.get(new NamespaceKey(Arrays.asList("source", "table1")), 1));
+
+    cache.invalidateSource("Source");
+    assertNull(cache.get(new NamespaceKey(Arrays.asList("source", "table2")), 1));
+    assertEquals("table1", cache.get(new NamespaceKey(Arrays.asList("other", "table1")), 1).getName());
+  }
+
+  @Test
+  public void testDisabled() {
+    final DatasetConfigCache cache = DatasetConfigCache.disabled();
+    cache.put(newConfig(DatasetType.PHYSICAL_DATASET, "source", "table"), 1, cache.getGeneration());
+
+    assertNull(cache.get(new NamespaceKey(Arrays.asList("source", "table")), 1));
+  }
+}
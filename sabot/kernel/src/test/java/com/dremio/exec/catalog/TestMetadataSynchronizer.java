@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import com.dremio.connector.metadata.DatasetHandle;
+import com.dremio.connector.metadata.DatasetHandleListing;
+import com.dremio.connector.metadata.EntityPath;
+import com.dremio.connector.metadata.SourceMetadata;
+import com.dremio.connector.metadata.extensions.SupportsListingDatasets;
+import com.dremio.exec.store.DatasetRetrievalOptions;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.NamespaceNotFoundException;
+import com.dremio.service.namespace.NamespaceService;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.ReadDefinition;
+import com.dremio.service.namespace.source.proto.MetadataPolicy;
+import com.dremio.service.namespace.source.proto.UpdateMode;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link MetadataSynchronizer}, synchronizing existing datasets serially and in parallel.
+ */
+public class TestMetadataSynchronizer {
+  private static final NamespaceKey SOURCE = new NamespaceKey("src");
+  private static final NamespaceKey ORPHAN = new NamespaceKey(ImmutableList.of("src", "gone"));
+  private static final NamespaceKey NEW_DATASET = new NamespaceKey(ImmutableList.of("src", "folder", "new"));
+  private static final String FAILING_DATASET = "t3";
+
+  private NamespaceService namespace;
+  private ListingSourceMetadata sourceMetadata;
+  private DatasetSaver saver;
+  private final Set<NamespaceKey> saved = ConcurrentHashMap.newKeySet();
+  private final Set<String> savingThreads = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Source metadata listing its datasets.
+   */
+  interface ListingSourceMetadata extends SourceMetadata, SupportsListingDatasets {
+  }
+
+  @Before
+  public void setup() throws Exception {
+    namespace = mock(NamespaceService.class);
+    when(namespace.getDataset(any(NamespaceKey.class)))
+        .thenAnswer(invocation -> new DatasetConfig()
+            .setTag("0")
+            .setReadDefinition(new ReadDefinition()));
+    when(namespace.getFolder(any(NamespaceKey.class)))
+        .thenThrow(new NamespaceNotFoundException(SOURCE, "not a folder"));
+
+    sourceMetadata = mock(ListingSourceMetadata.class);
+    saver = mock(DatasetSaver.class);
+    doAnswer(invocation -> {
+      final DatasetHandle handle = (DatasetHandle) invocation.getArguments()[1];
+      savingThreads.add(Thread.currentThread().getName());
+      if (handle.getDatasetPath().getName().equals(FAILING_DATASET)) {
+        throw new RuntimeException("unreadable dataset");
+      }
+      saved.add(MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath()));
+      return null;
+    }).when(saver).save(any(DatasetConfig.class), any(DatasetHandle.class), any(SourceMetadata.class), anyBoolean(),
+        any(DatasetRetrievalOptions.class), anyVararg());
+  }
+
+  @Test
+  public void testSerialSync() throws Exception {
+    final List<NamespaceKey> existing = setupDatasets(20);
+    final SyncStatus status = newSynchronizer(1).go();
+
+    assertSynced(existing, status);
+    assertEquals(ImmutableList.of(Thread.currentThread().getName()), ImmutableList.copyOf(savingThreads));
+  }
+
+  @Test
+  public void testParallelSync() throws Exception {
+    // more datasets than the workers and their queue hold at once
+    final List<NamespaceKey> existing = setupDatasets(20);
+    final SyncStatus status = newSynchronizer(4).go();
+
+    assertSynced(existing, status);
+    assertTrue(savingThreads.stream().anyMatch(name -> name.startsWith("metadata-refresh-")));
+  }
+
+  @Test
+  public void testInterruptedParallelSync() throws Exception {
+    // fewer datasets than the workers and their queue hold, so that the listing thread only waits for the workers
+    setupDatasets(4);
+    final CountDownLatch started = new CountDownLatch(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer((Answer<Void>) invocation -> {
+      started.countDown();
+      release.await();
+      return null;
+    }).when(saver).save(any(DatasetConfig.class), any(DatasetHandle.class), any(SourceMetadata.class), anyBoolean(),
+        any(DatasetRetrievalOptions.class), anyVararg());
+
+    final MetadataSynchronizer synchronizer = newSynchronizer(2);
+    final SyncStatus[] status = new SyncStatus[1];
+    final Thread refreshThread = new Thread(() -> status[0] = synchronizer.go());
+    refreshThread.start();
+    try {
+      assertTrue(started.await(1, TimeUnit.MINUTES));
+      refreshThread.interrupt();
+      refreshThread.join(TimeUnit.MINUTES.toMillis(1));
+      assertFalse("sync did not stop once interrupted", refreshThread.isAlive());
+    } finally {
+      release.countDown();
+    }
+
+    assertTrue(status[0].isInterrupted());
+    // not all datasets were synced, so none of them is deleted
+    verify(namespace, never()).deleteDataset(any(NamespaceKey.class), anyString());
+  }
+
+  private void assertSynced(List<NamespaceKey> existing, SyncStatus status) throws Exception {
+    assertFalse(status.isInterrupted());
+    assertTrue(status.isRefreshed());
+
+    final Set<NamespaceKey> expected = new HashSet<>(existing);
+    expected.remove(new NamespaceKey(ImmutableList.of("src", "folder", FAILING_DATASET)));
+    assertEquals(expected, saved);
+    assertTrue(status.toString(), status.toString().contains("19 changed, 0 unchanged, 1 deleted, 1 unreadable"));
+
+    verify(namespace, times(1)).addOrUpdateDataset(eq(NEW_DATASET), any(DatasetConfig.class));
+    verify(namespace, times(1)).deleteDataset(eq(ORPHAN), anyString());
+  }
+
+  /**
+   * Sets up existing datasets listed by the source along with a new dataset, and an existing dataset no longer in
+   * the source.
+   *
+   * @return the existing datasets listed by the source
+   */
+  private List<NamespaceKey> setupDatasets(int count) throws Exception {
+    final List<NamespaceKey> existing = new ArrayList<>();
+    final List<DatasetHandle> handles = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final NamespaceKey key = new NamespaceKey(ImmutableList.of("src", "folder", "t" + i));
+      existing.add(key);
+      handles.add(newHandle(key));
+    }
+    handles.add(newHandle(NEW_DATASET));
+
+    final List<NamespaceKey> inNamespace = new ArrayList<>(existing);
+    inNamespace.add(ORPHAN);
+    when(namespace.getAllDatasets(eq(SOURCE)))
+        .thenReturn(inNamespace);
+    when(sourceMetadata.listDatasetHandles(anyVararg()))
+        .thenAnswer(invocation -> (DatasetHandleListing) handles::iterator);
+    return existing;
+  }
+
+  private static DatasetHandle newHandle(NamespaceKey key) {
+    final DatasetHandle handle = mock(DatasetHandle.class);
+    when(handle.getDatasetPath())
+        .thenReturn(new EntityPath(key.getPathComponents()));
+    return handle;
+  }
+
+  private MetadataSynchronizer newSynchronizer(int refreshThreads) throws Exception {
+    final MetadataSynchronizer synchronizer = new MetadataSynchronizer(namespace, SOURCE, sourceMetadata,
+        new MetadataPolicy().setDatasetUpdateMode(UpdateMode.PREFETCH_QUERIED), saver,
+        DatasetRetrievalOptions.DEFAULT, refreshThreads);
+    synchronizer.setup();
+    return synchronizer;
+  }
+}
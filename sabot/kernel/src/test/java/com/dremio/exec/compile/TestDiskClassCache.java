@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.compile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.dremio.exec.compile.DiskClassCache.CachedClasses;
+
+/**
+ * Tests for {@link DiskClassCache}
+ */
+public class TestDiskClassCache {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private static CachedClasses classes(int size) {
+    return new CachedClasses("com.dremio.s.ProjectorGen1", new ClassBytes[] {
+        new ClassBytes("com.dremio.s.ProjectorGen1", new byte[size]),
+        new ClassBytes("com.dremio.s.ProjectorGen1$Inner", new byte[] {1, 2, 3})
+    }, 42);
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    final CachedClasses read = DiskClassCache.read(DiskClassCache.write(classes(10)));
+    assertEquals("com.dremio.s.ProjectorGen1", read.getClassName());
+    assertEquals(42, read.getCompileNanos());
+    assertEquals(2, read.getClasses().length);
+    assertEquals("com.dremio.s.ProjectorGen1$Inner", read.getClasses()[1].getName());
+    assertArrayEquals(new byte[] {1, 2, 3}, read.getClasses()[1].getBytes());
+  }
+
+  @Test
+  public void testPutGet() throws Exception {
+    final DiskClassCache cache = new DiskClassCache(folder.getRoot().toPath(), 1024 * 1024);
+    assertNull(cache.get("a"));
+
+    cache.put("a", classes(10));
+    final CachedClasses cached = cache.get("a");
+    assertNotNull(cached);
+    assertEquals(10, cached.getClasses()[0].getBytes().length);
+
+    // survives restarts
+    final DiskClassCache other = new DiskClassCache(folder.getRoot().toPath(), 1024 * 1024);
+    assertEquals(cache.size(), other.size());
+    assertNotNull(other.get("a"));
+  }
+
+  @Test
+  public void testCorrupted() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final DiskClassCache cache = new DiskClassCache(directory, 1024 * 1024);
+    Files.write(directory.resolve("a.classes"), new byte[] {0, 0, 0, 1, 0});
+
+    assertNull(cache.get("a"));
+    assertTrue(Files.notExists(directory.resolve("a.classes")));
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final DiskClassCache cache = new DiskClassCache(directory, 3000);
+    cache.put("a", classes(1000));
+    cache.put("b", classes(1000));
+    Files.setLastModifiedTime(directory.resolve("a.classes"), FileTime.fromMillis(1000));
+    Files.setLastModifiedTime(directory.resolve("b.classes"), FileTime.fromMillis(2000));
+
+    cache.put("c", classes(1000));
+    assertNull(cache.get("a"));
+    assertNotNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+    assertTrue(cache.size() <= 3000);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.exec.expr.fn.FunctionErrorContext;
+import com.dremio.exec.expr.fn.FunctionErrorContextBuilder;
+import com.dremio.exec.expr.fn.impl.SqlPatternMatcher.Kind;
+import com.dremio.test.AllocatorRule;
+
+import io.netty.buffer.ArrowBuf;
+
+/**
+ * Tests for {@link SqlPatternMatcher}
+ */
+public class TestSqlPatternMatcher {
+
+  private static final String[] PATTERNS = {
+      "abc", "abc%", "%abc", "%abc%", "a%c", "%a%b%", "ab%bc", "%", "%%", "", "a_c", "%b_%",
+      "ABC%", "%Abc%", "%é%", "é%", "a%%c", "%aab%", "kab%"
+  };
+
+  private static final String[] VALUES = {
+      "", "a", "abc", "ABC", "abcd", "xabc", "xabcx", "abbc", "abc", "aXc", "bc", "ab", "a\nc",
+      "aaab", "aabaab", "xéy", "éa", "Abc", "abKc", "Kabc",
+      // kelvin sign, same as k ignoring case
+      "\u212Aabc"
+  };
+
+  @Rule
+  public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+  private ArrowBuf buffer;
+
+  @Before
+  public void setup() {
+    allocator = allocatorRule.newAllocator("test-sql-pattern-matcher", 0, Long.MAX_VALUE);
+    buffer = allocator.buffer(1024);
+  }
+
+  @After
+  public void cleanup() throws Exception {
+    AutoCloseables.close(buffer, allocator);
+  }
+
+  private static SqlPatternMatcher compile(String pattern, boolean caseInsensitive) {
+    final FunctionErrorContext errCtx = FunctionErrorContextBuilder.builder().build();
+    return SqlPatternMatcher.compile(pattern, null, caseInsensitive, errCtx);
+  }
+
+  private boolean matches(SqlPatternMatcher matcher, String value) {
+    // not at the start of the buffer, to check offsets
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.setBytes(7, bytes);
+    return matcher.matches(7, 7 + bytes.length, buffer);
+  }
+
+  @Test
+  public void testKinds() {
+    assertEquals(Kind.EXACT, compile("abc", false).getKind());
+    assertEquals(Kind.PREFIX, compile("abc%", false).getKind());
+    assertEquals(Kind.SUFFIX, compile("%abc", false).getKind());
+    assertEquals(Kind.CONTAINS, compile("%abc%", false).getKind());
+    assertEquals(Kind.MULTI_SEGMENT, compile("a%b%c", false).getKind());
+    assertEquals(Kind.REGEX, compile("a_c", false).getKind());
+    assertEquals(Kind.PREFIX, compile("%", false).getKind());
+    assertEquals(Kind.REGEX, compile("%é%", true).getKind());
+    assertEquals(Kind.CONTAINS, compile("%é%", false).getKind());
+  }
+
+  @Test
+  public void testEscape() {
+    final FunctionErrorContext errCtx = FunctionErrorContextBuilder.builder().build();
+    final SqlPatternMatcher matcher = SqlPatternMatcher.compile("a#_b#%%", "#", false, errCtx);
+    assertEquals(Kind.PREFIX, matcher.getKind());
+    assertEquals(true, matches(matcher, "a_b%c"));
+    assertEquals(false, matches(matcher, "axb%c"));
+  }
+
+  @Test
+  public void testSameAsRegex() {
+    for (boolean caseInsensitive : new boolean[] {false, true}) {
+      final int flags = caseInsensitive
+          ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL
+          : Pattern.DOTALL;
+      for (String pattern : PATTERNS) {
+        final SqlPatternMatcher matcher = compile(pattern, caseInsensitive);
+        final Pattern regex = Pattern.compile(RegexpUtil.sqlToRegexLike(pattern), flags);
+        for (String value : VALUES) {
+          assertEquals(String.format("'%s' like '%s' (case insensitive: %s)", value, pattern, caseInsensitive),
+              regex.matcher(value).matches(), matches(matcher, value));
+        }
+      }
+    }
+  }
+}
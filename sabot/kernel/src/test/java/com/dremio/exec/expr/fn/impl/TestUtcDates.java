@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeZone;
+import org.joda.time.MutableDateTime;
+import org.joda.time.chrono.DayOfWeekFromSundayChronology;
+import org.joda.time.chrono.ISOChronology;
+import org.junit.Test;
+
+import com.dremio.exec.util.TSI;
+
+/**
+ * Tests for {@link UtcDates}, against Joda in UTC
+ */
+public class TestUtcDates {
+
+  private static final Chronology ISO_UTC = ISOChronology.getInstanceUTC();
+
+  // around the epoch, leap days, and years far in the past and the future
+  private static long[] instants() {
+    final Random random = new Random(0);
+    final long[] instants = new long[20_000];
+    int i = 0;
+    final int[][] dates = {{1970, 1, 1}, {1969, 12, 31}, {2000, 2, 29}, {1900, 3, 1}, {2019, 12, 30}, {2021, 1, 3},
+        {0, 1, 1}, {-1, 12, 31}, {1600, 2, 29}};
+    for (int[] date : dates) {
+      final long millis = ISO_UTC.getDateTimeMillis(date[0], date[1], date[2], 0);
+      instants[i++] = millis;
+      instants[i++] = millis - 1;
+      instants[i++] = millis + UtcDates.MILLIS_PER_DAY - 1;
+    }
+    while (i < instants.length) {
+      final long range = random.nextBoolean() ? 100L * 366 * UtcDates.MILLIS_PER_DAY : 5000L * 366 * UtcDates.MILLIS_PER_DAY;
+      instants[i++] = (long) ((random.nextDouble() * 2 - 1) * range);
+    }
+    return instants;
+  }
+
+  @Test
+  public void testFields() {
+    final MutableDateTime dateTime = new MutableDateTime(DayOfWeekFromSundayChronology.getISOInstanceInUTC());
+    for (long millis : instants()) {
+      dateTime.setMillis(millis);
+      final String message = dateTime.toString();
+      assertEquals(message, dateTime.getYear(), UtcDates.year(millis));
+      assertEquals(message, dateTime.getMonthOfYear(), UtcDates.month(millis));
+      assertEquals(message, dateTime.getDayOfMonth(), UtcDates.dayOfMonth(millis));
+      assertEquals(message, dateTime.getDayOfYear(), UtcDates.dayOfYear(millis));
+      assertEquals(message, dateTime.getDayOfWeek(), UtcDates.dayOfWeekFromSunday(millis));
+      assertEquals(message, dateTime.getWeekOfWeekyear(), UtcDates.weekOfWeekYear(millis));
+      assertEquals(message, dateTime.getHourOfDay(), UtcDates.hourOfDay(millis));
+      assertEquals(message, dateTime.getMinuteOfHour(), UtcDates.minuteOfHour(millis));
+      assertEquals(message, dateTime.getSecondOfMinute(), UtcDates.secondOfMinute(millis));
+    }
+  }
+
+  @Test
+  public void testTruncations() {
+    for (long millis : instants()) {
+      final String message = new MutableDateTime(millis, DateTimeZone.UTC).toString();
+      assertEquals(message, ISO_UTC.year().roundFloor(millis), UtcDates.truncateToYear(millis));
+      assertEquals(message, ISO_UTC.monthOfYear().roundFloor(millis), UtcDates.truncateToMonth(millis));
+      assertEquals(message, ISO_UTC.weekOfWeekyear().roundFloor(millis), UtcDates.truncateToWeek(millis));
+      assertEquals(message, ISO_UTC.dayOfMonth().roundFloor(millis), UtcDates.truncateToDay(millis));
+      assertEquals(message, ISO_UTC.hourOfDay().roundFloor(millis), UtcDates.truncateToHour(millis));
+      assertEquals(message, ISO_UTC.minuteOfHour().roundFloor(millis), UtcDates.truncateToMinute(millis));
+      assertEquals(message, ISO_UTC.secondOfMinute().roundFloor(millis), UtcDates.truncateToSecond(millis));
+
+      final int month = ISO_UTC.monthOfYear().get(millis);
+      final long quarter = ISO_UTC.months().add(ISO_UTC.year().roundFloor(millis), ((month - 1) / 3) * 3);
+      assertEquals(message, quarter, UtcDates.truncateToQuarter(millis));
+    }
+  }
+
+  @Test
+  public void testAdditions() {
+    final Random random = new Random(0);
+    final MutableDateTime dateTime = new MutableDateTime(DateTimeZone.UTC);
+    for (long millis : instants()) {
+      final int count = random.nextInt(2000) - 1000;
+      for (TSI tsi : TSI.values()) {
+        if (tsi == TSI.MICROSECOND) {
+          continue;
+        }
+        dateTime.setMillis(millis);
+        tsi.addCount(dateTime, count);
+        assertEquals(tsi + " " + count + " " + new MutableDateTime(millis, DateTimeZone.UTC),
+            dateTime.getMillis(), tsi.addCount(millis, count));
+      }
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.exec.expr.fn.FunctionErrorContextBuilder;
+import com.dremio.test.AllocatorRule;
+import com.dremio.test.DremioTest;
+
+/**
+ * Tests for {@link VarCharKernels}
+ */
+public class TestVarCharKernels extends DremioTest {
+
+  private static final String[] ASCII = {"Hello World", null, "", "  padded  ", "   ", "ABCxyz-09[]@`{",
+    "a", null, "The quick brown fox jumps over the lazy dog"};
+  private static final String[] UNICODE = {"héllo wörld", null, "  ÉtÉ  ", "日本語のテキスト", "a", "ß "};
+
+  @Rule
+  public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+  private VarCharVector input;
+  private VarCharVector other;
+  private VarCharVector output;
+
+  @Before
+  public void setup() {
+    allocator = allocatorRule.newAllocator("test-varchar-kernels", 0, Long.MAX_VALUE);
+    input = new VarCharVector("input", allocator);
+    other = new VarCharVector("other", allocator);
+    output = new VarCharVector("output", allocator);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    AutoCloseables.close(input, other, output, allocator);
+  }
+
+  private static void fill(VarCharVector vector, String[] values) {
+    vector.allocateNew();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        vector.setSafe(i, values[i].getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    vector.setValueCount(values.length);
+  }
+
+  private void assertOutput(String[] expected) {
+    assertEquals(expected.length, output.getValueCount());
+    for (int i = 0; i < expected.length; i++) {
+      if (expected[i] == null) {
+        assertTrue("value " + i, output.isNull(i));
+      } else {
+        assertEquals("value " + i, expected[i], new String(output.get(i), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testIsAscii() {
+    fill(input, ASCII);
+    assertTrue(VarCharKernels.isAscii(input.getDataBufferAddress(), input.getOffsetBuffer().getInt(ASCII.length * 4)));
+    fill(input, UNICODE);
+    assertFalse(VarCharKernels.isAscii(input.getDataBufferAddress(), input.getOffsetBuffer().getInt(UNICODE.length * 4)));
+  }
+
+  @Test
+  public void testUpperLower() {
+    for (String[] values : new String[][] {ASCII, UNICODE}) {
+      fill(input, values);
+      final String[] upper = new String[values.length];
+      final String[] lower = new String[values.length];
+      for (int i = 0; i < values.length; i++) {
+        // only ASCII letters change case
+        upper[i] = values[i] == null ? null : convertAscii(values[i], true);
+        lower[i] = values[i] == null ? null : convertAscii(values[i], false);
+      }
+
+      VarCharKernels.upper(input, output, values.length);
+      assertOutput(upper);
+      VarCharKernels.lower(input, output, values.length);
+      assertOutput(lower);
+    }
+  }
+
+  private static String convertAscii(String value, boolean upper) {
+    final StringBuilder builder = new StringBuilder();
+    for (char c : value.toCharArray()) {
+      builder.append(c < 0x80 ? (upper ? Character.toUpperCase(c) : Character.toLowerCase(c)) : c);
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testTrim() {
+    for (String[] values : new String[][] {ASCII, UNICODE}) {
+      fill(input, values);
+      final String[] ltrim = new String[values.length];
+      final String[] rtrim = new String[values.length];
+      final String[] btrim = new String[values.length];
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          ltrim[i] = values[i].replaceAll("^ +", "");
+          rtrim[i] = values[i].replaceAll(" +$", "");
+          btrim[i] = values[i].replaceAll("^ +| +$", "");
+        }
+      }
+
+      VarCharKernels.trim(input, output, values.length, true, false);
+      assertOutput(ltrim);
+      VarCharKernels.trim(input, output, values.length, false, true);
+      assertOutput(rtrim);
+      VarCharKernels.trim(input, output, values.length, true, true);
+      assertOutput(btrim);
+    }
+  }
+
+  @Test
+  public void testSubstring() {
+    for (String[] values : new String[][] {ASCII, UNICODE}) {
+      fill(input, values);
+      for (long offset : new long[] {-20, -3, -1, 0, 1, 2, 5, 30}) {
+        for (Long length : new Long[] {null, -1L, 0L, 1L, 3L, 100L}) {
+          final String[] expected = new String[values.length];
+          for (int i = 0; i < values.length; i++) {
+            expected[i] = values[i] == null ? null : substring(values[i], offset, length);
+          }
+          VarCharKernels.substring(input, output, values.length, offset, length, FunctionErrorContextBuilder.builder().build());
+          assertOutput(expected);
+        }
+      }
+    }
+  }
+
+  // postgres substring, on code points
+  private static String substring(String value, long offset, Long length) {
+    final int[] codePoints = value.codePoints().toArray();
+    final int from = offset < 0 ? codePoints.length + (int) offset + 1 : Math.max(1, (int) offset);
+    if (from <= 0 || from > codePoints.length || (length != null && length <= 0)) {
+      return "";
+    }
+    final int to = length == null ? codePoints.length : (int) Math.min(codePoints.length, from - 1 + length);
+    return new String(codePoints, from - 1, to - from + 1);
+  }
+
+  @Test
+  public void testConcat() {
+    final String[] right = {"x", "y", null, "", "ü", "z", "w", null, "!"};
+    fill(input, ASCII);
+    fill(other, right);
+    final VarCharVector[] vectors = {input, null, other};
+    final byte[][] literals = {null, "-".getBytes(StandardCharsets.UTF_8), null};
+
+    final String[] operator = new String[ASCII.length];
+    final String[] function = new String[ASCII.length];
+    for (int i = 0; i < ASCII.length; i++) {
+      operator[i] = ASCII[i] == null || right[i] == null ? null : ASCII[i] + "-" + right[i];
+      function[i] = (ASCII[i] == null ? "" : ASCII[i]) + "-" + (right[i] == null ? "" : right[i]);
+    }
+
+    VarCharKernels.concat(vectors, literals, output, ASCII.length, true);
+    assertOutput(operator);
+    VarCharKernels.concat(vectors, literals, output, ASCII.length, false);
+    assertOutput(function);
+  }
+}
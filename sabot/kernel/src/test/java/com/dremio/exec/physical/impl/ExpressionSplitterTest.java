@@ -488,6 +488,101 @@ public class ExpressionSplitterTest extends BaseTestFunction {
     splitAndVerify(query, input, output, splits, annotator);
   }
 
+  @Test
+  public void testSharedSubExpressions() throws Exception {
+    Fixtures.Table input = Fixtures.split(
+      th("c0", "c1", "c2"),
+      2,
+      tr(3, 1, 2),
+      tr(5, 2, 1),
+      tr(2, 2, 7)
+    );
+
+    Fixtures.Table output = t(
+      th("out1", "out2"),
+      tr(10, 6),
+      tr(22, 20),
+      tr(7, -7)
+    );
+
+    GandivaAnnotator annotator = new GandivaAnnotator("add", "subtract", "multiply");
+    BufferAllocator testAllocator = getTestAllocator();
+    Generator generator = input.toGenerator(testAllocator);
+    VectorAccessible incoming = generator.getOutput();
+
+    Project pop = new Project(OpProps.prototype(), null, null);
+    final BufferAllocator childAllocator = testAllocator.newChildAllocator(
+      pop.getClass().getSimpleName(),
+      pop.getProps().getMemReserve(),
+      pop.getProps().getMemLimit() == 0 ? Long.MAX_VALUE : pop.getProps().getMemLimit());
+    final OperatorContextImpl context = testContext.getNewOperatorContext(childAllocator, pop, 1);
+    testCloseables.add(context);
+
+    List<NamedExpression> exprs = new ArrayList<>();
+    String[] queries = {"((c0 + c1) * (c0 - c1)) + c2", "((c0 + c1) * (c0 - c1)) - c2"};
+    for (int i = 0; i < queries.length; i++) {
+      LogicalExpression expr;
+      try (ErrorCollector errorCollector = new ErrorCollectorImpl()) {
+        expr = ExpressionTreeMaterializer.materialize(toExpr(queries[i]), incoming.getSchema(), errorCollector,
+          testContext.getFunctionLookupContext(), false);
+      }
+      exprs.add(new NamedExpression(expr.accept(annotator, null), new FieldReference("out" + (i + 1))));
+    }
+
+    Stopwatch javaCodeGenWatch = Stopwatch.createUnstarted();
+    Stopwatch gandivaCodeGenWatch = Stopwatch.createUnstarted();
+    ExpressionSplitter splitter = null;
+    VectorContainer dataOut = null;
+    final List<RecordBatchData> data = new ArrayList<>();
+    try {
+      OptionManager optionManager = testContext.getOptions();
+      optionManager.setOption(OptionValue.createBoolean(
+        OptionValue.OptionType.SYSTEM, ExecConstants.SPLIT_ENABLED.getOptionName(), true));
+      ExpressionEvaluationOptions options = new ExpressionEvaluationOptions(optionManager);
+      options.setCodeGenOption(SupportedEngines.CodeGenOption.Gandiva.toString());
+      splitter = new ExpressionSplitter(context, incoming, options, annotator, "_xxx", true);
+      dataOut = context.createOutputVectorContainer();
+      for (NamedExpression namedExpression : splitter.shareCommonSubExpressions(exprs)) {
+        splitter.addExpr(dataOut, namedExpression);
+      }
+      VectorContainer vectorContainer = splitter.setupProjector(dataOut, javaCodeGenWatch, gandivaCodeGenWatch);
+
+      // the product is evaluated once, and read by both expressions
+      assertEquals(1, splitter.getNumSharedExprs());
+      assertEquals(1, splitter.getNumEliminatedEvaluations());
+      ExprToString stringBuilder = new ExprToString(vectorContainer);
+      List<ExpressionSplit> splits = splitter.getSplits();
+      assertEquals(3, splits.size());
+      assertEquals("multiply(add(c0,c1),subtract(c0,c1))",
+        stringBuilder.expr2String(splits.get(0).getNamedExpression().getExpr()).replaceAll("\\s+", "").toLowerCase());
+      assertEquals(2, splits.get(0).getTotalReadersOfOutput());
+      String sharedName = splits.get(0).getOutputName();
+      assertEquals("add(" + sharedName + ",c2)",
+        stringBuilder.expr2String(splits.get(1).getNamedExpression().getExpr()).replaceAll("\\s+", "").toLowerCase());
+      assertEquals(Arrays.asList(sharedName), splits.get(1).getDependencies());
+      assertEquals(Arrays.asList(sharedName), splits.get(2).getDependencies());
+      assertEquals(2, splits.get(2).getExecIteration());
+
+      dataOut.buildSchema(BatchSchema.SelectionVectorMode.NONE);
+      int count;
+      while ((count = generator.next(1)) != 0) {
+        splitter.projectRecords(count, javaCodeGenWatch, gandivaCodeGenWatch);
+        dataOut.setRecordCount(count);
+        data.add(new RecordBatchData(dataOut, testAllocator));
+      }
+      output.checkValid(data);
+    } finally {
+      if (dataOut != null) {
+        dataOut.close();
+      }
+      generator.close();
+      if (splitter != null) {
+        splitter.close();
+      }
+      AutoCloseables.close(data);
+    }
+  }
+
   @Test
   public void testBooleanAnd() throws Exception {
     String query = "c0 > 10 AND c0 < 20";
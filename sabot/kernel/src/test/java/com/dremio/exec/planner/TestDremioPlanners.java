@@ -15,6 +15,9 @@
  */
 package com.dremio.exec.planner;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -42,15 +45,20 @@ import com.dremio.common.exceptions.UserException;
 import com.dremio.exec.planner.cost.DremioCost;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.types.SqlTypeFactoryImpl;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
+import com.dremio.exec.proto.UserBitShared.PlannerRuleProfile;
 import com.dremio.options.OptionManager;
 import com.dremio.options.OptionValue;
 import com.dremio.options.OptionValue.OptionType;
 import com.dremio.test.DremioTest;
+import com.google.common.collect.Iterables;
 
 /**
  * Tests to check common features of Dremio planners
  */
 public class TestDremioPlanners {
+  private static final Convention TEST_CONVENTION = new Convention.Impl("TEST", FiniteRel.class);
+
   private static class NoneRel extends AbstractRelNode {
     public NoneRel(RelOptCluster cluster) {
       super(cluster, cluster.traitSetOf(Convention.NONE));
@@ -75,6 +83,30 @@ public class TestDremioPlanners {
     }
   }
 
+  private static class FiniteRel extends AbstractRelNode {
+    public FiniteRel(RelOptCluster cluster) {
+      super(cluster, cluster.traitSetOf(TEST_CONVENTION));
+    }
+
+    @Override public RelOptCost computeSelfCost(RelOptPlanner planner,
+        RelMetadataQuery mq) {
+      return planner.getCostFactory().makeTinyCost();
+    }
+
+    @Override
+    protected RelDataType deriveRowType() {
+      final RelDataTypeFactory typeFactory = getCluster().getTypeFactory();
+      return new RelDataTypeFactory.Builder(getCluster().getTypeFactory())
+          .add("finite", typeFactory.createJavaType(Void.TYPE))
+          .build();
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+      return super.explainTerms(pw).item("id", id);
+    }
+  }
+
   private static class LoopRule extends RelOptRule {
     public LoopRule() {
       super(operand(NoneRel.class, none()));
@@ -92,12 +124,36 @@ public class TestDremioPlanners {
     }
   }
 
+  /**
+   * Keeps producing equivalent plans, each of them complete.
+   */
+  private static class FiniteLoopRule extends RelOptRule {
+    public FiniteLoopRule() {
+      super(operand(FiniteRel.class, none()));
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      call.transformTo(new FiniteRel(call.getRelList().get(0).getCluster()));
+    }
+  }
+
   @Rule
   public final ExpectedException expectedException = ExpectedException.none();
 
   public PlannerSettings getSettings(long timeoutMillis, int maxNodes) {
+    return getSettings(timeoutMillis, maxNodes, 0);
+  }
+
+  public PlannerSettings getSettings(long timeoutMillis, int maxNodes, long budgetMillis) {
     OptionManager optionManager = mock(OptionManager.class);
     when(optionManager.getOption("planner.timeout_per_phase_ms")).thenReturn(OptionValue.createLong(OptionType.QUERY, "planner.timeout_per_phase_ms", timeoutMillis));
+    when(optionManager.getOption("planner.budget_per_phase_ms")).thenReturn(OptionValue.createLong(OptionType.QUERY, "planner.budget_per_phase_ms", budgetMillis));
     when(optionManager.getOption("planner.max_nodes_per_plan")).thenReturn(OptionValue.createLong(OptionType.QUERY, "planner.max_nodes_per_plan", maxNodes));
 
     return new PlannerSettings(DremioTest.DEFAULT_SABOT_CONFIG, optionManager, null);
@@ -137,6 +193,43 @@ public class TestDremioPlanners {
     checkCancelFlag(planner);
   }
 
+  @Test
+  public void testVolcanoPlannerBudget() {
+    DremioVolcanoPlanner planner = DremioVolcanoPlanner.of(new DremioCost.Factory(), getSettings(60_000, 25_000, 50), a -> {}, null);
+    planner.setPlannerPhase(PlannerPhase.LOGICAL);
+    RelOptRule rule = new FiniteLoopRule();
+    planner.addRule(rule);
+    RelOptCluster cluster = RelOptCluster.create(planner, new RexBuilder(SqlTypeFactoryImpl.INSTANCE));
+    planner.setRoot(new FiniteRel(cluster));
+
+    // the rule never stops exploring, the budget stops the phase with the best plan found so far
+    RelNode best = planner.findBestExp();
+    assertTrue(best instanceof FiniteRel);
+    assertTrue(planner.isBudgetExceeded(PlannerPhase.LOGICAL));
+    assertFalse(planner.isBudgetExceeded(PlannerPhase.PHYSICAL));
+
+    // the phase is marked in the profile, along with the rule which fired
+    PlanCaptureAttemptObserver observer = new PlanCaptureAttemptObserver(false, false, null, null);
+    observer.planRelTransform(PlannerPhase.LOGICAL, planner, planner.getRoot(), best, 100);
+    PlanPhaseProfile profile = Iterables.getLast(observer.getPlanPhases());
+    assertEquals(PlannerPhase.LOGICAL.description, profile.getPhaseName());
+    assertTrue(profile.getBudgetExceeded());
+    PlannerRuleProfile ruleProfile = Iterables.find(profile.getRuleProfilesList(),
+        p -> p.getRuleName().equals(rule.toString()));
+    assertTrue(ruleProfile.getMatchCount() > 0);
+    assertEquals(ruleProfile.getMatchCount(), ruleProfile.getTransformationCount());
+  }
+
+  @Test
+  public void testVolcanoPlannerBudgetWithoutCompletePlan() {
+    // the budget only applies once a complete plan was found, the phase still times out without one
+    DremioVolcanoPlanner planner = DremioVolcanoPlanner.of(new DremioCost.Factory(), getSettings(100, 25_000, 10), a -> {}, null);
+    planner.setPlannerPhase(PlannerPhase.LOGICAL);
+    planner.addRule(new LoopRule());
+
+    checkCancelFlag(planner);
+  }
+
   private void checkCancelFlag(RelOptPlanner planner) {
     expectedException.expect(UserException.class);
     expectedException.expectMessage("Query was cancelled because planning time exceeded");
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.calcite.plan.RelOptListener.RuleAttemptedEvent;
+import org.apache.calcite.plan.RelOptListener.RuleProductionEvent;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.junit.Test;
+
+import com.dremio.exec.proto.UserBitShared.PlannerRuleProfile;
+
+/**
+ * Tests for {@link RuleStatsListener}
+ */
+public class TestRuleStatsListener {
+
+  private static class TestRule extends RelOptRule {
+    public TestRule(String description) {
+      super(operand(RelNode.class, any()), description);
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+    }
+  }
+
+  private static final RelOptRule FAST_RULE = new TestRule("FastRule");
+  private static final RelOptRule SLOW_RULE = new TestRule("SlowRule");
+
+  @Test
+  public void testAggregateByRule() throws Exception {
+    final RuleStatsListener listener = new RuleStatsListener();
+
+    attempt(listener, FAST_RULE, 0);
+    produce(listener, FAST_RULE);
+    attempt(listener, SLOW_RULE, 20);
+    attempt(listener, FAST_RULE, 0);
+    produce(listener, FAST_RULE);
+    produce(listener, FAST_RULE);
+    attempt(listener, SLOW_RULE, 20);
+
+    // the most expensive rule first
+    final List<PlannerRuleProfile> profiles = listener.getRuleProfiles();
+    assertEquals(2, profiles.size());
+
+    final PlannerRuleProfile slow = profiles.get(0);
+    assertEquals("SlowRule", slow.getRuleName());
+    assertEquals(2, slow.getMatchCount());
+    assertEquals(0, slow.getTransformationCount());
+    assertTrue(slow.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+
+    final PlannerRuleProfile fast = profiles.get(1);
+    assertEquals("FastRule", fast.getRuleName());
+    assertEquals(2, fast.getMatchCount());
+    assertEquals(3, fast.getTransformationCount());
+    assertTrue(fast.getDurationNanos() <= slow.getDurationNanos());
+  }
+
+  @Test
+  public void testReset() throws Exception {
+    final RuleStatsListener listener = new RuleStatsListener();
+    attempt(listener, FAST_RULE, 0);
+    produce(listener, FAST_RULE);
+    final List<PlannerRuleProfile> profiles = listener.getRuleProfiles();
+
+    // profiles already taken are not affected by the next phase
+    listener.reset();
+    assertTrue(listener.getRuleProfiles().isEmpty());
+    attempt(listener, SLOW_RULE, 0);
+    assertEquals(1, profiles.size());
+    assertEquals("FastRule", profiles.get(0).getRuleName());
+    assertEquals(1, listener.getRuleProfiles().size());
+    assertEquals("SlowRule", listener.getRuleProfiles().get(0).getRuleName());
+  }
+
+  /**
+   * Notifies the listener of a rule attempt lasting at least the given time.
+   */
+  private static void attempt(RuleStatsListener listener, RelOptRule rule, long millis) throws InterruptedException {
+    final RelOptRuleCall call = newCall(rule);
+    listener.ruleAttempted(new RuleAttemptedEvent(listener, null, call, true));
+    TimeUnit.MILLISECONDS.sleep(millis);
+    listener.ruleAttempted(new RuleAttemptedEvent(listener, null, call, false));
+  }
+
+  private static void produce(RuleStatsListener listener, RelOptRule rule) {
+    final RelOptRuleCall call = newCall(rule);
+    listener.ruleProductionSucceeded(new RuleProductionEvent(listener, null, call, true));
+    listener.ruleProductionSucceeded(new RuleProductionEvent(listener, null, call, false));
+  }
+
+  private static RelOptRuleCall newCall(RelOptRule rule) {
+    final RelOptRuleCall call = mock(RelOptRuleCall.class);
+    when(call.getRule()).thenReturn(rule);
+    return call;
+  }
+}
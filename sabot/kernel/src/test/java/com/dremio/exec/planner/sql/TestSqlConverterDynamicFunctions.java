@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.calcite.sql.SqlNode;
+import org.junit.Test;
+
+import com.dremio.BaseTestQuery;
+import com.dremio.exec.ExecTest;
+import com.dremio.exec.PassthroughQueryObserver;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.planner.observer.AttemptObserver;
+import com.dremio.exec.planner.sql.handlers.PrelTransformer;
+import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
+import com.dremio.exec.proto.UserBitShared;
+import com.dremio.exec.proto.UserProtos;
+import com.dremio.sabot.rpc.user.UserSession;
+
+/**
+ * Tests that {@link SqlConverter} tracks the dynamic functions of a query, whose plan is then not cached.
+ */
+public class TestSqlConverterDynamicFunctions extends BaseTestQuery {
+
+  @Test
+  public void testNoDynamicFunction() throws Exception {
+    assertFalse(hasDynamicFunctions("SELECT n_name FROM cp.\"tpch/nation.parquet\" WHERE n_nationkey < 10"));
+  }
+
+  @Test
+  public void testDynamicFunction() throws Exception {
+    assertTrue(hasDynamicFunctions("SELECT n_name, CURRENT_TIMESTAMP FROM cp.\"tpch/nation.parquet\""));
+    assertTrue(hasDynamicFunctions("SELECT n_name FROM cp.\"tpch/nation.parquet\" WHERE n_name <> USER"));
+  }
+
+  @Test
+  public void testDynamicFunctionInView() throws Exception {
+    test(String.format("CREATE VIEW %s.dynamic_view AS SELECT n_name, CURRENT_DATE AS d FROM cp.\"tpch/nation.parquet\"",
+        TEMP_SCHEMA));
+    try {
+      assertTrue(hasDynamicFunctions(String.format("SELECT n_name FROM %s.dynamic_view", TEMP_SCHEMA)));
+    } finally {
+      test(String.format("DROP VIEW %s.dynamic_view", TEMP_SCHEMA));
+    }
+  }
+
+  private static boolean hasDynamicFunctions(String sql) throws Exception {
+    try (QueryContext queryContext = new QueryContext(session(), getSabotContext(),
+        UserBitShared.QueryId.getDefaultInstance())) {
+      final AttemptObserver observer = new PassthroughQueryObserver(ExecTest.mockUserClientConnection(null));
+      final SqlConverter converter = new SqlConverter(
+          queryContext.getPlannerSettings(),
+          queryContext.getOperatorTable(),
+          queryContext,
+          queryContext.getMaterializationProvider(),
+          queryContext.getFunctionRegistry(),
+          queryContext.getSession(),
+          observer,
+          queryContext.getCatalog(),
+          queryContext.getSubstitutionProviderFactory(),
+          queryContext.getConfig(),
+          queryContext.getScanResult());
+      final SqlNode node = converter.parse(sql);
+      final SqlHandlerConfig config = new SqlHandlerConfig(queryContext, converter, observer, null);
+      PrelTransformer.validateAndConvert(config, node);
+      return converter.hasDynamicFunctions();
+    }
+  }
+
+  private static UserSession session() {
+    return UserSession.Builder.newBuilder()
+        .withUserProperties(UserProtos.UserProperties.getDefaultInstance())
+        .withCredentials(UserBitShared.UserCredentials.newBuilder().setUserName("foo").build())
+        .withOptionManager(getSabotContext().getOptionManager())
+        .setSupportComplexTypes(true)
+        .build();
+  }
+}
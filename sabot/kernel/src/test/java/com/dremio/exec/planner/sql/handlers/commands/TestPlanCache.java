@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.commands;
+
+import static com.dremio.exec.planner.physical.PlannerSettings.PLAN_CACHE_ENABLED;
+import static com.dremio.exec.planner.physical.PlannerSettings.STORE_QUERY_RESULTS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.physical.PhysicalPlan;
+import com.dremio.exec.server.MaterializationDescriptorProvider;
+import com.dremio.options.OptionList;
+import com.dremio.options.OptionManager;
+import com.dremio.options.OptionValue;
+import com.dremio.options.OptionValue.OptionType;
+import com.dremio.sabot.rpc.user.UserSession;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link PlanCache}
+ */
+public class TestPlanCache {
+  private static final String SQL = "SELECT a FROM src.t";
+  private static final NamespaceKey TABLE = new NamespaceKey(ImmutableList.of("src", "t"));
+
+  private PlanCache cache;
+  private PreparedPlan plan;
+  private DremioTable table;
+  private Catalog catalog;
+
+  @Before
+  public void setup() {
+    cache = new PlanCache(1024 * 1024, TimeUnit.MINUTES.toMillis(10));
+
+    final PhysicalPlan physicalPlan = mock(PhysicalPlan.class);
+    plan = mock(PreparedPlan.class);
+    when(plan.getPlan()).thenReturn(physicalPlan);
+    when(plan.getQuery()).thenReturn(SQL);
+
+    table = newTable("1");
+    catalog = mock(Catalog.class);
+    when(catalog.getTableNoResolve(TABLE)).thenReturn(table);
+  }
+
+  @Test
+  public void testCacheHit() {
+    final PlanCache.Key key = cache.newKey(newContext("user", new OptionList()), SQL);
+    cache.put(key, plan, ImmutableList.of(table));
+
+    // the same query, differently formatted, from another query of the same user
+    final PlanCache.Key other = cache.newKey(newContext("user", new OptionList()), "SELECT a\n FROM src.t;");
+    assertEquals(key, other);
+    assertSame(plan, cache.get(other, catalog));
+    assertEquals(1, cache.hitCount());
+  }
+
+  @Test
+  public void testDatasetChangeInvalidates() {
+    final PlanCache.Key key = cache.newKey(newContext("user", new OptionList()), SQL);
+    cache.put(key, plan, ImmutableList.of(table));
+
+    // the metadata of the dataset was refreshed since
+    final DremioTable refreshed = newTable("2");
+    when(catalog.getTableNoResolve(TABLE)).thenReturn(refreshed);
+    assertNull(cache.get(key, catalog));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testOptionChangeMisses() {
+    final PlanCache.Key key = cache.newKey(newContext("user", new OptionList()), SQL);
+    cache.put(key, plan, ImmutableList.of(table));
+
+    final OptionList options = new OptionList();
+    options.add(OptionValue.createBoolean(OptionType.SESSION, "planner.enable_hashjoin", false));
+    final PlanCache.Key other = cache.newKey(newContext("user", options), SQL);
+    assertNotEquals(key, other);
+    assertNull(cache.get(other, catalog));
+  }
+
+  @Test
+  public void testOtherUserMisses() {
+    final PlanCache.Key key = cache.newKey(newContext("user", new OptionList()), SQL);
+    cache.put(key, plan, ImmutableList.of(table));
+
+    // users may not have access to the same datasets
+    final PlanCache.Key other = cache.newKey(newContext("other", new OptionList()), SQL);
+    assertNotEquals(key, other);
+    assertNull(cache.get(other, catalog));
+  }
+
+  @Test
+  public void testAccessRevokedMisses() {
+    final PlanCache.Key key = cache.newKey(newContext("user", new OptionList()), SQL);
+    cache.put(key, plan, ImmutableList.of(table));
+
+    // the catalog of the query checks the access of its user to the datasets of the plan
+    final Catalog revoked = mock(Catalog.class);
+    when(revoked.getTableNoResolve(any(NamespaceKey.class)))
+        .thenThrow(UserException.permissionError().message("no access").build());
+    assertNull(cache.get(key, revoked));
+  }
+
+  @Test
+  public void testNotCachedWithoutDatasetVersion() {
+    final PlanCache.Key key = cache.newKey(newContext("user", new OptionList()), SQL);
+    cache.put(key, plan, ImmutableList.of(newTable(null)));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testStoredResultsNotCached() {
+    final QueryContext context = newContext("user", new OptionList());
+    when(context.getOptions().getOption(STORE_QUERY_RESULTS.getOptionName()))
+        .thenReturn(OptionValue.createString(OptionType.QUERY, STORE_QUERY_RESULTS.getOptionName(), "direct_path"));
+    assertNull(cache.newKey(context, SQL));
+  }
+
+  @Test
+  public void testDisabled() {
+    final QueryContext context = newContext("user", new OptionList());
+    when(context.getOptions().getOption(PLAN_CACHE_ENABLED)).thenReturn(false);
+    assertNull(cache.newKey(context, SQL));
+
+    assertNull(new PlanCache(0, TimeUnit.MINUTES.toMillis(10)).newKey(newContext("user", new OptionList()), SQL));
+  }
+
+  private static QueryContext newContext(String user, OptionList nonDefaultOptions) {
+    final OptionManager options = mock(OptionManager.class);
+    when(options.getOption(PLAN_CACHE_ENABLED)).thenReturn(true);
+
+    final QueryContext context = mock(QueryContext.class);
+    when(context.getOptions()).thenReturn(options);
+    when(context.getNonDefaultOptions()).thenReturn(nonDefaultOptions);
+    when(context.getMaterializationProvider()).thenReturn(mock(MaterializationDescriptorProvider.class));
+    when(context.getSession()).thenReturn(mock(UserSession.class));
+    when(context.getQueryUserName()).thenReturn(user);
+    return context;
+  }
+
+  private static DremioTable newTable(String tag) {
+    final DremioTable table = mock(DremioTable.class);
+    when(table.getPath()).thenReturn(TABLE);
+    when(table.getDatasetConfig()).thenReturn(new DatasetConfig().setTag(tag));
+    return table;
+  }
+
+  @Test
+  public void testNormalizeWhitespaces() {
+    assertEquals("SELECT a, b FROM t WHERE a > 1",
+        PlanCache.normalize("  SELECT a,\n  b\tFROM t\r\n WHERE a > 1 ;\n"));
+  }
+
+  @Test
+  public void testNormalizeComments() {
+    assertEquals("SELECT a FROM t",
+        PlanCache.normalize("-- first line\nSELECT /* columns */ a FROM t -- trailing"));
+  }
+
+  @Test
+  public void testNormalizeKeepsQuotedText() {
+    assertEquals("SELECT 'a  -- b', \"c  d\" FROM t WHERE e = 'it''s  /* x */'",
+        PlanCache.normalize("SELECT 'a  -- b',   \"c  d\" FROM t WHERE e = 'it''s  /* x */'"));
+    assertEquals("SELECT `a  b` FROM [c  d]", PlanCache.normalize("SELECT `a  b`\nFROM [c  d];;"));
+  }
+}
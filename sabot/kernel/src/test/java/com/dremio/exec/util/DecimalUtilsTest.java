@@ -26,6 +26,7 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import com.dremio.common.AutoCloseables;
+import com.dremio.exec.expr.fn.impl.DecimalFunctions;
 import com.dremio.test.AllocatorRule;
 import com.dremio.test.DremioTest;
 
@@ -208,4 +209,65 @@ public class DecimalUtilsTest extends DremioTest {
     return false;
   }
 
+  @Test
+  public void testDoubleFromLEBytes() {
+    final byte[] valBuf = new byte[DecimalUtils.DECIMAL_WIDTH];
+    final BigDecimal[] values = new BigDecimal[] {BigDecimal.ZERO, new BigDecimal("12.34"),
+      new BigDecimal("-0.0000001"), new BigDecimal("4503599627370495.5"), new BigDecimal("4503599627370496.5"),
+      BigDecimal.valueOf(Long.MIN_VALUE), BigDecimal.valueOf(Long.MAX_VALUE), new BigDecimal(MAX_HALF),
+      DecimalUtils.MIN_DECIMAL, new BigDecimal("1.00000000000000000000000001")};
+    try (ArrowBuf buffer = testAllocator.buffer(DecimalUtils.DECIMAL_WIDTH)) {
+      for (BigDecimal value : values) {
+        final byte[] bytes = DecimalUtils.convertBigDecimalToArrowByteArray(value);
+        buffer.setBytes(0, bytes, 0, bytes.length);
+        Assert.assertEquals(value.toString(), value.doubleValue(),
+          DecimalUtils.getDoubleFromLEBytes(buffer.memoryAddress(), valBuf, value.scale()), 0);
+      }
+    }
+  }
+
+  @Test
+  public void testScaleDownRoundHalfUp() {
+    for (long value : new long[] {0, 5, 14, 15, -15, 149, -150, 151, Long.MAX_VALUE, Long.MIN_VALUE}) {
+      for (int scaleDecrease = 0; scaleDecrease < 19; scaleDecrease++) {
+        final BigDecimal expected = BigDecimal.valueOf(value, scaleDecrease).setScale(0, BigDecimal.ROUND_HALF_UP);
+        Assert.assertEquals(expected.longValueExact(), DecimalUtils.scaleDownRoundHalfUp(value, scaleDecrease));
+      }
+    }
+  }
+
+  @Test
+  public void testLongArithmeticSameAsBigDecimal() {
+    final BigDecimal[] values = new BigDecimal[] {new BigDecimal("0.00"), new BigDecimal("12.35"),
+      new BigDecimal("-7.5"), new BigDecimal("99999999999999.99"), new BigDecimal("-0.005"),
+      BigDecimal.valueOf(Long.MAX_VALUE, 2), BigDecimal.valueOf(Long.MIN_VALUE + 1, 3),
+      new BigDecimal(MAX_HALF).add(BigDecimal.ONE)};
+    try (ArrowBuf left = testAllocator.buffer(DecimalUtils.DECIMAL_WIDTH);
+         ArrowBuf right = testAllocator.buffer(DecimalUtils.DECIMAL_WIDTH);
+         ArrowBuf result = testAllocator.buffer(DecimalUtils.DECIMAL_WIDTH)) {
+      for (BigDecimal value1 : values) {
+        for (BigDecimal value2 : values) {
+          DecimalUtility.writeBigDecimalToArrowBuf(value1, left, 0);
+          DecimalUtility.writeBigDecimalToArrowBuf(value2, right, 0);
+          final String message = value1 + ", " + value2;
+
+          Assert.assertEquals(message, Integer.signum(value1.compareTo(value2)),
+            Integer.signum(DecimalFunctions.compare(left, 0, value1.scale(), right, 0, value2.scale())));
+
+          final int addScale = Math.max(value1.scale(), value2.scale());
+          for (boolean isSubtract : new boolean[] {false, true}) {
+            DecimalFunctions.addOrSubtract(isSubtract, left, 0, value1.scale(), right, 0, value2.scale(), 38, addScale, result);
+            final BigDecimal expected = DecimalFunctions.addOrSubtract(isSubtract, value1, value2, 38, addScale);
+            Assert.assertEquals(message, 0, expected.compareTo(DecimalUtility.getBigDecimalFromArrowBuf(result, 0, addScale)));
+          }
+
+          final int multiplyScale = Math.min(value1.scale() + value2.scale(), 3);
+          DecimalFunctions.multiply(left, 0, value1.scale(), right, 0, value2.scale(), multiplyScale, result);
+          final BigDecimal expected = DecimalFunctions.checkOverflow(value1.multiply(value2).setScale(multiplyScale, BigDecimal.ROUND_HALF_UP));
+          Assert.assertEquals(message, 0, expected.compareTo(DecimalUtility.getBigDecimalFromArrowBuf(result, 0, multiplyScale)));
+        }
+      }
+    }
+  }
+
 }
@@ -271,6 +271,10 @@ public class BaseTestOperator extends ExecTest {
       public boolean isPotentiallyBlocked() {
         return false;
       }
+
+      @Override
+      public void informUpstreamFinished(int senderMajorFragmentId) {
+      }
     };
 
     final BufferAllocator childAllocator = testAllocator.newChildAllocator(
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot;
+
+import static com.dremio.sabot.Fixtures.NULL_BIGINT;
+import static com.dremio.sabot.Fixtures.t;
+import static com.dremio.sabot.Fixtures.th;
+import static com.dremio.sabot.Fixtures.tr;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.JsonStringArrayList;
+import org.junit.Test;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.common.expression.CompleteType;
+import com.dremio.common.logical.data.NamedExpression;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.physical.base.PhysicalOperator;
+import com.dremio.exec.physical.config.Filter;
+import com.dremio.exec.physical.config.Project;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.exec.record.selection.SelectionVector2;
+import com.dremio.sabot.Fixtures.DataRow;
+import com.dremio.sabot.Fixtures.Table;
+import com.dremio.sabot.exec.context.MetricDef;
+import com.dremio.sabot.exec.context.OperatorStats;
+import com.dremio.sabot.op.filter.FilterOperator;
+import com.dremio.sabot.op.filter.FilterStats;
+import com.dremio.sabot.op.filter.VectorContainerWithSV;
+import com.dremio.sabot.op.project.ProjectOperator;
+import com.dremio.sabot.op.project.ProjectorStats;
+import com.dremio.sabot.op.spi.SingleInputOperator;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Checks that filters and projects starting in the interpreter return the same records as with
+ * generated code, including when they switch to generated code in the middle of the input.
+ */
+public class TestInterpretedStart extends BaseTestOperator {
+
+  private static final int ROWS = 100;
+  private static final int BATCH_SIZE = 16;
+  // less than the records of the first three batches, with or without a selection vector
+  private static final int MAX_RECORDS = 40;
+
+  private static final IntPredicate ALL = i -> true;
+  // the rows selected by the input selection vector
+  private static final IntPredicate SELECTED = i -> i % 3 != 0;
+
+  private enum Mode {
+    COMPILED,
+    INTERPRETED,
+    SWITCHED
+  }
+
+  @Test
+  public void filter() throws Exception {
+    final Filter filter = new Filter(PROPS, null, toExpr("c0 < 30 or c1 < 20"), 1f);
+    final IntPredicate condition = i -> (i % 7 != 0 && i < 30) || ROWS - i < 20;
+    checkAllModes(filter, FilterOperator.class, FilterStats.Metric.INTERPRETED_RECORDS, false,
+      inputTable(ALL.and(condition)));
+  }
+
+  @Test
+  public void filterSV2() throws Exception {
+    final Filter filter = new Filter(PROPS, null, toExpr("c0 < 30 or c1 < 20"), 1f);
+    final IntPredicate condition = i -> (i % 7 != 0 && i < 30) || ROWS - i < 20;
+    checkAllModes(filter, FilterOperator.class, FilterStats.Metric.INTERPRETED_RECORDS, true,
+      inputTable(SELECTED.and(condition)));
+  }
+
+  @Test
+  public void filterNotInterpreted() throws Exception {
+    // reading a value out of a list is not supported by the interpreter
+    final Filter filter = new Filter(PROPS, null, toExpr("c3[1] > 40"), 1f);
+    final Table expected = inputTable(SELECTED.and(i -> i + 1 > 40));
+    checkCompiled(filter, FilterOperator.class, FilterStats.Metric.INTERPRETED_RECORDS, true, expected);
+  }
+
+  @Test
+  public void project() throws Exception {
+    checkAllModes(newProject(), ProjectOperator.class, ProjectorStats.Metric.INTERPRETED_RECORDS, false,
+      projectTable(ALL));
+  }
+
+  @Test
+  public void projectSV2() throws Exception {
+    // without a selection vector the varchar column is transferred, with one it is evaluated
+    checkAllModes(newProject(), ProjectOperator.class, ProjectorStats.Metric.INTERPRETED_RECORDS, true,
+      projectTable(SELECTED));
+  }
+
+  @Test
+  public void projectNotInterpreted() throws Exception {
+    // with a selection vector the list column is evaluated rather than transferred, and the interpreter only
+    // reads scalar columns
+    final Project project = new Project(PROPS, null, ImmutableList.of(n("c1 + c1", "a"), n("c3", "b")));
+    final List<DataRow> rows = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      if (SELECTED.test(i)) {
+        rows.add(tr(2L * (ROWS - i), list(i)));
+      }
+    }
+    final Table expected = t(th("a", "b"), rows.toArray(new DataRow[rows.size()]));
+    checkCompiled(project, ProjectOperator.class, ProjectorStats.Metric.INTERPRETED_RECORDS, true, expected);
+  }
+
+  private static Project newProject() {
+    return new Project(PROPS, null, ImmutableList.<NamedExpression>of(n("c0 + c1 * 2", "a"), n("c2", "b")));
+  }
+
+  private static Table projectTable(IntPredicate selected) {
+    final List<DataRow> rows = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      if (selected.test(i)) {
+        rows.add(tr(i % 7 == 0 ? NULL_BIGINT : (Object) (i + 2L * (ROWS - i)), "row" + i));
+      }
+    }
+    return t(th("a", "b"), rows.toArray(new DataRow[rows.size()]));
+  }
+
+  // the input records matching the predicate, as filters return them
+  private static Table inputTable(IntPredicate selected) {
+    final List<DataRow> rows = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      if (selected.test(i)) {
+        rows.add(tr(i % 7 == 0 ? NULL_BIGINT : (Object) (long) i, (long) (ROWS - i), "row" + i, list(i)));
+      }
+    }
+    return t(th("c0", "c1", "c2", "c3"), rows.toArray(new DataRow[rows.size()]));
+  }
+
+  private static JsonStringArrayList<Long> list(int i) {
+    final JsonStringArrayList<Long> list = new JsonStringArrayList<>(3);
+    list.add((long) i);
+    list.add(i + 1L);
+    list.add(i + 2L);
+    return list;
+  }
+
+  private <T extends SingleInputOperator> void checkAllModes(PhysicalOperator pop, Class<T> clazz, MetricDef metric,
+      boolean sv2, Table expected) throws Exception {
+    final IntPredicate selected = sv2 ? SELECTED : ALL;
+    assertEquals(0, run(pop, clazz, metric, sv2, expected, Mode.COMPILED));
+    assertEquals(count(selected, 0, ROWS), run(pop, clazz, metric, sv2, expected, Mode.INTERPRETED));
+
+    // the batch taking the operator over the maximum number of records is the first one of generated code
+    long interpreted = 0;
+    for (int start = 0; start < ROWS; start += BATCH_SIZE) {
+      final int batch = count(selected, start, Math.min(start + BATCH_SIZE, ROWS));
+      if (interpreted + batch > MAX_RECORDS) {
+        break;
+      }
+      interpreted += batch;
+    }
+    assertEquals(interpreted, run(pop, clazz, metric, sv2, expected, Mode.SWITCHED));
+  }
+
+  private <T extends SingleInputOperator> void checkCompiled(PhysicalOperator pop, Class<T> clazz, MetricDef metric,
+      boolean sv2, Table expected) throws Exception {
+    assertEquals(0, run(pop, clazz, metric, sv2, expected, Mode.COMPILED));
+    assertEquals(0, run(pop, clazz, metric, sv2, expected, Mode.INTERPRETED));
+  }
+
+  /**
+   * Checks the output of the operator in the given mode.
+   *
+   * @return the number of records evaluated in the interpreter
+   */
+  private <T extends SingleInputOperator> long run(PhysicalOperator pop, Class<T> clazz, MetricDef metric,
+      boolean sv2, Table expected, Mode mode) throws Exception {
+    final long maxRecords = mode == Mode.SWITCHED ? MAX_RECORDS : Integer.MAX_VALUE;
+    try (AutoCloseable enabled = with(ExecConstants.INTERPRETED_START_ENABLED, mode != Mode.COMPILED);
+         AutoCloseable records = with(ExecConstants.INTERPRETED_START_MAX_RECORDS, maxRecords);
+         AutoCloseable millis = with(ExecConstants.INTERPRETED_START_MAX_MILLIS, Integer.MAX_VALUE)) {
+      final OperatorStats stats = validateSingle(pop, clazz,
+        new InputGenerator(getTestAllocator(), sv2 ? SELECTED : null), expected, BATCH_SIZE);
+      return stats.getLongStat(metric);
+    }
+  }
+
+  private static int count(IntPredicate selected, int start, int end) {
+    int count = 0;
+    for (int i = start; i < end; i++) {
+      if (selected.test(i)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Generates the input records, with a selection vector if a selection is given:
+   * c0 the row number, null every 7 rows, c1 the number of rows left, c2 a varchar and c3 a list.
+   */
+  private static class InputGenerator implements Generator {
+    private static final Field C0 = CompleteType.BIGINT.toField("c0");
+    private static final Field C1 = CompleteType.BIGINT.toField("c1");
+    private static final Field C2 = CompleteType.VARCHAR.toField("c2");
+    private static final Field C3 = CompleteType.BIGINT.asList().toField("c3");
+
+    private final IntPredicate selection;
+    private final SelectionVector2 sv2;
+    private final VectorContainer container;
+    private final BigIntVector c0;
+    private final BigIntVector c1;
+    private final VarCharVector c2;
+    private final ListVector c3;
+    private int position;
+
+    InputGenerator(BufferAllocator allocator, IntPredicate selection) {
+      this.selection = selection;
+      if (selection != null) {
+        this.sv2 = new SelectionVector2(allocator);
+        this.container = new VectorContainerWithSV(allocator, sv2);
+      } else {
+        this.sv2 = null;
+        this.container = new VectorContainer(allocator);
+      }
+      this.c0 = container.addOrGet(C0);
+      this.c1 = container.addOrGet(C1);
+      this.c2 = container.addOrGet(C2);
+      this.c3 = container.addOrGet(C3);
+      container.buildSchema(selection != null ? SelectionVectorMode.TWO_BYTE : SelectionVectorMode.NONE);
+      c3.addOrGetVector(FieldType.nullable(MinorType.BIGINT.getType()));
+    }
+
+    @Override
+    public VectorAccessible getOutput() {
+      return container;
+    }
+
+    @Override
+    public int next(int records) {
+      if (position == ROWS) {
+        return 0;
+      }
+
+      final int toFill = Math.min(records, ROWS - position);
+      container.allocateNew();
+      final UnionListWriter listWriter = c3.getWriter();
+      for (int i = 0; i < toFill; i++) {
+        final int row = position + i;
+        if (row % 7 != 0) {
+          c0.setSafe(i, row);
+        }
+        c1.setSafe(i, ROWS - row);
+        final byte[] bytes = ("row" + row).getBytes();
+        c2.setSafe(i, bytes, 0, bytes.length);
+        listWriter.setPosition(i);
+        listWriter.startList();
+        for (long value : list(row)) {
+          listWriter.bigInt().writeBigInt(value);
+        }
+        listWriter.endList();
+      }
+
+      if (selection == null) {
+        position += toFill;
+        return container.setAllCount(toFill);
+      }
+
+      sv2.allocateNew(toFill);
+      int selected = 0;
+      for (int i = 0; i < toFill; i++) {
+        if (selection.test(position + i)) {
+          sv2.setIndex(selected++, (char) i);
+        }
+      }
+      sv2.setRecordCount(selected);
+      container.setAllCount(toFill);
+      container.setRecordCount(selected);
+      position += toFill;
+      return selected;
+    }
+
+    @Override
+    public void close() throws Exception {
+      // also clears the selection vector
+      AutoCloseables.close(container);
+    }
+  }
+}
@@ -92,6 +92,44 @@ public class TestCopierRoundTrip extends BaseTestWithAllocator {
   }
 
 
+  @Test
+  public void intNoNullsRoundtrip(){
+    final int count = 1021;
+    try(
+        IntVector in = new IntVector("in", allocator);
+        IntVector out = new IntVector("out", allocator);
+        ){
+
+      in.allocateNew(count);
+      for(int i = 0; i < count; i++){
+        in.setSafe(i, i);
+      }
+      in.setValueCount(count);
+
+      List<FieldBufferCopier> copiers = FieldBufferCopier.getCopiers(ImmutableList.<FieldVector>of(in), ImmutableList.<FieldVector>of(out));
+      try(
+          final SelectionVector2 sv2 = new SelectionVector2(allocator);
+          ){
+
+        sv2.allocateNew(count);
+        // select the records in reverse order.
+        int x = count - 1;
+        for(long mem = sv2.memoryAddress(); mem < sv2.memoryAddress() + count * 2; mem+=2){
+          PlatformDependent.putShort(mem, (short) (char) x);
+          x--;
+        }
+        sv2.setRecordCount(count);
+        copy(copiers, sv2);
+
+        out.setValueCount(count);
+        assertEquals(0, out.getNullCount());
+        for(int i =0; i < count; i++){
+          assertEquals(in.getObject(count - 1 - i), out.getObject(i));
+        }
+      }
+    }
+  }
+
   @Test
   public void intAppend(){
     final int count = 1024;
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.driver;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import com.dremio.exec.physical.base.OpProps;
+import com.dremio.exec.physical.base.PhysicalOperator;
+import com.dremio.exec.physical.config.Limit;
+import com.dremio.exec.physical.config.Screen;
+import com.dremio.exec.physical.config.SelectionVectorRemover;
+import com.dremio.exec.physical.config.UnorderedReceiver;
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.sabot.exec.context.OperatorContext;
+import com.dremio.sabot.exec.context.OperatorStats;
+import com.dremio.sabot.exec.context.SharedResourcesContext;
+import com.dremio.sabot.op.limit.LimitOperator;
+import com.dremio.sabot.op.receiver.IncomingBuffers;
+import com.dremio.sabot.op.spi.BatchStreamProvider;
+import com.dremio.sabot.op.spi.ProducerOperator;
+import com.dremio.sabot.op.spi.SingleInputOperator;
+import com.dremio.sabot.op.spi.TerminalOperator;
+import com.dremio.sabot.task.Task.State;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit test for {@link EarlyTermination}
+ */
+public class TestEarlyTermination {
+  private static final int SENDER_MAJOR_FRAGMENT_ID = 1;
+  private static final int RECORDS_PER_BATCH = 4;
+
+  @Test
+  public void testInformOnlyOnceWhenDone() {
+    final SingleInputOperator sink = mock(SingleInputOperator.class);
+    final BatchStreamProvider streams = mock(BatchStreamProvider.class);
+    final EarlyTermination termination = new EarlyTermination(sink, new int[] {1, 3}, streams);
+
+    doReturn(SingleInputOperator.State.CAN_CONSUME).when(sink).getState();
+    assertFalse(termination.informUpstreamIfDone());
+    verify(streams, never()).informUpstreamFinished(anyInt());
+
+    doReturn(SingleInputOperator.State.DONE).when(sink).getState();
+    assertTrue(termination.informUpstreamIfDone());
+    assertTrue(termination.informUpstreamIfDone());
+    verify(streams, times(1)).informUpstreamFinished(1);
+    verify(streams, times(1)).informUpstreamFinished(3);
+  }
+
+  @Test
+  public void testLimitInformsUpstreamBeforeInputIsExhausted() throws Exception {
+    final IncomingBuffers buffers = mock(IncomingBuffers.class);
+    final ProducerOperator receiver = newReceiver();
+    final Limit limit = new Limit(OpProps.prototype(2), newReceiverConfig(), 0, 10);
+    final Pipeline pipeline = newPipeline(buffers, receiver, new LimitOperator(newContext(), limit),
+      new Screen(OpProps.prototype(3), limit));
+
+    pipeline.setup();
+    pipeline.pumpOnce();
+    verify(buffers, never()).informUpstreamFinished(anyInt());
+
+    // the senders keep sending, the limit is satisfied by its third batch.
+    int pumps = 0;
+    while (pipeline.pumpOnce() != State.DONE) {
+      assertTrue("pipeline didn't finish", ++pumps < 100);
+    }
+    // the pipeline is done while the receiver could still produce: it was neither read again nor closed.
+    verify(receiver, times(3)).outputData();
+    verify(receiver, never()).close();
+    verify(buffers, times(1)).informUpstreamFinished(SENDER_MAJOR_FRAGMENT_ID);
+  }
+
+  @Test
+  public void testOnlyLimitInformsUpstream() throws Exception {
+    final IncomingBuffers buffers = mock(IncomingBuffers.class);
+    final SingleInputOperator operator = mock(SingleInputOperator.class);
+    when(operator.getState()).thenReturn(SingleInputOperator.State.DONE);
+    final SelectionVectorRemover config = new SelectionVectorRemover(OpProps.prototype(2), newReceiverConfig());
+    final Pipeline pipeline = newPipeline(buffers, newReceiver(), operator, new Screen(OpProps.prototype(3), config));
+
+    pipeline.pumpOnce();
+    pipeline.pumpOnce();
+    // other operators are only done once their input is, the screen informs upstream when the fragment finishes.
+    verify(buffers, never()).informUpstreamFinished(anyInt());
+  }
+
+  private static UnorderedReceiver newReceiverConfig() {
+    return new UnorderedReceiver(OpProps.prototype(1), new BatchSchema(ImmutableList.of()), SENDER_MAJOR_FRAGMENT_ID,
+      false);
+  }
+
+  /**
+   * A receiver whose senders never run out of data.
+   */
+  private static ProducerOperator newReceiver() throws Exception {
+    final VectorContainer incoming = new VectorContainer();
+    incoming.buildSchema();
+    incoming.setRecordCount(RECORDS_PER_BATCH);
+    final ProducerOperator receiver = mock(ProducerOperator.class);
+    when(receiver.getState()).thenReturn(ProducerOperator.State.CAN_PRODUCE);
+    when(receiver.setup()).thenReturn(incoming);
+    when(receiver.outputData()).thenReturn(RECORDS_PER_BATCH);
+    return receiver;
+  }
+
+  private static OperatorContext newContext() {
+    final OperatorContext context = mock(OperatorContext.class);
+    when(context.getStats()).thenReturn(mock(OperatorStats.class));
+    when(context.createOutputVectorContainer()).thenReturn(new VectorContainer());
+    return context;
+  }
+
+  private static Pipeline newPipeline(IncomingBuffers buffers, ProducerOperator receiver,
+      SingleInputOperator operator, PhysicalOperator root) throws Exception {
+    final TerminalOperator screen = mock(TerminalOperator.class);
+    when(screen.getState()).thenReturn(TerminalOperator.State.CAN_CONSUME);
+
+    final OperatorCreator creator = mock(OperatorCreator.class);
+    when(creator.getReceiverOperator(any(BatchStreamProvider.class), any(OperatorContext.class), any()))
+      .thenReturn(receiver);
+    when(creator.getSingleInputOperator(any(OperatorContext.class), any())).thenReturn(operator);
+    when(creator.getTerminalOperator(any(), any(OperatorContext.class), any())).thenReturn(screen);
+
+    final SharedResourcesContext sharedResources = mock(SharedResourcesContext.class);
+    when(sharedResources.isRunnable()).thenReturn(true);
+
+    return PipelineCreator.get(null, buffers, creator, config -> newContext(), null, root, null, sharedResources);
+  }
+}
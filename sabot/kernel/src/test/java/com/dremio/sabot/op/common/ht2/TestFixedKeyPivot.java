@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.common.ht2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.Test;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.sabot.BaseTestWithAllocator;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Checks {@link FixedKeyPivot} against the generic pivots, which build the same blocks.
+ */
+public class TestFixedKeyPivot extends BaseTestWithAllocator {
+  private static final int COUNT = 4096;
+  private static final int[][] RANGES = {{0, 4096}, {0, 17}, {0, 128}, {5, 39}, {5, 189}, {63, 1}, {1023, 1023},
+    {3069, 1023}, {4092, 4}};
+
+  private enum Type { INT, BIGINT, DATE }
+
+  @Test
+  public void oneKey() throws Exception {
+    check(Type.INT);
+    check(Type.BIGINT);
+  }
+
+  @Test
+  public void twoKeys() throws Exception {
+    check(Type.INT, Type.INT);
+    check(Type.BIGINT, Type.INT);
+    check(Type.DATE, Type.BIGINT);
+  }
+
+  @Test
+  public void threeKeys() throws Exception {
+    check(Type.INT, Type.BIGINT, Type.INT);
+    check(Type.BIGINT, Type.BIGINT, Type.DATE);
+  }
+
+  @Test
+  public void notSelected() throws Exception {
+    try (IntVector col1 = new IntVector("col1", allocator);
+         IntVector col2 = new IntVector("col2", allocator);
+         IntVector col3 = new IntVector("col3", allocator);
+         IntVector col4 = new IntVector("col4", allocator);
+         VarCharVector col5 = new VarCharVector("col5", allocator)) {
+      assertNull(PivotBuilder.getBlockDefinition(new FieldVectorPair(col1, col1), new FieldVectorPair(col2, col2),
+        new FieldVectorPair(col3, col3), new FieldVectorPair(col4, col4)).getFixedKeyPivot());
+      assertNull(PivotBuilder.getBlockDefinition(new FieldVectorPair(col1, col1), new FieldVectorPair(col5, col5))
+        .getFixedKeyPivot());
+    }
+  }
+
+  private void check(Type... types) throws Exception {
+    check(0, types);
+    check(20, types);
+    check(100, types);
+  }
+
+  private void check(int nullPercentage, Type... types) throws Exception {
+    final Random random = new Random(nullPercentage * 31 + types.length);
+    final List<FieldVector> vectors = new ArrayList<>();
+    final List<FieldVectorPair> pairs = new ArrayList<>();
+    try {
+      for (int i = 0; i < types.length; i++) {
+        final FieldVector in = newVector(types[i], "in" + i);
+        final FieldVector out = newVector(types[i], "out" + i);
+        vectors.add(in);
+        vectors.add(out);
+        populate(in, random, nullPercentage);
+        pairs.add(new FieldVectorPair(in, out));
+      }
+
+      final PivotDef pivot = PivotBuilder.getBlockDefinition(pairs);
+      assertNotNull(pivot.getFixedKeyPivot());
+      final PivotDef generic = new PivotDef(pivot.getBlockWidth(), pivot.getVariableCount(), pivot.getBitCount(),
+        pivot.getVectorPivots());
+
+      try (FixedBlockVector fixed = new FixedBlockVector(allocator, pivot.getBlockWidth(), COUNT, true);
+           FixedBlockVector expected = new FixedBlockVector(allocator, pivot.getBlockWidth(), COUNT, true);
+           VariableBlockVector variable = new VariableBlockVector(allocator, 0, COUNT, true)) {
+        for (int[] range : RANGES) {
+          fixed.reset();
+          expected.reset();
+          assertEquals(range[1], BoundedPivots.pivot(pivot, range[0], range[1], fixed, variable));
+          BoundedPivots.pivot(generic, range[0], range[1], expected, variable);
+          assertSameBlocks(expected, fixed, pivot.getBlockWidth() * range[1]);
+        }
+
+        fixed.reset();
+        expected.reset();
+        Pivots.pivot(pivot, COUNT, fixed, variable);
+        Pivots.pivot(generic, COUNT, expected, variable);
+        assertSameBlocks(expected, fixed, pivot.getBlockWidth() * COUNT);
+
+        for (int[] range : RANGES) {
+          Unpivots.unpivot(pivot, fixed, variable, range[0], range[1]);
+          for (int i = 0; i < vectors.size(); i += 2) {
+            final FieldVector out = vectors.get(i + 1);
+            out.setValueCount(range[1]);
+            for (int r = 0; r < range[1]; r++) {
+              assertEquals(vectors.get(i).getObject(range[0] + r), out.getObject(r));
+            }
+          }
+        }
+      }
+    } finally {
+      AutoCloseables.close(vectors);
+    }
+  }
+
+  private FieldVector newVector(Type type, String name) {
+    switch (type) {
+      case INT:
+        return new IntVector(name, allocator);
+      case BIGINT:
+        return new BigIntVector(name, allocator);
+      case DATE:
+        return new DateMilliVector(name, allocator);
+      default:
+        throw new IllegalArgumentException(type.name());
+    }
+  }
+
+  private static void populate(FieldVector vector, Random random, int nullPercentage) {
+    vector.allocateNew();
+    for (int i = 0; i < COUNT; i++) {
+      if (random.nextInt(100) < nullPercentage) {
+        continue;
+      }
+      if (vector instanceof IntVector) {
+        ((IntVector) vector).setSafe(i, random.nextInt());
+      } else if (vector instanceof BigIntVector) {
+        ((BigIntVector) vector).setSafe(i, random.nextLong());
+      } else {
+        ((DateMilliVector) vector).setSafe(i, random.nextInt() * 1000L);
+      }
+    }
+    vector.setValueCount(COUNT);
+  }
+
+  private static void assertSameBlocks(FixedBlockVector expected, FixedBlockVector actual, int length) {
+    for (int i = 0; i < length; i++) {
+      assertEquals("byte " + i, PlatformDependent.getByte(expected.getMemoryAddress() + i),
+        PlatformDependent.getByte(actual.getMemoryAddress() + i));
+    }
+  }
+}
@@ -179,6 +179,58 @@ public class TestHashTable2 extends DremioTest {
     }
   }
 
+  @Test
+  public void testPrefetchThenFind() throws Exception {
+    MAX_VALUES_PER_BATCH = 1024;
+    final Random random = new Random(0);
+    final Integer[] col1Arr = new Integer[3000];
+    for (int i = 0; i < col1Arr.length; i++) {
+      col1Arr[i] = random.nextInt(1000);
+    }
+
+    try (final BufferAllocator allocator = allocatorRule.newAllocator("test-hash-table-2", 0, Long.MAX_VALUE);
+         final VectorContainer c = new VectorContainer()) {
+      IntVector intcol1 = new IntVector("intcol1", allocator);
+      TestIntPivot.populate(intcol1, col1Arr);
+      c.add(intcol1);
+      final int records = c.setAllCount(col1Arr.length);
+      final PivotDef pivot = PivotBuilder.getBlockDefinition(new FieldVectorPair(intcol1, intcol1));
+      try (
+        final FixedBlockVector fbv = new FixedBlockVector(allocator, pivot.getBlockWidth());
+        final VariableBlockVector var = new VariableBlockVector(allocator, pivot.getVariableCount());) {
+
+        Pivots.pivot(pivot, records, fbv, var);
+
+        try (LBlockHashTable bht = new LBlockHashTable(HashConfig.getDefault(), pivot, allocator, 16000, 10, true, ResizeListener.NO_OP, MAX_VALUES_PER_BATCH);
+             SimpleBigIntVector hashValues = new SimpleBigIntVector("hashvalues", allocator)) {
+          final long keyFixedVectorAddr = fbv.getMemoryAddress();
+          final long keyVarVectorAddr = var.getMemoryAddress();
+          final int[] insertedOrdinals = new int[records];
+
+          hashValues.allocateNew(records);
+          final BlockChunk blockChunk = new BlockChunk(keyFixedVectorAddr, keyVarVectorAddr, true,
+            pivot.getBlockWidth(), records, hashValues.getBufferAddress(), 0);
+          HashComputation.computeHash(blockChunk);
+
+          // prefetching an empty table is a no-op.
+          bht.prefetch(hashValues.getBufferAddress(), records);
+          for (int keyIndex = 0; keyIndex < records; keyIndex++) {
+            if (keyIndex % LBlockHashTable.PREFETCH_CHUNK_SIZE == 0) {
+              bht.prefetch(hashValues.getBufferAddress() + keyIndex * 8L,
+                Math.min(LBlockHashTable.PREFETCH_CHUNK_SIZE, records - keyIndex));
+            }
+            insertedOrdinals[keyIndex] = bht.add(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, (int) hashValues.get(keyIndex));
+          }
+
+          bht.prefetch(hashValues.getBufferAddress(), records);
+          for (int keyIndex = 0; keyIndex < records; keyIndex++) {
+            assertEquals(insertedOrdinals[keyIndex], bht.find(keyFixedVectorAddr, keyVarVectorAddr, keyIndex, (int) hashValues.get(keyIndex)));
+          }
+        }
+      }
+    }
+  }
+
   @Test
   public void testEmptyValues() throws Exception {
     MAX_VALUES_PER_BATCH = 4096;
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.llvm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.dremio.sabot.op.llvm.GandivaModuleCache.Key;
+import com.dremio.sabot.op.llvm.GandivaModuleCache.KeyType;
+import com.dremio.sabot.op.llvm.GandivaModuleCache.Module;
+import com.google.protobuf.ByteString;
+
+/**
+ * Tests for {@link GandivaModuleCache}
+ */
+public class TestGandivaModuleCache {
+
+  /**
+   * Stands for a native module.
+   */
+  private static final class Evaluator {
+    private boolean closed;
+  }
+
+  private final AtomicInteger built = new AtomicInteger();
+
+  private Evaluator build() {
+    built.incrementAndGet();
+    return new Evaluator();
+  }
+
+  private static void close(Evaluator evaluator) {
+    assertFalse("closed twice", evaluator.closed);
+    evaluator.closed = true;
+  }
+
+  private static Key key(String exprs) {
+    return new Key(KeyType.PROJECTOR, ByteString.copyFromUtf8("schema"), ByteString.copyFromUtf8(exprs));
+  }
+
+  @Test
+  public void testShared() throws Exception {
+    final GandivaModuleCache cache = new GandivaModuleCache(1024 * 1024);
+    final Module<Evaluator> module1 = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+    final Module<Evaluator> module2 = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+    assertSame(module1.get(), module2.get());
+    assertEquals(1, built.get());
+
+    final Module<Evaluator> module3 = cache.get(key("a - b"), this::build, TestGandivaModuleCache::close);
+    assertNotSame(module1.get(), module3.get());
+    assertEquals(2, built.get());
+
+    module1.release();
+    module2.release();
+    module3.release();
+    // still cached
+    assertFalse(module1.get().closed);
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testClosedOnceEvictedAndReleased() throws Exception {
+    final GandivaModuleCache cache = new GandivaModuleCache(1024 * 1024);
+    final Module<Evaluator> module = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+
+    cache.invalidateAll();
+    assertFalse(module.get().closed);
+
+    module.release();
+    assertTrue(module.get().closed);
+
+    // built again once evicted
+    final Module<Evaluator> other = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+    assertNotSame(module.get(), other.get());
+    other.release();
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    final GandivaModuleCache cache = new GandivaModuleCache(0);
+    final Module<Evaluator> module1 = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+    final Module<Evaluator> module2 = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+    assertNotSame(module1.get(), module2.get());
+
+    module1.release();
+    assertTrue(module1.get().closed);
+    module2.release();
+    assertTrue(module2.get().closed);
+  }
+
+  @Test
+  public void testHeavierThanCache() throws Exception {
+    final GandivaModuleCache cache = new GandivaModuleCache(1024);
+    final Module<Evaluator> module = cache.get(key("a + b"), this::build, TestGandivaModuleCache::close);
+    assertFalse(module.get().closed);
+
+    module.release();
+    assertTrue(module.get().closed);
+  }
+}
@@ -78,6 +78,13 @@ abstract class CoreBaseTimedStore<K, V> implements CoreKVStore<K, V> {
     }
   }
 
+  @Override
+  public void putAll(Map<KVStoreTuple<K>, KVStoreTuple<V>> entries) {
+    try (TimedBlock b = time(name + ".putAll")) {
+      kvStore.putAll(entries);
+    }
+  }
+
   @Override
   public boolean contains(KVStoreTuple<K> key) {
     try (TimedBlock b = time(name + ".contains")) {
@@ -92,6 +99,13 @@ abstract class CoreBaseTimedStore<K, V> implements CoreKVStore<K, V> {
     }
   }
 
+  @Override
+  public void deleteAll(List<KVStoreTuple<K>> keys) {
+    try (TimedBlock b = time(name + ".deleteAll")) {
+      kvStore.deleteAll(keys);
+    }
+  }
+
   @Override
   public void delete(KVStoreTuple<K> key, String previousVersion) {
     try (TimedBlock b = time(name + ".delete(K, long)")) {
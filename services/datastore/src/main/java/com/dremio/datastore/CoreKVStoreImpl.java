@@ -15,6 +15,7 @@
  */
 package com.dremio.datastore;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -74,6 +75,15 @@ public class CoreKVStoreImpl<KEY, VALUE> implements CoreKVStore<KEY, VALUE> {
     rawStore.put(key.getSerializedBytes(), value.getSerializedBytes());
   }
 
+  @Override
+  public void putAll(Map<KVStoreTuple<KEY>, KVStoreTuple<VALUE>> entries) {
+    final Map<byte[], byte[]> convertedEntries = new LinkedHashMap<>();
+    for (Map.Entry<KVStoreTuple<KEY>, KVStoreTuple<VALUE>> entry : entries.entrySet()) {
+      convertedEntries.put(entry.getKey().getSerializedBytes(), entry.getValue().getSerializedBytes());
+    }
+    rawStore.putAll(convertedEntries);
+  }
+
   @Override
   public boolean validateAndPut(KVStoreTuple<KEY> key, KVStoreTuple<VALUE> newValue, ValueValidator<VALUE> validator) {
     return  ((ByteStore) rawStore).validateAndPut(key.getSerializedBytes(), newValue.getSerializedBytes(),
@@ -95,6 +105,11 @@ public class CoreKVStoreImpl<KEY, VALUE> implements CoreKVStore<KEY, VALUE> {
     rawStore.delete(key.getSerializedBytes());
   }
 
+  @Override
+  public void deleteAll(List<KVStoreTuple<KEY>> keys) {
+    rawStore.deleteAll(Lists.newArrayList(Lists.transform(keys, keyToBytes)));
+  }
+
   /**
    * Validate the currently stored value before removing from the store
    *
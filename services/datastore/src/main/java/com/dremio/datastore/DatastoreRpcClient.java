@@ -21,11 +21,18 @@ import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import com.dremio.common.concurrent.NamedThreadFactory;
 import com.dremio.datastore.IndexedStore.FindByCondition;
 import com.dremio.datastore.KVStore.FindByRange;
 import com.dremio.datastore.RemoteDataStoreProtobuf.ContainsRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.ContainsResponse;
+import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteAllRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.FindRequest;
@@ -36,6 +43,8 @@ import com.dremio.datastore.RemoteDataStoreProtobuf.GetRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetStoreRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetStoreResponse;
+import com.dremio.datastore.RemoteDataStoreProtobuf.PutAllRequest;
+import com.dremio.datastore.RemoteDataStoreProtobuf.PutAllResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.SearchRequest;
@@ -43,8 +52,22 @@ import com.dremio.datastore.RemoteDataStoreProtobuf.SearchResponse;
 import com.dremio.datastore.SearchTypes.SearchQuery;
 import com.dremio.exec.rpc.RpcException;
 import com.dremio.services.fabric.simple.ReceivedResponseMessage;
+import com.dremio.services.fabric.simple.SendEndpoint;
+import com.dremio.telemetry.api.metrics.Histogram;
+import com.dremio.telemetry.api.metrics.Metrics;
+import com.dremio.telemetry.api.metrics.Metrics.ResetType;
+import com.dremio.telemetry.api.metrics.Timer;
+import com.dremio.telemetry.api.metrics.Timer.TimerContext;
+import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
 
 /**
  * Raw interfaces over wire, does not use any types.
@@ -52,10 +75,48 @@ import com.google.protobuf.ByteString;
  */
 public class DatastoreRpcClient {
 
+  private static final String METRIC_PREFIX = "kvstore.remote.rpc";
+
+  // concurrent single key gets to a store are coalesced once this many requests are in flight for the store
+  private static final int MAX_OUTSTANDING_GETS = Integer.getInteger("dremio.datastore.remote.max_outstanding_gets", 4);
+  private static final int MAX_GET_BATCH_SIZE = Integer.getInteger("dremio.datastore.remote.max_get_batch_size", 1024);
+  // times out the coalesced gets, shared by all the clients
+  private static final ScheduledExecutorService GET_TIMER =
+    Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("datastore-get-timeout-"));
+  private static final int FIND_PAGE_SIZE = Math.max(1, Integer.getInteger("dremio.datastore.remote.find_page_size", 1000));
+
+  /**
+   * Rpcs, each of them having its round trip count and latency tracked.
+   */
+  private enum Rpc {
+    GET,
+    CONTAINS,
+    FIND,
+    PUT,
+    PUT_ALL,
+    DELETE,
+    DELETE_ALL,
+    SEARCH,
+    GET_COUNTS,
+    GET_STORE
+  }
+
   private final DatastoreRpcService rpcService;
+  private final GetRequestCoalescer getCoalescer;
+  private final Map<Rpc, Timer> rpcTimers;
+  private final Histogram getBatchSizes;
 
   public DatastoreRpcClient(DatastoreRpcService rpcService) {
     this.rpcService = rpcService;
+    this.getCoalescer = new GetRequestCoalescer(this::sendGet, MAX_OUTSTANDING_GETS, MAX_GET_BATCH_SIZE,
+      rpcService.getTimeoutMillis(), GET_TIMER);
+
+    final ImmutableMap.Builder<Rpc, Timer> builder = ImmutableMap.builder();
+    for (Rpc rpc : Rpc.values()) {
+      builder.put(rpc, Metrics.newTimer(Metrics.join(METRIC_PREFIX, rpc.name()), ResetType.NEVER));
+    }
+    this.rpcTimers = builder.build();
+    this.getBatchSizes = Metrics.newHistogram(Metrics.join(METRIC_PREFIX, "GET_BATCH_SIZE"), ResetType.NEVER);
   }
 
   public String buildStore(StoreBuilderConfig config) {
@@ -70,7 +131,7 @@ public class DatastoreRpcClient {
       builder.setDocumentConverterClass(config.getDocumentConverterClassName());
     }
     try {
-      ReceivedResponseMessage<GetStoreResponse> response = rpcService.getGetStoreEndpoint().send(builder.build());
+      ReceivedResponseMessage<GetStoreResponse> response = send(Rpc.GET_STORE, rpcService.getGetStoreEndpoint(), builder.build());
       return response.getBody().getStoreId();
     } catch (RpcException e) {
       throw new DatastoreFatalException("Failed to create datastore for config " + config.toString(), e);
@@ -78,21 +139,48 @@ public class DatastoreRpcClient {
   }
 
   public ByteString get(String storeId, ByteString key) throws RpcException {
+    final ListenableFuture<ByteString> value = getCoalescer.get(storeId, key);
+    try {
+      return value.get(rpcService.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RpcException(e);
+    } catch (TimeoutException e) {
+      throw new RpcException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), RpcException.class);
+      throw new RpcException(e.getCause());
+    }
+  }
+
+  /**
+   * Sends a batch of coalesced gets without waiting for the response.
+   */
+  private ListenableFuture<List<ByteString>> sendGet(String storeId, List<ByteString> keys) {
     final GetRequest.Builder builder = GetRequest.newBuilder();
     builder.setStoreId(storeId);
-    builder.addKeys(key);
-    ReceivedResponseMessage<GetResponse> response = rpcService.getGetEndpoint().send(builder.build());
-    if (response.getBody().getValuesCount() > 0) {
-      return response.getBody().getValues(0);
+    builder.addAllKeys(keys);
+
+    final SendEndpoint<GetRequest, GetResponse> endpoint;
+    try {
+      endpoint = rpcService.getGetEndpoint();
+    } catch (RpcException e) {
+      return Futures.immediateFailedFuture(e);
     }
-    return null;
+
+    getBatchSizes.update(keys.size());
+    final TimerContext timer = rpcTimers.get(Rpc.GET).start();
+    final ListenableFuture<ReceivedResponseMessage<GetResponse>> response = endpoint.sendAsync(builder.build());
+    response.addListener(timer::close, MoreExecutors.directExecutor());
+    final Function<ReceivedResponseMessage<GetResponse>, List<ByteString>> toValues = message -> message.getBody().getValuesList();
+    return Futures.transform(response, toValues, MoreExecutors.directExecutor());
   }
 
   public List<ByteString> get(String storeId, List<ByteString> keys) throws RpcException {
     final GetRequest.Builder builder = GetRequest.newBuilder();
     builder.setStoreId(storeId);
     builder.addAllKeys(keys);
-    ReceivedResponseMessage<GetResponse> response = rpcService.getGetEndpoint().send(builder.build());
+    ReceivedResponseMessage<GetResponse> response = send(Rpc.GET, rpcService.getGetEndpoint(), builder.build());
     return response.getBody().getValuesList();
   }
 
@@ -100,7 +188,7 @@ public class DatastoreRpcClient {
     final ContainsRequest.Builder builder = ContainsRequest.newBuilder();
     builder.setStoreId(storeId);
     builder.setKey(key);
-    ReceivedResponseMessage<ContainsResponse> response = rpcService.getContainsEndpoint().send(builder.build());
+    ReceivedResponseMessage<ContainsResponse> response = send(Rpc.CONTAINS, rpcService.getContainsEndpoint(), builder.build());
     return response.getBody().getContains();
   }
 
@@ -111,15 +199,24 @@ public class DatastoreRpcClient {
     builder.setEnd(findByRange.getEnd());
     builder.setIncludeStart(findByRange.isStartInclusive());
     builder.setIncludeEnd(findByRange.isEndInclusive());
-    ReceivedResponseMessage<FindResponse> response = rpcService.getFindEndpoint().send(builder.build());
-    return toIterator(response.getBody().getKeysList(), response.getBody().getValuesList());
+    return find(builder);
   }
 
   public Iterable<Map.Entry<ByteString, ByteString>>find(String storeId) throws RpcException {
     final FindRequest.Builder builder = FindRequest.newBuilder();
     builder.setStoreId(storeId);
-    ReceivedResponseMessage<FindResponse> response = rpcService.getFindEndpoint().send(builder.build());
-    return toIterator(response.getBody().getKeysList(), response.getBody().getValuesList());
+    return find(builder);
+  }
+
+  /**
+   * Streams the entries in pages. The first page is fetched right away, so that errors surface to
+   * the caller, the next ones while iterating, each starting right after the last key received.
+   */
+  private Iterable<Map.Entry<ByteString, ByteString>> find(FindRequest.Builder builder) throws RpcException {
+    builder.setMaxEntries(FIND_PAGE_SIZE);
+    final FindRequest request = builder.build();
+    final FindResponse firstPage = send(Rpc.FIND, rpcService.getFindEndpoint(), request).getBody();
+    return () -> new PagedFindIterator(request, firstPage);
   }
 
   public String put(String storeId, ByteString key, ByteString value) throws RpcException {
@@ -127,7 +224,7 @@ public class DatastoreRpcClient {
     builder.setStoreId(storeId);
     builder.setKey(key);
     builder.setValue(value);
-    ReceivedResponseMessage<PutResponse> response = rpcService.getPutEndpoint().send(builder.build());
+    ReceivedResponseMessage<PutResponse> response = send(Rpc.PUT, rpcService.getPutEndpoint(), builder.build());
     if (response.getBody().hasConcurrentModificationError()) {
       throw new ConcurrentModificationException(response.getBody().getConcurrentModificationError());
     }
@@ -137,11 +234,23 @@ public class DatastoreRpcClient {
     return null;
   }
 
+  public void putAll(String storeId, List<ByteString> keys, List<ByteString> values) throws RpcException {
+    Preconditions.checkArgument(keys.size() == values.size(), "keys and values must have the same size");
+    final PutAllRequest.Builder builder = PutAllRequest.newBuilder();
+    builder.setStoreId(storeId);
+    builder.addAllKeys(keys);
+    builder.addAllValues(values);
+    ReceivedResponseMessage<PutAllResponse> response = send(Rpc.PUT_ALL, rpcService.getPutAllEndpoint(), builder.build());
+    if (response.getBody().hasConcurrentModificationError()) {
+      throw new ConcurrentModificationException(response.getBody().getConcurrentModificationError());
+    }
+  }
+
   public void delete(String storeId, ByteString key) throws RpcException {
     final DeleteRequest.Builder builder = DeleteRequest.newBuilder();
     builder.setStoreId(storeId);
     builder.setKey(key);
-    rpcService.getDeleteEndpoint().send(builder.build());
+    send(Rpc.DELETE, rpcService.getDeleteEndpoint(), builder.build());
   }
 
   public void delete(String storeId, ByteString key, String previousVersion) throws RpcException {
@@ -149,12 +258,19 @@ public class DatastoreRpcClient {
     builder.setStoreId(storeId);
     builder.setKey(key);
     builder.setPreviousVersion(previousVersion);
-    ReceivedResponseMessage<DeleteResponse> response = rpcService.getDeleteEndpoint().send(builder.build());
+    ReceivedResponseMessage<DeleteResponse> response = send(Rpc.DELETE, rpcService.getDeleteEndpoint(), builder.build());
     if (response.getBody().hasConcurrentModificationError()) {
       throw new ConcurrentModificationException(response.getBody().getConcurrentModificationError());
     }
   }
 
+  public void deleteAll(String storeId, List<ByteString> keys) throws RpcException {
+    final DeleteAllRequest.Builder builder = DeleteAllRequest.newBuilder();
+    builder.setStoreId(storeId);
+    builder.addAllKeys(keys);
+    send(Rpc.DELETE_ALL, rpcService.getDeleteAllEndpoint(), builder.build());
+  }
+
   public Iterable<Map.Entry<ByteString, ByteString>>find(String storeId, FindByCondition findByCondition) throws IOException {
     final SearchRequest.Builder builder = SearchRequest.newBuilder();
     builder.setStoreId(storeId);
@@ -165,7 +281,7 @@ public class DatastoreRpcClient {
     builder.setOffset(findByCondition.getOffset());
     builder.setPageSize(findByCondition.getPageSize());
     builder.setQuery(findByCondition.getCondition());
-    ReceivedResponseMessage<SearchResponse> response  = rpcService.getSearchEndpoint().send(builder.build());
+    ReceivedResponseMessage<SearchResponse> response  = send(Rpc.SEARCH, rpcService.getSearchEndpoint(), builder.build());
     return toIterator(response.getBody().getKeyList(), response.getBody().getValueList());
   }
 
@@ -175,10 +291,61 @@ public class DatastoreRpcClient {
     for (SearchQuery condition: conditions) {
       builder.addQueries(condition);
     }
-    ReceivedResponseMessage<GetCountsResponse> response  = rpcService.getGetCountsEndpoint().send(builder.build());
+    ReceivedResponseMessage<GetCountsResponse> response  = send(Rpc.GET_COUNTS, rpcService.getGetCountsEndpoint(), builder.build());
     return response.getBody().getCountsList();
   }
 
+  private <REQUEST extends MessageLite, RESPONSE extends MessageLite> ReceivedResponseMessage<RESPONSE> send(
+      Rpc rpc, SendEndpoint<REQUEST, RESPONSE> endpoint, REQUEST request) throws RpcException {
+    try (TimerContext timer = rpcTimers.get(rpc).start()) {
+      return endpoint.send(request);
+    }
+  }
+
+  /**
+   * Iterates over the pages of a find, fetching the next page once the current one is consumed.
+   */
+  private final class PagedFindIterator extends AbstractIterator<Map.Entry<ByteString, ByteString>> {
+    private final FindRequest request;
+    private FindResponse page;
+    private int index;
+
+    private PagedFindIterator(FindRequest request, FindResponse firstPage) {
+      this.request = request;
+      this.page = firstPage;
+    }
+
+    @Override
+    protected Map.Entry<ByteString, ByteString> computeNext() {
+      if (index == page.getKeysCount()) {
+        if (!page.getHasMore()) {
+          return endOfData();
+        }
+        page = nextPage();
+        index = 0;
+        if (page.getKeysCount() == 0) {
+          return endOfData();
+        }
+      }
+
+      final Map.Entry<ByteString, ByteString> entry = new AbstractMap.SimpleEntry<>(page.getKeys(index), page.getValues(index));
+      index++;
+      return entry;
+    }
+
+    private FindResponse nextPage() {
+      final FindRequest nextRequest = request.toBuilder()
+        .setStart(page.getKeys(page.getKeysCount() - 1))
+        .setIncludeStart(false)
+        .build();
+      try {
+        return send(Rpc.FIND, rpcService.getFindEndpoint(), nextRequest).getBody();
+      } catch (RpcException e) {
+        throw new DatastoreException("Failed to fetch the next entries from store id: " + request.getStoreId(), e);
+      }
+    }
+  }
+
   private Iterable<Map.Entry<ByteString, ByteString>> toIterator(List<ByteString> keys, List<ByteString> values) {
     Preconditions.checkState(keys.size() == values.size());
     final List<Map.Entry<ByteString, ByteString>> entries = new ArrayList<>(keys.size());
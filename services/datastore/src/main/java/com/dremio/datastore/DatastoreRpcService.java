@@ -21,6 +21,8 @@ import org.apache.arrow.memory.BufferAllocator;
 
 import com.dremio.datastore.RemoteDataStoreProtobuf.ContainsRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.ContainsResponse;
+import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteAllRequest;
+import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteAllResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.FindRequest;
@@ -31,6 +33,8 @@ import com.dremio.datastore.RemoteDataStoreProtobuf.GetRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetStoreRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetStoreResponse;
+import com.dremio.datastore.RemoteDataStoreProtobuf.PutAllRequest;
+import com.dremio.datastore.RemoteDataStoreProtobuf.PutAllResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.SearchRequest;
@@ -58,8 +62,12 @@ public class DatastoreRpcService {
   private static final int TYPE_SEARCH = 5;
   private static final int TYPE_PUT = 6;
   private static final int TYPE_DELETE = 7;
+  private static final int TYPE_PUT_ALL = 8;
+  private static final int TYPE_DELETE_ALL = 9;
   private static final int TYPE_GET_STORE = 10;
 
+  private static final long TIMEOUT_MILLIS = 10 * 1000;
+
   private final Provider<NodeEndpoint> master;
 
   private final SendEndpointCreator<GetRequest, GetResponse> getEndpointCreator;
@@ -69,6 +77,8 @@ public class DatastoreRpcService {
   private SendEndpointCreator<SearchRequest, SearchResponse> searchEndpointCreator;
   private SendEndpointCreator<PutRequest, PutResponse> putEndpointCreator;
   private SendEndpointCreator<DeleteRequest, DeleteResponse> deleteEndpointCreator;
+  private SendEndpointCreator<PutAllRequest, PutAllResponse> putAllEndpointCreator;
+  private SendEndpointCreator<DeleteAllRequest, DeleteAllResponse> deleteAllEndpointCreator;
   private SendEndpointCreator<GetStoreRequest, GetStoreResponse> getStoreEndpointCreator;
 
   public DatastoreRpcService(Provider<NodeEndpoint> masterNode,
@@ -77,7 +87,7 @@ public class DatastoreRpcService {
     master = masterNode;
 
     // Register endpoints for communicating with master
-    final ProtocolBuilder builder = ProtocolBuilder.builder().allocator(allocator).name("datastore-rpc").protocolId(4).timeout(10*1000);
+    final ProtocolBuilder builder = ProtocolBuilder.builder().allocator(allocator).name("datastore-rpc").protocolId(4).timeout(TIMEOUT_MILLIS);
 
     getEndpointCreator = builder.register(TYPE_GET,
       new AbstractReceiveHandler<GetRequest, GetResponse>(GetRequest.getDefaultInstance(), GetResponse.getDefaultInstance()) {
@@ -134,6 +144,22 @@ public class DatastoreRpcService {
         }
       });
 
+    putAllEndpointCreator = builder.register(TYPE_PUT_ALL,
+      new AbstractReceiveHandler<PutAllRequest, PutAllResponse>(PutAllRequest.getDefaultInstance(), PutAllResponse.getDefaultInstance()) {
+        @Override
+        public SentResponseMessage<PutAllResponse> handle(PutAllRequest request, ArrowBuf dBody) throws RpcException {
+          return new SentResponseMessage<>(handler.putAll(request));
+        }
+      });
+
+    deleteAllEndpointCreator = builder.register(TYPE_DELETE_ALL,
+      new AbstractReceiveHandler<DeleteAllRequest, DeleteAllResponse>(DeleteAllRequest.getDefaultInstance(), DeleteAllResponse.getDefaultInstance()) {
+        @Override
+        public SentResponseMessage<DeleteAllResponse> handle(DeleteAllRequest request, ArrowBuf dBody) throws RpcException {
+          return new SentResponseMessage<>(handler.deleteAll(request));
+        }
+      });
+
     getStoreEndpointCreator = builder.register(TYPE_GET_STORE,
       new AbstractReceiveHandler<GetStoreRequest, GetStoreResponse>(GetStoreRequest.getDefaultInstance(), GetStoreResponse.getDefaultInstance()) {
         @Override
@@ -154,6 +180,13 @@ public class DatastoreRpcService {
     return creator.getEndpoint(masterNode.getAddress(), masterNode.getFabricPort());
   }
 
+  /**
+   * @return how long to wait for the response of a request sent asynchronously.
+   */
+  public long getTimeoutMillis() {
+    return TIMEOUT_MILLIS;
+  }
+
   public SendEndpoint<GetRequest, GetResponse> getGetEndpoint() throws RpcException {
     return newEndpoint(getEndpointCreator);
   }
@@ -182,6 +215,14 @@ public class DatastoreRpcService {
     return newEndpoint(deleteEndpointCreator);
   }
 
+  public SendEndpoint<PutAllRequest, PutAllResponse> getPutAllEndpoint() throws RpcException {
+    return newEndpoint(putAllEndpointCreator);
+  }
+
+  public SendEndpoint<DeleteAllRequest, DeleteAllResponse> getDeleteAllEndpoint() throws RpcException {
+    return newEndpoint(deleteAllEndpointCreator);
+  }
+
   public SendEndpoint<GetStoreRequest, GetStoreResponse> getGetStoreEndpoint() throws RpcException {
     return newEndpoint(getStoreEndpointCreator);
   }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.datastore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.protobuf.ByteString;
+
+/**
+ * Coalesces concurrent single key gets against the same store into batched get requests.
+ *
+ * A get is sent right away as long as less than {@code maxOutstanding} requests are in flight for
+ * the store. Otherwise it is queued, and all the queued gets are sent together as soon as one of
+ * the outstanding requests completes. Under low concurrency every get goes out on its own, so
+ * coalescing never delays a request.
+ *
+ * A request not completed within the timeout fails its gets and frees its slot, so that a stalled
+ * request does not hold on to a slot forever.
+ */
+class GetRequestCoalescer {
+
+  /**
+   * Sends a batch of keys to a store, the values being returned in the same order as the keys.
+   */
+  interface BatchSender {
+    ListenableFuture<List<ByteString>> send(String storeId, List<ByteString> keys);
+  }
+
+  private final BatchSender sender;
+  private final int maxOutstanding;
+  private final int maxBatchSize;
+  private final long timeoutMillis;
+  private final ScheduledExecutorService timer;
+  private final ConcurrentMap<String, StoreQueue> queues = new ConcurrentHashMap<>();
+
+  GetRequestCoalescer(BatchSender sender, int maxOutstanding, int maxBatchSize, long timeoutMillis,
+      ScheduledExecutorService timer) {
+    Preconditions.checkArgument(maxOutstanding > 0, "maxOutstanding must be positive");
+    Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+    Preconditions.checkArgument(timeoutMillis > 0, "timeoutMillis must be positive");
+    this.sender = sender;
+    this.maxOutstanding = maxOutstanding;
+    this.maxBatchSize = maxBatchSize;
+    this.timeoutMillis = timeoutMillis;
+    this.timer = timer;
+  }
+
+  /**
+   * Get the value associated with the key.
+   *
+   * @return a future completed with the value as returned by the store.
+   */
+  ListenableFuture<ByteString> get(String storeId, ByteString key) {
+    final StoreQueue queue = queues.computeIfAbsent(storeId, StoreQueue::new);
+    final PendingGet get = new PendingGet(key);
+    queue.pending.add(get);
+    queue.drain();
+    return get.value;
+  }
+
+  private static final class PendingGet {
+    private final ByteString key;
+    private final SettableFuture<ByteString> value = SettableFuture.create();
+
+    private PendingGet(ByteString key) {
+      this.key = key;
+    }
+  }
+
+  private final class StoreQueue {
+    private final String storeId;
+    private final Queue<PendingGet> pending = new ConcurrentLinkedQueue<>();
+    private final Semaphore outstanding = new Semaphore(maxOutstanding);
+
+    private StoreQueue(String storeId) {
+      this.storeId = storeId;
+    }
+
+    /**
+     * Send the queued gets while there are free request slots. A get queued while all the slots
+     * are taken is picked up by the request completing next, which drains the queue again.
+     */
+    private void drain() {
+      while (!pending.isEmpty() && outstanding.tryAcquire()) {
+        final List<PendingGet> batch = new ArrayList<>();
+        PendingGet get;
+        while (batch.size() < maxBatchSize && (get = pending.poll()) != null) {
+          batch.add(get);
+        }
+
+        if (batch.isEmpty()) {
+          // another thread drained the queue first
+          outstanding.release();
+        } else {
+          send(batch);
+        }
+      }
+    }
+
+    private void send(final List<PendingGet> batch) {
+      final List<ByteString> keys = new ArrayList<>(batch.size());
+      for (PendingGet get : batch) {
+        keys.add(get.key);
+      }
+
+      ListenableFuture<List<ByteString>> response;
+      try {
+        response = sender.send(storeId, keys);
+      } catch (RuntimeException e) {
+        response = Futures.immediateFailedFuture(e);
+      }
+
+      // the slot is only released once the request completes: time it out rather than rely on the endpoint
+      response = Futures.withTimeout(response, timeoutMillis, TimeUnit.MILLISECONDS, timer);
+      Futures.addCallback(response, new FutureCallback<List<ByteString>>() {
+        @Override
+        public void onSuccess(List<ByteString> values) {
+          for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).value.set(i < values.size() ? values.get(i) : null);
+          }
+          outstanding.release();
+          drain();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+          for (PendingGet get : batch) {
+            get.value.setException(t);
+          }
+          outstanding.release();
+          drain();
+        }
+      }, MoreExecutors.directExecutor());
+    }
+  }
+}
@@ -58,6 +58,20 @@ public interface KVStore<K, V> {
    */
   void put(K key, V v);
 
+  /**
+   * Save all the provided entries, as if {@link #put(Object, Object)} was called for each of them.
+   * Depending on the underlying storage system, the entries may be written atomically and more
+   * efficiently than looping over them in application code.
+   *
+   * @param entries the entries to save, values can not be null.
+   * @throws NullPointerException when a value is null.
+   */
+  default void putAll(Map<K, V> entries) {
+    for (Map.Entry<K, V> entry : entries.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
   /**
    * Indicate if the store contains an entry associated with the key. Return {@code true}
    * if such a key exist, {@code false} otherwise.
@@ -75,6 +89,19 @@ public interface KVStore<K, V> {
    */
   void delete(K key);
 
+  /**
+   * Remove all the provided keys, as if {@link #delete(Object)} was called for each of them.
+   * Depending on the underlying storage system, the keys may be removed atomically and more
+   * efficiently than looping over them in application code.
+   *
+   * @param keys the keys to remove.
+   */
+  default void deleteAll(List<K> keys) {
+    for (K key : keys) {
+      delete(key);
+    }
+  }
+
 
   /**
    * Return a iterable of keys & values for any key within the provided Range
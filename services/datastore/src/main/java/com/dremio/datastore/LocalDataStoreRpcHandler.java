@@ -16,6 +16,8 @@
 package com.dremio.datastore;
 
 import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +25,8 @@ import com.dremio.datastore.IndexedStore.FindByCondition;
 import com.dremio.datastore.KVStore.FindByRange;
 import com.dremio.datastore.RemoteDataStoreProtobuf.ContainsRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.ContainsResponse;
+import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteAllRequest;
+import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteAllResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.DeleteResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.FindRequest;
@@ -33,6 +37,8 @@ import com.dremio.datastore.RemoteDataStoreProtobuf.GetRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetStoreRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.GetStoreResponse;
+import com.dremio.datastore.RemoteDataStoreProtobuf.PutAllRequest;
+import com.dremio.datastore.RemoteDataStoreProtobuf.PutAllResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutRequest;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutResponse;
 import com.dremio.datastore.RemoteDataStoreProtobuf.SearchRequest;
@@ -90,16 +96,24 @@ public class LocalDataStoreRpcHandler extends DefaultDataStoreRpcHandler {
     final Iterable<Map.Entry<KVStoreTuple<Object>, KVStoreTuple<Object>>> iterable;
 
     if (request.hasEnd() || request.hasStart()) {
+      // a missing bound leaves the range open on that side (pages after the first one of a find all only have a start)
       FindByRange<KVStoreTuple<Object>> findByRange = new FindByRange<KVStoreTuple<Object>>()
-        .setStart(store.newKey().setSerializedBytes(request.getStart().toByteArray()), request.getIncludeStart())
-        .setEnd(store.newKey().setSerializedBytes(request.getEnd().toByteArray()), request.getIncludeEnd());
+        .setStart(store.newKey().setSerializedBytes(request.hasStart() ? request.getStart().toByteArray() : null), request.getIncludeStart())
+        .setEnd(store.newKey().setSerializedBytes(request.hasEnd() ? request.getEnd().toByteArray() : null), request.getIncludeEnd());
       iterable = store.find(findByRange);
     } else { // find all
       iterable = store.find();
     }
     final FindResponse.Builder builder = FindResponse.newBuilder();
+    final int maxEntries = request.hasMaxEntries() ? request.getMaxEntries() : Integer.MAX_VALUE;
 
-    for (Map.Entry<KVStoreTuple<Object>, KVStoreTuple<Object>> entry: iterable) {
+    final Iterator<Map.Entry<KVStoreTuple<Object>, KVStoreTuple<Object>>> iterator = iterable.iterator();
+    while (iterator.hasNext()) {
+      if (builder.getKeysCount() >= maxEntries) {
+        builder.setHasMore(true);
+        break;
+      }
+      final Map.Entry<KVStoreTuple<Object>, KVStoreTuple<Object>> entry = iterator.next();
       builder.addKeys(ByteString.copyFrom(entry.getKey().getSerializedBytes()));
       builder.addValues(ByteString.copyFrom(entry.getValue().getSerializedBytes()));
     }
@@ -168,6 +182,33 @@ public class LocalDataStoreRpcHandler extends DefaultDataStoreRpcHandler {
     return DeleteResponse.getDefaultInstance();
   }
 
+  @Override
+  public PutAllResponse putAll(PutAllRequest request) {
+    final CoreKVStore<Object, Object> store = coreStoreProvider.getStore(request.getStoreId());
+    final Map<KVStoreTuple<Object>, KVStoreTuple<Object>> entries = new LinkedHashMap<>();
+    for (int i = 0; i < request.getKeysCount(); i++) {
+      entries.put(store.newKey().setSerializedBytes(request.getKeys(i).toByteArray()),
+        store.newValue().setSerializedBytes(request.getValues(i).toByteArray()));
+    }
+    try {
+      store.putAll(entries);
+    } catch (ConcurrentModificationException cme) {
+      return PutAllResponse.newBuilder().setConcurrentModificationError(cme.getMessage()).build();
+    }
+    return PutAllResponse.getDefaultInstance();
+  }
+
+  @Override
+  public DeleteAllResponse deleteAll(DeleteAllRequest request) {
+    final CoreKVStore<Object, Object> store = coreStoreProvider.getStore(request.getStoreId());
+    final List<KVStoreTuple<Object>> keys = Lists.newArrayListWithCapacity(request.getKeysCount());
+    for (ByteString key : request.getKeysList()) {
+      keys.add(store.newKey().setSerializedBytes(key.toByteArray()));
+    }
+    store.deleteAll(keys);
+    return DeleteAllResponse.getDefaultInstance();
+  }
+
   @Override
   public GetStoreResponse getStore(GetStoreRequest request) {
     StoreBuilderConfig config = new StoreBuilderConfig();
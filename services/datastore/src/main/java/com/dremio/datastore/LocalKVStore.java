@@ -15,6 +15,7 @@
  */
 package com.dremio.datastore;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -83,6 +84,15 @@ public class LocalKVStore<K, V> implements KVStore<K, V> {
     coreKVStore.put(buildKey(key), buildValue(value));
   }
 
+  @Override
+  public void putAll(Map<K, V> entries) {
+    final Map<KVStoreTuple<K>, KVStoreTuple<V>> convertedEntries = new LinkedHashMap<>();
+    for (Map.Entry<K, V> entry : entries.entrySet()) {
+      convertedEntries.put(buildKey(entry.getKey()), buildValue(entry.getValue()));
+    }
+    coreKVStore.putAll(convertedEntries);
+  }
+
   @Override
   public boolean contains(K key) {
     return coreKVStore.contains(buildKey(key));
@@ -93,6 +103,11 @@ public class LocalKVStore<K, V> implements KVStore<K, V> {
     coreKVStore.delete(buildKey(key));
   }
 
+  @Override
+  public void deleteAll(List<K> keys) {
+    coreKVStore.deleteAll(Lists.newArrayList(Lists.transform(keys, this::buildKey)));
+  }
+
   @Override
   public Iterable<Map.Entry<K, V>> find(FindByRange<K> find) {
     final FindByRange<KVStoreTuple<K>> convertedRange = new FindByRange<KVStoreTuple<K>>()
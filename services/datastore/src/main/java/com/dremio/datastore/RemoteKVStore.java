@@ -46,9 +46,11 @@ public class RemoteKVStore <K, V> implements KVStore<K, V> {
     GET,
     GET_LIST,
     PUT,
+    PUT_ALL,
     CHECK_AND_PUT,
     CONTAINS,
     DELETE,
+    DELETE_ALL,
     CHECK_AND_DELETE,
     DELETE_VERSION,
     FIND_BY_RANGE,
@@ -190,6 +192,27 @@ public class RemoteKVStore <K, V> implements KVStore<K, V> {
     }
   }
 
+  @Override
+  public void putAll(Map<K, V> entries) {
+    if (versionExtractor != null) {
+      // versioned values need their new tag set one by one
+      KVStore.super.putAll(entries);
+      return;
+    }
+
+    try (TimerContext timer = time(Stats.PUT_ALL)) {
+      final List<ByteString> keys = Lists.newArrayListWithCapacity(entries.size());
+      final List<ByteString> values = Lists.newArrayListWithCapacity(entries.size());
+      for (Entry<K, V> entry : entries.entrySet()) {
+        keys.add(ByteString.copyFrom(keySerializer.serialize(entry.getKey())));
+        values.add(ByteString.copyFrom(valueSerializer.serialize(entry.getValue())));
+      }
+      client.putAll(storeId, keys, values);
+    } catch (RpcException e) {
+      throw new DatastoreException(format("Failed to put multiple values in store id: %s, config: %s", getStoreId(), getConfig().toString()), e);
+    }
+  }
+
   @Override
   public boolean contains(K key) {
     try (TimerContext timer = time(Stats.CONTAINS)) {
@@ -208,6 +231,19 @@ public class RemoteKVStore <K, V> implements KVStore<K, V> {
     }
   }
 
+  @Override
+  public void deleteAll(List<K> keys) {
+    try (TimerContext timer = time(Stats.DELETE_ALL)) {
+      final List<ByteString> keyList = Lists.newArrayListWithCapacity(keys.size());
+      for (K key : keys) {
+        keyList.add(ByteString.copyFrom(keySerializer.serialize(key)));
+      }
+      client.deleteAll(storeId, keyList);
+    } catch (RpcException e) {
+      throw new DatastoreException(format("Failed to delete multiple keys from store id: %s, config: %s", getStoreId(), getConfig().toString()), e);
+    }
+  }
+
   @Override
   public Iterable<Entry<K, V>> find(FindByRange<K> find) {
     FindByRange<ByteString> findByRange = new FindByRange<ByteString>()
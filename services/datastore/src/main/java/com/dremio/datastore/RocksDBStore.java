@@ -27,11 +27,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -48,6 +50,8 @@ import org.rocksdb.FlushOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 import org.xerial.snappy.SnappyInputStream;
 import org.xerial.snappy.SnappyOutputStream;
 
@@ -295,22 +299,49 @@ class RocksDBStore implements ByteStore {
 
   }
 
-  private AutoCloseableLock sharedLock(byte[] key) {
+  private int stripe(byte[] key) {
     Preconditions.checkNotNull(key);
     final int hash = Arrays.hashCode(key);
-    AutoCloseableLock lock = sharedLocks[Math.abs(hash % parallel)];
+    return Math.abs(hash % parallel);
+  }
+
+  private AutoCloseableLock sharedLock(byte[] key) {
+    AutoCloseableLock lock = sharedLocks[stripe(key)];
     lock.open();
     return lock;
   }
 
   private AutoCloseableLock exclusiveLock(byte[] key) {
-    Preconditions.checkNotNull(key);
-    final int hash = Arrays.hashCode(key);
-    AutoCloseableLock lock = exclusiveLocks[Math.abs(hash % parallel)];
+    AutoCloseableLock lock = exclusiveLocks[stripe(key)];
     lock.open();
     return lock;
   }
 
+  /**
+   * Acquire the shared locks of all the stripes the keys belong to. Locks are always taken in
+   * stripe order so that bulk operations can't deadlock with each other or with {@link #exclusively}.
+   */
+  private List<AutoCloseableLock> sharedLocks(Iterable<byte[]> keys) {
+    final boolean[] stripes = new boolean[parallel];
+    for (byte[] key : keys) {
+      stripes[stripe(key)] = true;
+    }
+
+    final List<AutoCloseableLock> locks = new ArrayList<>();
+    for (int i = 0; i < parallel; i++) {
+      if (stripes[i]) {
+        locks.add(sharedLocks[i].open());
+      }
+    }
+    return locks;
+  }
+
+  private static void release(List<AutoCloseableLock> locks) {
+    for (int i = locks.size() - 1; i >= 0; i--) {
+      locks.get(i).close();
+    }
+  }
+
   /**
    * Delete all values. Deletes only values inside the store, leaving behind any leftover blobs that have been placed
    * directly in the file system.
@@ -449,7 +480,8 @@ class RocksDBStore implements ByteStore {
     try (AutoCloseableLock ac = sharedLock(key)) {
       throwIfClosed();
 
-      final byte[] oldValueOrPtr = db.get(handle, key);
+      // the previous value only has to be read if it may point to a blob that needs to be cleaned up.
+      final byte[] oldValueOrPtr = blobManager.mayStoreBlobs() ? db.get(handle, key) : null;
 
       try (BlobHolder blob = blobManager.filterPut(value)){
         final byte[] blobOrPtrVal = blob.ptrOrValue();
@@ -466,11 +498,123 @@ class RocksDBStore implements ByteStore {
 
   @Override
   public List<byte[]> get(List<byte[]> keys) {
-    final List<byte[]> values = new ArrayList<>();
+    if (keys.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // RocksDB returns the values keyed by the key instances, so make sure they are stable.
+    final List<byte[]> keyList = new ArrayList<>(keys);
+    final List<AutoCloseableLock> locks = sharedLocks(keyList);
+    try {
+      throwIfClosed();
+      final Map<byte[], byte[]> found = multiGet(keyList);
+      final List<byte[]> values = new ArrayList<>(keyList.size());
+      for (byte[] key : keyList) {
+        values.add(resolvePtrOrValue(found.get(key)));
+      }
+      return values;
+    } catch (RocksDBException | BlobNotFoundException e) {
+      throw new RuntimeException(e);
+    } finally {
+      release(locks);
+    }
+  }
+
+  /**
+   * Look up all the keys in a single native call. Keys that are not found are absent from the result.
+   */
+  private Map<byte[], byte[]> multiGet(List<byte[]> keys) throws RocksDBException {
+    return db.multiGet(Collections.nCopies(keys.size(), handle), keys);
+  }
+
+  /**
+   * Sort the keys and remove duplicates, the last value for a given key wins as it would with
+   * consecutive puts.
+   */
+  private static <V> TreeMap<byte[], V> sortedByKey() {
+    return new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+  }
+
+  @Override
+  public void putAll(Map<byte[], byte[]> entries) {
+    final TreeMap<byte[], byte[]> sorted = sortedByKey();
+    for (Entry<byte[], byte[]> entry : entries.entrySet()) {
+      if (entry.getValue() == null) {
+        throw new NullPointerException("null values are not allowed in kvstore");
+      }
+      sorted.put(entry.getKey(), entry.getValue());
+    }
+    if (sorted.isEmpty()) {
+      return;
+    }
+
+    final List<byte[]> keys = new ArrayList<>(sorted.keySet());
+    final List<AutoCloseableLock> locks = sharedLocks(keys);
+    final List<BlobHolder> blobs = new ArrayList<>(keys.size());
+    try (WriteBatch batch = new WriteBatch();
+         WriteOptions options = new WriteOptions()) {
+      throwIfClosed();
+      final Map<byte[], byte[]> oldValuesOrPtrs = blobManager.mayStoreBlobs() ? multiGet(keys) : Collections.emptyMap();
+
+      for (Entry<byte[], byte[]> entry : sorted.entrySet()) {
+        final BlobHolder blob = blobManager.filterPut(entry.getValue());
+        blobs.add(blob);
+        batch.put(handle, entry.getKey(), blob.ptrOrValue());
+      }
+
+      // all the entries are applied atomically and appended to the write ahead log as a single record.
+      db.write(options, batch);
+
+      for (byte[] oldValueOrPtr : oldValuesOrPtrs.values()) {
+        blobManager.deleteTranslation(oldValueOrPtr);
+      }
+      for (BlobHolder blob : blobs) {
+        blob.commit();
+      }
+    } catch (RocksDBException | IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      for (BlobHolder blob : blobs) {
+        blob.close();
+      }
+      release(locks);
+    }
+  }
+
+  @Override
+  public void deleteAll(List<byte[]> keys) {
+    final TreeMap<byte[], Boolean> sorted = sortedByKey();
     for (byte[] key : keys) {
-      values.add(get(key));
+      sorted.put(key, Boolean.TRUE);
+    }
+    if (sorted.isEmpty()) {
+      return;
+    }
+
+    final List<byte[]> keyList = new ArrayList<>(sorted.keySet());
+    final List<AutoCloseableLock> locks = sharedLocks(keyList);
+    try (WriteBatch batch = new WriteBatch();
+         WriteOptions options = new WriteOptions()) {
+      throwIfClosed();
+      // as with delete(), keys that are not present are skipped rather than written as tombstones.
+      final Map<byte[], byte[]> oldValuesOrPtrs = multiGet(keyList);
+      if (oldValuesOrPtrs.isEmpty()) {
+        return;
+      }
+
+      for (byte[] key : oldValuesOrPtrs.keySet()) {
+        batch.delete(handle, key);
+      }
+      db.write(options, batch);
+
+      for (byte[] oldValueOrPtr : oldValuesOrPtrs.values()) {
+        blobManager.deleteTranslation(oldValueOrPtr);
+      }
+    } catch (RocksDBException e) {
+      throw new RuntimeException(e);
+    } finally {
+      release(locks);
     }
-    return values;
   }
 
   @Override
@@ -786,6 +930,14 @@ class RocksDBStore implements ByteStore {
      */
     BlobStats getStats();
 
+    /**
+     * Whether values may be stored outside of RocksDB. If so, the values being replaced or
+     * deleted have to be read first so that their blobs can be cleaned up.
+     *
+     * @return true if values may be stored as blob pointers
+     */
+    boolean mayStoreBlobs();
+
     /**
      * Handles retrieving of the value from the blob storage if needed.
      *
@@ -816,6 +968,11 @@ class RocksDBStore implements ByteStore {
       return null;
     }
 
+    @Override
+    public boolean mayStoreBlobs() {
+      return false;
+    }
+
     @Override
     public byte[] filterGet(byte[] valueFromRocks) {
       return valueFromRocks;
@@ -867,6 +1024,11 @@ class RocksDBStore implements ByteStore {
       return base.resolve(Paths.get(ptr(bytes).getPath()));
     }
 
+    @Override
+    public boolean mayStoreBlobs() {
+      return true;
+    }
+
     @Override
     public BlobStats getStats() {
       try {
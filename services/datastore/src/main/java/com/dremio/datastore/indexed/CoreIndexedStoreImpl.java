@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -209,6 +210,14 @@ public class CoreIndexedStoreImpl<K, V> implements CoreIndexedStore<K, V> {
     index(key, v);
   }
 
+  @Override
+  public void putAll(Map<KVStoreTuple<K>, KVStoreTuple<V>> entries) {
+    base.putAll(entries);
+    for (Entry<KVStoreTuple<K>, KVStoreTuple<V>> entry : entries.entrySet()) {
+      index(entry.getKey(), entry.getValue());
+    }
+  }
+
   private void index(KVStoreTuple<K> key, KVStoreTuple<V> v) {
     final Document document = toDoc(key, v);
     if (document != null) {
@@ -246,6 +255,14 @@ public class CoreIndexedStoreImpl<K, V> implements CoreIndexedStore<K, V> {
     index.deleteDocuments(keyAsTerm(key));
   }
 
+  @Override
+  public void deleteAll(List<KVStoreTuple<K>> keys) {
+    base.deleteAll(keys);
+    for (KVStoreTuple<K> key : keys) {
+      index.deleteDocuments(keyAsTerm(key));
+    }
+  }
+
   @Override
   public List<KVStoreTuple<V>> get(List<KVStoreTuple<K>> keys) {
     return base.get(keys);
@@ -15,6 +15,7 @@
  */
 package com.dremio.datastore.indexed;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -103,6 +104,15 @@ public class LocalIndexedStore<K, V> implements IndexedStore<K, V> {
     coreIndexedStore.put(buildKey(key), buildValue(value));
   }
 
+  @Override
+  public void putAll(Map<K, V> entries) {
+    final Map<KVStoreTuple<K>, KVStoreTuple<V>> convertedEntries = new LinkedHashMap<>();
+    for (Map.Entry<K, V> entry : entries.entrySet()) {
+      convertedEntries.put(buildKey(entry.getKey()), buildValue(entry.getValue()));
+    }
+    coreIndexedStore.putAll(convertedEntries);
+  }
+
   @Override
   public boolean contains(K key) {
     return coreIndexedStore.contains(buildKey(key));
@@ -113,6 +123,11 @@ public class LocalIndexedStore<K, V> implements IndexedStore<K, V> {
     coreIndexedStore.delete(buildKey(key));
   }
 
+  @Override
+  public void deleteAll(List<K> keys) {
+    coreIndexedStore.deleteAll(Lists.newArrayList(Lists.transform(keys, this::buildKey)));
+  }
+
   @Override
   public Iterable<Map.Entry<K, V>> find(FindByRange<K> find) {
     final FindByRange<KVStoreTuple<K>> convertedRange = new FindByRange<KVStoreTuple<K>>()
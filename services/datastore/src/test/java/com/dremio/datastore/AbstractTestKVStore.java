@@ -21,9 +21,15 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -186,6 +192,43 @@ public abstract class AbstractTestKVStore {
     assertNull(backend.get("random key"));
   }
 
+  @Test
+  public void testGetMultipleKeys() {
+    backend.put("key1", "value1");
+    backend.put("key3", "value3");
+    assertEquals(Lists.newArrayList("value3", null, "value1", "value3"),
+        kvStore.get(ImmutableList.of("key3", "key2", "key1", "key3")));
+  }
+
+  @Test
+  public void testPutAll() {
+    backend.put("key2", "old value2");
+    kvStore.putAll(ImmutableMap.of("key3", "value3", "key1", "value1", "key2", "value2"));
+    assertEquals(
+        ImmutableMap.of("key1", "value1", "key2", "value2", "key3", "value3"),
+        KVUtil.asMap(kvStore.find()));
+  }
+
+  @Test
+  public void testPutAllWithNullValue() {
+    final Map<String, String> entries = new HashMap<>();
+    entries.put("key1", "value1");
+    entries.put("key2", null);
+    try {
+      kvStore.putAll(entries);
+      fail("KVStore null value insertions should fail with NullPointerException");
+    } catch (NullPointerException e) {}
+  }
+
+  @Test
+  public void testDeleteAll() {
+    backend.put("key1", "value1");
+    backend.put("key2", "value2");
+    backend.put("key3", "value3");
+    kvStore.deleteAll(ImmutableList.of("key3", "missing key", "key1", "key3"));
+    assertEquals(ImmutableMap.of("key2", "value2"), KVUtil.asMap(kvStore.find()));
+  }
+
   @Test
   public void testGetRange() throws Exception {
     // only on kvStore
@@ -210,6 +253,51 @@ public abstract class AbstractTestKVStore {
     assertRange(range, 5, "key1", "key100", "key2", "key3", "key30");
   }
 
+  @Test
+  public void testFindManyEntries() throws Exception {
+    // enough entries for a remote find to be returned over several pages
+    final int count = 2500;
+    for (int i = 0; i < count; i++) {
+      getBackend().put(String.format("key%05d", i), "value" + i);
+    }
+
+    int i = 0;
+    for (Entry<String, String> entry : kvStore.find()) {
+      assertEquals(String.format("key%05d", i), entry.getKey());
+      assertEquals("value" + i, entry.getValue());
+      i++;
+    }
+    assertEquals(count, i);
+
+    final Iterable<Entry<String, String>> range = kvStore.find(new FindByRange<>("key00010", false, "key02000", true));
+    assertSize(range, 1990);
+    assertEquals("key00011", Iterables.getFirst(range, null).getKey());
+    assertEquals("key02000", Iterables.getLast(range).getKey());
+  }
+
+  @Test
+  public void testConcurrentGets() throws Exception {
+    final int count = 100;
+    for (int i = 0; i < count; i++) {
+      getBackend().put("key" + i, "value" + i);
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      final List<Future<String>> values = new ArrayList<>();
+      for (int i = 0; i < 10 * count; i++) {
+        final String key = "key" + (i % (count + 1));
+        values.add(executor.submit(() -> kvStore.get(key)));
+      }
+      for (int i = 0; i < values.size(); i++) {
+        final int index = i % (count + 1);
+        assertEquals(index == count ? null : "value" + index, values.get(i).get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private static void assertRange(Iterable<Entry<String, String>> range, int size, String... keys){
     assertSize(range, size);
     assertIncluded(range, keys);
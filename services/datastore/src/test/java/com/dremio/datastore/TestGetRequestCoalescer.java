@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.protobuf.ByteString;
+
+/**
+ * Tests for {@code GetRequestCoalescer}
+ */
+public class TestGetRequestCoalescer {
+  private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private ScheduledExecutorService timer;
+
+  @Before
+  public void setup() {
+    timer = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void cleanup() {
+    timer.shutdownNow();
+  }
+
+  /**
+   * Records the batches sent, and lets the test decide when they complete.
+   */
+  private static final class RecordingSender implements GetRequestCoalescer.BatchSender {
+    private final List<String> stores = new ArrayList<>();
+    private final List<List<ByteString>> batches = new ArrayList<>();
+    private final List<SettableFuture<List<ByteString>>> responses = new ArrayList<>();
+
+    @Override
+    public synchronized ListenableFuture<List<ByteString>> send(String storeId, List<ByteString> keys) {
+      final SettableFuture<List<ByteString>> response = SettableFuture.create();
+      stores.add(storeId);
+      batches.add(keys);
+      responses.add(response);
+      notifyAll();
+      return response;
+    }
+
+    private synchronized void awaitBatches(int count) throws InterruptedException {
+      while (batches.size() < count) {
+        wait();
+      }
+    }
+
+    private void respond(int batch) {
+      final List<ByteString> values = new ArrayList<>();
+      for (ByteString key : batches.get(batch)) {
+        values.add(ByteString.copyFromUtf8("value-" + key.toStringUtf8()));
+      }
+      responses.get(batch).set(values);
+    }
+  }
+
+  private static ByteString key(String key) {
+    return ByteString.copyFromUtf8(key);
+  }
+
+  @Test
+  public void testSentRightAwayWhenIdle() throws Exception {
+    final RecordingSender sender = new RecordingSender();
+    final GetRequestCoalescer coalescer = new GetRequestCoalescer(sender, 2, 10, TIMEOUT_MILLIS, timer);
+
+    final ListenableFuture<ByteString> value = coalescer.get("store", key("a"));
+    assertEquals(1, sender.batches.size());
+    assertEquals(ImmutableList.of(key("a")), sender.batches.get(0));
+
+    sender.respond(0);
+    assertEquals(key("value-a"), value.get());
+  }
+
+  @Test
+  public void testCoalescedWhileOutstanding() throws Exception {
+    final RecordingSender sender = new RecordingSender();
+    final GetRequestCoalescer coalescer = new GetRequestCoalescer(sender, 2, 2, TIMEOUT_MILLIS, timer);
+
+    final ListenableFuture<ByteString> a = coalescer.get("store", key("a"));
+    final ListenableFuture<ByteString> b = coalescer.get("store", key("b"));
+    final ListenableFuture<ByteString> c = coalescer.get("store", key("c"));
+    final ListenableFuture<ByteString> d = coalescer.get("store", key("d"));
+    final ListenableFuture<ByteString> e = coalescer.get("store", key("e"));
+    // both request slots are taken, the other gets wait
+    assertEquals(2, sender.batches.size());
+
+    // a slot frees up, the queued gets go out in batches of at most 2 keys
+    sender.respond(0);
+    assertEquals(key("value-a"), a.get());
+    assertEquals(3, sender.batches.size());
+    assertEquals(ImmutableList.of(key("c"), key("d")), sender.batches.get(2));
+    assertFalse(c.isDone());
+
+    sender.respond(1);
+    assertEquals(4, sender.batches.size());
+    assertEquals(ImmutableList.of(key("e")), sender.batches.get(3));
+
+    sender.respond(2);
+    sender.respond(3);
+    assertEquals(key("value-b"), b.get());
+    assertEquals(key("value-c"), c.get());
+    assertEquals(key("value-d"), d.get());
+    assertEquals(key("value-e"), e.get());
+    assertEquals(4, sender.batches.size());
+  }
+
+  @Test
+  public void testStoresAreIndependent() throws Exception {
+    final RecordingSender sender = new RecordingSender();
+    final GetRequestCoalescer coalescer = new GetRequestCoalescer(sender, 1, 10, TIMEOUT_MILLIS, timer);
+
+    coalescer.get("store1", key("a"));
+    coalescer.get("store2", key("b"));
+    assertEquals(ImmutableList.of("store1", "store2"), sender.stores);
+  }
+
+  @Test
+  public void testFailure() throws Exception {
+    final RecordingSender sender = new RecordingSender();
+    final GetRequestCoalescer coalescer = new GetRequestCoalescer(sender, 1, 10, TIMEOUT_MILLIS, timer);
+
+    final ListenableFuture<ByteString> a = coalescer.get("store", key("a"));
+    final ListenableFuture<ByteString> b = coalescer.get("store", key("b"));
+
+    final RuntimeException failure = new RuntimeException("failed");
+    sender.responses.get(0).setException(failure);
+    try {
+      a.get();
+      fail("get should have failed");
+    } catch (ExecutionException ex) {
+      assertSame(failure, ex.getCause());
+    }
+
+    // the queued get is still sent after the failure
+    assertEquals(2, sender.batches.size());
+    sender.respond(1);
+    assertTrue(b.isDone());
+    assertEquals(key("value-b"), b.get());
+  }
+
+  @Test(timeout = 60_000)
+  public void testStalledRequestTimesOut() throws Exception {
+    // the first request never gets a response
+    final RecordingSender sender = new RecordingSender();
+    final GetRequestCoalescer coalescer = new GetRequestCoalescer(sender, 1, 10, 100, timer);
+
+    final ListenableFuture<ByteString> a = coalescer.get("store", key("a"));
+    final ListenableFuture<ByteString> b = coalescer.get("store", key("b"));
+    assertEquals(1, sender.batches.size());
+
+    try {
+      a.get();
+      fail("get should have timed out");
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof TimeoutException);
+    }
+
+    // the slot of the stalled request was released, the queued get goes out
+    sender.awaitBatches(2);
+    assertEquals(ImmutableList.of(key("b")), sender.batches.get(1));
+    sender.respond(1);
+    assertEquals(key("value-b"), b.get());
+  }
+
+  @Test
+  public void testSenderThrows() throws Exception {
+    final RuntimeException failure = new RuntimeException("failed");
+    final List<List<ByteString>> batches = new ArrayList<>();
+    final GetRequestCoalescer coalescer = new GetRequestCoalescer((storeId, keys) -> {
+      batches.add(keys);
+      if (batches.size() == 1) {
+        throw failure;
+      }
+      return Futures.immediateFuture(ImmutableList.of(key("value")));
+    }, 1, 10, TIMEOUT_MILLIS, timer);
+
+    try {
+      coalescer.get("store", key("a")).get();
+      fail("get should have failed");
+    } catch (ExecutionException ex) {
+      assertSame(failure, ex.getCause());
+    }
+
+    // the slot was released
+    assertEquals(key("value"), coalescer.get("store", key("b")).get());
+    assertEquals(2, batches.size());
+  }
+}
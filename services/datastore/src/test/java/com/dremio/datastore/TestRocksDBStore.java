@@ -32,9 +32,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.concurrent.Callable;
@@ -62,6 +65,7 @@ import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 
 import com.dremio.datastore.RocksDBStore.RocksBlobManager;
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Some robustness tests for {@code RocksDBStore}
@@ -241,6 +245,43 @@ public class TestRocksDBStore {
     assertEquals(null, store.get(randomKey));
   }
 
+  @Test
+  public void checkBulkBlobOps() throws IOException {
+    final Random r = new Random(456);
+    final byte[] smallValue = new byte[10];
+    r.nextBytes(smallValue);
+    final Map<byte[], byte[]> entries = new LinkedHashMap<>();
+    final List<byte[]> keys = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final byte[] key = new byte[5];
+      final byte[] value = new byte[(int) BLOB_FILTER_SIZE + 1];
+      r.nextBytes(key);
+      r.nextBytes(value);
+      keys.add(key);
+      entries.put(key, value);
+    }
+
+    store.putAll(entries);
+    final List<byte[]> values = store.get(keys);
+    for (int i = 0; i < keys.size(); i++) {
+      Assert.assertArrayEquals(entries.get(keys.get(i)), values.get(i));
+    }
+
+    // overwrite some of the blobs with inline values, and all of them again with blobs
+    store.putAll(ImmutableMap.of(keys.get(0), smallValue, keys.get(1), smallValue));
+    Assert.assertArrayEquals(smallValue, store.get(keys.get(0)));
+    store.putAll(entries);
+
+    store.deleteAll(keys);
+    for (byte[] value : store.get(keys)) {
+      assertEquals(null, value);
+    }
+
+    Path blobDir = Paths.get(rocksDBResource.getDbDir(), "blob", "test");
+    List<Path> remainingBlobFiles = Files.list(blobDir).collect(Collectors.toList());
+    assertEquals("Expected zero remaining files.", Collections.EMPTY_LIST, remainingBlobFiles);
+  }
+
   @Test()
   public void testNotClosed() throws InterruptedException, ExecutionException {
     ExecutorService executor = Executors.newFixedThreadPool(4);
@@ -28,6 +28,10 @@ import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.services.fabric.ProxyConnection;
 import com.dremio.services.fabric.api.FabricCommandRunner;
 import com.dremio.services.fabric.api.FabricRunnerFactory;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.Internal.EnumLite;
 import com.google.protobuf.MessageLite;
 
@@ -90,6 +94,19 @@ class EndpointCreator<REQUEST extends MessageLite, RESPONSE extends MessageLite>
       } else {
         response = future.checkedGet();
       }
+      return toReceivedMessage(response, future);
+    }
+
+    @Override
+    public ListenableFuture<ReceivedResponseMessage<RESPONSE>> sendAsync(REQUEST message, ArrowBuf... bufs) {
+      Command c = new Command(message, bufs);
+      runner.runCommand(c);
+      RpcFuture<RESPONSE> future = c.getFuture();
+      final Function<RESPONSE, ReceivedResponseMessage<RESPONSE>> toMessage = response -> toReceivedMessage(response, future);
+      return Futures.transform(future, toMessage, MoreExecutors.directExecutor());
+    }
+
+    private ReceivedResponseMessage<RESPONSE> toReceivedMessage(RESPONSE response, RpcFuture<RESPONSE> future) {
       final ArrowBuf body = future.getBuffer() != null ? ((NettyArrowBuf) future.getBuffer())
         .arrowBuf() : null;
 
@@ -16,6 +16,7 @@
 package com.dremio.services.fabric.simple;
 
 import com.dremio.exec.rpc.RpcException;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.MessageLite;
 
 import io.netty.buffer.ArrowBuf;
@@ -29,4 +30,11 @@ import io.netty.buffer.ArrowBuf;
 public interface SendEndpoint<REQUEST extends MessageLite, RESPONSE extends MessageLite> {
 
   public ReceivedResponseMessage<RESPONSE> send(REQUEST message, ArrowBuf... bufs) throws RpcException;
+
+  /**
+   * Send a message without waiting for the response, so that several requests can be outstanding
+   * on the same connection. The protocol timeout is not applied, callers waiting on the returned
+   * future are expected to bound the wait themselves.
+   */
+  public ListenableFuture<ReceivedResponseMessage<RESPONSE>> sendAsync(REQUEST message, ArrowBuf... bufs);
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobs;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.dremio.exec.store.easy.arrow.ArrowFileMetadata;
+import com.dremio.exec.store.easy.arrow.ArrowRecordBatchSummary;
+
+/**
+ * Index of the record batches of job results, by the position of their first record in the results.
+ *
+ * Built from the footers of the results files, so finding the batch holding a given record is a binary
+ * search rather than a walk over all the files and batches before it. Empty batches are not indexed.
+ */
+final class JobResultsIndex {
+
+  private final List<ArrowFileMetadata> files;
+  private final long recordCount;
+  // for each batch: position of its first record in the results, file and offset in the file
+  private final long[] batchStarts;
+  private final int[] batchFiles;
+  private final long[] batchOffsets;
+
+  private JobResultsIndex(List<ArrowFileMetadata> files, long recordCount, long[] batchStarts, int[] batchFiles,
+      long[] batchOffsets) {
+    this.files = files;
+    this.recordCount = recordCount;
+    this.batchStarts = batchStarts;
+    this.batchFiles = batchFiles;
+    this.batchOffsets = batchOffsets;
+  }
+
+  static JobResultsIndex of(List<ArrowFileMetadata> files) {
+    int batchCount = 0;
+    for (ArrowFileMetadata file : files) {
+      batchCount += getBatches(file).size();
+    }
+
+    final long[] batchStarts = new long[batchCount];
+    final int[] batchFiles = new int[batchCount];
+    final long[] batchOffsets = new long[batchCount];
+    int batch = 0;
+    long recordCount = 0;
+    for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+      for (ArrowRecordBatchSummary summary : getBatches(files.get(fileIndex))) {
+        if (summary.getRecordCount() == 0) {
+          continue;
+        }
+        batchStarts[batch] = recordCount;
+        batchFiles[batch] = fileIndex;
+        batchOffsets[batch] = summary.getOffset();
+        recordCount += summary.getRecordCount();
+        batch++;
+      }
+    }
+
+    return new JobResultsIndex(files, recordCount,
+        Arrays.copyOf(batchStarts, batch), Arrays.copyOf(batchFiles, batch), Arrays.copyOf(batchOffsets, batch));
+  }
+
+  private static List<ArrowRecordBatchSummary> getBatches(ArrowFileMetadata file) {
+    if (file.getFooter() == null || file.getFooter().getBatchList() == null) {
+      return Collections.emptyList();
+    }
+    return file.getFooter().getBatchList();
+  }
+
+  long getRecordCount() {
+    return recordCount;
+  }
+
+  int getBatchCount() {
+    return batchStarts.length;
+  }
+
+  /**
+   * Find the batch holding the record at the given position in the results.
+   *
+   * @return the batch index, or -1 if the position is out of the results.
+   */
+  int findBatch(long record) {
+    if (record < 0 || record >= recordCount) {
+      return -1;
+    }
+
+    final int index = Arrays.binarySearch(batchStarts, record);
+    // when not found, binarySearch returns (-(insertion point) - 1), the batch being the one before the insertion point
+    return index >= 0 ? index : -index - 2;
+  }
+
+  long getBatchStart(int batch) {
+    return batchStarts[batch];
+  }
+
+  long getBatchRecordCount(int batch) {
+    return (batch + 1 < batchStarts.length ? batchStarts[batch + 1] : recordCount) - batchStarts[batch];
+  }
+
+  ArrowFileMetadata getBatchFile(int batch) {
+    return files.get(batchFiles[batch]);
+  }
+
+  long getBatchOffset(int batch) {
+    return batchOffsets[batch];
+  }
+}
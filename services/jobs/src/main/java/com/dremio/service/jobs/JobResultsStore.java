@@ -16,6 +16,7 @@
 package com.dremio.service.jobs;
 
 import static com.dremio.common.perf.Timer.time;
+import static com.dremio.service.jobs.RecordBatchHolder.newRecordBatchHolder;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -29,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.arrow.memory.BufferAllocator;
 
+import com.dremio.common.AutoCloseables;
 import com.dremio.common.exceptions.UserException;
 import com.dremio.common.perf.Timer.TimedBlock;
 import com.dremio.common.utils.PathUtils;
@@ -37,6 +39,7 @@ import com.dremio.exec.store.dfs.FileSystemPlugin;
 import com.dremio.exec.store.easy.arrow.ArrowFileMetadata;
 import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
+import com.dremio.sabot.op.sort.external.RecordBatchData;
 import com.dremio.service.Service;
 import com.dremio.service.job.proto.JobAttempt;
 import com.dremio.service.job.proto.JobId;
@@ -48,6 +51,7 @@ import com.google.common.base.FinalizablePhantomReference;
 import com.google.common.base.FinalizableReference;
 import com.google.common.base.FinalizableReferenceQueue;
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -71,6 +75,8 @@ public class JobResultsStore implements Service {
   private final Set<FinalizableReference> jobResultReferences = Sets.newConcurrentHashSet();
   private final LoadingCache<JobId, JobData> jobResults;
   private final IndexedStore<JobId, JobResult> store;
+  private final Cache<String, JobResultsIndex> resultIndexes;
+  private final RecordBatchCache batchCache;
 
   public JobResultsStore(final FileSystemPlugin plugin, final IndexedStore<JobId, JobResult> store,
       final BufferAllocator allocator) throws IOException {
@@ -80,6 +86,11 @@ public class JobResultsStore implements Service {
     this.dfs.mkdirs(jobStoreLocation);
     this.store = store;
     this.allocator = allocator;
+    this.resultIndexes = CacheBuilder.newBuilder()
+        .maximumSize(100)
+        .expireAfterAccess(15, TimeUnit.MINUTES)
+        .build();
+    this.batchCache = new RecordBatchCache(dfs, allocator, RecordBatchCache.DEFAULT_MAX_SIZE);
 
     this.jobResults = CacheBuilder.newBuilder()
         .maximumSize(100)
@@ -116,6 +127,7 @@ public class JobResultsStore implements Service {
 
   public boolean cleanup(JobId jobId) {
     final Path jobOutputDir = getJobOutputDir(jobId);
+    batchCache.invalidate(jobOutputDir);
     try {
       if (dfs.exists(jobOutputDir)) {
         dfs.delete(jobOutputDir, true);
@@ -169,6 +181,19 @@ public class JobResultsStore implements Service {
     return jobResult.getAttemptsList().get(jobResult.getAttemptsList().size() - 1).getInfo();
   }
 
+  /** Helper method to get the index of the results of the last attempt of a job, built once per attempt */
+  private JobResultsIndex getIndex(JobResult job, List<ArrowFileMetadata> resultMetadata) {
+    final String attemptId = job.getAttemptsList().get(job.getAttemptsList().size() - 1).getAttemptId();
+    if (attemptId == null) {
+      return JobResultsIndex.of(resultMetadata);
+    }
+    try {
+      return resultIndexes.get(attemptId, () -> JobResultsIndex.of(resultMetadata));
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
   public String getJobResultsTableName(JobId jobId) {
     //
     return String.format("TABLE(%s(type => 'arrow'))",
@@ -204,51 +229,38 @@ public class JobResultsStore implements Service {
             .build(logger);
       }
 
-      final List<ArrowFileMetadata> resultFilesToRead = Lists.newArrayList();
-      int runningFileRecordCount = 0;
-      for(ArrowFileMetadata fileMetadata : resultMetadata) {
-        if (offset < runningFileRecordCount + fileMetadata.getRecordCount()) {
-          resultFilesToRead.add(fileMetadata);
-
-          if (resultFilesToRead.size() == 1) {
-            // update the given offset to start from the current file
-            offset -= runningFileRecordCount;
-          }
-
-          // Check if the offset + limit falls within the current file
-          if (offset + limit <= runningFileRecordCount + fileMetadata.getRecordCount()) {
-            break;
-          }
-        }
-
-        runningFileRecordCount += fileMetadata.getRecordCount();
-      }
-
+      final JobResultsIndex index = getIndex(job, resultMetadata);
       final List<RecordBatchHolder> batchHolders = Lists.newArrayList();
-      if (resultFilesToRead.isEmpty()) {
+      final int firstBatch = index.findBatch(offset);
+      if (firstBatch == -1) {
         // when the query returns no results at all or the requested range is invalid, return an empty record batch
         // for metadata purposes.
         try (ArrowFileReader fileReader = new ArrowFileReader(dfs, jobOutputDir, resultMetadata.get(0), allocator)) {
           batchHolders.addAll(fileReader.read(0, 0));
         }
       } else {
-        runningFileRecordCount = 0;
-        int remaining = limit;
-        for(ArrowFileMetadata file : resultFilesToRead) {
-
-          // Find the starting record index in file
-          final long fileOffset = Math.max(0, offset - runningFileRecordCount);
-
-          // Find how many records to read from file.
-          // Min of remaining records in file or remaining records in total to read.
-          final long fileLimit = Math.min(file.getRecordCount() - fileOffset, remaining);
-
-          try (ArrowFileReader fileReader = new ArrowFileReader(dfs, jobOutputDir, file, allocator)) {
-            batchHolders.addAll(fileReader.read(fileOffset, fileLimit));
-            remaining -= fileLimit;
+        try {
+          long remaining = limit;
+          long position = offset;
+          for (int batch = firstBatch; batch < index.getBatchCount(); batch++) {
+            final RecordBatchData data = batchCache.read(
+                jobOutputDir.resolve(index.getBatchFile(batch).getPath()), index.getBatchOffset(batch));
+
+            // Find the start and end indices within the batch.
+            final int batchStart = (int) (position - index.getBatchStart(batch));
+            final int batchEnd = (int) Math.min(index.getBatchRecordCount(batch), batchStart + remaining);
+            final RecordBatchHolder batchHolder = newRecordBatchHolder(data, batchStart, batchEnd);
+            batchHolders.add(batchHolder);
+
+            remaining -= batchHolder.size();
+            position += batchHolder.size();
+            if (remaining <= 0) {
+              break;
+            }
           }
-
-          runningFileRecordCount += file.getRecordCount();
+        } catch (IOException | RuntimeException e) {
+          AutoCloseables.close(e, batchHolders);
+          throw e;
         }
       }
 
@@ -307,6 +319,8 @@ public class JobResultsStore implements Service {
 
     jobResults.invalidateAll();
     jobResults.cleanUp();
+    resultIndexes.invalidateAll();
+    batchCache.invalidateAll();
 
     // Closing open references
     Iterator<FinalizableReference> iterator = jobResultReferences.iterator();
@@ -124,6 +124,16 @@ public interface JobsService extends Service {
    */
   QueryProfile getProfile(JobId jobId, int attempt) throws JobNotFoundException;
 
+  /**
+   * Retrieve the summary of the query profile of jobId and attempt: the profile without
+   * its fragment profiles and plans, which is cheaper to get than the full profile
+   *
+   * @param jobId
+   * @param attempt attempt number
+   * @return
+   */
+  QueryProfile getProfileSummary(JobId jobId, int attempt) throws JobNotFoundException;
+
   /**
    * Cancel the provided jobId as the provided user.
    *
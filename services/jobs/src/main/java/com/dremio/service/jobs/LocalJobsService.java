@@ -54,6 +54,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 import javax.inject.Provider;
@@ -140,6 +141,8 @@ import com.dremio.exec.work.rpc.CoordTunnelCreator;
 import com.dremio.exec.work.user.LocalExecutionConfig;
 import com.dremio.exec.work.user.LocalQueryExecutor;
 import com.dremio.exec.work.user.LocalUserUtil;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
 import com.dremio.options.OptionManager;
 import com.dremio.proto.model.attempts.AttemptReason;
 import com.dremio.resource.ResourceSchedulingDecisionInfo;
@@ -233,7 +236,7 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
 
   private NodeEndpoint identity;
   private IndexedStore<JobId, JobResult> store;
-  private KVStore<AttemptId, QueryProfile> profileStore;
+  private ProfileStore profileStore;
   private NamespaceService namespaceService;
   private String storageName;
   private JobResultsStore jobResultsStore;
@@ -275,12 +278,14 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
 
     this.identity = JobsServiceUtil.toStuff(contextProvider.get().getEndpoint());
     this.store = kvStoreProvider.get().getStore(JobsStoreCreator.class);
-    this.profileStore = kvStoreProvider.get().getStore(JobsProfileCreator.class);
     this.namespaceService = contextProvider.get().getNamespaceService(SystemUser.SYSTEM_USERNAME);
 
     final FileSystemPlugin fileSystemPlugin = fileSystemPluginProvider.get();
     this.storageName = fileSystemPlugin.getName();
     this.jobResultsStore = new JobResultsStore(fileSystemPlugin, store, allocator);
+    this.profileStore = new ProfileStore(kvStoreProvider.get().getStore(JobsProfileCreator.class),
+        fileSystemPlugin.getSystemUserFS(), fileSystemPlugin.getConfig().getPath().resolve(ProfileStore.PROFILES_DIRECTORY),
+        ProfileStore.DEFAULT_MAX_INLINE_SIZE);
 
     if (isMaster) { // if Dremio process died, clean up
       CountDownLatch wasRun = new CountDownLatch(1);
@@ -397,7 +402,7 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
       jobProfilesCleanupTask = null;
     }
 
-    AutoCloseables.close(jobResultsStore, allocator);
+    AutoCloseables.close(profileStore, jobResultsStore, allocator);
     logger.info("Stopped JobsService");
   }
 
@@ -1642,6 +1647,19 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
     }
   }
 
+  @Override
+  public QueryProfile getProfileSummary(JobId jobId, int attempt) throws JobNotFoundException {
+    final AttemptId attemptId = new AttemptId(JobsServiceUtil.getJobIdAsExternalId(jobId), attempt);
+    final QueryProfile summary = profileStore.getSummary(attemptId);
+    if (summary != null) {
+      return summary;
+    }
+
+    // not stored yet, the attempt may still be running.
+    final QueryProfile profile = getProfile(jobId, attempt);
+    return profile == null ? null : ProfileStore.summarize(profile);
+  }
+
   @Override
   public void cancel(String username, JobId jobId, String reason) throws JobException {
     final ForemenTool tool = this.foremenTool.get();
@@ -1699,6 +1717,23 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
     }
   }
 
+  /**
+   * Get the full profile of an attempt, including the profiles stored in files rather than in the kvstore.
+   *
+   * Exposed as static so that export tools can do this without needing to start a jobs service and supporting daemon.
+   *
+   * @param provider KVStore provider
+   * @param dfs file system of the job results
+   * @param jobResultsLocation location of the job results
+   * @param attemptId attempt id
+   * @return the profile, or null if there is none.
+   */
+  public static QueryProfile getProfile(KVStoreProvider provider, FileSystem dfs, Path jobResultsLocation,
+      AttemptId attemptId) {
+    return ProfileStore.get(provider.getStore(JobsProfileCreator.class), dfs,
+        jobResultsLocation.resolve(ProfileStore.PROFILES_DIRECTORY), attemptId);
+  }
+
   /**
    * Delete job details and profiles older than provided number of ms.
    *
@@ -1709,10 +1744,14 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
    * @return A result reporting how many details and profiles were deleted.
    */
   public static DeleteResult deleteOldJobs(KVStoreProvider provider, long maxMs) {
+    KVStore<AttemptId, QueryProfile> profileStore = provider.getStore(JobsProfileCreator.class);
+    return deleteOldJobs(provider, maxMs, profileStore::delete);
+  }
+
+  private static DeleteResult deleteOldJobs(KVStoreProvider provider, long maxMs, Consumer<AttemptId> deleteProfile) {
     int jobsDeleted = 0;
     int profilesDeleted = 0;
     IndexedStore<JobId, JobResult> jobStore = provider.getStore(JobsStoreCreator.class);
-    KVStore<AttemptId, QueryProfile> profileStore = provider.getStore(JobsProfileCreator.class);
 
     final FindByCondition oldJobs = getOldJobsCondition(System.currentTimeMillis() - maxMs)
       .setPageSize(MAX_NUMBER_JOBS_TO_FETCH);
@@ -1723,7 +1762,7 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
       if(result.getAttemptsList() != null) {
         for(JobAttempt a : result.getAttemptsList()) {
           try {
-            profileStore.delete(AttemptIdUtils.fromString(a.getAttemptId()));
+            deleteProfile.accept(AttemptIdUtils.fromString(a.getAttemptId()));
             profilesDeleted++;
           } catch(Exception e) {
             // don't fail on miss.
@@ -1781,8 +1820,12 @@ public class LocalJobsService implements JobsService, JobResultSchemaProvider {
       final OptionManager optionManager = contextProvider.get().getOptionManager();
       final long maxAgeInDays = optionManager.getOption(ExecConstants.JOB_MAX_AGE_IN_DAYS);
       if (maxAgeInDays != DISABLE_CLEANUP_VALUE) {
-        final DeleteResult deleteResult = LocalJobsService.deleteOldJobs(kvStoreProvider.get(), TimeUnit.DAYS.toMillis(maxAgeInDays));
-        logger.debug("Job cleanup task completed with [{}] jobs deleted and and [{}] profiles deleted ", deleteResult.getJobsDeleted(), deleteResult.getProfilesDeleted());
+        final long maxAgeInMillis = TimeUnit.DAYS.toMillis(maxAgeInDays);
+        final DeleteResult deleteResult = LocalJobsService.deleteOldJobs(kvStoreProvider.get(), maxAgeInMillis, profileStore::delete);
+        // profile files left behind by jobs deleted offline (e.g. with dremio-admin clean)
+        final int filesDeleted = profileStore.deleteOrphanedFiles(System.currentTimeMillis() - maxAgeInMillis);
+        logger.debug("Job cleanup task completed with [{}] jobs deleted and and [{}] profiles deleted ({} orphaned profile files)",
+            deleteResult.getJobsDeleted(), deleteResult.getProfilesDeleted(), filesDeleted);
       }
     }
   }
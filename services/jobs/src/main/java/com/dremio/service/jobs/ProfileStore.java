@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobs;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.xerial.snappy.SnappyInputStream;
+import org.xerial.snappy.SnappyOutputStream;
+
+import com.dremio.common.concurrent.NamedThreadFactory;
+import com.dremio.datastore.KVStore;
+import com.dremio.exec.proto.UserBitShared.QueryProfile;
+import com.dremio.exec.work.AttemptId;
+import com.dremio.io.file.FileAttributes;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Stores query profiles.
+ *
+ * Small profiles are kept whole in the profiles kvstore. Larger ones are compressed into one file
+ * per attempt by a background writer, and the kvstore only keeps their summary: the profile
+ * without its fragment profiles and plans, flagged with fragment_profiles_offloaded. Until a profile
+ * is written, reads are served from memory.
+ */
+class ProfileStore implements AutoCloseable {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ProfileStore.class);
+
+  /**
+   * Directory, under the job results location, holding the profile files. Hidden so that it is
+   * not exposed as a job results table.
+   */
+  static final String PROFILES_DIRECTORY = ".profiles";
+
+  static final int DEFAULT_MAX_INLINE_SIZE = Integer.getInteger("dremio.jobs.profiles.max_inline_size", 64 * 1024);
+
+  private static final String PROFILE_SUFFIX = ".profile";
+  private static final int MAX_QUEUED_WRITES = 64;
+
+  private final KVStore<AttemptId, QueryProfile> kvStore;
+  private final FileSystem dfs;
+  private final Path location;
+  private final int maxInlineSize;
+  // keyed by the string form of the attempt id, as AttemptId does not implement equals
+  private final ConcurrentMap<String, QueryProfile> pendingWrites = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor writer;
+
+  ProfileStore(KVStore<AttemptId, QueryProfile> kvStore, FileSystem dfs, Path location, int maxInlineSize) throws IOException {
+    this.kvStore = kvStore;
+    this.dfs = dfs;
+    this.location = location;
+    this.maxInlineSize = maxInlineSize;
+    this.dfs.mkdirs(location);
+
+    // once the queue is full, the thread storing a profile writes it itself, which bounds
+    // the memory held by the profiles waiting to be written.
+    this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_WRITES),
+        new NamedThreadFactory("profile-writer-"), new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Store the profile of an attempt, replacing any previous one.
+   */
+  void put(AttemptId attemptId, QueryProfile profile) {
+    if (profile.getSerializedSize() <= maxInlineSize) {
+      kvStore.put(attemptId, profile);
+      return;
+    }
+
+    pendingWrites.put(AttemptIdUtils.toString(attemptId), profile);
+    kvStore.put(attemptId, summarize(profile).toBuilder().setFragmentProfilesOffloaded(true).build());
+    writer.execute(() -> write(attemptId, profile));
+  }
+
+  private void write(AttemptId attemptId, QueryProfile profile) {
+    final Path path = getPath(attemptId);
+    try (OutputStream output = new SnappyOutputStream(dfs.create(path, true))) {
+      profile.writeTo(output);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failure while writing profile to {}, storing it in the kvstore instead.", path, e);
+      deleteFile(path);
+      kvStore.put(attemptId, profile);
+    } finally {
+      pendingWrites.remove(AttemptIdUtils.toString(attemptId), profile);
+    }
+  }
+
+  /**
+   * Get the full profile of an attempt.
+   *
+   * @return the profile, or null if there is none.
+   */
+  QueryProfile get(AttemptId attemptId) {
+    final QueryProfile pending = pendingWrites.get(AttemptIdUtils.toString(attemptId));
+    if (pending != null) {
+      return pending;
+    }
+
+    return get(kvStore, dfs, location, attemptId);
+  }
+
+  /**
+   * Get the full profile of an attempt from the profiles kvstore and the profile files, without
+   * a profile store. Profiles still waiting to be written are not visible.
+   *
+   * @param location the profile files directory
+   * @return the profile, or null if there is none.
+   */
+  static QueryProfile get(KVStore<AttemptId, QueryProfile> kvStore, FileSystem dfs, Path location,
+      AttemptId attemptId) {
+    final QueryProfile profile = kvStore.get(attemptId);
+    if (profile == null || !profile.getFragmentProfilesOffloaded()) {
+      return profile;
+    }
+
+    final QueryProfile fullProfile = read(dfs, getPath(location, attemptId));
+    return fullProfile != null ? fullProfile : summarize(profile);
+  }
+
+  /**
+   * Get the summary of the profile of an attempt, without reading the profile file.
+   *
+   * @return the profile without its fragment profiles and plans, or null if there is none.
+   */
+  QueryProfile getSummary(AttemptId attemptId) {
+    final QueryProfile pending = pendingWrites.get(AttemptIdUtils.toString(attemptId));
+    final QueryProfile profile = pending != null ? pending : kvStore.get(attemptId);
+    return profile == null ? null : summarize(profile);
+  }
+
+  /**
+   * Delete the profile of an attempt.
+   */
+  void delete(AttemptId attemptId) {
+    pendingWrites.remove(AttemptIdUtils.toString(attemptId));
+    kvStore.delete(attemptId);
+    deleteFile(getPath(attemptId));
+  }
+
+  /**
+   * Delete the profile files which are older than the cutoff and have no entry left in the kvstore,
+   * for example because their job was deleted while the jobs service was not running.
+   *
+   * @return the number of files deleted
+   */
+  int deleteOrphanedFiles(long cutoffMillis) {
+    int deleted = 0;
+    try (DirectoryStream<FileAttributes> files = dfs.list(location)) {
+      for (FileAttributes file : files) {
+        final String name = file.getPath().getName();
+        if (!name.endsWith(PROFILE_SUFFIX) || file.lastModifiedTime().toMillis() >= cutoffMillis) {
+          continue;
+        }
+
+        final AttemptId attemptId;
+        try {
+          attemptId = AttemptIdUtils.fromString(name.substring(0, name.length() - PROFILE_SUFFIX.length()));
+        } catch (IllegalArgumentException e) {
+          continue;
+        }
+        if (!kvStore.contains(attemptId) && deleteFile(file.getPath())) {
+          deleted++;
+        }
+      }
+    } catch (IOException e) {
+      logger.warn("Failure while cleaning up profiles in {}", location, e);
+    }
+    return deleted;
+  }
+
+  private static QueryProfile read(FileSystem dfs, Path path) {
+    try (InputStream input = new SnappyInputStream(dfs.open(path))) {
+      return QueryProfile.parseFrom(input);
+    } catch (FileNotFoundException e) {
+      logger.warn("Profile {} not found, returning its summary instead.", path);
+      return null;
+    } catch (IOException e) {
+      logger.warn("Failure while reading profile from {}, returning its summary instead.", path, e);
+      return null;
+    }
+  }
+
+  private boolean deleteFile(Path path) {
+    try {
+      return dfs.delete(path, false);
+    } catch (IOException e) {
+      logger.debug("Failure while deleting profile {}", path, e);
+      return false;
+    }
+  }
+
+  @VisibleForTesting
+  Path getPath(AttemptId attemptId) {
+    return getPath(location, attemptId);
+  }
+
+  private static Path getPath(Path location, AttemptId attemptId) {
+    return location.resolve(AttemptIdUtils.toString(attemptId) + PROFILE_SUFFIX);
+  }
+
+  /**
+   * Strips the parts of a profile that make it large: the per fragment details and the plans.
+   */
+  static QueryProfile summarize(QueryProfile profile) {
+    return profile.toBuilder()
+        .clearFragmentProfile()
+        .clearPlan()
+        .clearJsonPlan()
+        .clearPlanPhases()
+        .clearFragmentProfilesOffloaded()
+        .build();
+  }
+
+  @Override
+  public void close() throws Exception {
+    writer.shutdown();
+    if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+      logger.warn("Timed out while waiting for {} profiles to be written.", pendingWrites.size());
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+
+import com.dremio.exec.cache.VectorAccessibleSerializable;
+import com.dremio.io.FSInputStream;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.dremio.sabot.op.sort.external.RecordBatchData;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Reads record batches from job results files, keeping the serialized form of the recently read
+ * batches in memory.
+ *
+ * Paging through job results usually reads the same batches again and again (a batch holds more
+ * records than a page), and results files may be on a remote filesystem, so cached batches are
+ * only deserialized.
+ */
+class RecordBatchCache {
+
+  static final long DEFAULT_MAX_SIZE = Long.getLong("dremio.jobs.results.batch_cache_size", 64 * 1024 * 1024);
+
+  private final FileSystem dfs;
+  private final BufferAllocator allocator;
+  private final Cache<BatchKey, byte[]> batches;
+
+  RecordBatchCache(FileSystem dfs, BufferAllocator allocator, long maxSize) {
+    this.dfs = dfs;
+    this.allocator = allocator;
+    this.batches = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .<BatchKey, byte[]>weigher((key, value) -> value.length)
+        .expireAfterAccess(15, TimeUnit.MINUTES)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Read the record batch starting at the given offset in the file.
+   */
+  RecordBatchData read(Path path, long offset) throws IOException {
+    final BatchKey key = new BatchKey(path.toString(), offset);
+    final byte[] cached = batches.getIfPresent(key);
+    if (cached != null) {
+      return deserialize(new ByteArrayInputStream(cached));
+    }
+
+    try (FSInputStream input = dfs.open(path)) {
+      input.setPosition(offset);
+      final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+      final RecordBatchData data = deserialize(new CopyingInputStream(input, copy));
+      batches.put(key, copy.toByteArray());
+      return data;
+    }
+  }
+
+  /**
+   * Drop the cached batches of the files in the given directory.
+   */
+  void invalidate(Path directory) {
+    final String prefix = directory.toString() + Path.SEPARATOR;
+    batches.asMap().keySet().removeIf(key -> key.path.startsWith(prefix));
+  }
+
+  void invalidateAll() {
+    batches.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long hitCount() {
+    return batches.stats().hitCount();
+  }
+
+  private RecordBatchData deserialize(InputStream input) throws IOException {
+    final VectorAccessibleSerializable serializable = new VectorAccessibleSerializable(allocator);
+    serializable.readFromStream(input);
+    return new RecordBatchData(serializable.get(), allocator);
+  }
+
+  private static final class BatchKey {
+    private final String path;
+    private final long offset;
+
+    private BatchKey(String path, long offset) {
+      this.path = path;
+      this.offset = offset;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof BatchKey)) {
+        return false;
+      }
+      final BatchKey that = (BatchKey) obj;
+      return this.offset == that.offset && this.path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, offset);
+    }
+  }
+
+  /**
+   * Copies the bytes read from the underlying stream. A batch is read exactly, so this captures
+   * its serialized form without knowing its length beforehand.
+   */
+  @VisibleForTesting
+  static final class CopyingInputStream extends FilterInputStream {
+    private final ByteArrayOutputStream copy;
+
+    CopyingInputStream(InputStream in, ByteArrayOutputStream copy) {
+      super(in);
+      this.copy = copy;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = super.read();
+      if (b != -1) {
+        copy.write(b);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int read = super.read(b, off, len);
+      if (read > 0) {
+        copy.write(b, off, read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+      // read the skipped bytes so that they are copied too
+      final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+      long skipped = 0;
+      while (skipped < n) {
+        final int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+        if (read == -1) {
+          break;
+        }
+        skipped += read;
+      }
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+}
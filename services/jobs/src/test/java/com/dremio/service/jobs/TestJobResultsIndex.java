@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.dremio.exec.store.easy.arrow.ArrowFileFooter;
+import com.dremio.exec.store.easy.arrow.ArrowFileMetadata;
+import com.dremio.exec.store.easy.arrow.ArrowRecordBatchSummary;
+
+/**
+ * Tests for {@link JobResultsIndex}
+ */
+public class TestJobResultsIndex {
+
+  private static ArrowFileMetadata file(String path, long... batchRecordCounts) {
+    final ArrowFileFooter footer = new ArrowFileFooter();
+    footer.setBatchList(new ArrayList<>());
+    long recordCount = 0;
+    for (int i = 0; i < batchRecordCounts.length; i++) {
+      final ArrowRecordBatchSummary summary = new ArrowRecordBatchSummary();
+      summary.setOffset(100L * (i + 1));
+      summary.setRecordCount(batchRecordCounts[i]);
+      footer.getBatchList().add(summary);
+      recordCount += batchRecordCounts[i];
+    }
+
+    final ArrowFileMetadata metadata = new ArrowFileMetadata();
+    metadata.setPath(path);
+    metadata.setRecordCount(recordCount);
+    metadata.setFooter(footer);
+    return metadata;
+  }
+
+  @Test
+  public void testFindBatch() {
+    final ArrowFileMetadata file1 = file("file1", 10, 0, 5);
+    final ArrowFileMetadata file2 = file("file2", 0);
+    final ArrowFileMetadata file3 = file("file3", 20);
+    final JobResultsIndex index = JobResultsIndex.of(Arrays.asList(file1, file2, file3));
+
+    // empty batches are skipped
+    assertEquals(3, index.getBatchCount());
+    assertEquals(35, index.getRecordCount());
+
+    assertEquals(0, index.findBatch(0));
+    assertEquals(0, index.findBatch(9));
+    assertEquals(1, index.findBatch(10));
+    assertEquals(1, index.findBatch(14));
+    assertEquals(2, index.findBatch(15));
+    assertEquals(2, index.findBatch(34));
+    assertEquals(-1, index.findBatch(35));
+    assertEquals(-1, index.findBatch(-1));
+
+    assertEquals(10, index.getBatchStart(1));
+    assertEquals(5, index.getBatchRecordCount(1));
+    assertEquals(300, index.getBatchOffset(1));
+    assertSame(file1, index.getBatchFile(1));
+
+    assertEquals(15, index.getBatchStart(2));
+    assertEquals(20, index.getBatchRecordCount(2));
+    assertEquals(100, index.getBatchOffset(2));
+    assertSame(file3, index.getBatchFile(2));
+  }
+
+  @Test
+  public void testNoRecords() {
+    final JobResultsIndex index = JobResultsIndex.of(Collections.singletonList(file("file1", 0)));
+    assertEquals(0, index.getBatchCount());
+    assertEquals(-1, index.findBatch(0));
+  }
+}
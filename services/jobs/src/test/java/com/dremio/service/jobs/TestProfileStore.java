@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.OutputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.dremio.common.utils.protos.ExternalIdHelper;
+import com.dremio.datastore.KVStore;
+import com.dremio.datastore.KVStoreProvider;
+import com.dremio.datastore.LocalKVStoreProvider;
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.exec.proto.UserBitShared.MajorFragmentProfile;
+import com.dremio.exec.proto.UserBitShared.QueryProfile;
+import com.dremio.exec.work.AttemptId;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.dremio.test.DremioTest;
+
+/**
+ * Tests for {@link ProfileStore}
+ */
+public class TestProfileStore {
+  private static final int MAX_INLINE_SIZE = 1024;
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private KVStoreProvider kvStoreProvider;
+  private KVStore<AttemptId, QueryProfile> kvStore;
+  private FileSystem dfs;
+  private Path location;
+  private ProfileStore profileStore;
+
+  @Before
+  public void setup() throws Exception {
+    kvStoreProvider = new LocalKVStoreProvider(DremioTest.CLASSPATH_SCAN_RESULT, null, true, false);
+    kvStoreProvider.start();
+    kvStore = kvStoreProvider.getStore(LocalJobsService.JobsProfileCreator.class);
+    dfs = HadoopFileSystem.getLocal(new Configuration());
+    location = Path.of(temporaryFolder.getRoot().toURI()).resolve(ProfileStore.PROFILES_DIRECTORY);
+    profileStore = new ProfileStore(kvStore, dfs, location, MAX_INLINE_SIZE);
+  }
+
+  @After
+  public void cleanup() throws Exception {
+    profileStore.close();
+    kvStoreProvider.close();
+  }
+
+  private static QueryProfile newProfile(int fragments) {
+    final QueryProfile.Builder builder = QueryProfile.newBuilder()
+        .setQuery("select * from t")
+        .setJsonPlan("{}")
+        .setDremioVersion("4.1.0");
+    for (int i = 0; i < fragments; i++) {
+      builder.addFragmentProfile(MajorFragmentProfile.newBuilder().setMajorFragmentId(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Wait for the pending writes, and reopen the store over the same kvstore and directory.
+   */
+  private void reopen() throws Exception {
+    profileStore.close();
+    profileStore = new ProfileStore(kvStore, dfs, location, MAX_INLINE_SIZE);
+  }
+
+  @Test
+  public void testSmallProfileStoredInline() throws Exception {
+    final AttemptId attemptId = AttemptId.of(ExternalIdHelper.generateExternalId());
+    final QueryProfile profile = newProfile(2);
+    profileStore.put(attemptId, profile);
+    reopen();
+
+    assertEquals(profile, kvStore.get(attemptId));
+    assertFalse(dfs.exists(profileStore.getPath(attemptId)));
+    assertEquals(profile, profileStore.get(attemptId));
+  }
+
+  @Test
+  public void testLargeProfileStoredInFile() throws Exception {
+    final AttemptId attemptId = AttemptId.of(ExternalIdHelper.generateExternalId());
+    final QueryProfile profile = newProfile(1000);
+    assertTrue(profile.getSerializedSize() > MAX_INLINE_SIZE);
+
+    profileStore.put(attemptId, profile);
+    // served from memory until written
+    assertEquals(profile, profileStore.get(attemptId));
+    reopen();
+
+    assertTrue(dfs.exists(profileStore.getPath(attemptId)));
+    assertEquals(ProfileStore.summarize(profile).toBuilder().setFragmentProfilesOffloaded(true).build(),
+        kvStore.get(attemptId));
+    assertEquals(profile, profileStore.get(attemptId));
+    // as read without a running store, e.g. when exporting profiles
+    assertEquals(profile, ProfileStore.get(kvStore, dfs, location, attemptId));
+  }
+
+  @Test
+  public void testInlineProfileWithoutFragmentsNotReadFromFile() throws Exception {
+    final AttemptId attemptId = AttemptId.of(ExternalIdHelper.generateExternalId());
+    final QueryProfile profile = newProfile(0);
+    profileStore.put(attemptId, profile);
+    reopen();
+
+    // only a summary flagged as offloaded is looked up in the profile files
+    try (OutputStream output = dfs.create(profileStore.getPath(attemptId), true)) {
+      newProfile(3).writeTo(output);
+    }
+    assertEquals(profile, profileStore.get(attemptId));
+  }
+
+  @Test
+  public void testMissingFileReturnsSummary() throws Exception {
+    final AttemptId attemptId = AttemptId.of(ExternalIdHelper.generateExternalId());
+    final QueryProfile profile = newProfile(1000);
+    profileStore.put(attemptId, profile);
+    reopen();
+
+    dfs.delete(profileStore.getPath(attemptId), false);
+    assertEquals(ProfileStore.summarize(profile), profileStore.get(attemptId));
+  }
+
+  @Test
+  public void testSummary() throws Exception {
+    final AttemptId attemptId = AttemptId.of(ExternalIdHelper.generateExternalId());
+    profileStore.put(attemptId, newProfile(1000));
+    reopen();
+
+    final QueryProfile summary = profileStore.getSummary(attemptId);
+    assertEquals(0, summary.getFragmentProfileCount());
+    assertFalse(summary.hasJsonPlan());
+    assertFalse(summary.getFragmentProfilesOffloaded());
+    assertEquals("4.1.0", summary.getDremioVersion());
+    assertEquals("select * from t", summary.getQuery());
+
+    assertNull(profileStore.getSummary(AttemptId.of(ExternalIdHelper.generateExternalId())));
+  }
+
+  @Test
+  public void testDelete() throws Exception {
+    final AttemptId attemptId = AttemptId.of(ExternalIdHelper.generateExternalId());
+    profileStore.put(attemptId, newProfile(1000));
+    reopen();
+
+    profileStore.delete(attemptId);
+    assertNull(profileStore.get(attemptId));
+    assertFalse(dfs.exists(profileStore.getPath(attemptId)));
+  }
+
+  @Test
+  public void testDeleteOrphanedFiles() throws Exception {
+    final AttemptId kept = AttemptId.of(ExternalIdHelper.generateExternalId());
+    final AttemptId orphaned = AttemptId.of(ExternalIdHelper.generateExternalId());
+    profileStore.put(kept, newProfile(1000));
+    profileStore.put(orphaned, newProfile(1000));
+    reopen();
+
+    // removed from the kvstore only, as an offline cleanup would do
+    kvStore.delete(orphaned);
+    assertEquals(0, profileStore.deleteOrphanedFiles(0));
+    assertEquals(1, profileStore.deleteOrphanedFiles(Long.MAX_VALUE));
+    assertTrue(dfs.exists(profileStore.getPath(kept)));
+    assertFalse(dfs.exists(profileStore.getPath(orphaned)));
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.jobs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.dremio.common.expression.CompleteType;
+import com.dremio.exec.cache.VectorAccessibleSerializable;
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.exec.record.WritableBatch;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.dremio.sabot.op.sort.external.RecordBatchData;
+import com.dremio.test.AllocatorRule;
+import com.dremio.test.DremioTest;
+
+/**
+ * Tests for {@link RecordBatchCache}
+ */
+public class TestRecordBatchCache extends DremioTest {
+  private static final Configuration FS_CONF = new Configuration();
+  private static final int BATCH_RECORDS = 100;
+
+  static {
+    // to accommodate MapR profile that sets default FS to maprfs, while we use local FS for testing here
+    FS_CONF.set("fs.default.name", "file:///");
+  }
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Rule
+  public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+  private FileSystem dfs;
+
+  @Before
+  public void setup() throws Exception {
+    allocator = allocatorRule.newAllocator("test-record-batch-cache", 0, Long.MAX_VALUE);
+    dfs = HadoopFileSystem.getLocal(FS_CONF);
+  }
+
+  @After
+  public void cleanup() throws Exception {
+    allocator.close();
+  }
+
+  @Test
+  public void testCacheHit() throws Exception {
+    final File file = folder.newFile("results.arrow");
+    final long[] offsets = writeBatches(file, 3);
+    final RecordBatchCache cache = new RecordBatchCache(dfs, allocator, RecordBatchCache.DEFAULT_MAX_SIZE);
+
+    assertBatch(cache.read(path(file), offsets[1]), 1);
+    assertEquals(0, cache.hitCount());
+
+    // once read, the batch no longer comes from the file
+    assertTrue(file.delete());
+    assertBatch(cache.read(path(file), offsets[1]), 1);
+    assertBatch(cache.read(path(file), offsets[1]), 1);
+    assertEquals(2, cache.hitCount());
+
+    assertNotCached(cache, file, offsets[0]);
+  }
+
+  @Test
+  public void testEvictionBySize() throws Exception {
+    final File file = folder.newFile("results.arrow");
+    final long[] offsets = writeBatches(file, 10);
+    final long batchSize = offsets[1] - offsets[0];
+    final RecordBatchCache cache = new RecordBatchCache(dfs, allocator, 4 * batchSize);
+
+    for (int i = 0; i < offsets.length; i++) {
+      assertBatch(cache.read(path(file), offsets[i]), i);
+    }
+
+    assertTrue(file.delete());
+    int cached = 0;
+    for (int i = 0; i < offsets.length; i++) {
+      try {
+        assertBatch(cache.read(path(file), offsets[i]), i);
+        cached++;
+      } catch (IOException e) {
+        // evicted
+      }
+    }
+    assertTrue("cached batches: " + cached, cached <= 4);
+    assertEquals(cached, cache.hitCount());
+  }
+
+  @Test
+  public void testBatchLargerThanCache() throws Exception {
+    final File file = folder.newFile("results.arrow");
+    final long[] offsets = writeBatches(file, 2);
+    final RecordBatchCache cache = new RecordBatchCache(dfs, allocator, offsets[1] - offsets[0] - 1);
+
+    assertBatch(cache.read(path(file), offsets[0]), 0);
+    assertTrue(file.delete());
+    assertNotCached(cache, file, offsets[0]);
+  }
+
+  @Test
+  public void testInvalidateJobResults() throws Exception {
+    // job directories sharing a prefix
+    final File job1 = new File(folder.newFolder("job1"), "results.arrow");
+    final File job10 = new File(folder.newFolder("job10"), "results.arrow");
+    final long[] offsets1 = writeBatches(job1, 2);
+    final long[] offsets10 = writeBatches(job10, 2);
+    final RecordBatchCache cache = new RecordBatchCache(dfs, allocator, RecordBatchCache.DEFAULT_MAX_SIZE);
+
+    assertBatch(cache.read(path(job1), offsets1[0]), 0);
+    assertBatch(cache.read(path(job10), offsets10[0]), 0);
+
+    // cleaning up the results of a job drops its batches only
+    cache.invalidate(path(job1.getParentFile()));
+    assertTrue(job1.delete());
+    assertTrue(job10.delete());
+    assertNotCached(cache, job1, offsets1[0]);
+    assertBatch(cache.read(path(job10), offsets10[0]), 0);
+
+    cache.invalidateAll();
+    assertNotCached(cache, job10, offsets10[0]);
+  }
+
+  @Test
+  public void testCopyingInputStream() throws Exception {
+    final byte[] data = new byte[20000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    try (InputStream input = new RecordBatchCache.CopyingInputStream(new ByteArrayInputStream(data), copy)) {
+      assertEquals(0, input.read());
+      assertEquals(10, input.read(new byte[20], 5, 10));
+      assertEquals(0, input.skip(0));
+      assertEquals(0, input.skip(-1));
+      // skipped bytes are copied too, across several reads
+      assertEquals(10000, input.skip(10000));
+      assertEquals(100, input.read(new byte[100]));
+
+      // skipping past the end only skips the remaining bytes
+      assertEquals(data.length - 10111, input.skip(data.length));
+      assertEquals(-1, input.read());
+      assertEquals(-1, input.read(new byte[10], 0, 10));
+    }
+    assertArrayEquals(data, copy.toByteArray());
+  }
+
+  private void assertNotCached(RecordBatchCache cache, File file, long offset) {
+    final long hits = cache.hitCount();
+    try {
+      cache.read(path(file), offset).close();
+      fail("batch should be read from the deleted file");
+    } catch (IOException e) {
+      // expected
+    }
+    assertEquals(hits, cache.hitCount());
+  }
+
+  private static Path path(File file) {
+    return Path.of(file.getAbsolutePath());
+  }
+
+  /**
+   * Writes batches of {@code BATCH_RECORDS} values, the values of batch {@code i} starting from
+   * {@code i * BATCH_RECORDS}.
+   *
+   * @return the offset of each batch in the file
+   */
+  private long[] writeBatches(File file, int count) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final long[] offsets = new long[count];
+    for (int i = 0; i < count; i++) {
+      offsets[i] = bytes.size();
+      try (VectorContainer container = new VectorContainer(allocator)) {
+        final BigIntVector vector = container.addOrGet(CompleteType.BIGINT.toField("value"));
+        vector.allocateNew(BATCH_RECORDS);
+        for (int j = 0; j < BATCH_RECORDS; j++) {
+          vector.set(j, (long) i * BATCH_RECORDS + j);
+        }
+        container.setAllCount(BATCH_RECORDS);
+        container.buildSchema();
+        new VectorAccessibleSerializable(WritableBatch.get(container), allocator).writeToStream(bytes);
+      }
+    }
+    Files.write(file.toPath(), bytes.toByteArray());
+    return offsets;
+  }
+
+  private static void assertBatch(RecordBatchData data, int batch) {
+    try (RecordBatchData batchData = data) {
+      assertEquals(BATCH_RECORDS, batchData.getRecordCount());
+      final BigIntVector vector = (BigIntVector) batchData.getVectors().get(0);
+      for (int i = 0; i < BATCH_RECORDS; i++) {
+        assertEquals((long) batch * BATCH_RECORDS + i, vector.get(i));
+      }
+    }
+  }
+}
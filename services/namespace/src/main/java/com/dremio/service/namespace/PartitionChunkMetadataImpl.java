@@ -17,6 +17,8 @@ package com.dremio.service.namespace;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.xerial.snappy.SnappyInputStream;
 
@@ -32,69 +34,98 @@ import com.google.common.collect.ImmutableList;
  * A partition chunk represented by a pair of objects:
  * - a PartitionChunk proto
  * - if the partition chunk has more than one split, a MultiSplit proto
- * The MultiSplit proto is lazily instantiated -- only created when users ask for the splits of this partition chunk
+ * The MultiSplit proto is lazily instantiated -- only created when users iterate over the splits of this partition chunk
  *
- * Note: if the parition chunk contains only a single split,
+ * The MultiSplit is read once and kept in its encoded form. Its splits are decoded one at a time while iterating,
+ * and the decoded splits are not kept: partition chunks are held for the whole planning of a query, so keeping them
+ * would put every decoded split of the scanned datasets on heap. Pruning only needs the partition chunk, so
+ * MultiSplits are only read for the partition chunks surviving it.
+ *
+ * Note: if the parition chunk contains only a single split, the split is part of the partition chunk proto
  */
 public class PartitionChunkMetadataImpl extends AbstractPartitionChunkMetadata {
   private final Supplier<MultiSplit> multiSplitSupplier;
-  private Iterable<DatasetSplit> materializedDatasetSplits;  // Materialized only on first lookup
 
   /**
    * Constructor
    * @param partitionChunk           The partition chunk. Can be either one of the three flavors (see comments in partition.proto)
    * @param multiSplitSupplier   When invoked, materializes the backing MultiSplit that in turn contains this partition chunk's
-   *                                 dataset splits
+   *                                 dataset splits. Invoked at most once, the first time the splits are iterated over.
    */
   public PartitionChunkMetadataImpl(PartitionChunk partitionChunk, Supplier<MultiSplit> multiSplitSupplier) {
     super(partitionChunk);
     Preconditions.checkNotNull(multiSplitSupplier);
     Preconditions.checkArgument(partitionChunk.hasSplitCount(), "Must be constructed with a partitionChunk with a set split_count");
     this.multiSplitSupplier = Suppliers.memoize(multiSplitSupplier);
-    this.materializedDatasetSplits = null;
   }
 
   @Override
   public Iterable<DatasetSplit> getDatasetSplits() {
-    if (materializedDatasetSplits != null) {
-      return materializedDatasetSplits;
-    }
-
     PartitionChunk partitionChunk = getPartitionChunk();
     if (partitionChunk.hasDatasetSplit()) {
       Preconditions.checkState(partitionChunk.getSplitCount() == 1,
         String.format("Only a partition chunk with 1 split should have a dataset split set directly. split_count == %d", partitionChunk.getSplitCount()));
-      materializedDatasetSplits = ImmutableList.of(partitionChunk.getDatasetSplit());
-      return materializedDatasetSplits;
+      return ImmutableList.of(partitionChunk.getDatasetSplit());
     }
+
     Preconditions.checkState(partitionChunk.getSplitCount() > 1,
       String.format("Partition chunk with 1 split should have a dataset split set directly. split_count == %d", partitionChunk.getSplitCount()));
-    // Build a list of dataset splits from the now-materialized multiset split
-    MultiSplit multiSplit = multiSplitSupplier.get();    // NB: multiSplit cached in the supplier
-    final long splitCount = multiSplit.getSplitCount();
-    Preconditions.checkState(splitCount == partitionChunk.getSplitCount());
-    ImmutableList.Builder<DatasetSplit> datasetSplits = new ImmutableList.Builder<>();
-    InputStream splitDataStream = multiSplit.getSplitData().newInput();
-    try {
-      switch (multiSplit.getCodec()) {
-        case UNCOMPRESSED:
-          // nothing to do
-          break;
-        case SNAPPY:
-          splitDataStream = new SnappyInputStream(splitDataStream);
-          break;
-        case UNKNOWN:
-        default:
-          throw new IllegalStateException("Unsupported multi-split codec: " + multiSplit.getCodec());
+    return () -> new SplitIterator(multiSplitSupplier.get());    // NB: multiSplit cached in the supplier
+  }
+
+  /**
+   * Decodes the splits of a MultiSplit as they are iterated over
+   */
+  private final class SplitIterator implements Iterator<DatasetSplit> {
+    private final long splitCount;
+    private final InputStream splitDataStream;
+    private long splitsRead;
+
+    private SplitIterator(MultiSplit multiSplit) {
+      this.splitCount = multiSplit.getSplitCount();
+      Preconditions.checkState(splitCount == getPartitionChunk().getSplitCount());
+
+      InputStream stream = multiSplit.getSplitData().newInput();
+      try {
+        switch (multiSplit.getCodec()) {
+          case UNCOMPRESSED:
+            // nothing to do
+            break;
+          case SNAPPY:
+            stream = new SnappyInputStream(stream);
+            break;
+          case UNKNOWN:
+          default:
+            throw new IllegalStateException("Unsupported multi-split codec: " + multiSplit.getCodec());
+        }
+      } catch (IOException e) {
+        throw newSplitReadException(e);
+      }
+      this.splitDataStream = stream;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return splitsRead < splitCount;
+    }
+
+    @Override
+    public DatasetSplit next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
       }
-      for (long i = 0; i < splitCount; i++) {
-        datasetSplits.add(DatasetSplit.parseDelimitedFrom(splitDataStream));
+
+      try {
+        final DatasetSplit split = DatasetSplit.parseDelimitedFrom(splitDataStream);
+        splitsRead++;
+        return split;
+      } catch (IOException e) {
+        throw newSplitReadException(e);
       }
-    } catch (IOException e) {
-      throw new RuntimeException(String.format("Unable to get dataset splits from partition chunk with key %s", getSplitKey()), e);
     }
+  }
 
-    materializedDatasetSplits = datasetSplits.build();
-    return materializedDatasetSplits;
+  private RuntimeException newSplitReadException(IOException e) {
+    return new RuntimeException(String.format("Unable to get dataset splits from partition chunk with key %s", getSplitKey()), e);
   }
 }
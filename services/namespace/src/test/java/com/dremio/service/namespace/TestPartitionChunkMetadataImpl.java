@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.namespace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.xerial.snappy.SnappyOutputStream;
+
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf.DatasetSplit;
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf.MultiSplit;
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf.PartitionChunk;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+
+/**
+ * Tests for {@link PartitionChunkMetadataImpl}
+ */
+public class TestPartitionChunkMetadataImpl {
+
+  private static final int SPLIT_COUNT = 3;
+
+  @Test
+  public void testMultiSplitReadOnce() throws Exception {
+    final AtomicInteger reads = new AtomicInteger();
+    final MultiSplit multiSplit = newMultiSplit(MultiSplit.Codec.SNAPPY, SPLIT_COUNT);
+    final PartitionChunkMetadataImpl metadata = new PartitionChunkMetadataImpl(newPartitionChunk(SPLIT_COUNT), () -> {
+      reads.incrementAndGet();
+      return multiSplit;
+    });
+
+    // neither constructing nor asking for the splits reads the multi-split
+    final Iterable<DatasetSplit> splits = metadata.getDatasetSplits();
+    assertEquals(0, reads.get());
+
+    assertEquals(newSplits(SPLIT_COUNT), ImmutableList.copyOf(splits));
+    assertEquals(newSplits(SPLIT_COUNT), ImmutableList.copyOf(splits));
+    assertEquals(newSplits(SPLIT_COUNT), ImmutableList.copyOf(metadata.getDatasetSplits()));
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  public void testUncompressedSplits() throws Exception {
+    final MultiSplit multiSplit = newMultiSplit(MultiSplit.Codec.UNCOMPRESSED, SPLIT_COUNT);
+    final PartitionChunkMetadataImpl metadata =
+      new PartitionChunkMetadataImpl(newPartitionChunk(SPLIT_COUNT), () -> multiSplit);
+    assertEquals(newSplits(SPLIT_COUNT), ImmutableList.copyOf(metadata.getDatasetSplits()));
+  }
+
+  @Test
+  public void testSplitsDecodedWhileIterating() throws Exception {
+    // the last split is truncated: it only fails to decode once the iteration reaches it
+    final MultiSplit multiSplit = newMultiSplit(MultiSplit.Codec.UNCOMPRESSED, SPLIT_COUNT);
+    final byte[] data = multiSplit.getSplitData().toByteArray();
+    final MultiSplit truncated = multiSplit.toBuilder()
+      .setSplitData(ByteString.copyFrom(Arrays.copyOf(data, data.length - 2)))
+      .build();
+    final PartitionChunkMetadataImpl metadata =
+      new PartitionChunkMetadataImpl(newPartitionChunk(SPLIT_COUNT), () -> truncated);
+
+    final Iterator<DatasetSplit> iterator = metadata.getDatasetSplits().iterator();
+    assertEquals(newSplit(0), iterator.next());
+    assertEquals(newSplit(1), iterator.next());
+    try {
+      iterator.next();
+      fail("truncated split should not decode");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  @Test
+  public void testSingleSplitDoesNotReadMultiSplit() throws Exception {
+    final Supplier<MultiSplit> supplier = () -> {
+      throw new AssertionError("a single split is part of the partition chunk");
+    };
+    final PartitionChunk partitionChunk = newPartitionChunk(1).toBuilder()
+      .setDatasetSplit(newSplit(0))
+      .build();
+    final PartitionChunkMetadataImpl metadata = new PartitionChunkMetadataImpl(partitionChunk, supplier);
+
+    final Iterator<DatasetSplit> iterator = metadata.getDatasetSplits().iterator();
+    assertEquals(newSplit(0), iterator.next());
+    assertFalse(iterator.hasNext());
+  }
+
+  private static PartitionChunk newPartitionChunk(int splitCount) {
+    return PartitionChunk.newBuilder()
+      .setSplitKey("chunk")
+      .setSplitCount(splitCount)
+      .build();
+  }
+
+  private static DatasetSplit newSplit(int index) {
+    return DatasetSplit.newBuilder()
+      .setSize(100L + index)
+      .setSplitExtendedProperty(ByteString.copyFromUtf8("split-" + index))
+      .build();
+  }
+
+  private static ImmutableList<DatasetSplit> newSplits(int count) {
+    final ImmutableList.Builder<DatasetSplit> splits = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      splits.add(newSplit(i));
+    }
+    return splits.build();
+  }
+
+  private static MultiSplit newMultiSplit(MultiSplit.Codec codec, int count) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream output = codec == MultiSplit.Codec.SNAPPY ? new SnappyOutputStream(bytes) : bytes) {
+      for (DatasetSplit split : newSplits(count)) {
+        split.writeDelimitedTo(output);
+      }
+    }
+    return MultiSplit.newBuilder()
+      .setMultiSplitKey("chunk")
+      .setCodec(codec)
+      .setSplitCount(count)
+      .setSplitData(ByteString.copyFrom(bytes.toByteArray()))
+      .build();
+  }
+}